@@ -2,8 +2,10 @@ package org.swrlapi.bridge;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.swrlapi.builtins.SWRLBuiltInBindingTable;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
 import org.swrlapi.factory.OWLDatatypeFactory;
@@ -58,6 +60,32 @@ public interface SWRLRuleEngineBridge
       @NonNull String builtInName, int builtInIndex, boolean isInConsequent,
       @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException;
 
+  /**
+   * This method can be used by a target rule engine to invoke the built-in represented by a built-in atom. It is
+   * equivalent to {@link #invokeSWRLBuiltIn(String, String, int, boolean, List)} but uses the implementation resolved
+   * when the enclosing rule was loaded, so no name-based lookup is performed on invocation. Target rule engines that
+   * retain the atoms of exported rules should prefer this method.
+   * <p>
+   * The bindings are returned as a table whose rows are not materialized. Unlike the name-based method, repeated
+   * bindings are not removed; engines that require each binding at most once should call
+   * {@link SWRLBuiltInBindingTable#distinct()}.
+   * <p>
+   * The default implementation invokes the built-in by name.
+   *
+   * @param builtInAtom    The built-in atom to invoke
+   * @param isInConsequent Is the built-in in the rule consequent
+   * @param arguments      The arguments to the built-in
+   * @return A table of argument bindings if the built-in evaluates to true; an empty table otherwise
+   * @throws SWRLBuiltInException If the parameters are invalid or an error occurs during invocation
+   */
+  default @NonNull SWRLBuiltInBindingTable invokeSWRLBuiltIn(
+      @NonNull SWRLAPIBuiltInAtom builtInAtom, boolean isInConsequent,
+      @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    return SWRLBuiltInBindingTable.createTable(invokeSWRLBuiltIn(builtInAtom.getRuleName(),
+        builtInAtom.getBuiltInPrefixedName(), builtInAtom.getBuiltInIndex(), isInConsequent, arguments));
+  }
+
   /**
    * A target rule engine can create OWL axioms using the OWL factory supplied by the bridge.
    *
@@ -9,6 +9,7 @@ import org.swrlapi.owl2rl.OWL2RLEngine;
 import org.swrlapi.sqwrl.SQWRLQuery;
 
 import javax.swing.*;
+import java.util.Collection;
 
 /**
  * This interface defines the methods that must be provided by an implementation of a SWRLAPI-based SWRL rule engine. A
@@ -35,6 +36,45 @@ public interface TargetSWRLRuleEngine
    */
   void defineOWLAxiom(OWLAxiom axiom) throws TargetSWRLRuleEngineException;
 
+  /**
+   * Define target rule engine representations of a collection of OWL axioms. All axioms in a single call are of the
+   * same {@link org.semanticweb.owlapi.model.AxiomType}, so rule engines can override this method to insert them in
+   * bulk. The default implementation calls {@link #defineOWLAxiom(OWLAxiom)} for each axiom.
+   *
+   * @param axioms The OWL axioms to define
+   * @throws TargetSWRLRuleEngineException If an error occurs during definition
+   */
+  default void defineOWLAxioms(Collection<? extends OWLAxiom> axioms) throws TargetSWRLRuleEngineException
+  {
+    for (OWLAxiom axiom : axioms)
+      defineOWLAxiom(axiom);
+  }
+
+  /**
+   * Indicates if the rule engine can remove the representation of a previously defined OWL axiom, together with any
+   * knowledge inferred from it. Rule engines that support retraction can be updated incrementally between runs rather
+   * than being reset and reloaded.
+   *
+   * @return True if the rule engine supports {@link #retractOWLAxiom(OWLAxiom)}
+   */
+  default boolean canRetractOWLAxioms()
+  {
+    return false;
+  }
+
+  /**
+   * Remove the target rule engine representation of a previously defined OWL axiom.
+   *
+   * @param axiom The OWL axiom to retract; a SWRL rule is a type of OWL axiom
+   * @throws TargetSWRLRuleEngineException If an error occurs during retraction or retraction is not supported
+   * @see #canRetractOWLAxioms()
+   */
+  default void retractOWLAxiom(OWLAxiom axiom) throws TargetSWRLRuleEngineException
+  {
+    throw new TargetSWRLRuleEngineException(
+      "rule engine " + getTargetRuleEngineName() + " does not support retraction of OWL axioms");
+  }
+
   /**
    * Define a target rule engine representation of a SQWRL query.
    * 
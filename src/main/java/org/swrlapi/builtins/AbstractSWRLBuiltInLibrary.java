@@ -39,9 +39,9 @@ import org.swrlapi.exceptions.InvalidSWRLBuiltInArgumentNumberException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
 import org.swrlapi.exceptions.SWRLBuiltInMethodRuntimeException;
-import org.swrlapi.factory.LiteralFactory;
 import org.swrlapi.factory.OWLLiteralFactory;
 import org.swrlapi.factory.SQWRLResultValueFactory;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
 import org.swrlapi.factory.SWRLAPIOWLDataFactory;
 import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
 import org.swrlapi.literal.Literal;
@@ -61,7 +61,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -85,27 +88,23 @@ public abstract class AbstractSWRLBuiltInLibrary
   @NonNull private final String namespace;
   @NonNull private final Set<@NonNull String> builtInNames;
 
-  // Bridge, rule prefix, built-in index, and head or body location within rule of built-in currently invoking its
-  // associated Java implementation. The invokingRuleName, invokingBuiltInIndex, and isInConsequent variables are valid
-  // only when a built-in currently being invoked so should only be retrieved through their associated accessor methods
-  // from within a built-in; the invokingBridge method is valid only in built-ins and in the reset method.
-  @Nullable private SWRLBuiltInBridge invokingBridge;
-  @NonNull private String invokingRuleName = "";
-  @NonNull private Long invocationPatternID;
-  @NonNull private Map<@NonNull String, @NonNull Long> invocationPatternMap;
-
-  private int invokingBuiltInIndex = -1;
-  private boolean isInConsequent = false;
+  // Invocation context of the built-in currently being invoked by each thread. The context is valid only when a
+  // built-in is being invoked (or, for the bridge, when the reset method is being invoked) so should only be retrieved
+  // through the associated accessor methods from within a built-in. Each invocation gets its own immutable context so
+  // built-ins in the same library can run concurrently if the library supports it.
+  @NonNull private final ThreadLocal<@Nullable SWRLBuiltInContext> invocationContext;
+  @NonNull private final AtomicLong invocationPatternID;
+  @NonNull private final Map<@NonNull String, @NonNull Long> invocationPatternMap;
 
   protected AbstractSWRLBuiltInLibrary(@NonNull String prefix, @NonNull String namespace,
     @NonNull Set<@NonNull String> builtInNames)
   {
-    this.invokingBridge = null;
     this.prefix = prefix;
     this.namespace = namespace;
     this.builtInNames = new HashSet<>(builtInNames);
-    this.invocationPatternID = 0L;
-    this.invocationPatternMap = new HashMap<>();
+    this.invocationContext = new ThreadLocal<>();
+    this.invocationPatternID = new AtomicLong();
+    this.invocationPatternMap = new ConcurrentHashMap<>();
   }
 
   @NonNull public String getPrefix()
@@ -130,60 +129,58 @@ public abstract class AbstractSWRLBuiltInLibrary
 
   @NonNull @Override public SWRLBuiltInBridge getBuiltInBridge() throws SWRLBuiltInLibraryException
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to getInvokingBridge - should only be called from within a built-in");
+    return getInvocationContext("getInvokingBridge").getBuiltInBridge();
+  }
 
-    return this.invokingBridge;
+  /**
+   * @return The shared axiom index for the ontology of the invoking bridge
+   * @throws SWRLBuiltInLibraryException If there is no invoking bridge
+   */
+  @NonNull protected OWLAxiomIndex getOWLAxiomIndex() throws SWRLBuiltInLibraryException
+  {
+    return getBuiltInBridge().getOWLOntologyIndex(OWLAxiomIndex.class, OWLAxiomIndex::new);
   }
 
   @NonNull @Override public String getInvokingRuleName() throws SWRLBuiltInLibraryException
   {
-    synchronized (this) {
-      if (this.invokingRuleName.length() == 0)
-        throw new SWRLBuiltInLibraryException(
-          "invalid call to getInvokingRuleName - should only be called from within a built-in");
-    }
-    return this.invokingRuleName;
+    return getInvocationContext("getInvokingRuleName").getInvokingRuleName();
   }
 
   @Override public int getInvokingBuiltInIndex() throws SWRLBuiltInLibraryException
   {
-    synchronized (this) {
-      if (this.invokingBuiltInIndex == -1)
-        throw new SWRLBuiltInLibraryException(
-          "invalid call to getInvokingBuiltInIndex - should only be called from within a built-in");
-    }
-    return this.invokingBuiltInIndex;
+    return getInvocationContext("getInvokingBuiltInIndex").getInvokingBuiltInIndex();
   }
 
   @Override public boolean getIsInConsequent() throws SWRLBuiltInLibraryException
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to getIsInConsequent - should only be called from within a built-in");
+    return getInvocationContext("getIsInConsequent").getIsInConsequent();
+  }
 
-    return this.isInConsequent;
+  @NonNull @Override public CompiledSWRLBuiltInArguments getCompiledArguments() throws SWRLBuiltInLibraryException
+  {
+    return getInvocationContext("getCompiledArguments").getCompiledArguments();
   }
 
-  @Override public void checkThatInConsequent() throws SWRLBuiltInException
+  /**
+   * @param argument A built-in argument
+   * @return The literal value of the argument if it is a literal
+   */
+  @NonNull protected Optional<@NonNull Literal> getConstantArgumentAsALiteral(@NonNull SWRLBuiltInArgument argument)
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to checkThatInConsequent - should only be called from within a built-in");
+    if (argument instanceof SWRLLiteralBuiltInArgument)
+      return Optional.of(((SWRLLiteralBuiltInArgument)argument).getLiteralValue());
+    else
+      return Optional.empty();
+  }
 
-    if (!this.isInConsequent)
-      throw new SWRLBuiltInException("built-in can only be used in consequent");
+  @Override public void checkThatInConsequent() throws SWRLBuiltInException
+  {
+    getInvocationContext("checkThatInConsequent").checkThatInConsequent();
   }
 
   @Override public void checkThatInAntecedent() throws SWRLBuiltInException
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to checkThatInAntecedent - should only be called from within a built-in");
-
-    if (this.isInConsequent)
-      throw new SWRLBuiltInException("built-in can only be used in antecedent");
+    getInvocationContext("checkThatInAntecedent").checkThatInAntecedent();
   }
 
   @Override public abstract void reset() throws SWRLBuiltInLibraryException;
@@ -191,57 +188,140 @@ public abstract class AbstractSWRLBuiltInLibrary
   @Override public void invokeResetMethod(@NonNull SWRLBuiltInBridge bridge) throws SWRLBuiltInLibraryException
   {
     synchronized (this) {
-      this.invokingBridge = bridge;
+      SWRLBuiltInContext enclosingContext = this.invocationContext.get();
 
-      reset();
+      this.invocationContext.set(SWRLAPIInternalFactory.createSWRLBuiltInContext(bridge, "", -1, false));
 
-      this.invocationPatternID = 0L;
-      this.invocationPatternMap = new HashMap<>();
+      try {
+        reset();
 
-      this.invokingBridge = null;
+        this.invocationPatternMap.clear();
+        this.invocationPatternID.set(0L);
+      } finally {
+        restoreInvocationContext(enclosingContext);
+      }
     }
   }
 
+  /**
+   * Libraries whose built-ins do not modify shared library state can override this method to return true, in which case
+   * their built-ins are invoked without any locking. Built-ins in other libraries are invoked one at a time.
+   *
+   * @return True if built-ins in this library can be invoked concurrently
+   */
+  protected boolean isConcurrentInvocationSupported()
+  {
+    return false;
+  }
+
   @Override public boolean invokeBuiltInMethod(@NonNull Method method, @NonNull SWRLBuiltInBridge bridge,
     @NonNull String ruleName, @NonNull String prefix, @NonNull String builtInMethodName, int builtInIndex,
     boolean inConsequent, @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    String builtInName = prefix + ":" + builtInMethodName;
-    Boolean result;
-
-    synchronized (this) { // Only one built-in per library may be invoked simultaneously
-      this.invokingBridge = bridge;
-      this.invokingRuleName = ruleName;
-      this.invokingBuiltInIndex = builtInIndex;
-      this.isInConsequent = inConsequent;
-
-      try { // Invoke the built-in method.
-        result = (Boolean)method.invoke(this, arguments);
-      } catch (InvocationTargetException e) { // The built-in implementation threw an exception.
-        Throwable targetException = e.getTargetException();
-        if (targetException instanceof SWRLBuiltInException) { // An explicit BuiltInException was thrown by the
-          // built-in.
-          throw new SWRLBuiltInException(
-            "exception thrown by built-in " + builtInName + " in rule " + ruleName + ": " + targetException
-              .getMessage(), targetException);
-        } else if (targetException instanceof RuntimeException) { // A runtime exception was thrown by the built-in.
-          throw new SWRLBuiltInMethodRuntimeException(ruleName, builtInName, targetException.getMessage(),
-            targetException);
-        } else
-          throw new SWRLBuiltInException(
-            "unknown exception thrown by built-in " + builtInName + " in rule " + ruleName + ": " + e.toString(), e);
-      } catch (Throwable e) { // Should be one of IllegalAccessException or IllegalArgumentException
-        throw new SWRLBuiltInLibraryException(
-          "internal built-in library exception when invoking built-in " + builtInName + " in rule " + ruleName + ": "
-            + e.getMessage(), e);
+    SWRLBuiltInContext context = SWRLAPIInternalFactory
+      .createSWRLBuiltInContext(bridge, ruleName, builtInIndex, inConsequent);
+
+    if (isConcurrentInvocationSupported())
+      return invokeBuiltInMethod(method, prefix + ":" + builtInMethodName, ruleName, context, arguments);
+    else {
+      synchronized (this) { // Only one built-in in this library may be invoked simultaneously
+        return invokeBuiltInMethod(method, prefix + ":" + builtInMethodName, ruleName, context, arguments);
       }
-      this.invokingBridge = null;
-      this.invokingRuleName = "";
-      this.invokingBuiltInIndex = -1;
-      this.isInConsequent = false;
     }
+  }
+
+  @Override public boolean invokeBuiltInMethod(@NonNull ResolvedSWRLBuiltIn resolvedSWRLBuiltIn,
+    @NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName, int builtInIndex, boolean inConsequent,
+    @NonNull CompiledSWRLBuiltInArguments compiledArguments, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
+  {
+    SWRLBuiltInContext context = SWRLAPIInternalFactory
+      .createSWRLBuiltInContext(bridge, ruleName, builtInIndex, inConsequent, compiledArguments);
 
-    return result;
+    if (isConcurrentInvocationSupported())
+      return invokeBuiltInMethod(resolvedSWRLBuiltIn, ruleName, context, arguments);
+    else {
+      synchronized (this) { // Only one built-in in this library may be invoked simultaneously
+        return invokeBuiltInMethod(resolvedSWRLBuiltIn, ruleName, context, arguments);
+      }
+    }
+  }
+
+  private boolean invokeBuiltInMethod(@NonNull ResolvedSWRLBuiltIn resolvedSWRLBuiltIn, @NonNull String ruleName,
+    @NonNull SWRLBuiltInContext context, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
+  {
+    SWRLBuiltInContext enclosingContext = this.invocationContext.get(); // Non-null if invoked from another built-in
+
+    this.invocationContext.set(context);
+
+    try { // Invoke the built-in method through its pre-bound invoker
+      return resolvedSWRLBuiltIn.getInvoker().invoke(this, arguments, context);
+    } catch (SWRLBuiltInException e) { // An explicit BuiltInException was thrown by the built-in.
+      throw new SWRLBuiltInException(
+        "exception thrown by built-in " + resolvedSWRLBuiltIn.getBuiltInPrefixedName() + " in rule " + ruleName
+          + ": " + e.getMessage(), e);
+    } catch (RuntimeException e) { // A runtime exception was thrown by the built-in.
+      throw new SWRLBuiltInMethodRuntimeException(ruleName, resolvedSWRLBuiltIn.getBuiltInPrefixedName(),
+        e.getMessage() != null ? e.getMessage() : "", e);
+    } finally {
+      restoreInvocationContext(enclosingContext);
+    }
+  }
+
+  private boolean invokeBuiltInMethod(@NonNull Method method, @NonNull String builtInName, @NonNull String ruleName,
+    @NonNull SWRLBuiltInContext context, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
+  {
+    SWRLBuiltInContext enclosingContext = this.invocationContext.get(); // Non-null if invoked from another built-in
+
+    this.invocationContext.set(context);
+
+    try { // Invoke the built-in method.
+      if (method.getParameterCount() == 2)
+        return (Boolean)method.invoke(this, arguments, context);
+      else
+        return (Boolean)method.invoke(this, arguments);
+    } catch (InvocationTargetException e) { // The built-in implementation threw an exception.
+      Throwable targetException = e.getTargetException();
+      if (targetException instanceof SWRLBuiltInException) { // An explicit BuiltInException was thrown by the
+        // built-in.
+        throw new SWRLBuiltInException(
+          "exception thrown by built-in " + builtInName + " in rule " + ruleName + ": " + targetException.getMessage(),
+          targetException);
+      } else if (targetException instanceof RuntimeException) { // A runtime exception was thrown by the built-in.
+        throw new SWRLBuiltInMethodRuntimeException(ruleName, builtInName, targetException.getMessage(),
+          targetException);
+      } else
+        throw new SWRLBuiltInException(
+          "unknown exception thrown by built-in " + builtInName + " in rule " + ruleName + ": " + e.toString(), e);
+    } catch (Throwable e) { // Should be one of IllegalAccessException or IllegalArgumentException
+      throw new SWRLBuiltInLibraryException(
+        "internal built-in library exception when invoking built-in " + builtInName + " in rule " + ruleName + ": "
+          + e.getMessage(), e);
+    } finally {
+      restoreInvocationContext(enclosingContext);
+    }
+  }
+
+  @NonNull private SWRLBuiltInContext getInvocationContext(@NonNull String methodName)
+    throws SWRLBuiltInLibraryException
+  {
+    SWRLBuiltInContext context = this.invocationContext.get();
+
+    if (context == null)
+      throw new SWRLBuiltInLibraryException(
+        "invalid call to " + methodName + " - should only be called from within a built-in");
+
+    return context;
+  }
+
+  private void restoreInvocationContext(@Nullable SWRLBuiltInContext enclosingContext)
+  {
+    if (enclosingContext == null)
+      this.invocationContext.remove();
+    else
+      this.invocationContext.set(enclosingContext);
   }
 
   // Argument handling methods
@@ -1940,7 +2020,7 @@ public abstract class AbstractSWRLBuiltInLibrary
 
     SWRLLiteralBuiltInArgument argument = (SWRLLiteralBuiltInArgument)arguments.get(argumentNumber);
 
-    return getLiteralFactory().getLiteral(argument.getLiteral());
+    return argument.getLiteralValue();
   }
 
   @NonNull private Literal getArgumentAsALiteral(SWRLBuiltInArgument argument) throws SWRLBuiltInException
@@ -1950,7 +2030,7 @@ public abstract class AbstractSWRLBuiltInLibrary
 
     SWRLLiteralBuiltInArgument a = (SWRLLiteralBuiltInArgument)argument;
 
-    return getLiteralFactory().getLiteral(a.getLiteral());
+    return a.getLiteralValue();
   }
 
   @NonNull @Override public String makeInvalidArgumentTypeMessage(@NonNull SWRLBuiltInArgument argument,
@@ -1997,20 +2077,12 @@ public abstract class AbstractSWRLBuiltInLibrary
     throws SWRLBuiltInException
   {
     String pattern = "" + bridge.hashCode() + "." + ruleName + "." + builtInIndex + "." + inConsequent;
-    String result;
 
     for (int i = 0; i < arguments.size(); i++)
       pattern += "." + getArgumentAsAPropertyValue(i, arguments);
 
-    if (this.invocationPatternMap.containsKey(pattern))
-      result = this.invocationPatternMap.get(pattern).toString();
-    else {
-      this.invocationPatternMap.put(pattern, this.invocationPatternID);
-      result = this.invocationPatternID.toString();
-      this.invocationPatternID++;
-    }
-
-    return result;
+    return this.invocationPatternMap.computeIfAbsent(pattern, p -> this.invocationPatternID.getAndIncrement())
+      .toString();
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument createLeastNarrowNumericLiteralBuiltInArgument(double value,
@@ -2051,11 +2123,6 @@ public abstract class AbstractSWRLBuiltInLibrary
     return getSWRLAPIOWLDataFactory().getSQWRLResultValueFactory();
   }
 
-  @NonNull private LiteralFactory getLiteralFactory() throws SWRLBuiltInLibraryException
-  {
-    return getSWRLAPIOWLDataFactory().getLiteralFactory();
-  }
-
   @NonNull private OWLLiteralFactory getOWLLiteralFactory() throws SWRLBuiltInLibraryException
   {
     return getSWRLAPIOWLDataFactory().getOWLLiteralFactory();
@@ -0,0 +1,73 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The compiled forms of the constant arguments of a built-in atom, such as a compiled regular expression or a parsed
+ * expression. Arguments are compiled once by their {@link org.swrlapi.builtins.SWRLBuiltInLibrary} when the enclosing
+ * rule is loaded and are made available to the built-in at invocation time through its
+ * {@link org.swrlapi.builtins.SWRLBuiltInContext}.
+ * <p>
+ * Compiled arguments are shared by all invocations of a built-in atom, so built-ins must not modify them.
+ *
+ * @see org.swrlapi.builtins.SWRLBuiltInLibrary#compileBuiltInArgument(String, int,
+ * org.swrlapi.builtins.arguments.SWRLBuiltInArgument)
+ * @see org.swrlapi.core.SWRLAPIBuiltInAtom#getCompiledArguments()
+ */
+public final class CompiledSWRLBuiltInArguments
+{
+  private static final CompiledSWRLBuiltInArguments NO_COMPILED_ARGUMENTS = new CompiledSWRLBuiltInArguments(
+    new Object[0]);
+
+  @Nullable private final Object[] compiledArguments; // Indexed by argument number; null if not compiled
+
+  CompiledSWRLBuiltInArguments(@Nullable Object[] compiledArguments)
+  {
+    this.compiledArguments = compiledArguments;
+  }
+
+  /**
+   * @return An instance with no compiled arguments
+   */
+  @NonNull public static CompiledSWRLBuiltInArguments empty()
+  {
+    return NO_COMPILED_ARGUMENTS;
+  }
+
+  /**
+   * @param argumentNumber        The 0-based argument number
+   * @param compiledArgumentClass The expected class of the compiled argument
+   * @param <T>                   The type of the compiled argument
+   * @return The compiled argument if the argument was compiled to an instance of the expected class
+   */
+  @NonNull public <T> Optional<@NonNull T> getCompiledArgument(int argumentNumber,
+    @NonNull Class<T> compiledArgumentClass)
+  {
+    if (argumentNumber < 0 || argumentNumber >= this.compiledArguments.length)
+      return Optional.empty();
+
+    Object compiledArgument = this.compiledArguments[argumentNumber];
+
+    if (compiledArgumentClass.isInstance(compiledArgument))
+      return Optional.of(compiledArgumentClass.cast(compiledArgument));
+    else
+      return Optional.empty();
+  }
+
+  /**
+   * @return True if no arguments were compiled
+   */
+  public boolean isEmpty()
+  {
+    return Arrays.stream(this.compiledArguments).allMatch(compiledArgument -> compiledArgument == null);
+  }
+
+  @NonNull @Override public String toString()
+  {
+    return Arrays.toString(this.compiledArguments);
+  }
+}
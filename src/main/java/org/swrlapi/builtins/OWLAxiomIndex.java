@@ -0,0 +1,331 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLNaryAxiom;
+import org.semanticweb.owlapi.model.OWLNaryClassAxiom;
+import org.semanticweb.owlapi.model.OWLNaryIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLNaryPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLUnaryPropertyAxiom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An index of the axioms in an ontology and its imports closure, shared by the ABox, TBox and RBox built-in
+ * libraries. Each axiom is held as a tuple of the values matched by the corresponding built-in's arguments (e.g.,
+ * subject, property and object for property assertions, or sub and super class for subclass axioms). Tuples are
+ * indexed by each argument position and, for three-place tuples, by the first two positions, so calls with bound
+ * arguments do not scan all axioms of a type. Declarations are held separately for each entity type. N-ary axioms
+ * are held as the tuples of their pairwise axioms.
+ * <p>
+ * A table for an axiom or entity type is built on first use and then kept up to date from ontology change events. The
+ * index is held by its {@link org.swrlapi.core.SWRLAPIOWLOntology}, which registers it for those events and removes it
+ * when disposed.
+ *
+ * @see org.swrlapi.core.SWRLAPIOWLOntology#getOWLOntologyIndex(Class, java.util.function.Function)
+ */
+public final class OWLAxiomIndex implements OWLOntologyChangeListener
+{
+  @NonNull private final OWLOntology ontology;
+  @NonNull private final Map<@NonNull Object, @NonNull TupleTable> tables; // Keyed by AxiomType or EntityType
+  @NonNull private volatile Set<@NonNull OWLOntology> importsClosure; // Replaced on import changes
+
+  public OWLAxiomIndex(@NonNull OWLOntology ontology)
+  {
+    this.ontology = ontology;
+    this.tables = new ConcurrentHashMap<>();
+    this.importsClosure = ontology.getImportsClosure();
+  }
+
+  public boolean isEmpty(@NonNull AxiomType<?> axiomType)
+  {
+    return getTupleTable(axiomType).isEmpty();
+  }
+
+  public boolean isEmpty(@NonNull EntityType<?> entityType)
+  {
+    return getTupleTable(entityType).isEmpty();
+  }
+
+  /**
+   * @param axiomType   An axiom type
+   * @param boundValues The bound argument values, keyed by argument position
+   * @return A superset of the tuples for axioms of the given type that match the bound values
+   */
+  @NonNull public Collection<@NonNull List<@NonNull OWLObject>> getTuples(@NonNull AxiomType<?> axiomType,
+    @NonNull Map<@NonNull Integer, @NonNull OWLObject> boundValues)
+  {
+    return getTupleTable(axiomType).getTuples(boundValues);
+  }
+
+  /**
+   * @param entityType  An entity type
+   * @param boundValues The bound argument values, keyed by argument position
+   * @return A superset of the single-value tuples for declared entities of the given type that match the bound values
+   */
+  @NonNull public Collection<@NonNull List<@NonNull OWLObject>> getTuples(@NonNull EntityType<?> entityType,
+    @NonNull Map<@NonNull Integer, @NonNull OWLObject> boundValues)
+  {
+    return getTupleTable(entityType).getTuples(boundValues);
+  }
+
+  @Override public void ontologiesChanged(@NonNull List<? extends OWLOntologyChange> changes)
+  {
+    for (OWLOntologyChange change : changes) {
+      if (change.isImportChange()) {
+        this.importsClosure = this.ontology.getImportsClosure();
+        this.tables.clear(); // Rebuilt on next use
+        return;
+      } else if (change.isAxiomChange() && this.importsClosure.contains(change.getOntology())) {
+        OWLAxiom axiom = change.getAxiom();
+        TupleTable table = this.tables.get(getTableKey(axiom));
+
+        if (table != null) {
+          if (change.isAddAxiom())
+            table.add(axiom);
+          else if (change.isRemoveAxiom())
+            table.remove(axiom);
+        }
+      }
+    }
+  }
+
+  @NonNull private TupleTable getTupleTable(@NonNull Object tableKey)
+  {
+    return this.tables.computeIfAbsent(tableKey, k -> {
+      TupleTable table = new TupleTable();
+
+      for (OWLOntology importedOntology : this.importsClosure) { // An axiom is added once for each containing ontology
+        if (k instanceof EntityType) {
+          for (OWLDeclarationAxiom axiom : importedOntology.getAxioms(AxiomType.DECLARATION))
+            if (axiom.getEntity().getEntityType().equals(k))
+              table.add(axiom);
+        } else {
+          for (OWLAxiom axiom : importedOntology.getAxioms((AxiomType<?>)k))
+            table.add(axiom);
+        }
+      }
+      return table;
+    });
+  }
+
+  @NonNull private static Object getTableKey(@NonNull OWLAxiom axiom)
+  {
+    return axiom instanceof OWLDeclarationAxiom ?
+      ((OWLDeclarationAxiom)axiom).getEntity().getEntityType() :
+      axiom.getAxiomType();
+  }
+
+  @NonNull private static List<@NonNull List<@NonNull OWLObject>> getTuples(@NonNull OWLAxiom axiom)
+  {
+    if (axiom instanceof OWLDeclarationAxiom)
+      return Collections.singletonList(Collections.singletonList(((OWLDeclarationAxiom)axiom).getEntity()));
+    else if (axiom instanceof OWLClassAssertionAxiom) {
+      OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+
+      return classAssertionAxiom.getIndividual().isNamed() ?
+        Collections.singletonList(
+          Arrays.asList(classAssertionAxiom.getClassExpression(), classAssertionAxiom.getIndividual())) :
+        Collections.emptyList();
+    } else if (axiom instanceof OWLPropertyAssertionAxiom) {
+      OWLPropertyAssertionAxiom<?, ?> propertyAssertionAxiom = (OWLPropertyAssertionAxiom<?, ?>)axiom;
+
+      return propertyAssertionAxiom.getSubject().isNamed() && (!(propertyAssertionAxiom
+        .getObject() instanceof OWLIndividual) || ((OWLIndividual)propertyAssertionAxiom.getObject()).isNamed()) ?
+        Collections.singletonList(Arrays
+          .asList(propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getProperty(),
+            propertyAssertionAxiom.getObject())) :
+        Collections.emptyList();
+    } else if (axiom instanceof OWLSubClassOfAxiom) {
+      OWLSubClassOfAxiom subClassOfAxiom = (OWLSubClassOfAxiom)axiom;
+
+      return Collections.singletonList(Arrays.asList(subClassOfAxiom.getSubClass(), subClassOfAxiom.getSuperClass()));
+    } else if (axiom instanceof OWLSubPropertyAxiom) {
+      OWLSubPropertyAxiom<?> subPropertyAxiom = (OWLSubPropertyAxiom<?>)axiom;
+
+      return Collections
+        .singletonList(Arrays.asList(subPropertyAxiom.getSubProperty(), subPropertyAxiom.getSuperProperty()));
+    } else if (axiom instanceof OWLPropertyDomainAxiom) {
+      OWLPropertyDomainAxiom<?> domainAxiom = (OWLPropertyDomainAxiom<?>)axiom;
+
+      return Collections.singletonList(Arrays.asList(domainAxiom.getProperty(), domainAxiom.getDomain()));
+    } else if (axiom instanceof OWLPropertyRangeAxiom) {
+      OWLPropertyRangeAxiom<?, ?> rangeAxiom = (OWLPropertyRangeAxiom<?, ?>)axiom;
+
+      return Collections.singletonList(Arrays.asList(rangeAxiom.getProperty(), rangeAxiom.getRange()));
+    } else if (axiom instanceof OWLUnaryPropertyAxiom) // Property characteristics
+      return Collections.singletonList(Collections.singletonList(((OWLUnaryPropertyAxiom<?>)axiom).getProperty()));
+    else if (axiom instanceof OWLInverseObjectPropertiesAxiom) {
+      OWLInverseObjectPropertiesAxiom inverseAxiom = (OWLInverseObjectPropertiesAxiom)axiom;
+
+      return Collections
+        .singletonList(Arrays.asList(inverseAxiom.getFirstProperty(), inverseAxiom.getSecondProperty()));
+    } else if (axiom instanceof OWLNaryAxiom) {
+      List<@NonNull List<@NonNull OWLObject>> tuples = new ArrayList<>();
+
+      for (OWLNaryAxiom<?> pairwiseAxiom : ((OWLNaryAxiom<?>)axiom).asPairwiseAxioms()) {
+        List<@NonNull OWLObject> pair = getPair(pairwiseAxiom);
+        if (pair != null)
+          tuples.add(pair);
+      }
+      return tuples;
+    } else
+      return Collections.emptyList();
+  }
+
+  @Nullable private static List<@NonNull OWLObject> getPair(@NonNull OWLNaryAxiom<?> pairwiseAxiom)
+  {
+    List<? extends OWLObject> values;
+
+    if (pairwiseAxiom instanceof OWLNaryIndividualAxiom) {
+      List<OWLIndividual> individuals = ((OWLNaryIndividualAxiom)pairwiseAxiom).getIndividualsAsList();
+      values = individuals.stream().allMatch(OWLIndividual::isNamed) ? individuals : Collections.emptyList();
+    } else if (pairwiseAxiom instanceof OWLNaryClassAxiom)
+      values = ((OWLNaryClassAxiom)pairwiseAxiom).getClassExpressionsAsList();
+    else if (pairwiseAxiom instanceof OWLNaryPropertyAxiom)
+      values = new ArrayList<>(((OWLNaryPropertyAxiom<?>)pairwiseAxiom).getProperties());
+    else
+      values = Collections.emptyList();
+
+    return values.size() == 2 ? Arrays.asList(values.get(0), values.get(1)) : null;
+  }
+
+  /**
+   * The tuples of one axiom or entity type. Each axiom records the number of ontologies in the imports closure that
+   * contain it, and each tuple the number of distinct axioms that produce it, so that a tuple is dropped only when the
+   * last of them is removed from the last of those ontologies.
+   */
+  private static class TupleTable
+  {
+    private static final int MAXIMUM_TUPLE_SIZE = 3;
+
+    @NonNull private final Map<@NonNull OWLAxiom, @NonNull Integer> axiomCounts; // Only used when synchronized
+    @NonNull private final Map<@NonNull List<@NonNull OWLObject>, @NonNull AtomicInteger> tupleCounts;
+    @NonNull private final List<@NonNull Map<@NonNull OWLObject, @NonNull Set<@NonNull List<@NonNull OWLObject>>>>
+      positionIndexes;
+    @NonNull private final Map<@NonNull List<@NonNull OWLObject>, @NonNull Set<@NonNull List<@NonNull OWLObject>>>
+      firstTwoPositionsIndex;
+
+    public TupleTable()
+    {
+      this.axiomCounts = new HashMap<>();
+      this.tupleCounts = new ConcurrentHashMap<>();
+      this.positionIndexes = new ArrayList<>(MAXIMUM_TUPLE_SIZE);
+      for (int position = 0; position < MAXIMUM_TUPLE_SIZE; position++)
+        this.positionIndexes.add(new ConcurrentHashMap<>());
+      this.firstTwoPositionsIndex = new ConcurrentHashMap<>();
+    }
+
+    public boolean isEmpty()
+    {
+      return this.tupleCounts.isEmpty();
+    }
+
+    @NonNull public Collection<@NonNull List<@NonNull OWLObject>> getTuples(
+      @NonNull Map<@NonNull Integer, @NonNull OWLObject> boundValues)
+    {
+      if (boundValues.isEmpty())
+        return this.tupleCounts.keySet();
+      else if (boundValues.containsKey(0) && boundValues.containsKey(1) && !this.firstTwoPositionsIndex.isEmpty())
+        return this.firstTwoPositionsIndex
+          .getOrDefault(Arrays.asList(boundValues.get(0), boundValues.get(1)), Collections.emptySet());
+      else { // Use the smallest set of tuples matching a bound value
+        Collection<@NonNull List<@NonNull OWLObject>> tuples = null;
+
+        for (Map.Entry<@NonNull Integer, @NonNull OWLObject> boundValue : boundValues.entrySet()) {
+          Set<@NonNull List<@NonNull OWLObject>> candidates = boundValue.getKey() < MAXIMUM_TUPLE_SIZE ?
+            this.positionIndexes.get(boundValue.getKey())
+              .getOrDefault(boundValue.getValue(), Collections.emptySet()) :
+            Collections.emptySet();
+          if (tuples == null || candidates.size() < tuples.size())
+            tuples = candidates;
+        }
+        return tuples;
+      }
+    }
+
+    public synchronized void add(@NonNull OWLAxiom axiom)
+    {
+      if (this.axiomCounts.merge(axiom, 1, Integer::sum) > 1) // Already in another ontology in the imports closure
+        return;
+
+      for (List<@NonNull OWLObject> tuple : OWLAxiomIndex.getTuples(axiom)) {
+        AtomicInteger count = this.tupleCounts.get(tuple);
+
+        if (count != null)
+          count.incrementAndGet();
+        else {
+          for (int position = 0; position < tuple.size(); position++)
+            this.positionIndexes.get(position)
+              .computeIfAbsent(tuple.get(position), v -> ConcurrentHashMap.newKeySet()).add(tuple);
+          if (tuple.size() == MAXIMUM_TUPLE_SIZE)
+            this.firstTwoPositionsIndex
+              .computeIfAbsent(tuple.subList(0, 2), v -> ConcurrentHashMap.newKeySet()).add(tuple);
+          this.tupleCounts.put(tuple, new AtomicInteger(1));
+        }
+      }
+    }
+
+    public synchronized void remove(@NonNull OWLAxiom axiom)
+    {
+      Integer axiomCount = this.axiomCounts.get(axiom);
+
+      if (axiomCount == null)
+        return;
+      else if (axiomCount > 1) { // Still in another ontology in the imports closure
+        this.axiomCounts.put(axiom, axiomCount - 1);
+        return;
+      }
+      this.axiomCounts.remove(axiom);
+
+      for (List<@NonNull OWLObject> tuple : OWLAxiomIndex.getTuples(axiom)) {
+        AtomicInteger count = this.tupleCounts.get(tuple);
+
+        if (count != null && count.decrementAndGet() == 0) {
+          this.tupleCounts.remove(tuple);
+          for (int position = 0; position < tuple.size(); position++)
+            removeFromIndex(this.positionIndexes.get(position), tuple.get(position), tuple);
+          if (tuple.size() == MAXIMUM_TUPLE_SIZE)
+            removeFromIndex(this.firstTwoPositionsIndex, tuple.subList(0, 2), tuple);
+        }
+      }
+    }
+
+    private static <K> void removeFromIndex(@NonNull Map<K, @NonNull Set<@NonNull List<@NonNull OWLObject>>> index,
+      @NonNull K key, @NonNull List<@NonNull OWLObject> tuple)
+    {
+      Set<@NonNull List<@NonNull OWLObject>> tuples = index.get(key);
+
+      if (tuples != null) {
+        tuples.remove(tuple);
+        if (tuples.isEmpty())
+          index.remove(key);
+      }
+    }
+  }
+}
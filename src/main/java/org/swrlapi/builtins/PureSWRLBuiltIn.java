@@ -0,0 +1,21 @@
+package org.swrlapi.builtins;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a built-in method as pure: its result depends only on the values of its bound arguments, and it neither reads
+ * the ontology nor has side effects. The {@link org.swrlapi.builtins.SWRLBuiltInLibraryManager} memoizes the results
+ * of pure built-ins, so a pure built-in is invoked at most once for each combination of bound argument values while
+ * that combination remains in the cache.
+ * <p>
+ * Built-ins that are cheaper to invoke than to look up, such as simple comparisons, should not be marked as pure.
+ *
+ * @see org.swrlapi.builtins.SWRLBuiltInLibraryManager#getPureSWRLBuiltInCacheStats()
+ */
+@Documented @Retention(RetentionPolicy.RUNTIME) @Target(ElementType.METHOD) public @interface PureSWRLBuiltIn
+{
+}
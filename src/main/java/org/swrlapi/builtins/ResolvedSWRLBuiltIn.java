@@ -0,0 +1,79 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.lang.reflect.Method;
+
+/**
+ * A SWRL built-in that has been resolved to its implementing library and Java method. Instances are created by the
+ * {@link org.swrlapi.builtins.SWRLBuiltInLibraryManager} when rules are loaded and are attached to
+ * {@link org.swrlapi.core.SWRLAPIBuiltInAtom}s so that built-in invocation requires no name lookups or reflection.
+ *
+ * @see org.swrlapi.builtins.SWRLBuiltInInvoker
+ * @see org.swrlapi.core.SWRLAPIBuiltInAtom#getResolvedBuiltIn()
+ */
+public final class ResolvedSWRLBuiltIn
+{
+  @NonNull private final String prefix;
+  @NonNull private final String builtInMethodName;
+  @NonNull private final String builtInPrefixedName;
+  @NonNull private final SWRLBuiltInLibrary library;
+  @NonNull private final Method method;
+  @NonNull private final SWRLBuiltInInvoker invoker;
+  private final boolean pure;
+
+  ResolvedSWRLBuiltIn(@NonNull String prefix, @NonNull String builtInMethodName,
+    @NonNull SWRLBuiltInLibrary library, @NonNull Method method, @NonNull SWRLBuiltInInvoker invoker)
+  {
+    this.prefix = prefix;
+    this.builtInMethodName = builtInMethodName;
+    this.builtInPrefixedName = prefix + ":" + builtInMethodName;
+    this.library = library;
+    this.method = method;
+    this.invoker = invoker;
+    this.pure = method.isAnnotationPresent(PureSWRLBuiltIn.class);
+  }
+
+  @NonNull public String getPrefix()
+  {
+    return this.prefix;
+  }
+
+  @NonNull public String getBuiltInMethodName()
+  {
+    return this.builtInMethodName;
+  }
+
+  @NonNull public String getBuiltInPrefixedName()
+  {
+    return this.builtInPrefixedName;
+  }
+
+  @NonNull public SWRLBuiltInLibrary getLibrary()
+  {
+    return this.library;
+  }
+
+  @NonNull public Method getMethod()
+  {
+    return this.method;
+  }
+
+  @NonNull public SWRLBuiltInInvoker getInvoker()
+  {
+    return this.invoker;
+  }
+
+  /**
+   * @return True if the built-in method is annotated as {@link PureSWRLBuiltIn}
+   */
+  public boolean isPure()
+  {
+    return this.pure;
+  }
+
+  @NonNull @Override public String toString()
+  {
+    return this.builtInPrefixedName;
+  }
+}
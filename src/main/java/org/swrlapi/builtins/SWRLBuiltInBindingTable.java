@@ -0,0 +1,242 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The argument bindings produced by a built-in that evaluated to true, held as a table with one column for each
+ * built-in argument and one row for each binding. Columns for arguments bound to a
+ * {@link org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument} hold the values of that argument; the
+ * other columns hold the same argument in every row. Rows are not materialized, so target rule engines can read
+ * bindings with {@link #getArgument(int, int)} without allocating a list for each row.
+ * <p>
+ * A built-in that binds a multi-value argument to repeated values produces repeated rows. Engines that require each
+ * binding at most once should call {@link #distinct()}.
+ * <p>
+ * The table is also a read-only list of rows so it can be used wherever a list of argument lists is expected.
+ *
+ * @see org.swrlapi.builtins.SWRLBuiltInLibraryManager
+ * @see org.swrlapi.bridge.SWRLRuleEngineBridge#invokeSWRLBuiltIn(org.swrlapi.core.SWRLAPIBuiltInAtom, boolean, List)
+ */
+public final class SWRLBuiltInBindingTable extends AbstractList<@NonNull List<@NonNull SWRLBuiltInArgument>>
+{
+  private static final SWRLBuiltInBindingTable EMPTY_TABLE = new SWRLBuiltInBindingTable(Collections.emptyList(),
+    Collections.emptyList(), new int[0], 0, null);
+
+  @NonNull private final List<@NonNull SWRLBuiltInArgument> arguments;
+  @NonNull private final List<@Nullable List<@NonNull SWRLBuiltInArgument>> columnValues; // Null if single-valued
+  @NonNull private final int[] multiValueColumns;
+  private final int numberOfRows;
+  @Nullable private final int[] rows; // Selected rows of the multi-value columns; null if all are selected
+
+  private SWRLBuiltInBindingTable(@NonNull List<@NonNull SWRLBuiltInArgument> arguments,
+    @NonNull List<@Nullable List<@NonNull SWRLBuiltInArgument>> columnValues, @NonNull int[] multiValueColumns,
+    int numberOfRows, @Nullable int[] rows)
+  {
+    this.arguments = arguments;
+    this.columnValues = columnValues;
+    this.multiValueColumns = multiValueColumns;
+    this.numberOfRows = numberOfRows;
+    this.rows = rows;
+  }
+
+  /**
+   * @return A table with no rows, representing a built-in that evaluated to false
+   */
+  @NonNull public static SWRLBuiltInBindingTable empty()
+  {
+    return EMPTY_TABLE;
+  }
+
+  /**
+   * @param arguments The arguments of a built-in that has no multi-value arguments
+   * @return A table with a single row holding the arguments
+   */
+  @NonNull static SWRLBuiltInBindingTable createSingleRowTable(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+  {
+    return new SWRLBuiltInBindingTable(arguments, Collections.nCopies(arguments.size(), null), new int[0], 1, null);
+  }
+
+  /**
+   * @param arguments         The arguments of a built-in
+   * @param columnValues      The values of each multi-value argument, or null for other arguments
+   * @param multiValueColumns The indexes of the multi-value arguments
+   * @param numberOfRows      The number of values of each multi-value argument
+   * @return A table with a row for each value of the multi-value arguments
+   */
+  @NonNull static SWRLBuiltInBindingTable createMultiRowTable(@NonNull List<@NonNull SWRLBuiltInArgument> arguments,
+    @NonNull List<@Nullable List<@NonNull SWRLBuiltInArgument>> columnValues, @NonNull int[] multiValueColumns,
+    int numberOfRows)
+  {
+    return new SWRLBuiltInBindingTable(arguments, columnValues, multiValueColumns, numberOfRows, null);
+  }
+
+  /**
+   * Columns whose argument differs between bindings become multi-value columns.
+   *
+   * @param bindings The argument bindings of a built-in, each holding an argument for each built-in argument
+   * @return A table with a row for each binding
+   */
+  @NonNull public static SWRLBuiltInBindingTable createTable(
+    @NonNull List<@NonNull List<@NonNull SWRLBuiltInArgument>> bindings)
+  {
+    if (bindings instanceof SWRLBuiltInBindingTable)
+      return (SWRLBuiltInBindingTable)bindings;
+    else if (bindings.isEmpty())
+      return EMPTY_TABLE;
+    else if (bindings.size() == 1)
+      return createSingleRowTable(bindings.get(0));
+
+    List<@NonNull SWRLBuiltInArgument> arguments = bindings.get(0);
+    List<@Nullable List<@NonNull SWRLBuiltInArgument>> columnValues = new ArrayList<>(arguments.size());
+    int[] multiValueColumns = new int[arguments.size()];
+    int numberOfMultiValueColumns = 0;
+
+    for (int column = 0; column < arguments.size(); column++) {
+      List<@NonNull SWRLBuiltInArgument> values = new ArrayList<>(bindings.size());
+      boolean isMultiValueColumn = false;
+
+      for (List<@NonNull SWRLBuiltInArgument> binding : bindings) {
+        SWRLBuiltInArgument value = binding.get(column);
+        values.add(value);
+        isMultiValueColumn |= !value.equals(arguments.get(column));
+      }
+
+      if (isMultiValueColumn) {
+        columnValues.add(values);
+        multiValueColumns[numberOfMultiValueColumns++] = column;
+      } else
+        columnValues.add(null);
+    }
+    return new SWRLBuiltInBindingTable(arguments, columnValues,
+      Arrays.copyOf(multiValueColumns, numberOfMultiValueColumns), bindings.size(), null);
+  }
+
+  /**
+   * @return The number of bindings in the table
+   */
+  public int getNumberOfRows()
+  {
+    return this.rows == null ? this.numberOfRows : this.rows.length;
+  }
+
+  /**
+   * @return The number of built-in arguments
+   */
+  public int getNumberOfColumns()
+  {
+    return this.arguments.size();
+  }
+
+  /**
+   * @param row    The 0-based row
+   * @param column The 0-based argument number
+   * @return The value of the argument in the binding
+   */
+  @NonNull public SWRLBuiltInArgument getArgument(int row, int column)
+  {
+    if (row < 0 || row >= getNumberOfRows())
+      throw new IndexOutOfBoundsException("row " + row + " out of range for table with " + getNumberOfRows() + " rows");
+
+    List<@NonNull SWRLBuiltInArgument> values = this.columnValues.get(column);
+
+    if (values == null)
+      return this.arguments.get(column);
+    else
+      return values.get(this.rows == null ? row : this.rows[row]);
+  }
+
+  /**
+   * @param column The 0-based argument number
+   * @return True if the column holds the values of a multi-value argument
+   */
+  public boolean isMultiValueColumn(int column)
+  {
+    return this.columnValues.get(column) != null;
+  }
+
+  /**
+   * Only the multi-value columns are compared because the other columns are the same in every row.
+   *
+   * @return A table with the repeated rows of this table removed; this table if it has no repeated rows
+   */
+  @NonNull public SWRLBuiltInBindingTable distinct()
+  {
+    int numberOfRows = getNumberOfRows();
+
+    if (numberOfRows < 2) // A table with no multi-value columns has a single row
+      return this;
+
+    Set<@NonNull Object> rowKeys = new HashSet<>();
+    int[] distinctRows = new int[numberOfRows];
+    int numberOfDistinctRows = 0;
+
+    for (int row = 0; row < numberOfRows; row++) {
+      if (rowKeys.add(getRowKey(row)))
+        distinctRows[numberOfDistinctRows++] = this.rows == null ? row : this.rows[row];
+    }
+
+    if (numberOfDistinctRows == numberOfRows)
+      return this;
+    else
+      return new SWRLBuiltInBindingTable(this.arguments, this.columnValues, this.multiValueColumns, this.numberOfRows,
+        Arrays.copyOf(distinctRows, numberOfDistinctRows));
+  }
+
+  @NonNull @Override public List<@NonNull SWRLBuiltInArgument> get(int row)
+  {
+    if (row < 0 || row >= getNumberOfRows())
+      throw new IndexOutOfBoundsException("row " + row + " out of range for table with " + getNumberOfRows() + " rows");
+
+    return new Row(row);
+  }
+
+  @Override public int size()
+  {
+    return getNumberOfRows();
+  }
+
+  // The value of the only multi-value column, or a list of the values of all of them
+  @NonNull private Object getRowKey(int row)
+  {
+    if (this.multiValueColumns.length == 1)
+      return getArgument(row, this.multiValueColumns[0]);
+    else {
+      List<@NonNull SWRLBuiltInArgument> rowKey = new ArrayList<>(this.multiValueColumns.length);
+
+      for (int column : this.multiValueColumns)
+        rowKey.add(getArgument(row, column));
+
+      return rowKey;
+    }
+  }
+
+  private final class Row extends AbstractList<@NonNull SWRLBuiltInArgument>
+  {
+    private final int row;
+
+    private Row(int row)
+    {
+      this.row = row;
+    }
+
+    @NonNull @Override public SWRLBuiltInArgument get(int column)
+    {
+      return getArgument(this.row, column);
+    }
+
+    @Override public int size()
+    {
+      return getNumberOfColumns();
+    }
+  }
+}
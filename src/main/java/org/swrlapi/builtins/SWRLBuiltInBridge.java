@@ -3,6 +3,7 @@ package org.swrlapi.builtins;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.exceptions.SWRLBuiltInBridgeException;
@@ -13,6 +14,7 @@ import org.swrlapi.sqwrl.SQWRLResultGenerator;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * The SWRL Built-in Bridge defines the methods seen by SWRL built-in implementations at run time.
@@ -32,6 +34,25 @@ public interface SWRLBuiltInBridge
 
   @NonNull OWLOntology getOWLOntology();
 
+  /**
+   * This call can be used by built-ins to get an index over the active ontology that is shared with other built-ins
+   * and kept up to date from ontology changes. Bridges that do not hold shared indexes do not support this call, since
+   * an index built on each call would cost a scan of the ontology and would not follow later changes.
+   *
+   * @param indexClass   The class of the index
+   * @param indexCreator Creates the index for an OWL ontology if there is none
+   * @return The index of the given class for the active ontology
+   * @throws SWRLBuiltInBridgeException If the bridge does not hold shared indexes
+   * @see org.swrlapi.core.SWRLAPIOWLOntology#getOWLOntologyIndex(Class, Function)
+   */
+  @NonNull default <T extends OWLOntologyChangeListener> T getOWLOntologyIndex(@NonNull Class<T> indexClass,
+    @NonNull Function<@NonNull OWLOntology, @NonNull T> indexCreator) throws SWRLBuiltInBridgeException
+  {
+    throw new SWRLBuiltInBridgeException(
+      "built-in bridge " + getClass().getName() + " does not hold shared ontology indexes; cannot get index "
+        + indexClass.getName());
+  }
+
   /**
    * This call is used by the SQWRL built-in library to get the result generator for a SQWRL query that is currently
    * being executed.
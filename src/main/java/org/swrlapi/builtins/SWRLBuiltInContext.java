@@ -7,6 +7,10 @@ import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
 /**
  * Provides invocation context for invoked SWRL built-ins (such the name of invoking rule, whether the invocation is in
  * the consequent or the antecedent) and access to the invoking {@link org.swrlapi.builtins.SWRLBuiltInBridge}.
+ * <p>
+ * A built-in method may declare a second parameter of this type, in which case it is passed an immutable context for
+ * the current invocation. Built-in methods that accept only their argument list can retrieve the same information from
+ * the accessors of their enclosing {@link org.swrlapi.builtins.AbstractSWRLBuiltInLibrary}.
  *
  * @see org.swrlapi.builtins.SWRLBuiltInLibrary
  * @see org.swrlapi.builtins.SWRLBuiltInBridge
@@ -20,10 +24,21 @@ public interface SWRLBuiltInContext
   @NonNull SWRLBuiltInBridge getBuiltInBridge() throws SWRLBuiltInLibraryException;
 
   /**
+   * Calls on a built-in library are forwarded to its {@link SWRLBuiltInLibrary#invokeResetMethod(SWRLBuiltInBridge)}.
+   * A per-invocation context has no library to reset.
+   *
    * @param bridge The associated SWRL rule engine bridge
-   * @throws SWRLBuiltInLibraryException If the method is called outside of a built-in invocation context
+   * @throws SWRLBuiltInLibraryException If the method is called on a per-invocation context
+   * @deprecated Use {@link SWRLBuiltInLibrary#invokeResetMethod(SWRLBuiltInBridge)}
    */
-  void invokeResetMethod(@NonNull SWRLBuiltInBridge bridge) throws SWRLBuiltInLibraryException;
+  @Deprecated default void invokeResetMethod(@NonNull SWRLBuiltInBridge bridge) throws SWRLBuiltInLibraryException
+  {
+    if (this instanceof SWRLBuiltInLibrary)
+      ((SWRLBuiltInLibrary)this).invokeResetMethod(bridge);
+    else
+      throw new SWRLBuiltInLibraryException(
+        "invalid call to invokeResetMethod - should only be called on a built-in library");
+  }
 
   /**
    * @return The invoking rule name
@@ -52,4 +67,15 @@ public interface SWRLBuiltInContext
    * @throws SWRLBuiltInLibraryException If the method is called outside of a built-in invocation context
    */
   boolean getIsInConsequent() throws SWRLBuiltInLibraryException;
+
+  /**
+   * @return The compiled forms of the constant arguments of the invoking built-in atom; by default there are none
+   * @throws SWRLBuiltInLibraryException If the method is called outside of a built-in invocation context
+   * @see org.swrlapi.builtins.SWRLBuiltInLibrary#compileBuiltInArgument(String, int,
+   * org.swrlapi.builtins.arguments.SWRLBuiltInArgument)
+   */
+  @NonNull default CompiledSWRLBuiltInArguments getCompiledArguments() throws SWRLBuiltInLibraryException
+  {
+    return CompiledSWRLBuiltInArguments.empty();
+  }
 }
@@ -0,0 +1,29 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.List;
+
+/**
+ * A pre-bound invoker for the Java method implementing a SWRL built-in. Invokers are generated once by the
+ * {@link org.swrlapi.builtins.SWRLBuiltInLibraryManager} when a built-in is resolved and call the built-in method
+ * directly, without going through reflection.
+ *
+ * @see org.swrlapi.builtins.ResolvedSWRLBuiltIn
+ * @see org.swrlapi.builtins.SWRLBuiltInLibraryManager
+ */
+@FunctionalInterface
+public interface SWRLBuiltInInvoker
+{
+  /**
+   * @param library   The library instance implementing the built-in
+   * @param arguments The built-in arguments
+   * @param context   The invocation context; passed on to built-in methods that accept it
+   * @return The return value from the built-in predicate
+   * @throws SWRLBuiltInException If an error occurs during built-in evaluation
+   */
+  boolean invoke(@NonNull SWRLBuiltInLibrary library, @NonNull List<@NonNull SWRLBuiltInArgument> arguments,
+    @NonNull SWRLBuiltInContext context) throws SWRLBuiltInException;
+}
@@ -4,9 +4,11 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -38,6 +40,31 @@ public interface SWRLBuiltInLibrary extends SWRLBuiltInContext
    */
   void reset();
 
+  /**
+   * @param bridge The associated SWRL rule engine bridge
+   * @throws SWRLBuiltInLibraryException If an error occurs during resetting
+   */
+  @Override void invokeResetMethod(@NonNull SWRLBuiltInBridge bridge) throws SWRLBuiltInLibraryException;
+
+  /**
+   * Compile a constant argument of a built-in in the library. Invoked by {@link SWRLBuiltInLibraryManager} once for
+   * each non-variable argument of a built-in atom when the enclosing rule is loaded. The compiled argument is passed to
+   * every invocation of the built-in atom through its {@link SWRLBuiltInContext#getCompiledArguments()}.
+   * <p>
+   * Arguments that cannot be compiled, including invalid ones, should not be compiled so that the built-in reports any
+   * error when it is invoked. By default, no arguments are compiled.
+   *
+   * @param builtInMethodName The built-in name fragment
+   * @param argumentNumber    The 0-based number of the argument
+   * @param argument          The constant argument
+   * @return The compiled form of the argument, if any
+   */
+  @NonNull default Optional<@NonNull Object> compileBuiltInArgument(@NonNull String builtInMethodName,
+    int argumentNumber, @NonNull SWRLBuiltInArgument argument)
+  {
+    return Optional.empty();
+  }
+
   /**
    * Method to invoke a built-in in the library. Invoked by {@link SWRLBuiltInLibraryManager}.
    *
@@ -55,4 +82,27 @@ public interface SWRLBuiltInLibrary extends SWRLBuiltInContext
   boolean invokeBuiltInMethod(@NonNull Method method, @NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName,
     @NonNull String prefix, @NonNull String builtInMethodName, int builtInIndex, boolean isInConsequent,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException;
+
+  /**
+   * Method to invoke a resolved built-in in the library. Invoked by {@link SWRLBuiltInLibraryManager}. The default
+   * implementation invokes the resolved built-in method as an unresolved one, ignoring the compiled arguments.
+   *
+   * @param resolvedSWRLBuiltIn The resolved built-in
+   * @param bridge              The built-in bridge
+   * @param ruleName            The invoking rule name
+   * @param builtInIndex        The 0-based index of the built-in in the rule
+   * @param isInConsequent      Is the built-in in the rule consequent
+   * @param compiledArguments   The compiled constant arguments of the built-in
+   * @param arguments           The arguments to the built-in
+   * @return The return value from the built-in predicate
+   * @throws SWRLBuiltInException If the parameters are invalid or if there is an error during built-in invocation
+   */
+  default boolean invokeBuiltInMethod(@NonNull ResolvedSWRLBuiltIn resolvedSWRLBuiltIn,
+    @NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName, int builtInIndex, boolean isInConsequent,
+    @NonNull CompiledSWRLBuiltInArguments compiledArguments, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
+  {
+    return invokeBuiltInMethod(resolvedSWRLBuiltIn.getMethod(), bridge, ruleName, resolvedSWRLBuiltIn.getPrefix(),
+      resolvedSWRLBuiltIn.getBuiltInMethodName(), builtInIndex, isInConsequent, arguments);
+  }
 }
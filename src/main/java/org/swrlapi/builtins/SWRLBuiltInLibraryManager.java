@@ -1,20 +1,52 @@
 package org.swrlapi.builtins;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.swrlapi.builtins.arguments.SWRLAnnotationPropertyBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLClassExpressionBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDataPropertyExpressionBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDatatypeBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLObjectPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLObjectPropertyExpressionBuiltInArgument;
 import org.swrlapi.exceptions.IncompatibleBuiltInMethodException;
 import org.swrlapi.exceptions.IncompatibleSWRLBuiltInClassException;
+import org.swrlapi.exceptions.SWRLAPIInternalException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
 import org.swrlapi.exceptions.UnresolvedSWRLBuiltInClassException;
 import org.swrlapi.exceptions.UnresolvedSWRLBuiltInMethodException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -29,7 +61,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 
 /**
@@ -56,13 +88,27 @@ public class SWRLBuiltInLibraryManager
   // Map of built-in library prefix name to SWRLBuiltInLibrary instance
   @NonNull private final Map<@NonNull String, @NonNull SWRLBuiltInLibrary> swrlBuiltInLibraryImplementations;
 
-  // Map of prefix:methodName to method implementation
-  @NonNull private final Map<@NonNull String, @NonNull Method> swrlBuiltInMethods;
+  // Map of prefix:methodName to resolved built-in implementation
+  @NonNull private final Map<@NonNull String, @NonNull ResolvedSWRLBuiltIn> resolvedSWRLBuiltIns;
+
+  private static final long PURE_SWRL_BUILT_IN_CACHE_MAXIMUM_SIZE = 10000;
+  private static final Object UNBOUND_ARGUMENT_CACHE_KEY = new Object();
+
+  // Map of pure built-in and bound argument values to the values of its unbound arguments, or empty if it failed.
+  // Values are held as OWL objects, which are immutable, rather than as built-in arguments.
+  @NonNull private final Cache<@NonNull List<Object>, @NonNull Optional<List<OWLObject>>> pureSWRLBuiltInResults;
+
+  private static final MethodType builtInInvokerMethodType = MethodType
+    .methodType(Boolean.TYPE, SWRLBuiltInLibrary.class, List.class, SWRLBuiltInContext.class);
+  private static final MethodType contextFreeBuiltInInvokerMethodType = MethodType
+    .methodType(Boolean.TYPE, SWRLBuiltInLibrary.class, List.class);
 
   public SWRLBuiltInLibraryManager()
   {
     this.swrlBuiltInLibraryImplementations = new HashMap<>();
-    this.swrlBuiltInMethods = new HashMap<>();
+    this.resolvedSWRLBuiltIns = new ConcurrentHashMap<>();
+    this.pureSWRLBuiltInResults = CacheBuilder.newBuilder().maximumSize(PURE_SWRL_BUILT_IN_CACHE_MAXIMUM_SIZE)
+      .recordStats().build();
 
     loadInternalSWRLBuiltInLibraries(preCannedSWRLBuiltInLibraryPrefixes);
   }
@@ -149,16 +195,46 @@ public class SWRLBuiltInLibraryManager
     return Collections.unmodifiableSet(swrlBuiltInIRI2PrefixedName.keySet());
   }
 
+  /**
+   * Resolve a SWRL built-in to its implementing library and method. This method is intended to be called when rules are
+   * loaded so that the returned handle can be used for subsequent invocations via
+   * {@link #invokeSWRLBuiltIn(SWRLBuiltInBridge, ResolvedSWRLBuiltIn, String, int, boolean, List)}.
+   *
+   * @param ruleName                  The name of the rule containing the built-in
+   * @param builtInMethodPrefixedName The prefixed name of the built-in (e.g., swrlb:lessThanOrEqual)
+   * @return The resolved built-in
+   * @throws SWRLBuiltInException If the built-in can not be resolved
+   */
+  @NonNull public ResolvedSWRLBuiltIn resolveSWRLBuiltIn(@NonNull String ruleName,
+    @NonNull String builtInMethodPrefixedName) throws SWRLBuiltInException
+  {
+    ResolvedSWRLBuiltIn resolvedSWRLBuiltIn = this.resolvedSWRLBuiltIns.get(builtInMethodPrefixedName);
+
+    if (resolvedSWRLBuiltIn != null)
+      return resolvedSWRLBuiltIn;
+    else {
+      String prefix = getPrefixFromPrefixedName(builtInMethodPrefixedName);
+      String builtInMethodName = getBuiltInMethodNameFromPrefixedName(builtInMethodPrefixedName);
+      SWRLBuiltInLibrary swrlBuiltInLibrary = getSWRLBuiltInLibraryImplementation(prefix);
+
+      resolvedSWRLBuiltIn = resolveSWRLBuiltInMethod(ruleName, swrlBuiltInLibrary, prefix, builtInMethodName);
+
+      this.resolvedSWRLBuiltIns.put(builtInMethodPrefixedName, resolvedSWRLBuiltIn);
+
+      return resolvedSWRLBuiltIn;
+    }
+  }
+
   /**
    * Invoke a SWRL built-in. This method is called from the
    * {@link org.swrlapi.bridge.SWRLRuleEngineBridge#invokeSWRLBuiltIn} method in the
    * {@link org.swrlapi.bridge.SWRLRuleEngineBridge} and should not be called directly from a rule engine. The built-in
    * name should be the prefixed name of the built-in (e.g., swrlb:lessThanOrEqual).
    * <p>
-   * For built-ins that evaluate to true, this method will return a list of argument patterns, one pattern for each
-   * combination of arguments that evaluates to true.
+   * For built-ins that evaluate to true, this method will return a binding table with a row for each combination of
+   * arguments that evaluates to true. Rows are repeated if a multi-value argument has repeated values.
    * <p>
-   * If the built-in evaluates to false, it will return an empty argument pattern list.
+   * If the built-in evaluates to false, it will return an empty binding table.
    *
    * @param bridge                    The built-in bridge
    * @param ruleName                  The name of the invoking rule
@@ -169,33 +245,254 @@ public class SWRLBuiltInLibraryManager
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an exception occurs during invocation
    */
-  @NonNull public List<@NonNull List<@NonNull SWRLBuiltInArgument>> invokeSWRLBuiltIn(@NonNull SWRLBuiltInBridge bridge,
+  @NonNull public SWRLBuiltInBindingTable invokeSWRLBuiltIn(@NonNull SWRLBuiltInBridge bridge,
     @NonNull String ruleName, @NonNull String builtInMethodPrefixedName, int builtInIndex, boolean isInConsequent,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    String prefix = getPrefixFromPrefixedName(builtInMethodPrefixedName);
-    String builtInMethodName = getBuiltInMethodNameFromPrefixedName(builtInMethodPrefixedName);
-    SWRLBuiltInLibrary swrlBuiltInLibrary = getSWRLBuiltInLibraryImplementation(prefix);
-    Method method = resolveSWRLBuiltInMethod(ruleName, swrlBuiltInLibrary, prefix, builtInMethodName);
-    List<@NonNull List<@NonNull SWRLBuiltInArgument>> argumentPatterns = new ArrayList<>();
+    ResolvedSWRLBuiltIn resolvedSWRLBuiltIn = resolveSWRLBuiltIn(ruleName, builtInMethodPrefixedName);
 
-    if (swrlBuiltInLibrary
-      .invokeBuiltInMethod(method, bridge, ruleName, prefix, builtInMethodName, builtInIndex, isInConsequent,
+    return invokeSWRLBuiltIn(bridge, resolvedSWRLBuiltIn, ruleName, builtInIndex, isInConsequent, arguments);
+  }
+
+  /**
+   * Invoke a previously resolved SWRL built-in.
+   *
+   * @param bridge              The built-in bridge
+   * @param resolvedSWRLBuiltIn The resolved built-in
+   * @param ruleName            The name of the invoking rule
+   * @param builtInIndex        The 0-based index of the invoked built-in
+   * @param isInConsequent      If the built-in in the consequent?
+   * @param arguments           The built-in arguments
+   * @return The result of the built-in
+   * @throws SWRLBuiltInException If an exception occurs during invocation
+   * @see #resolveSWRLBuiltIn(String, String)
+   */
+  @NonNull public SWRLBuiltInBindingTable invokeSWRLBuiltIn(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull ResolvedSWRLBuiltIn resolvedSWRLBuiltIn, @NonNull String ruleName, int builtInIndex,
+    boolean isInConsequent, @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    return invokeSWRLBuiltIn(bridge, resolvedSWRLBuiltIn, CompiledSWRLBuiltInArguments.empty(), ruleName, builtInIndex,
+      isInConsequent, arguments);
+  }
+
+  /**
+   * Invoke a previously resolved SWRL built-in whose constant arguments have been compiled.
+   *
+   * @param bridge              The built-in bridge
+   * @param resolvedSWRLBuiltIn The resolved built-in
+   * @param compiledArguments   The compiled constant arguments of the built-in
+   * @param ruleName            The name of the invoking rule
+   * @param builtInIndex        The 0-based index of the invoked built-in
+   * @param isInConsequent      If the built-in in the consequent?
+   * @param arguments           The built-in arguments
+   * @return The result of the built-in
+   * @throws SWRLBuiltInException If an exception occurs during invocation
+   * @see #compileSWRLBuiltInArguments(ResolvedSWRLBuiltIn, List)
+   */
+  @NonNull public SWRLBuiltInBindingTable invokeSWRLBuiltIn(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull ResolvedSWRLBuiltIn resolvedSWRLBuiltIn, @NonNull CompiledSWRLBuiltInArguments compiledArguments,
+    @NonNull String ruleName, int builtInIndex, boolean isInConsequent,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    if (resolvedSWRLBuiltIn.isPure() && isMemoizable(arguments))
+      return invokePureSWRLBuiltIn(bridge, resolvedSWRLBuiltIn, compiledArguments, ruleName, builtInIndex,
+        isInConsequent, arguments);
+    else if (invokeSWRLBuiltInMethod(bridge, resolvedSWRLBuiltIn, compiledArguments, ruleName, builtInIndex,
+      isInConsequent, arguments))
+      return createBuiltInBindingTable(ruleName, resolvedSWRLBuiltIn.getBuiltInPrefixedName(), builtInIndex,
+        arguments);
+    else
+      return SWRLBuiltInBindingTable.empty();
+  }
+
+  /**
+   * Compile the constant arguments of a resolved built-in. This method is intended to be called once for each built-in
+   * atom when its rule is loaded. Each non-variable argument is passed to the built-in's library, which may return a
+   * compiled form of the argument for use by subsequent invocations.
+   *
+   * @param resolvedSWRLBuiltIn The resolved built-in
+   * @param arguments           The built-in arguments
+   * @return The compiled arguments
+   * @see SWRLBuiltInLibrary#compileBuiltInArgument(String, int, SWRLBuiltInArgument)
+   */
+  @NonNull public CompiledSWRLBuiltInArguments compileSWRLBuiltInArguments(
+    @NonNull ResolvedSWRLBuiltIn resolvedSWRLBuiltIn, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+  {
+    Object[] compiledArguments = new Object[arguments.size()];
+    boolean hasCompiledArguments = false;
+
+    for (int argumentNumber = 0; argumentNumber < arguments.size(); argumentNumber++) {
+      SWRLBuiltInArgument argument = arguments.get(argumentNumber);
+
+      if (!argument.isVariable()) {
+        Optional<@NonNull Object> compiledArgument = resolvedSWRLBuiltIn.getLibrary()
+          .compileBuiltInArgument(resolvedSWRLBuiltIn.getBuiltInMethodName(), argumentNumber, argument);
+
+        if (compiledArgument.isPresent()) {
+          compiledArguments[argumentNumber] = compiledArgument.get();
+          hasCompiledArguments = true;
+        }
+      }
+    }
+
+    return hasCompiledArguments ?
+      new CompiledSWRLBuiltInArguments(compiledArguments) :
+      CompiledSWRLBuiltInArguments.empty();
+  }
+
+  /**
+   * @return Statistics for the cache of pure built-in results
+   * @see org.swrlapi.builtins.PureSWRLBuiltIn
+   */
+  @NonNull public CacheStats getPureSWRLBuiltInCacheStats()
+  {
+    return this.pureSWRLBuiltInResults.stats();
+  }
+
+  /**
+   * Pure built-ins are memoized on their bound argument values. The cached result of an invocation is empty if the
+   * built-in evaluated to false and otherwise holds the values of the arguments that were unbound. A cache hit binds
+   * those arguments to new built-in arguments, so arguments are never shared between invocations. Results that are
+   * not single values, such as multi-value arguments, are not cached.
+   */
+  @NonNull private SWRLBuiltInBindingTable invokePureSWRLBuiltIn(
+    @NonNull SWRLBuiltInBridge bridge, @NonNull ResolvedSWRLBuiltIn resolvedSWRLBuiltIn,
+    @NonNull CompiledSWRLBuiltInArguments compiledArguments, @NonNull String ruleName, int builtInIndex,
+    boolean isInConsequent, @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    List<@NonNull Integer> unboundArgumentIndexes = new ArrayList<>();
+    List<@NonNull Object> cacheKey = new ArrayList<>(arguments.size() + 1);
+
+    cacheKey.add(resolvedSWRLBuiltIn);
+    for (int argumentIndex = 0; argumentIndex < arguments.size(); argumentIndex++) {
+      SWRLBuiltInArgument argument = arguments.get(argumentIndex);
+
+      if (argument.isVariable()) {
+        unboundArgumentIndexes.add(argumentIndex);
+        cacheKey.add(UNBOUND_ARGUMENT_CACHE_KEY);
+      } else
+        cacheKey.add(getValue(argument)); // Present since the invocation is memoizable
+    }
+
+    Optional<@NonNull List<@NonNull OWLObject>> results = this.pureSWRLBuiltInResults.getIfPresent(cacheKey);
+
+    if (results == null) {
+      if (invokeSWRLBuiltInMethod(bridge, resolvedSWRLBuiltIn, compiledArguments, ruleName, builtInIndex,
+        isInConsequent, arguments)) {
+        List<@NonNull OWLObject> values = new ArrayList<>(unboundArgumentIndexes.size());
+
+        for (int unboundArgumentIndex : unboundArgumentIndexes) {
+          OWLObject value = getValue(arguments.get(unboundArgumentIndex));
+          if (value == null)
+            return createBuiltInBindingTable(ruleName, resolvedSWRLBuiltIn.getBuiltInPrefixedName(), builtInIndex,
+              arguments);
+          values.add(value);
+        }
+        results = Optional.of(values);
+      } else
+        results = Optional.empty();
+
+      this.pureSWRLBuiltInResults.put(cacheKey, results);
+    } else if (results.isPresent()) {
+      SWRLBuiltInArgumentFactory argumentFactory = bridge.getSWRLAPIOWLDataFactory().getSWRLBuiltInArgumentFactory();
+
+      for (int resultIndex = 0; resultIndex < unboundArgumentIndexes.size(); resultIndex++)
+        arguments.set(unboundArgumentIndexes.get(resultIndex),
+          createBuiltInArgument(results.get().get(resultIndex), argumentFactory));
+    }
+
+    if (results.isPresent())
+      return createBuiltInBindingTable(ruleName, resolvedSWRLBuiltIn.getBuiltInPrefixedName(), builtInIndex,
+        arguments);
+    else
+      return SWRLBuiltInBindingTable.empty();
+  }
+
+  // Null if the argument is not a single value that can be held by the pure built-in cache
+  @Nullable private static OWLObject getValue(@NonNull SWRLBuiltInArgument argument)
+  {
+    if (argument instanceof SWRLLiteralBuiltInArgument)
+      return ((SWRLLiteralBuiltInArgument)argument).getLiteral();
+    else if (argument instanceof SWRLNamedIndividualBuiltInArgument)
+      return ((SWRLNamedIndividualBuiltInArgument)argument).getOWLNamedIndividual();
+    else if (argument instanceof SWRLClassBuiltInArgument)
+      return ((SWRLClassBuiltInArgument)argument).getOWLClass();
+    else if (argument instanceof SWRLClassExpressionBuiltInArgument)
+      return ((SWRLClassExpressionBuiltInArgument)argument).getOWLClassExpression();
+    else if (argument instanceof SWRLObjectPropertyBuiltInArgument)
+      return ((SWRLObjectPropertyBuiltInArgument)argument).getOWLObjectProperty();
+    else if (argument instanceof SWRLObjectPropertyExpressionBuiltInArgument)
+      return ((SWRLObjectPropertyExpressionBuiltInArgument)argument).getOWLObjectPropertyExpression();
+    else if (argument instanceof SWRLDataPropertyBuiltInArgument)
+      return ((SWRLDataPropertyBuiltInArgument)argument).getOWLDataProperty();
+    else if (argument instanceof SWRLDataPropertyExpressionBuiltInArgument)
+      return ((SWRLDataPropertyExpressionBuiltInArgument)argument).getOWLDataPropertyExpression();
+    else if (argument instanceof SWRLAnnotationPropertyBuiltInArgument)
+      return ((SWRLAnnotationPropertyBuiltInArgument)argument).getOWLAnnotationProperty();
+    else if (argument instanceof SWRLDatatypeBuiltInArgument)
+      return ((SWRLDatatypeBuiltInArgument)argument).getOWLDatatype();
+    else
+      return null;
+  }
+
+  @NonNull private static SWRLBuiltInArgument createBuiltInArgument(@NonNull OWLObject value,
+    @NonNull SWRLBuiltInArgumentFactory argumentFactory)
+  {
+    if (value instanceof OWLLiteral)
+      return argumentFactory.getLiteralBuiltInArgument((OWLLiteral)value);
+    else if (value instanceof OWLNamedIndividual)
+      return argumentFactory.getNamedIndividualBuiltInArgument((OWLNamedIndividual)value);
+    else if (value instanceof OWLClass)
+      return argumentFactory.getClassBuiltInArgument((OWLClass)value);
+    else if (value instanceof OWLClassExpression)
+      return argumentFactory.getClassExpressionBuiltInArgument((OWLClassExpression)value);
+    else if (value instanceof OWLObjectProperty)
+      return argumentFactory.getObjectPropertyBuiltInArgument((OWLObjectProperty)value);
+    else if (value instanceof OWLObjectPropertyExpression)
+      return argumentFactory.getObjectPropertyExpressionBuiltInArgument((OWLObjectPropertyExpression)value);
+    else if (value instanceof OWLDataProperty)
+      return argumentFactory.getDataPropertyBuiltInArgument((OWLDataProperty)value);
+    else if (value instanceof OWLDataPropertyExpression)
+      return argumentFactory.getDataPropertyExpressionBuiltInArgument((OWLDataPropertyExpression)value);
+    else if (value instanceof OWLAnnotationProperty)
+      return argumentFactory.getAnnotationPropertyBuiltInArgument((OWLAnnotationProperty)value);
+    else if (value instanceof OWLDatatype)
+      return argumentFactory.getDatatypeBuiltInArgument((OWLDatatype)value);
+    else
+      throw new SWRLAPIInternalException("unexpected cached built-in result " + value);
+  }
+
+  // Invoke the built-in method; if it evaluates to true, its unbound arguments are replaced by their results
+  private boolean invokeSWRLBuiltInMethod(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull ResolvedSWRLBuiltIn resolvedSWRLBuiltIn, @NonNull CompiledSWRLBuiltInArguments compiledArguments,
+    @NonNull String ruleName, int builtInIndex, boolean isInConsequent,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    if (resolvedSWRLBuiltIn.getLibrary()
+      .invokeBuiltInMethod(resolvedSWRLBuiltIn, bridge, ruleName, builtInIndex, isInConsequent, compiledArguments,
         arguments)) {
 
       if (hasUnboundArguments(arguments)) // Make sure the built-in has bound all of its arguments.
         throw new SWRLBuiltInException(
-          "built-in " + builtInMethodPrefixedName + "(index " + builtInIndex + ") in rule " + ruleName
-            + " returned with unbound arguments");
+          "built-in " + resolvedSWRLBuiltIn.getBuiltInPrefixedName() + "(index " + builtInIndex + ") in rule "
+            + ruleName + " returned with unbound arguments");
 
       processBoundArguments(arguments);
 
-      argumentPatterns.addAll(
-        generateBuiltInArgumentPattern(ruleName, builtInMethodPrefixedName, builtInIndex, arguments).stream()
-          .collect(Collectors.toList()));
-    }
+      return true;
+    } else
+      return false;
+  }
 
-    return argumentPatterns;
+  // Only invocations whose variable arguments are all unbound are memoized; other variables may carry state. The other
+  // arguments must be single values that can key the cache.
+  private boolean isMemoizable(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    for (SWRLBuiltInArgument argument : arguments)
+      if (argument.isVariable() ? !argument.asVariable().isUnbound() : getValue(argument) == null)
+        return false;
+
+    return true;
   }
 
   private void processBoundArguments(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
@@ -235,6 +532,8 @@ public class SWRLBuiltInLibraryManager
 
   public void invokeAllBuiltInLibrariesResetMethod(@NonNull SWRLBuiltInBridge bridge) throws SWRLBuiltInLibraryException
   {
+    this.pureSWRLBuiltInResults.invalidateAll();
+
     for (SWRLBuiltInLibrary library : this.swrlBuiltInLibraryImplementations.values())
       invokeBuiltInLibraryResetMethod(bridge, library);
   }
@@ -242,46 +541,46 @@ public class SWRLBuiltInLibraryManager
   /**
    * This method is called with a list of built-in arguments. Some argument positions may contain multi-arguments,
    * indicating that there is more than one pattern. If the result has more than one multi-argument, each multi-argument
-   * must have the same number of elements.
+   * must have the same number of elements. The values of the multi-arguments become the columns of the returned table,
+   * so no list is created for each pattern.
    */
-  @NonNull private Set<@NonNull List<@NonNull SWRLBuiltInArgument>> generateBuiltInArgumentPattern(
-    @NonNull String ruleName, @NonNull String builtInName, int builtInIndex,
-    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  @NonNull private SWRLBuiltInBindingTable createBuiltInBindingTable(@NonNull String ruleName,
+    @NonNull String builtInName, int builtInIndex, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
   {
     List<@NonNull Integer> multiValueBuiltInArgumentIndexes = getMultiValueBuiltInArgumentIndexes(arguments);
-    Set<@NonNull List<@NonNull SWRLBuiltInArgument>> pattern = new HashSet<>();
 
     if (multiValueBuiltInArgumentIndexes.isEmpty()) // No multi-arguments - generate a single pattern
-      pattern.add(arguments);
+      return SWRLBuiltInBindingTable.createSingleRowTable(arguments);
     else { // Generate all possible patterns
-      int firstMultiValueBuiltInArgumentIndex = multiValueBuiltInArgumentIndexes.get(0); // Pick first multi-argument
-      SWRLMultiValueVariableBuiltInArgument multiValueBuiltInArgument = getArgumentAsASWRLMultiValueBuiltInArgument(
-        arguments, firstMultiValueBuiltInArgumentIndex);
-      int numberOfArgumentsInMultiValueBuiltInArgument = multiValueBuiltInArgument.getNumberOfArguments();
+      List<@Nullable List<@NonNull SWRLBuiltInArgument>> columnValues = new ArrayList<>(
+        Collections.nCopies(arguments.size(), null));
+      int[] multiValueColumns = new int[multiValueBuiltInArgumentIndexes.size()];
+      int numberOfArgumentsInMultiValueBuiltInArgument = -1;
 
-      if (numberOfArgumentsInMultiValueBuiltInArgument < 1)
-        throw new SWRLBuiltInException(
-          "empty multi-value argument for built-in " + builtInName + "(index " + builtInIndex + ") in rule "
-            + ruleName);
-
-      for (int i = 1; i < multiValueBuiltInArgumentIndexes.size(); i++) {
+      for (int i = 0; i < multiValueBuiltInArgumentIndexes.size(); i++) {
         int multiValueBuiltInArgumentIndex = multiValueBuiltInArgumentIndexes.get(i);
-        multiValueBuiltInArgument = getArgumentAsASWRLMultiValueBuiltInArgument(arguments,
-          multiValueBuiltInArgumentIndex);
-        if (numberOfArgumentsInMultiValueBuiltInArgument != multiValueBuiltInArgument.getNumberOfArguments())
+        SWRLMultiValueVariableBuiltInArgument multiValueBuiltInArgument = getArgumentAsASWRLMultiValueBuiltInArgument(
+          arguments, multiValueBuiltInArgumentIndex);
+
+        if (i == 0) { // Pick first multi-argument
+          numberOfArgumentsInMultiValueBuiltInArgument = multiValueBuiltInArgument.getNumberOfArguments();
+
+          if (numberOfArgumentsInMultiValueBuiltInArgument < 1)
+            throw new SWRLBuiltInException(
+              "empty multi-value argument for built-in " + builtInName + "(index " + builtInIndex + ") in rule "
+                + ruleName);
+        } else if (numberOfArgumentsInMultiValueBuiltInArgument != multiValueBuiltInArgument.getNumberOfArguments())
           throw new SWRLBuiltInException(
             "all multi-value arguments must have the same number of elements for built-in " + builtInName + "(index "
               + builtInIndex + ") in rule " + ruleName);
-      }
 
-      for (int multiValueBuiltInArgumentArgumentIndex = 0; multiValueBuiltInArgumentArgumentIndex
-        < numberOfArgumentsInMultiValueBuiltInArgument; multiValueBuiltInArgumentArgumentIndex++) {
-        List<@NonNull SWRLBuiltInArgument> argumentsPattern = generateArgumentsPattern(arguments,
-          multiValueBuiltInArgumentArgumentIndex);
-        pattern.add(argumentsPattern);
+        columnValues.set(multiValueBuiltInArgumentIndex, multiValueBuiltInArgument.getArguments());
+        multiValueColumns[i] = multiValueBuiltInArgumentIndex;
       }
+      return SWRLBuiltInBindingTable
+        .createMultiRowTable(arguments, columnValues, multiValueColumns, numberOfArgumentsInMultiValueBuiltInArgument);
     }
-    return pattern;
   }
 
   @NonNull private SWRLMultiValueVariableBuiltInArgument getArgumentAsASWRLMultiValueBuiltInArgument(
@@ -306,45 +605,95 @@ public class SWRLBuiltInLibraryManager
     return result;
   }
 
-  @NonNull private List<@NonNull SWRLBuiltInArgument> generateArgumentsPattern(
-    @NonNull List<@NonNull SWRLBuiltInArgument> arguments, int multiValueBuiltInArgumentArgumentIndex)
+  @NonNull private ResolvedSWRLBuiltIn resolveSWRLBuiltInMethod(@NonNull String ruleName,
+    @NonNull SWRLBuiltInLibrary library, @NonNull String prefix, @NonNull String builtInMethodName)
+    throws UnresolvedSWRLBuiltInMethodException
   {
-    List<@NonNull SWRLBuiltInArgument> result = new ArrayList<>();
+    try {
+      Method method = findSWRLBuiltInMethod(library.getClass(), builtInMethodName);
 
-    for (SWRLBuiltInArgument argument : arguments) {
-      if (argument instanceof SWRLMultiValueVariableBuiltInArgument) {
-        SWRLMultiValueVariableBuiltInArgument multiValueBuiltInArgument = (SWRLMultiValueVariableBuiltInArgument)argument;
-        result.add(multiValueBuiltInArgument.getArguments().get(multiValueBuiltInArgumentArgumentIndex));
-      } else
-        result.add(argument);
-    }
+      checkSWRLBuiltInMethodSignature(ruleName, prefix, builtInMethodName, method); // Check signature of method
 
-    return result;
+      SWRLBuiltInInvoker invoker = createSWRLBuiltInInvoker(library.getClass(), method);
+
+      return new ResolvedSWRLBuiltIn(prefix, builtInMethodName, library, method, invoker);
+    } catch (Exception e) {
+      throw new UnresolvedSWRLBuiltInMethodException(ruleName, prefix, builtInMethodName,
+        e.getMessage() != null ? e.getMessage() : "", e);
+    }
   }
 
-  @NonNull private Method resolveSWRLBuiltInMethod(@NonNull String ruleName, @NonNull SWRLBuiltInLibrary library,
-    @NonNull String prefix, @NonNull String builtInMethodName) throws UnresolvedSWRLBuiltInMethodException
+  /**
+   * Built-in methods that accept an explicit {@link SWRLBuiltInContext} are preferred over those that accept only their
+   * arguments.
+   */
+  @NonNull private Method findSWRLBuiltInMethod(@NonNull Class<?> libraryClass, @NonNull String builtInMethodName)
+    throws NoSuchMethodException
   {
-    String key = prefix + ":" + builtInMethodName;
-
-    if (swrlBuiltInMethods.containsKey(key))
-      return swrlBuiltInMethods.get(key);
-    else {
-      try {
-        Method method = library.getClass().getMethod(builtInMethodName, List.class);
-
-        checkSWRLBuiltInMethodSignature(ruleName, prefix, builtInMethodName, method); // Check signature of method
+    try {
+      return libraryClass.getMethod(builtInMethodName, List.class, SWRLBuiltInContext.class);
+    } catch (NoSuchMethodException e) {
+      return libraryClass.getMethod(builtInMethodName, List.class);
+    }
+  }
 
-        swrlBuiltInMethods.put(key, method);
+  /**
+   * Generate an invoker that calls the built-in method directly. We first try to spin a lambda with the
+   * {@link LambdaMetafactory}, which the JIT can inline at the call site. If the library class is not visible from
+   * this class loader we fall back to an invoker backed by an adapted method handle.
+   */
+  @NonNull private SWRLBuiltInInvoker createSWRLBuiltInInvoker(@NonNull Class<?> libraryClass, @NonNull Method method)
+    throws IllegalAccessException
+  {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodHandle methodHandle = lookup.unreflect(method);
+    boolean acceptsContext = method.getParameterCount() == 2;
 
-        return method;
-      } catch (Exception e) {
-        throw new UnresolvedSWRLBuiltInMethodException(ruleName, prefix, builtInMethodName,
-          e.getMessage() != null ? e.getMessage() : "", e);
+    try {
+      if (acceptsContext) {
+        CallSite callSite = LambdaMetafactory
+          .metafactory(lookup, "invoke", MethodType.methodType(SWRLBuiltInInvoker.class), builtInInvokerMethodType,
+            methodHandle, MethodType.methodType(Boolean.TYPE, libraryClass, List.class, SWRLBuiltInContext.class));
+
+        return (SWRLBuiltInInvoker)callSite.getTarget().invoke();
+      } else {
+        CallSite callSite = LambdaMetafactory
+          .metafactory(lookup, "invoke", MethodType.methodType(ContextFreeSWRLBuiltInInvoker.class),
+            contextFreeBuiltInInvokerMethodType, methodHandle,
+            MethodType.methodType(Boolean.TYPE, libraryClass, List.class));
+        ContextFreeSWRLBuiltInInvoker contextFreeInvoker = (ContextFreeSWRLBuiltInInvoker)callSite.getTarget()
+          .invoke();
+
+        return (library, arguments, context) -> contextFreeInvoker.invoke(library, arguments);
       }
+    } catch (Throwable e) {
+      log.debug("Falling back to method handle invocation for built-in method " + method + ": " + e.getMessage());
+
+      MethodHandle adaptedMethodHandle = (acceptsContext ?
+        methodHandle :
+        MethodHandles.dropArguments(methodHandle, 2, SWRLBuiltInContext.class)).asType(builtInInvokerMethodType);
+
+      return (library, arguments, context) -> {
+        try {
+          return (boolean)adaptedMethodHandle.invokeExact(library, arguments, context);
+        } catch (SWRLBuiltInException | RuntimeException | Error t) {
+          throw t;
+        } catch (Throwable t) {
+          throw new SWRLBuiltInLibraryException(
+            "internal built-in library exception when invoking built-in method " + method.getName() + ": " + t
+              .getMessage(), t);
+        }
+      };
     }
   }
 
+  // Target of generated invokers for built-in methods that do not accept an invocation context
+  @FunctionalInterface private interface ContextFreeSWRLBuiltInInvoker
+  {
+    boolean invoke(@NonNull SWRLBuiltInLibrary library, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+      throws SWRLBuiltInException;
+  }
+
   @NonNull private SWRLBuiltInLibrary instantiateSWRLBuiltInLibraryImplementation(
     @NonNull String swrlBuiltInLibraryPrefix) throws SWRLBuiltInLibraryException
   {
@@ -386,12 +735,17 @@ public class SWRLBuiltInLibraryManager
 
     Type parameterTypes[] = method.getGenericParameterTypes();
 
-    if ((parameterTypes.length != 1) || (!(parameterTypes[0] instanceof ParameterizedType)) || (
-      ((ParameterizedType)parameterTypes[0]).getRawType() != List.class) || (
+    if (parameterTypes.length == 2 && parameterTypes[1] != SWRLBuiltInContext.class)
+      throw new IncompatibleBuiltInMethodException(ruleName, prefix, builtInURI,
+        "Java built-in method implementation can accept a " + SWRLBuiltInContext.class.getSimpleName()
+          + " only as its second parameter");
+
+    if ((parameterTypes.length < 1 || parameterTypes.length > 2) || (!(parameterTypes[0] instanceof ParameterizedType))
+      || (((ParameterizedType)parameterTypes[0]).getRawType() != List.class) || (
       ((ParameterizedType)parameterTypes[0]).getActualTypeArguments().length != 1) || (
       ((ParameterizedType)parameterTypes[0]).getActualTypeArguments()[0] != SWRLBuiltInArgument.class))
       throw new IncompatibleBuiltInMethodException(ruleName, prefix, builtInURI,
-        "Java built-in method implementation must accept a single List of SWRLBuiltInArgument objects");
+        "Java built-in method implementation must accept a List of SWRLBuiltInArgument objects");
   }
 
   private void checkSWRLBuiltInLibraryImplementationClassCompatibility(@NonNull String prefix, @NonNull Class<?> cls)
@@ -2,21 +2,15 @@ package org.swrlapi.builtins.abox;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.AxiomType;
-import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
-import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
-import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
-import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
-import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObject;
-import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
-import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
-import org.semanticweb.owlapi.model.parameters.Imports;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
+import org.swrlapi.builtins.OWLAxiomIndex;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
@@ -26,8 +20,6 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Implementation library for SWRL ABox built-ins
@@ -49,14 +41,18 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
   }
 
+  @Override protected boolean isConcurrentInvocationSupported()
+  {
+    return true; // Built-ins in this library do not modify library state
+  }
+
   public boolean caa(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLClassAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.CLASS_ASSERTION, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.CLASS_ASSERTION))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -64,9 +60,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLClassAssertionAxiom axiom : axioms) {
-        OWLClassExpression candidateValue1 = axiom.getClassExpression();
-        OWLNamedIndividual candidateValue2 = axiom.getIndividual().asOWLNamedIndividual();
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(AxiomType.CLASS_ASSERTION, inputArgumentValues)) {
+        OWLClassExpression candidateValue1 = (OWLClassExpression)tuple.get(0);
+        OWLNamedIndividual candidateValue2 = ((OWLIndividual)tuple.get(1)).asOWLNamedIndividual();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -88,11 +84,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLSameIndividualAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.SAME_INDIVIDUAL, Imports.INCLUDED).stream().flatMap(a -> a.asPairwiseAxioms().stream())
-      .collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.SAME_INDIVIDUAL))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -100,9 +94,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLSameIndividualAxiom axiom : axioms) {
-        OWLNamedIndividual candidateValue1 = axiom.getIndividualsAsList().get(0).asOWLNamedIndividual();
-        OWLNamedIndividual candidateValue2 = axiom.getIndividualsAsList().get(1).asOWLNamedIndividual();
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(AxiomType.SAME_INDIVIDUAL, inputArgumentValues)) {
+        OWLNamedIndividual candidateValue1 = ((OWLIndividual)tuple.get(0)).asOWLNamedIndividual();
+        OWLNamedIndividual candidateValue2 = ((OWLIndividual)tuple.get(1)).asOWLNamedIndividual();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -124,11 +118,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLDifferentIndividualsAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DIFFERENT_INDIVIDUALS, Imports.INCLUDED).stream().flatMap(a -> a.asPairwiseAxioms().stream())
-      .collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.DIFFERENT_INDIVIDUALS))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -136,9 +128,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDifferentIndividualsAxiom axiom : axioms) {
-        OWLNamedIndividual candidateValue1 = axiom.getIndividualsAsList().get(0).asOWLNamedIndividual();
-        OWLNamedIndividual candidateValue2 = axiom.getIndividualsAsList().get(1).asOWLNamedIndividual();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.DIFFERENT_INDIVIDUALS, inputArgumentValues)) {
+        OWLNamedIndividual candidateValue1 = ((OWLIndividual)tuple.get(0)).asOWLNamedIndividual();
+        OWLNamedIndividual candidateValue2 = ((OWLIndividual)tuple.get(1)).asOWLNamedIndividual();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -160,10 +153,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLObjectPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.OBJECT_PROPERTY_ASSERTION))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -172,10 +164,11 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLObjectPropertyAssertionAxiom axiom : axioms) {
-        OWLNamedIndividual candidateValue1 = axiom.getSubject().asOWLNamedIndividual();
-        OWLObjectPropertyExpression candidateValue2 = axiom.getProperty();
-        OWLNamedIndividual candidateValue3 = axiom.getObject().asOWLNamedIndividual();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.OBJECT_PROPERTY_ASSERTION, inputArgumentValues)) {
+        OWLNamedIndividual candidateValue1 = ((OWLIndividual)tuple.get(0)).asOWLNamedIndividual();
+        OWLObjectPropertyExpression candidateValue2 = (OWLObjectPropertyExpression)tuple.get(1);
+        OWLNamedIndividual candidateValue3 = ((OWLIndividual)tuple.get(2)).asOWLNamedIndividual();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2, candidateValue3)) {
           if (outputMultiValueArguments.isEmpty())
@@ -201,10 +194,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLNegativeObjectPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -213,10 +205,11 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLNegativeObjectPropertyAssertionAxiom axiom : axioms) {
-        OWLNamedIndividual candidateValue1 = axiom.getSubject().asOWLNamedIndividual();
-        OWLObjectPropertyExpression candidateValue2 = axiom.getProperty();
-        OWLNamedIndividual candidateValue3 = axiom.getObject().asOWLNamedIndividual();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION, inputArgumentValues)) {
+        OWLNamedIndividual candidateValue1 = ((OWLIndividual)tuple.get(0)).asOWLNamedIndividual();
+        OWLObjectPropertyExpression candidateValue2 = (OWLObjectPropertyExpression)tuple.get(1);
+        OWLNamedIndividual candidateValue3 = ((OWLIndividual)tuple.get(2)).asOWLNamedIndividual();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2, candidateValue3)) {
           if (outputMultiValueArguments.isEmpty())
@@ -242,10 +235,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLDataPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.DATA_PROPERTY_ASSERTION))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -254,10 +246,11 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDataPropertyAssertionAxiom axiom : axioms) {
-        OWLNamedIndividual candidateValue1 = axiom.getSubject().asOWLNamedIndividual();
-        OWLDataPropertyExpression candidateValue2 = axiom.getProperty();
-        OWLLiteral candidateValue3 = axiom.getObject();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.DATA_PROPERTY_ASSERTION, inputArgumentValues)) {
+        OWLNamedIndividual candidateValue1 = ((OWLIndividual)tuple.get(0)).asOWLNamedIndividual();
+        OWLDataPropertyExpression candidateValue2 = (OWLDataPropertyExpression)tuple.get(1);
+        OWLLiteral candidateValue3 = (OWLLiteral)tuple.get(2);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2, candidateValue3)) {
           if (outputMultiValueArguments.isEmpty())
@@ -283,10 +276,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLNegativeDataPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -295,10 +287,11 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLNegativeDataPropertyAssertionAxiom axiom : axioms) {
-        OWLNamedIndividual candidateValue1 = axiom.getSubject().asOWLNamedIndividual();
-        OWLDataPropertyExpression candidateValue2 = axiom.getProperty();
-        OWLLiteral candidateValue3 = axiom.getObject();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION, inputArgumentValues)) {
+        OWLNamedIndividual candidateValue1 = ((OWLIndividual)tuple.get(0)).asOWLNamedIndividual();
+        OWLDataPropertyExpression candidateValue2 = (OWLDataPropertyExpression)tuple.get(1);
+        OWLLiteral candidateValue3 = (OWLLiteral)tuple.get(2);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2, candidateValue3)) {
           if (outputMultiValueArguments.isEmpty())
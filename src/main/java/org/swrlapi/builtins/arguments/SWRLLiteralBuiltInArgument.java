@@ -1,6 +1,9 @@
 package org.swrlapi.builtins.arguments;
 
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.SWRLLiteralArgument;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.literal.Literal;
 
 /**
  * Represents an OWL literal argument to a built-in atom.
@@ -9,4 +12,13 @@ import org.semanticweb.owlapi.model.SWRLLiteralArgument;
  */
 public interface SWRLLiteralBuiltInArgument extends SWRLBuiltInArgument, SWRLLiteralArgument
 {
+  /**
+   * By default a new literal is created on each call, so its typed value is not cached across calls.
+   *
+   * @return The SWRLAPI literal wrapping the argument's OWL literal; its typed value is parsed once and cached
+   */
+  @NonNull default Literal getLiteralValue()
+  {
+    return SWRLAPIInternalFactory.createLiteral(getLiteral());
+  }
 }
\ No newline at end of file
@@ -2,36 +2,21 @@ package org.swrlapi.builtins.rbox;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.AxiomType;
-import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
-import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
-import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
-import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
-import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
-import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
-import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
-import org.semanticweb.owlapi.model.OWLReflexiveObjectPropertyAxiom;
-import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
-import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
-import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
-import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
-import org.semanticweb.owlapi.model.parameters.Imports;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
+import org.swrlapi.builtins.OWLAxiomIndex;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLBuiltInNotImplementedException;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Implementation library for SWRL RBox built-ins
@@ -54,14 +39,18 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
   }
 
+  @Override protected boolean isConcurrentInvocationSupported()
+  {
+    return true; // Built-ins in this library do not modify library state
+  }
+
   public boolean topa(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLTransitiveObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.TRANSITIVE_OBJECT_PROPERTY, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.TRANSITIVE_OBJECT_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -69,8 +58,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLTransitiveObjectPropertyAxiom axiom : axioms) {
-        OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.TRANSITIVE_OBJECT_PROPERTY, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -90,10 +80,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLSymmetricObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.SYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.SYMMETRIC_OBJECT_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -101,8 +90,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLSymmetricObjectPropertyAxiom axiom : axioms) {
-        OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.SYMMETRIC_OBJECT_PROPERTY, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -122,10 +112,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLAsymmetricObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.ASYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.ASYMMETRIC_OBJECT_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -133,8 +122,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLAsymmetricObjectPropertyAxiom axiom : axioms) {
-        OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.ASYMMETRIC_OBJECT_PROPERTY, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -154,10 +144,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLReflexiveObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.REFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.REFLEXIVE_OBJECT_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -165,8 +154,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLReflexiveObjectPropertyAxiom axiom : axioms) {
-        OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.REFLEXIVE_OBJECT_PROPERTY, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -186,10 +176,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLIrreflexiveObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.IRREFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.IRREFLEXIVE_OBJECT_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -197,8 +186,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLIrreflexiveObjectPropertyAxiom axiom : axioms) {
-        OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.IRREFLEXIVE_OBJECT_PROPERTY, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -218,11 +208,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLInverseObjectPropertiesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.INVERSE_OBJECT_PROPERTIES, Imports.INCLUDED).stream()
-      .flatMap(a -> a.asPairwiseAxioms().stream()).collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.INVERSE_OBJECT_PROPERTIES))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -230,9 +218,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLInverseObjectPropertiesAxiom axiom : axioms) {
-        OWLObjectPropertyExpression candidateValue1 = axiom.getFirstProperty();
-        OWLObjectPropertyExpression candidateValue2 = axiom.getSecondProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.INVERSE_OBJECT_PROPERTIES, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
+        OWLObjectPropertyExpression candidateValue2 = (OWLObjectPropertyExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -255,11 +244,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLDisjointObjectPropertiesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DISJOINT_OBJECT_PROPERTIES, Imports.INCLUDED).stream()
-      .flatMap(a -> a.asPairwiseAxioms().stream()).collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.DISJOINT_OBJECT_PROPERTIES))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -267,10 +254,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDisjointObjectPropertiesAxiom axiom : axioms) {
-        List<OWLObjectPropertyExpression> properties = new ArrayList<>(axiom.getProperties());
-        OWLObjectPropertyExpression candidateValue1 = properties.get(0);
-        OWLObjectPropertyExpression candidateValue2 = properties.get(1);
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.DISJOINT_OBJECT_PROPERTIES, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
+        OWLObjectPropertyExpression candidateValue2 = (OWLObjectPropertyExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -293,11 +280,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLDisjointDataPropertiesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DISJOINT_DATA_PROPERTIES, Imports.INCLUDED).stream()
-      .flatMap(a -> a.asPairwiseAxioms().stream()).collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.DISJOINT_DATA_PROPERTIES))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -305,10 +290,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDisjointDataPropertiesAxiom axiom : axioms) {
-        List<OWLDataPropertyExpression> properties = new ArrayList<>(axiom.getProperties());
-        OWLDataPropertyExpression candidateValue1 = properties.get(0);
-        OWLDataPropertyExpression candidateValue2 = properties.get(1);
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.DISJOINT_DATA_PROPERTIES, inputArgumentValues)) {
+        OWLDataPropertyExpression candidateValue1 = (OWLDataPropertyExpression)tuple.get(0);
+        OWLDataPropertyExpression candidateValue2 = (OWLDataPropertyExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -331,10 +316,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLSubObjectPropertyOfAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.SUB_OBJECT_PROPERTY, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.SUB_OBJECT_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -342,9 +326,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLSubObjectPropertyOfAxiom axiom : axioms) {
-        OWLObjectPropertyExpression candidateValue1 = axiom.getSubProperty();
-        OWLObjectPropertyExpression candidateValue2 = axiom.getSuperProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(AxiomType.SUB_OBJECT_PROPERTY, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
+        OWLObjectPropertyExpression candidateValue2 = (OWLObjectPropertyExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -367,10 +351,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLSubDataPropertyOfAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.SUB_DATA_PROPERTY, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.SUB_DATA_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -378,9 +361,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLSubDataPropertyOfAxiom axiom : axioms) {
-        OWLDataPropertyExpression candidateValue1 = axiom.getSubProperty();
-        OWLDataPropertyExpression candidateValue2 = axiom.getSuperProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(AxiomType.SUB_DATA_PROPERTY, inputArgumentValues)) {
+        OWLDataPropertyExpression candidateValue1 = (OWLDataPropertyExpression)tuple.get(0);
+        OWLDataPropertyExpression candidateValue2 = (OWLDataPropertyExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -403,11 +386,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLEquivalentObjectPropertiesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.EQUIVALENT_OBJECT_PROPERTIES, Imports.INCLUDED).stream()
-      .flatMap(a -> a.asPairwiseAxioms().stream()).collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.EQUIVALENT_OBJECT_PROPERTIES))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -415,10 +396,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLEquivalentObjectPropertiesAxiom axiom : axioms) {
-        List<OWLObjectPropertyExpression> properties = new ArrayList<>(axiom.getProperties());
-        OWLObjectPropertyExpression candidateValue1 = properties.get(0);
-        OWLObjectPropertyExpression candidateValue2 = properties.get(1);
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.EQUIVALENT_OBJECT_PROPERTIES, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
+        OWLObjectPropertyExpression candidateValue2 = (OWLObjectPropertyExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -441,11 +422,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLEquivalentDataPropertiesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.EQUIVALENT_DATA_PROPERTIES, Imports.INCLUDED).stream()
-      .flatMap(a -> a.asPairwiseAxioms().stream()).collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.EQUIVALENT_DATA_PROPERTIES))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -453,10 +432,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLEquivalentDataPropertiesAxiom axiom : axioms) {
-        List<OWLDataPropertyExpression> properties = new ArrayList<>(axiom.getProperties());
-        OWLDataPropertyExpression candidateValue1 = properties.get(0);
-        OWLDataPropertyExpression candidateValue2 = properties.get(1);
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.EQUIVALENT_DATA_PROPERTIES, inputArgumentValues)) {
+        OWLDataPropertyExpression candidateValue1 = (OWLDataPropertyExpression)tuple.get(0);
+        OWLDataPropertyExpression candidateValue2 = (OWLDataPropertyExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
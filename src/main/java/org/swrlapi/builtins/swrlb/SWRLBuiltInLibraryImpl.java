@@ -5,6 +5,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
+import org.swrlapi.builtins.PureSWRLBuiltIn;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
@@ -12,7 +13,9 @@ import org.swrlapi.exceptions.InvalidSWRLBuiltInArgumentException;
 import org.swrlapi.exceptions.InvalidSWRLBuiltInNameException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLBuiltInNotImplementedException;
+import org.swrlapi.literal.Literal;
 import org.swrlapi.literal.OWLLiteralComparator;
+import org.swrlapi.literal.TypedLiteralValue;
 import org.swrlapi.literal.XSDDate;
 import org.swrlapi.literal.XSDDateTime;
 import org.swrlapi.literal.XSDDuration;
@@ -26,6 +29,7 @@ import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.StringTokenizer;
 import java.util.TimeZone;
 import java.util.regex.Matcher;
@@ -79,6 +83,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   private static final String SWRLB_COS = SWRLBPrefix + "cos";
   private static final String SWRLB_TAN = SWRLBPrefix + "tan";
 
+  // Integral datatypes, ordered from narrowest to widest
+  private static final int NOT_INTEGRAL = -1;
+  private static final int BYTE_WIDTH = 0;
+  private static final int SHORT_WIDTH = 1;
+  private static final int INT_WIDTH = 2;
+  private static final int LONG_WIDTH = 3;
+  private static final int INTEGER_WIDTH = 4;
+
   public SWRLBuiltInLibraryImpl()
   {
     super(PREFIX, NAMESPACE, new HashSet<>(Arrays.asList(BUILT_IN_NAMES)));
@@ -88,6 +100,44 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
   }
 
+  @Override protected boolean isConcurrentInvocationSupported()
+  {
+    return true; // Built-ins in this library do not modify library state
+  }
+
+  /**
+   * Constant regular expressions are compiled to {@link Pattern}s and constant durations are parsed. Regular
+   * expressions that do not compile are left for the built-in to report when it is invoked.
+   */
+  @NonNull @Override public Optional<@NonNull Object> compileBuiltInArgument(@NonNull String builtInMethodName,
+    int argumentNumber, @NonNull SWRLBuiltInArgument argument)
+  {
+    Optional<@NonNull Literal> literal = getConstantArgumentAsALiteral(argument);
+
+    if (!literal.isPresent())
+      return Optional.empty();
+    else if (isRegularExpressionArgument(builtInMethodName, argumentNumber) && literal.get().isString()) {
+      try {
+        return Optional.of(Pattern.compile(literal.get().getOWLLiteral().getLiteral()));
+      } catch (PatternSyntaxException e) {
+        return Optional.empty();
+      }
+    } else if (literal.get().isDuration()) {
+      try {
+        return Optional.of(XSDTimeUtil.xsdDurationString2AxisDuration(literal.get().getOWLLiteral().getLiteral()));
+      } catch (IllegalArgumentException e) {
+        return Optional.empty();
+      }
+    } else
+      return Optional.empty();
+  }
+
+  private static boolean isRegularExpressionArgument(@NonNull String builtInMethodName, int argumentNumber)
+  {
+    return (builtInMethodName.equals("matches") && argumentNumber == 1) || (builtInMethodName.equals("replace")
+      && argumentNumber == 2);
+  }
+
   // Built-ins for comparison, defined in Section 8.1. of http://www.daml.org/2004/04/swrl/builtins.html.
 
   /**
@@ -249,6 +299,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean add(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsAtLeast(2, arguments.size());
@@ -261,6 +312,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtract(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -273,6 +325,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean multiply(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsAtLeast(2, arguments.size());
@@ -285,6 +338,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean divide(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -297,6 +351,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean integerDivide(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -309,6 +364,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean mod(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -321,6 +377,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean pow(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -333,6 +390,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean unaryPlus(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -345,6 +403,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean unaryMinus(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -357,6 +416,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean abs(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -369,6 +429,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean ceiling(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -381,6 +442,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean floor(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -393,6 +455,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean round(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -405,6 +468,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean roundHalfToEven(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -417,6 +481,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean sin(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -429,6 +494,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean cos(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -441,6 +507,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean tan(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -504,6 +571,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean stringConcat(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     String operationResult = "";
@@ -523,6 +591,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean substring(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     String argument2, operationResult;
@@ -548,6 +617,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean stringLength(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -563,6 +633,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean upperCase(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -578,6 +649,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean lowerCase(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -655,6 +727,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean translate(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(4, arguments.size());
@@ -675,6 +748,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean substringAfter(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -694,6 +768,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean substringBefore(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -713,11 +788,17 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean matches(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
     String argument1 = getArgumentAsAString(0, arguments);
+    Optional<@NonNull Pattern> compiledPattern = getCompiledArguments().getCompiledArgument(1, Pattern.class);
+
+    if (compiledPattern.isPresent())
+      return compiledPattern.get().matcher(argument1).matches();
+
     String argument2 = getArgumentAsAString(1, arguments);
 
     try {
@@ -733,15 +814,18 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean replace(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(4, arguments.size());
 
     String input = getArgumentAsAString(1, arguments);
-    String regex = getArgumentAsAString(2, arguments);
     String replacement = getArgumentAsAString(3, arguments);
+    Optional<@NonNull Pattern> compiledPattern = getCompiledArguments().getCompiledArgument(2, Pattern.class);
 
-    Pattern p = Pattern.compile(regex);
+    Pattern p = compiledPattern.isPresent() ?
+      compiledPattern.get() :
+      Pattern.compile(getArgumentAsAString(2, arguments));
     Matcher m = p.matcher(input);
     String operationResult = m.replaceAll(replacement);
 
@@ -753,6 +837,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean normalizeSpace(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
@@ -771,6 +856,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean tokenize(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     if (!isUnboundArgument(0, arguments))
@@ -803,6 +889,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean yearMonthDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -821,7 +908,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @param arguments The built-in arguments
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
-   */ public boolean dayTimeDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+   */
+  @PureSWRLBuiltIn
+  public boolean dayTimeDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(5, arguments.size());
     int days = convertArgumentToAnInt(1, arguments);
@@ -843,6 +932,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean dateTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(8, arguments.size());
@@ -872,6 +962,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean date(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(5, arguments.size());
@@ -897,6 +988,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean time(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(5, arguments.size());
@@ -915,6 +1007,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean addYearMonthDurations(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -935,6 +1028,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtractYearMonthDurations(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -952,6 +1046,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean multiplyYearMonthDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -969,6 +1064,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean divideYearMonthDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -986,6 +1082,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean addDayTimeDurations(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     org.apache.axis.types.Duration operationDuration = new org.apache.axis.types.Duration();
@@ -1005,6 +1102,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtractDayTimeDurations(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1022,6 +1120,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean multiplyDayTimeDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1039,6 +1138,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean divideDayTimeDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1056,6 +1156,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtractDates(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -1072,6 +1173,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtractTimes(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
@@ -1088,6 +1190,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean addYearMonthDurationToDateTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1105,6 +1208,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtractYearMonthDurationFromDateTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1122,6 +1226,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean addDayTimeDurationToDateTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1139,6 +1244,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtractDayTimeDurationFromDateTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1156,6 +1262,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean addYearMonthDurationToDate(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1173,6 +1280,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtractYearMonthDurationFromDate(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1190,6 +1298,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean addDayTimeDurationToDate(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1207,6 +1316,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtractDayTimeDurationFromDate(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1224,6 +1334,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean addDayTimeDurationToTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1241,6 +1352,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtractDayTimeDurationFromTime(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1258,6 +1370,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtractDateTimesYieldingYearMonthDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1274,6 +1387,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * @return The result of the built-in
    * @throws SWRLBuiltInException If an error occurs during processing
    */
+  @PureSWRLBuiltIn
   public boolean subtractDateTimesYieldingDayTimeDuration(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
@@ -1409,10 +1523,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
     checkThatAllArgumentsAreNumeric(arguments);
 
-    OWLLiteral literal1 = getArgumentAsAnOWLLiteral(argument1Index, arguments);
-    OWLLiteral literal2 = getArgumentAsAnOWLLiteral(argument2Index, arguments);
+    // Literal arguments cache their parsed values, so repeated comparisons of an argument do not reparse it
+    TypedLiteralValue value1 = ((SWRLLiteralBuiltInArgument)arguments.get(argument1Index)).getLiteralValue()
+      .getTypedLiteralValue();
+    TypedLiteralValue value2 = ((SWRLLiteralBuiltInArgument)arguments.get(argument2Index)).getLiteralValue()
+      .getTypedLiteralValue();
 
-    return OWLLiteralComparator.COMPARATOR.compare(literal1, literal2);
+    return OWLLiteralComparator.compare(value1, value2);
   }
 
   private boolean mathOperation(@NonNull String builtInName, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
@@ -1424,6 +1541,11 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
     checkForUnboundNonFirstArguments(arguments); // Only supports binding of first argument
 
+    Optional<@NonNull Boolean> integralOperationResult = integralMathOperation(builtInName, arguments);
+
+    if (integralOperationResult.isPresent())
+      return integralOperationResult.get();
+
     if (isUnboundArgument(0, arguments))
       hasUnbound1stArgument = true;
 
@@ -1516,9 +1638,120 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       return (argument1.equals(operationResult));
   }
 
+  /**
+   * Evaluates the operations that are closed over the integers using long arithmetic if all bound arguments are
+   * xsd:byte, xsd:short, xsd:int, xsd:long or xsd:integer values that fit in a long. The result is the same as that of
+   * the {@link BigDecimal}-based evaluation in {@link #mathOperation(String, List)}, which is used instead if any other
+   * argument type is present, if an intermediate value overflows a long, or if an error must be reported.
+   */
+  @NonNull private Optional<@NonNull Boolean> integralMathOperation(@NonNull String builtInName,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    boolean hasUnbound1stArgument = isUnboundArgument(0, arguments);
+    long[] values = new long[arguments.size()];
+    int widestInputWidth = BYTE_WIDTH;
+
+    for (int argumentNumber = hasUnbound1stArgument ? 1 : 0; argumentNumber < arguments.size(); argumentNumber++) {
+      SWRLBuiltInArgument argument = arguments.get(argumentNumber);
+
+      if (!(argument instanceof SWRLLiteralBuiltInArgument))
+        return Optional.empty();
+
+      Literal literal = ((SWRLLiteralBuiltInArgument)argument).getLiteralValue();
+      int width = getIntegralWidth(literal);
+
+      if (width == NOT_INTEGRAL)
+        return Optional.empty();
+
+      try {
+        Object value = literal.getTypedLiteralValue().getValue();
+
+        if (value instanceof Long)
+          values[argumentNumber] = (Long)value;
+        else if (value instanceof BigInteger && ((BigInteger)value).bitLength() < Long.SIZE)
+          values[argumentNumber] = ((BigInteger)value).longValue();
+        else
+          return Optional.empty();
+      } catch (NumberFormatException e) {
+        return Optional.empty();
+      }
+
+      if (argumentNumber > 0)
+        widestInputWidth = Math.max(widestInputWidth, width);
+    }
+
+    long operationResult;
+
+    try {
+      if (builtInName.equalsIgnoreCase(SWRLB_ADD)) {
+        operationResult = 0;
+        for (int argumentNumber = 1; argumentNumber < arguments.size(); argumentNumber++)
+          operationResult = Math.addExact(operationResult, values[argumentNumber]);
+      } else if (builtInName.equalsIgnoreCase(SWRLB_MULTIPLY)) {
+        operationResult = 1;
+        for (int argumentNumber = 1; argumentNumber < arguments.size(); argumentNumber++)
+          operationResult = Math.multiplyExact(operationResult, values[argumentNumber]);
+      } else if (builtInName.equalsIgnoreCase(SWRLB_SUBTRACT))
+        operationResult = Math.subtractExact(values[1], values[2]);
+      else if (builtInName.equalsIgnoreCase(SWRLB_MOD) && values[2] != 0)
+        operationResult = values[1] % values[2];
+      else if (builtInName.equalsIgnoreCase(SWRLB_UNARY_PLUS))
+        operationResult = values[1];
+      else if (builtInName.equalsIgnoreCase(SWRLB_UNARY_MINUS))
+        operationResult = Math.negateExact(values[1]);
+      else if (builtInName.equalsIgnoreCase(SWRLB_ABS))
+        operationResult = values[1] < 0 ? Math.negateExact(values[1]) : values[1];
+      else
+        return Optional.empty();
+    } catch (ArithmeticException e) { // Overflow
+      return Optional.empty();
+    }
+
+    if (hasUnbound1stArgument) { // Bind the result to the first argument using the widest input type
+      SWRLBuiltInArgument resultArgument;
+
+      if (widestInputWidth == BYTE_WIDTH)
+        resultArgument = createLiteralBuiltInArgument((byte)operationResult);
+      else if (widestInputWidth == SHORT_WIDTH)
+        resultArgument = createLiteralBuiltInArgument((short)operationResult);
+      else if (widestInputWidth == INT_WIDTH)
+        resultArgument = createLiteralBuiltInArgument((int)operationResult);
+      else if (widestInputWidth == LONG_WIDTH)
+        resultArgument = createLiteralBuiltInArgument(operationResult);
+      else
+        resultArgument = createLiteralBuiltInArgument(BigInteger.valueOf(operationResult));
+
+      arguments.get(0).asVariable().setBuiltInResult(resultArgument);
+      return Optional.of(true);
+    } else
+      return Optional.of(values[0] == operationResult);
+  }
+
+  private static int getIntegralWidth(@NonNull Literal literal)
+  {
+    if (literal.isByte())
+      return BYTE_WIDTH;
+    else if (literal.isShort())
+      return SHORT_WIDTH;
+    else if (literal.isInt())
+      return INT_WIDTH;
+    else if (literal.isLong())
+      return LONG_WIDTH;
+    else if (literal.isInteger())
+      return INTEGER_WIDTH;
+    else
+      return NOT_INTEGRAL;
+  }
+
   private org.apache.axis.types.Duration getArgumentAsAnAxisDuration(int argumentNumber,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
+    Optional<org.apache.axis.types.@NonNull Duration> compiledDuration = getCompiledArguments()
+      .getCompiledArgument(argumentNumber, org.apache.axis.types.Duration.class);
+
+    if (compiledDuration.isPresent())
+      return compiledDuration.get();
+
     try {
       XSDDuration duration = getArgumentAsADuration(argumentNumber, arguments);
       return XSDTimeUtil.xsdDuration2AxisDuration(duration);
@@ -3,15 +3,20 @@ package org.swrlapi.builtins.swrlm;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.nfunk.jep.JEP;
+import org.nfunk.jep.Node;
+import org.nfunk.jep.ParseException;
+import org.nfunk.jep.Variable;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.literal.Literal;
 
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementations library for SWRL mathematical built-ins.
@@ -36,6 +41,37 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     this.jep = null;
   }
 
+  /**
+   * Constant expressions of the eval built-in are parsed once so that each invocation need only evaluate them.
+   * Expressions that do not parse are left for the built-in to report when it is invoked. Variables are allowed to be
+   * undeclared when parsing since their values are supplied by the arguments of each invocation; one that is not
+   * supplied is reported when the expression is evaluated, as it is for an expression that is not compiled.
+   */
+  @NonNull @Override public Optional<@NonNull Object> compileBuiltInArgument(@NonNull String builtInMethodName,
+    int argumentNumber, @NonNull SWRLBuiltInArgument argument)
+  {
+    Optional<@NonNull Literal> literal = getConstantArgumentAsALiteral(argument);
+
+    if (builtInMethodName.equals("eval") && argumentNumber == 1 && literal.isPresent() && literal.get().isString()) {
+      JEP expressionJEP = createJEP();
+      Set<@NonNull String> constantNames = new HashSet<>(expressionJEP.getSymbolTable().keySet());
+
+      expressionJEP.setAllowUndeclared(true);
+
+      try {
+        Node expressionNode = expressionJEP.parse(literal.get().getOWLLiteral().getLiteral());
+        Set<@NonNull String> variableNames = new HashSet<>(expressionJEP.getSymbolTable().keySet());
+
+        variableNames.removeAll(constantNames);
+
+        return Optional.of(new CompiledExpression(expressionJEP, expressionNode, variableNames));
+      } catch (ParseException e) {
+        return Optional.empty();
+      }
+    } else
+      return Optional.empty();
+  }
+
   /**
    * Returns true if the first argument is equal to the square root of the second argument. If the first argument is
    * unbound, bind it to the square root of the second argument.
@@ -100,6 +136,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     checkNumberOfArgumentsAtLeast(minimumNumberoOfArguments, arguments.size());
 
     String expression = getArgumentAsAString(expressionArgumentIndex, arguments);
+    Optional<@NonNull CompiledExpression> compiledExpression = getCompiledArguments()
+      .getCompiledArgument(expressionArgumentIndex, CompiledExpression.class);
+    JEP expressionJEP = compiledExpression.isPresent() ? compiledExpression.get().getJEP() : getJEP();
+
+    if (compiledExpression.isPresent()) // Variable values of earlier invocations must not be seen by this one
+      compiledExpression.get().clearVariables();
+    else
+      clearVariables(expressionJEP);
 
     if (arguments.size() > minimumNumberoOfArguments) {
       List<@NonNull SWRLBuiltInArgument> variableArguments = arguments
@@ -115,7 +159,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
         if (variableName.isPresent()) {
           if (isArgumentConvertibleToDouble(currentVariableArgumentIndex, arguments)) {
             double variableValue = getArgumentAsADouble(variableArgument);
-            getJEP().addVariable(variableName.get(), variableValue);
+            expressionJEP.addVariable(variableName.get(), variableValue);
           } else {
             String message =
               "exception processing expression '" + expression + "': " + "variable ?" + variableName.get()
@@ -128,15 +172,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       }
     }
 
-    getJEP().parseExpression(expression);
-
-    if (getJEP().hasError())
-      throw new SWRLBuiltInException("exception parsing expression '" + expression + "': " + getJEP().getErrorInfo());
-
-    double value = getJEP().getValue();
-
-    if (getJEP().hasError())
-      throw new SWRLBuiltInException("exception parsing expression '" + expression + "': " + getJEP().getErrorInfo());
+    double value = compiledExpression.isPresent() ?
+      compiledExpression.get().evaluate(expression) :
+      parseAndEvaluateExpression(expression);
 
     if (isUnboundArgument(resultArgumentIndex, arguments)) {
       arguments.get(resultArgumentIndex).asVariable().setBuiltInResult(createLiteralBuiltInArgument(value));
@@ -152,16 +190,98 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
-  // See. http://www.singularsys.com/jep/doc/javadoc/org/nfunk/jep/JEP.html for JEP API
+  private double parseAndEvaluateExpression(@NonNull String expression) throws SWRLBuiltInException
+  {
+    getJEP().parseExpression(expression);
+
+    if (getJEP().hasError())
+      throw new SWRLBuiltInException("exception parsing expression '" + expression + "': " + getJEP().getErrorInfo());
+
+    double value = getJEP().getValue();
+
+    if (getJEP().hasError())
+      throw new SWRLBuiltInException("exception parsing expression '" + expression + "': " + getJEP().getErrorInfo());
+
+    return value;
+  }
+
+  private static void clearVariables(@NonNull JEP jep)
+  {
+    jep.initSymTab();
+    jep.addStandardConstants();
+  }
+
   @NonNull private JEP getJEP()
   {
-    if (this.jep == null) {
-      this.jep = new JEP();
+    if (this.jep == null)
+      this.jep = createJEP();
 
-      this.jep.addStandardFunctions();
-      this.jep.addStandardConstants();
-      this.jep.setImplicitMul(true);
-    }
     return this.jep;
   }
+
+  // See. http://www.singularsys.com/jep/doc/javadoc/org/nfunk/jep/JEP.html for JEP API
+  @NonNull private static JEP createJEP()
+  {
+    JEP jep = new JEP();
+
+    jep.addStandardFunctions();
+    jep.addStandardConstants();
+    jep.setImplicitMul(true);
+
+    return jep;
+  }
+
+  /**
+   * A parsed eval expression together with the JEP instance that holds the values of its variables. Invocations of
+   * built-ins in this library are serialized and clear the variables before setting them, so the variable values of
+   * one invocation cannot be seen by another.
+   */
+  private static final class CompiledExpression
+  {
+    @NonNull private final JEP jep;
+    @NonNull private final Node node;
+    @NonNull private final Set<@NonNull String> variableNames;
+
+    CompiledExpression(@NonNull JEP jep, @NonNull Node node, @NonNull Set<@NonNull String> variableNames)
+    {
+      this.jep = jep;
+      this.node = node;
+      this.variableNames = variableNames;
+    }
+
+    @NonNull JEP getJEP()
+    {
+      return this.jep;
+    }
+
+    void clearVariables()
+    {
+      for (String variableName : this.variableNames) {
+        Variable variable = this.jep.getSymbolTable().getVar(variableName);
+        variable.setValue(null);
+        variable.setValidValue(false);
+      }
+    }
+
+    double evaluate(@NonNull String expression) throws SWRLBuiltInException
+    {
+      for (String variableName : this.variableNames) {
+        if (!this.jep.getSymbolTable().getVar(variableName).hasValidValue()) // As reported for uncompiled expressions
+          throw new SWRLBuiltInException(
+            "exception parsing expression '" + expression + "': Unrecognized symbol \"" + variableName + "\"");
+      }
+
+      try {
+        Object value = this.jep.evaluate(this.node);
+
+        if (value instanceof Number)
+          return ((Number)value).doubleValue();
+        else
+          throw new SWRLBuiltInException("exception evaluating expression '" + expression + "': result " + value
+            + " is not a number");
+      } catch (ParseException e) {
+        throw new SWRLBuiltInException("exception evaluating expression '" + expression + "': " + e.getMessage(), e);
+      }
+    }
+  }
 }
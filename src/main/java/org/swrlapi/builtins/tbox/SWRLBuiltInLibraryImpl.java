@@ -2,27 +2,18 @@ package org.swrlapi.builtins.tbox;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataProperty;
-import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
 import org.semanticweb.owlapi.model.OWLDatatype;
-import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
-import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
-import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
-import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
-import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
-import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
-import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
-import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
-import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
-import org.semanticweb.owlapi.model.parameters.Imports;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
+import org.swrlapi.builtins.OWLAxiomIndex;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
@@ -33,8 +24,6 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Implementation library for SWRL TBox built-ins
@@ -57,15 +46,18 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
   }
 
+  @Override protected boolean isConcurrentInvocationSupported()
+  {
+    return true; // Built-ins in this library do not modify library state
+  }
+
   public boolean cd(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLDeclarationAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream().filter(a -> a.getEntity().isOWLClass())
-      .collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(EntityType.CLASS))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -73,8 +65,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDeclarationAxiom axiom : axioms) {
-        OWLClass candidateValue1 = axiom.getEntity().asOWLClass();
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(EntityType.CLASS, inputArgumentValues)) {
+        OWLClass candidateValue1 = (OWLClass)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -93,12 +85,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLDeclarationAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream().filter(a -> a.getEntity().isOWLObjectProperty())
-      .collect(Collectors.toSet());
-    ;
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(EntityType.OBJECT_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -106,8 +95,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDeclarationAxiom axiom : axioms) {
-        OWLObjectProperty candidateValue1 = axiom.getEntity().asOWLObjectProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(EntityType.OBJECT_PROPERTY, inputArgumentValues)) {
+        OWLObjectProperty candidateValue1 = (OWLObjectProperty)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -126,12 +115,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLDeclarationAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream().filter(a -> a.getEntity().isOWLDataProperty())
-      .collect(Collectors.toSet());
-    ;
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(EntityType.DATA_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -139,8 +125,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDeclarationAxiom axiom : axioms) {
-        OWLDataProperty candidateValue1 = axiom.getEntity().asOWLDataProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(EntityType.DATA_PROPERTY, inputArgumentValues)) {
+        OWLDataProperty candidateValue1 = (OWLDataProperty)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -159,11 +145,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLDeclarationAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream().filter(a -> a.getEntity().isOWLAnnotationProperty())
-      .collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(EntityType.ANNOTATION_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -171,8 +155,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDeclarationAxiom axiom : axioms) {
-        OWLAnnotationProperty candidateValue1 = axiom.getEntity().asOWLAnnotationProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(EntityType.ANNOTATION_PROPERTY, inputArgumentValues)) {
+        OWLAnnotationProperty candidateValue1 = (OWLAnnotationProperty)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -191,11 +175,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLDeclarationAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream().filter(a -> a.getEntity().isOWLDatatype())
-      .collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(EntityType.DATATYPE))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -203,8 +185,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDeclarationAxiom axiom : axioms) {
-        OWLDatatype candidateValue1 = axiom.getEntity().asOWLDatatype();
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(EntityType.DATATYPE, inputArgumentValues)) {
+        OWLDatatype candidateValue1 = (OWLDatatype)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -223,10 +205,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLSubClassOfAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.SUBCLASS_OF, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.SUBCLASS_OF))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -234,9 +215,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLSubClassOfAxiom axiom : axioms) {
-        OWLClassExpression candidateValue1 = axiom.getSubClass();
-        OWLClassExpression candidateValue2 = axiom.getSuperClass();
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(AxiomType.SUBCLASS_OF, inputArgumentValues)) {
+        OWLClassExpression candidateValue1 = (OWLClassExpression)tuple.get(0);
+        OWLClassExpression candidateValue2 = (OWLClassExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -258,11 +239,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLEquivalentClassesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.EQUIVALENT_CLASSES, Imports.INCLUDED).stream().flatMap(a -> a.asPairwiseAxioms().stream())
-      .collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.EQUIVALENT_CLASSES))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -270,9 +249,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLEquivalentClassesAxiom axiom : axioms) {
-        OWLClassExpression candidateValue1 = axiom.getClassExpressionsAsList().get(0);
-        OWLClassExpression candidateValue2 = axiom.getClassExpressionsAsList().get(1);
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(AxiomType.EQUIVALENT_CLASSES, inputArgumentValues)) {
+        OWLClassExpression candidateValue1 = (OWLClassExpression)tuple.get(0);
+        OWLClassExpression candidateValue2 = (OWLClassExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -294,11 +273,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLDisjointClassesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DISJOINT_CLASSES, Imports.INCLUDED).stream().flatMap(a -> a.asPairwiseAxioms().stream())
-      .collect(Collectors.toSet());
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.DISJOINT_CLASSES))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -306,9 +283,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDisjointClassesAxiom axiom : axioms) {
-        OWLClassExpression candidateValue1 = axiom.getClassExpressionsAsList().get(0);
-        OWLClassExpression candidateValue2 = axiom.getClassExpressionsAsList().get(1);
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(AxiomType.DISJOINT_CLASSES, inputArgumentValues)) {
+        OWLClassExpression candidateValue1 = (OWLClassExpression)tuple.get(0);
+        OWLClassExpression candidateValue2 = (OWLClassExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -330,10 +307,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLFunctionalObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.FUNCTIONAL_OBJECT_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -341,8 +317,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLFunctionalObjectPropertyAxiom axiom : axioms) {
-        OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.FUNCTIONAL_OBJECT_PROPERTY, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -362,10 +339,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLInverseFunctionalObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -373,8 +349,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLInverseFunctionalObjectPropertyAxiom axiom : axioms) {
-        OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -394,10 +371,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLFunctionalDataPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.FUNCTIONAL_DATA_PROPERTY, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.FUNCTIONAL_DATA_PROPERTY))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -405,8 +381,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLFunctionalDataPropertyAxiom axiom : axioms) {
-        OWLDataPropertyExpression candidateValue1 = axiom.getProperty();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.FUNCTIONAL_DATA_PROPERTY, inputArgumentValues)) {
+        OWLDataPropertyExpression candidateValue1 = (OWLDataPropertyExpression)tuple.get(0);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
           if (outputMultiValueArguments.isEmpty())
@@ -426,10 +403,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLObjectPropertyDomainAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.OBJECT_PROPERTY_DOMAIN, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.OBJECT_PROPERTY_DOMAIN))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -437,9 +413,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLObjectPropertyDomainAxiom axiom : axioms) {
-        OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
-        OWLClassExpression candidateValue2 = axiom.getDomain();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.OBJECT_PROPERTY_DOMAIN, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
+        OWLClassExpression candidateValue2 = (OWLClassExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -461,10 +438,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLObjectPropertyRangeAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.OBJECT_PROPERTY_RANGE, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.OBJECT_PROPERTY_RANGE))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -472,9 +448,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLObjectPropertyRangeAxiom axiom : axioms) {
-        OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
-        OWLClassExpression candidateValue2 = axiom.getRange();
+      for (List<@NonNull OWLObject> tuple : axiomIndex
+        .getTuples(AxiomType.OBJECT_PROPERTY_RANGE, inputArgumentValues)) {
+        OWLObjectPropertyExpression candidateValue1 = (OWLObjectPropertyExpression)tuple.get(0);
+        OWLClassExpression candidateValue2 = (OWLClassExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
@@ -496,10 +473,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLDataPropertyDomainAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DATA_PROPERTY_DOMAIN, Imports.INCLUDED);
+    OWLAxiomIndex axiomIndex = getOWLAxiomIndex();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty(AxiomType.DATA_PROPERTY_DOMAIN))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -507,9 +483,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDataPropertyDomainAxiom axiom : axioms) {
-        OWLDataPropertyExpression candidateValue1 = axiom.getProperty();
-        OWLClassExpression candidateValue2 = axiom.getDomain();
+      for (List<@NonNull OWLObject> tuple : axiomIndex.getTuples(AxiomType.DATA_PROPERTY_DOMAIN, inputArgumentValues)) {
+        OWLDataPropertyExpression candidateValue1 = (OWLDataPropertyExpression)tuple.get(0);
+        OWLClassExpression candidateValue2 = (OWLClassExpression)tuple.get(1);
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1, candidateValue2)) {
           if (outputMultiValueArguments.isEmpty())
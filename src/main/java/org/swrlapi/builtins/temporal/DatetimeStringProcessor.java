@@ -12,7 +12,7 @@ import java.util.StringTokenizer;
  */
 abstract class DatetimeStringProcessor
 {
-  @NonNull private final SimpleDateFormat dateFormat;
+  @NonNull private final ThreadLocal<@NonNull SimpleDateFormat> dateFormat; // SimpleDateFormat is not thread-safe
   @NonNull private final String delimiters;
 
   // The number of tokens (including delimeters) necessary to strip a datetime to the specified granularity
@@ -31,7 +31,7 @@ abstract class DatetimeStringProcessor
   DatetimeStringProcessor(@NonNull SimpleDateFormat dateFormat, @NonNull String delimiters, @NonNull int gTokenIndex[],
     @NonNull String datetimeRoundDownPadding[], @NonNull String datetimeRoundUpPadding[])
   {
-    this.dateFormat = dateFormat;
+    this.dateFormat = ThreadLocal.withInitial(() -> (SimpleDateFormat)dateFormat.clone());
     this.delimiters = delimiters;
     this.gTokenIndex = gTokenIndex.clone();
     this.datetimeRoundUpPadding = datetimeRoundUpPadding.clone();
@@ -80,7 +80,7 @@ abstract class DatetimeStringProcessor
   private void checkDatetimeString(@NonNull String datetimeString) throws TemporalException
   {
     String localDatetimeString = datetimeString.trim();
-    java.util.Date date = this.dateFormat.parse(localDatetimeString, new ParsePosition(0));
+    java.util.Date date = this.dateFormat.get().parse(localDatetimeString, new ParsePosition(0));
 
     if (date == null)
       Temporal.throwInvalidDatetimeStringException(datetimeString);
@@ -241,33 +241,49 @@ abstract class DatetimeStringProcessor
     return getTimeComponent(datetimeString, Temporal.MILLISECONDS);
   }
 
-  private int getTimeComponent(@NonNull String datetimeString, int granularity) throws TemporalException
+  /**
+   * Split a datetime string into its components and the delimiters between them, so that several components can be
+   * extracted from a single pass over the string with {@link #getTimeComponent(String, String[], int)}.
+   */
+  @NonNull public String[] tokenizeDatetimeString(@NonNull String datetimeString) throws TemporalException
   {
-    StringTokenizer tokenizer;
-    int result = -1;
-    int numberOfTokens;
+    StringTokenizer tokenizer = new StringTokenizer(datetimeString, this.delimiters,
+      true); // Return all tokens including delimiters.
+    String[] datetimeTokens = new String[tokenizer.countTokens()];
 
-    Temporal.checkGranularity(granularity);
+    if (datetimeTokens.length == 0)
+      Temporal.throwInvalidDatetimeStringException(datetimeString);
 
-    tokenizer = new StringTokenizer(datetimeString, this.delimiters, true); // Return all tokens including delimiters.
-    numberOfTokens = tokenizer.countTokens();
+    for (int i = 0; i < datetimeTokens.length; i++)
+      datetimeTokens[i] = tokenizer.nextToken();
 
-    if (numberOfTokens == 0)
-      Temporal.throwInvalidDatetimeStringException(datetimeString);
+    return datetimeTokens;
+  }
 
-    if (numberOfTokens < this.gTokenIndex[granularity])
+  /**
+   * Get the component at the specified granularity of a datetime string that has already been tokenized with
+   * {@link #tokenizeDatetimeString(String)}.
+   */
+  public int getTimeComponent(@NonNull String datetimeString, @NonNull String[] datetimeTokens, int granularity)
+    throws TemporalException
+  {
+    Temporal.checkGranularity(granularity);
+
+    if (datetimeTokens.length < this.gTokenIndex[granularity])
       throw new TemporalException(
         "cannot extract " + Temporal.getStringGranularityRepresentation(granularity) + " from incomplete datetime "
           + datetimeString);
 
     try {
-      int i = 1;
-      while (i++ < this.gTokenIndex[granularity])
-        tokenizer.nextToken();
-      return new Integer(tokenizer.nextToken());
-    } catch (Exception e) {
+      return Integer.parseInt(datetimeTokens[this.gTokenIndex[granularity] - 1]);
+    } catch (NumberFormatException e) {
       Temporal.throwInvalidDatetimeStringException(datetimeString);
     }
-    return result;
+    return -1;
+  }
+
+  private int getTimeComponent(@NonNull String datetimeString, int granularity) throws TemporalException
+  {
+    return getTimeComponent(datetimeString, tokenizeDatetimeString(datetimeString), granularity);
   }
 }
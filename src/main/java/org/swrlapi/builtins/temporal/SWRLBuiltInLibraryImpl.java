@@ -1,13 +1,15 @@
 package org.swrlapi.builtins.temporal;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
-import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLLiteral;
-import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
-import org.swrlapi.builtins.SWRLBuiltInBridge;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
@@ -18,10 +20,15 @@ import org.swrlapi.literal.XSDDate;
 import org.swrlapi.literal.XSDDateTime;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implementation library for SWRL temporal built-ins.
@@ -60,9 +67,11 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   private static final String ValidPeriodClassName = NAMESPACE + "ValidPeriod";
   private static final String GranularityClassName = NAMESPACE + "Granularity";
   private static final String HasValidTimePropertyName = NAMESPACE + "hasValidTime";
-  private static final String HasTimePropertyName = NAMESPACE + "hasTime";
-  private static final String HasStartTimePropertyName = NAMESPACE + "hasStartTime";
-  private static final String HasFinishTimePropertyName = NAMESPACE + "hasFinishTime";
+  static final String HasTimePropertyName = NAMESPACE + "hasTime";
+  static final String HasStartTimePropertyName = NAMESPACE + "hasStartTime";
+  static final String HasFinishTimePropertyName = NAMESPACE + "hasFinishTime";
+
+  private static final long MillisecondsInDay = 24 * 60 * 60 * 1000L;
 
   @NonNull private final Temporal temporal;
 
@@ -77,6 +86,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   @Override public void reset() throws SWRLBuiltInLibraryException
   {
     this.temporal.setNow();
+    this.temporal.clearDatetimeStringCache();
+  }
+
+  @Override protected boolean isConcurrentInvocationSupported()
+  {
+    // Invocations share the temporal engine, whose datetime formats are per thread, and create xsd:date and
+    // xsd:dateTime values through XSDTimeUtil, which also keeps its formats per thread
+    return true;
   }
 
   /**
@@ -611,6 +628,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     throws SWRLBuiltInException
   {
     checkNumberOfArgumentsInRange(2, 4, arguments.size());
+
+    if (isUnboundArgument(0, arguments) || isUnboundArgument(1, arguments))
+      return validTimeTemporalOperation(operation, arguments);
+
     checkForUnboundArguments(arguments);
 
     try {
@@ -625,43 +646,206 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
         getTwoInstantArgumentsAsAPeriod(1, 2, arguments, granularity) :
         getArgumentAsAPeriod(1, arguments, granularity);
 
-      switch (operation) {
-      case TemporalEquals:
-        return p1.equals(p2, granularity);
-      case TemporalBefore:
-        return p1.before(p2, granularity);
-      case TemporalAfter:
-        return p1.after(p2, granularity);
-      case TemporalMeets:
-        return p1.meets(p2, granularity);
-      case TemporalMetBy:
-        return p1.met_by(p2, granularity);
-      case TemporalOverlaps:
-        return p1.overlaps(p2, granularity);
-      case TemporalOverlappedBy:
-        return p1.overlapped_by(p2, granularity);
-      case TemporalContains:
-        return p1.contains(p2, granularity);
-      case TemporalDuring:
-        return p1.during(p2, granularity);
-      case TemporalStarts:
-        return p1.starts(p2, granularity);
-      case TemporalStartedBy:
-        return p1.started_by(p2, granularity);
-      case TemporalFinishes:
-        return p1.finishes(p2, granularity);
-      case TemporalFinishedBy:
-        return p1.finished_by(p2, granularity);
-      case TemporalIntersects:
-        return p1.intersects(p2, granularity);
-      default:
-        throw new SWRLBuiltInException("internal error - unknown temporal operator " + operation);
+      return temporalRelation(operation, p1, p2, granularity);
+    } catch (TemporalException e) {
+      throw new SWRLBuiltInException(e.getMessage() == null ? "" : e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Bind an unbound first or second argument to the valid instant and valid period individuals whose valid time is in
+   * the relation with the period given by the other arguments. Candidate individuals are found with the temporal
+   * interval index of the ontology, so only individuals whose valid time is near the period are compared with it.
+   */
+  private boolean validTimeTemporalOperation(@NonNull String operation,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    int unboundArgumentNumber = isUnboundArgument(0, arguments) ? 0 : 1;
+    int numberOfArguments = arguments.size();
+
+    for (int argumentNumber = 0; argumentNumber < numberOfArguments; argumentNumber++)
+      if (argumentNumber != unboundArgumentNumber)
+        checkThatArgumentIsBound(argumentNumber, arguments);
+
+    try {
+      boolean hasGranularityArgument = isBuiltInArgumentAGranularity(numberOfArguments - 1, arguments);
+      boolean has2nd3rdInstantArguments = hasGranularityArgument ? (numberOfArguments > 3) : (numberOfArguments > 2);
+      int granularity = hasGranularityArgument ?
+        getBuiltInArgumentAsAGranularity(numberOfArguments - 1, arguments) :
+        Temporal.FINEST;
+
+      if (unboundArgumentNumber == 1 && has2nd3rdInstantArguments)
+        throw new InvalidSWRLBuiltInArgumentException(1, "variable binding is not supported for instant arguments");
+
+      Period period, finestPeriod;
+      Set<@NonNull IRI> candidates;
+
+      if (unboundArgumentNumber == 0) {
+        period = has2nd3rdInstantArguments ?
+          getTwoInstantArgumentsAsAPeriod(1, 2, arguments, granularity) :
+          getArgumentAsAPeriod(1, arguments, granularity);
+        finestPeriod = has2nd3rdInstantArguments ?
+          getTwoInstantArgumentsAsAPeriod(1, 2, arguments, Temporal.FINEST) :
+          getArgumentAsAPeriod(1, arguments, Temporal.FINEST);
+        candidates = getCandidateValidTimeIndividuals(operation, finestPeriod, granularity);
+      } else {
+        period = getArgumentAsAPeriod(0, arguments, granularity);
+        finestPeriod = getArgumentAsAPeriod(0, arguments, Temporal.FINEST);
+        candidates = getCandidateValidTimeIndividuals(getConverseOperation(operation), finestPeriod, granularity);
+      }
+
+      List<@NonNull SWRLBuiltInArgument> resultArguments = new ArrayList<>();
+
+      for (IRI candidateIRI : candidates) {
+        Period candidatePeriod = validTimeIndividual2Period(candidateIRI, granularity);
+
+        if (candidatePeriod != null && (unboundArgumentNumber == 0 ?
+          temporalRelation(operation, candidatePeriod, period, granularity) :
+          temporalRelation(operation, period, candidatePeriod, granularity)))
+          resultArguments.add(
+            createNamedIndividualBuiltInArgument(getSWRLAPIOWLDataFactory().getOWLNamedIndividual(candidateIRI)));
       }
+      return processResultArgument(arguments, unboundArgumentNumber, resultArguments);
     } catch (TemporalException e) {
       throw new SWRLBuiltInException(e.getMessage() == null ? "" : e.getMessage(), e);
     }
   }
 
+  private boolean temporalRelation(@NonNull String operation, @NonNull Period p1, @NonNull Period p2, int granularity)
+    throws SWRLBuiltInException, TemporalException
+  {
+    switch (operation) {
+    case TemporalEquals:
+      return p1.equals(p2, granularity);
+    case TemporalBefore:
+      return p1.before(p2, granularity);
+    case TemporalAfter:
+      return p1.after(p2, granularity);
+    case TemporalMeets:
+      return p1.meets(p2, granularity);
+    case TemporalMetBy:
+      return p1.met_by(p2, granularity);
+    case TemporalOverlaps:
+      return p1.overlaps(p2, granularity);
+    case TemporalOverlappedBy:
+      return p1.overlapped_by(p2, granularity);
+    case TemporalContains:
+      return p1.contains(p2, granularity);
+    case TemporalDuring:
+      return p1.during(p2, granularity);
+    case TemporalStarts:
+      return p1.starts(p2, granularity);
+    case TemporalStartedBy:
+      return p1.started_by(p2, granularity);
+    case TemporalFinishes:
+      return p1.finishes(p2, granularity);
+    case TemporalFinishedBy:
+      return p1.finished_by(p2, granularity);
+    case TemporalIntersects:
+      return p1.intersects(p2, granularity);
+    default:
+      throw new SWRLBuiltInException("internal error - unknown temporal operator " + operation);
+    }
+  }
+
+  // The operation that holds between two periods when the given operation holds between them in the opposite order
+  @NonNull private static String getConverseOperation(@NonNull String operation) throws SWRLBuiltInException
+  {
+    switch (operation) {
+    case TemporalEquals:
+    case TemporalIntersects:
+      return operation;
+    case TemporalBefore:
+      return TemporalAfter;
+    case TemporalAfter:
+      return TemporalBefore;
+    case TemporalMeets:
+      return TemporalMetBy;
+    case TemporalMetBy:
+      return TemporalMeets;
+    case TemporalOverlaps:
+      return TemporalOverlappedBy;
+    case TemporalOverlappedBy:
+      return TemporalOverlaps;
+    case TemporalContains:
+      return TemporalDuring;
+    case TemporalDuring:
+      return TemporalContains;
+    case TemporalStarts:
+      return TemporalStartedBy;
+    case TemporalStartedBy:
+      return TemporalStarts;
+    case TemporalFinishes:
+      return TemporalFinishedBy;
+    case TemporalFinishedBy:
+      return TemporalFinishes;
+    default:
+      throw new SWRLBuiltInException("internal error - unknown temporal operator " + operation);
+    }
+  }
+
+  /**
+   * Find the valid time individuals that may be in the relation with a period from ranges of their start and finish
+   * times. The ranges are necessary conditions for the relation at the finest granularity. At coarser granularities
+   * granule counts are computed from datetimes truncated to the granularity, so the ranges are widened by a slack that
+   * covers two granules and any time zone offset.
+   */
+  @NonNull private Set<@NonNull IRI> getCandidateValidTimeIndividuals(@NonNull String operation,
+    @NonNull Period finestPeriod, int granularity) throws SWRLBuiltInException, TemporalException
+  {
+    TemporalIntervalIndex index = getBuiltInBridge()
+      .getOWLOntologyIndex(TemporalIntervalIndex.class, TemporalIntervalIndex::new);
+    long start = finestPeriod.getStartGranuleCount(Temporal.FINEST);
+    long finish = finestPeriod.getFinishGranuleCount(Temporal.FINEST);
+    long slack = getGranuleCountSlackInMilliseconds(granularity);
+    long min = Long.MIN_VALUE, max = Long.MAX_VALUE;
+
+    switch (operation) {
+    case TemporalEquals:
+      return index.getCandidates(start - slack, start + slack, finish - slack, finish + slack);
+    case TemporalBefore:
+      return index.getCandidates(min, start + slack, min, start + slack);
+    case TemporalAfter:
+      return index.getCandidates(finish - slack, max, finish - slack, max);
+    case TemporalMeets:
+      return index.getCandidates(min, start + slack, start - slack, start + slack);
+    case TemporalMetBy:
+      return index.getCandidates(finish - slack, finish + slack, finish - slack, max);
+    case TemporalOverlaps:
+      return index.getCandidates(min, start + slack, start - slack, finish + slack);
+    case TemporalOverlappedBy:
+      return index.getCandidates(start - slack, finish + slack, finish - slack, max);
+    case TemporalContains:
+      return index.getCandidates(min, start + slack, finish - slack, max);
+    case TemporalDuring:
+      return index.getCandidates(start - slack, finish + slack, start - slack, finish + slack);
+    case TemporalStarts:
+      return index.getCandidates(start - slack, start + slack, start - slack, finish + slack);
+    case TemporalStartedBy:
+      return index.getCandidates(start - slack, start + slack, finish - slack, max);
+    case TemporalFinishes:
+      return index.getCandidates(min, start + slack, finish - slack, finish + slack);
+    case TemporalFinishedBy:
+      return index.getCandidates(start - slack, finish + slack, finish - slack, finish + slack);
+    case TemporalIntersects:
+      return index.getCandidates(min, finish + slack, start - slack, max);
+    default:
+      throw new SWRLBuiltInException("internal error - unknown temporal operator " + operation);
+    }
+  }
+
+  private static long getGranuleCountSlackInMilliseconds(int granularity) throws TemporalException
+  {
+    if (granularity == Temporal.FINEST)
+      return 1;
+    else if (granularity == Temporal.YEARS)
+      return 2 * 366 * MillisecondsInDay + MillisecondsInDay;
+    else if (granularity == Temporal.MONTHS)
+      return 2 * 31 * MillisecondsInDay + MillisecondsInDay;
+    else
+      return 2 * Temporal.convertGranuleCount(1, granularity, Temporal.MILLISECONDS) + MillisecondsInDay;
+  }
+
   @NonNull private Period getTwoInstantArgumentsAsAPeriod(int firstArgumentNumber, int secondArgumentNumber,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments, int granularity)
     throws SWRLBuiltInException, TemporalException
@@ -759,7 +943,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       IRI individualIRI = individualArgument.getIRI();
       String fullName = individualIRI.toString();
       String granularityName;
-      if (isOWLIndividualOfType(individualIRI, createIRI(GranularityClassName))) {
+      if (isGranularityIndividual(individualIRI)) {
         int hashIndex = fullName.indexOf('#');
         if (hashIndex == -1)
           granularityName = fullName;
@@ -782,7 +966,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       return Temporal.isValidGranularityString(granularityName);
     } else if (isArgumentAnOWLNamedIndividual(argumentNumber, arguments)) {
       IRI individualIRI = getArgumentAsANamedIndividualIRI(argumentNumber, arguments);
-      return isOWLIndividualOfType(individualIRI, createIRI(GranularityClassName));
+      return isGranularityIndividual(individualIRI);
     } else
       return false;
   }
@@ -790,7 +974,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   @NonNull private Instant validInstantIndividual2Instant(@NonNull IRI individualIRI, int granularity)
     throws SWRLBuiltInException, TemporalException
   {
-    String datetimeString = getDataPropertyValueAsAString(getBuiltInBridge(), individualIRI,
+    String datetimeString = getDataPropertyValueAsAString(individualIRI,
       createIRI(HasTimePropertyName));
 
     return new Instant(this.temporal, datetimeString, granularity);
@@ -799,9 +983,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   @NonNull private Period validPeriodIndividual2Period(@NonNull IRI individualIRI, int granularity)
     throws SWRLBuiltInException, TemporalException
   {
-    String startDatetimeString = getDataPropertyValueAsAString(getBuiltInBridge(), individualIRI,
+    String startDatetimeString = getDataPropertyValueAsAString(individualIRI,
       createIRI(HasStartTimePropertyName));
-    String finishDatetimeString = getDataPropertyValueAsAString(getBuiltInBridge(), individualIRI,
+    String finishDatetimeString = getDataPropertyValueAsAString(individualIRI,
       createIRI(HasFinishTimePropertyName));
 
     return new Period(this.temporal, startDatetimeString, finishDatetimeString, granularity);
@@ -810,7 +994,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   @NonNull private Period extendedPropositionIndividual2Period(@NonNull IRI extendedPropositionIRI, int granularity)
     throws SWRLBuiltInException, TemporalException
   {
-    IRI validTimeIRI = getObjectPropertyValueAsIRI(getBuiltInBridge(), extendedPropositionIRI,
+    IRI validTimeIRI = getObjectPropertyValueAsIRI(extendedPropositionIRI,
       createIRI(HasValidTimePropertyName));
 
     if (isOWLIndividualOfType(validTimeIRI, createIRI(ValidPeriodClassName)))
@@ -822,7 +1006,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   @NonNull private Instant extendedPropositionIndividual2Instant(@NonNull IRI extendedPropositionIRI, int granularity)
     throws SWRLBuiltInException, TemporalException
   {
-    IRI validTimeIRI = getObjectPropertyValueAsIRI(getBuiltInBridge(), extendedPropositionIRI,
+    IRI validTimeIRI = getObjectPropertyValueAsIRI(extendedPropositionIRI,
       createIRI(HasValidTimePropertyName));
 
     if (isOWLIndividualOfType(validTimeIRI, createIRI(ValidInstantClassName)))
@@ -832,30 +1016,94 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
         "expecting valid instant value for extended proposition " + extendedPropositionIRI);
   }
 
-  @NonNull private IRI getObjectPropertyValueAsIRI(@NonNull SWRLBuiltInBridge bridge, @NonNull IRI individualIRI,
-    @NonNull IRI propertyIRI)
+  // Null if the individual is not a valid instant or a valid period
+  @Nullable private Period validTimeIndividual2Period(@NonNull IRI individualIRI, int granularity)
+    throws SWRLBuiltInException, TemporalException
+  {
+    if (isOWLIndividualOfType(individualIRI, createIRI(ValidInstantClassName)))
+      return new Period(this.temporal, validInstantIndividual2Instant(individualIRI, granularity), granularity);
+    else if (isOWLIndividualOfType(individualIRI, createIRI(ValidPeriodClassName)))
+      return validPeriodIndividual2Period(individualIRI, granularity);
+    else
+      return null;
+  }
+
+  @NonNull private IRI getObjectPropertyValueAsIRI(@NonNull IRI individualIRI, @NonNull IRI propertyIRI)
+    throws SWRLBuiltInException
   {
-    Set<@NonNull OWLObjectPropertyAssertionAxiom> axioms = new HashSet<>(); // TODO Get assertions for this individual/property
-    OWLObjectPropertyAssertionAxiom axiom = axioms.toArray(new OWLObjectPropertyAssertionAxiom[axioms.size()])[0];
-    OWLIndividual subject = axiom.getObject();
+    for (List<@NonNull OWLObject> tuple : getPropertyAssertionTuples(AxiomType.OBJECT_PROPERTY_ASSERTION,
+      individualIRI, getSWRLAPIOWLDataFactory().getOWLObjectProperty(propertyIRI)))
+      return ((OWLIndividual)tuple.get(2)).asOWLNamedIndividual().getIRI();
 
-    return subject.asOWLNamedIndividual().getIRI();
+    throw new SWRLBuiltInException("individual " + individualIRI + " has no value for property " + propertyIRI);
   }
 
+  /**
+   * Types are taken from the asserted class assertions of the individual and the asserted subclass axioms between
+   * named classes in the ontology and its imports closure. Types that only a reasoner would infer, e.g., from property
+   * domains or class equivalences, are not seen; such individuals must be asserted to be of a temporal class.
+   */
   private boolean isOWLIndividualOfType(@NonNull IRI individualIRI, @NonNull IRI classIRI)
-    throws SWRLBuiltInLibraryException
+    throws SWRLBuiltInException
   {
-    return true; // TODO Implement isOWLIndividualOfType
+    OWLClass cls = getSWRLAPIOWLDataFactory().getOWLClass(classIRI);
+    OWLNamedIndividual individual = getSWRLAPIOWLDataFactory().getOWLNamedIndividual(individualIRI);
+    Set<@NonNull OWLObject> visitedClasses = new HashSet<>();
+    List<@NonNull OWLObject> classes = new ArrayList<>();
+
+    for (List<@NonNull OWLObject> tuple : getOWLAxiomIndex()
+      .getTuples(AxiomType.CLASS_ASSERTION, Collections.singletonMap(1, individual)))
+      if (tuple.get(1).equals(individual) && visitedClasses.add(tuple.get(0)))
+        classes.add(tuple.get(0));
+
+    while (!classes.isEmpty()) { // Walk up the asserted class hierarchy
+      OWLObject subClass = classes.remove(classes.size() - 1);
+
+      if (subClass.equals(cls))
+        return true;
+
+      if (subClass instanceof OWLClass)
+        for (List<@NonNull OWLObject> tuple : getOWLAxiomIndex()
+          .getTuples(AxiomType.SUBCLASS_OF, Collections.singletonMap(0, subClass)))
+          if (tuple.get(0).equals(subClass) && visitedClasses.add(tuple.get(1)))
+            classes.add(tuple.get(1));
+    }
+    return false;
+  }
+
+  // Granularity individuals of the temporal ontology are recognized by name, so they need not be typed in the ontology
+  private boolean isGranularityIndividual(@NonNull IRI individualIRI) throws SWRLBuiltInException
+  {
+    String fullName = individualIRI.toString();
+
+    if (fullName.startsWith(NAMESPACE) && Temporal.isValidGranularityString(fullName.substring(NAMESPACE.length())))
+      return true;
+    else
+      return isOWLIndividualOfType(individualIRI, createIRI(GranularityClassName));
+  }
+
+  @NonNull private String getDataPropertyValueAsAString(@NonNull IRI individualIRI, @NonNull IRI propertyIRI)
+    throws SWRLBuiltInException
+  {
+    for (List<@NonNull OWLObject> tuple : getPropertyAssertionTuples(AxiomType.DATA_PROPERTY_ASSERTION, individualIRI,
+      getSWRLAPIOWLDataFactory().getOWLDataProperty(propertyIRI)))
+      return ((OWLLiteral)tuple.get(2)).getLiteral();
+
+    throw new SWRLBuiltInException("individual " + individualIRI + " has no value for property " + propertyIRI);
   }
 
-  @NonNull private String getDataPropertyValueAsAString(@NonNull SWRLBuiltInBridge bridge, @NonNull IRI individualIRI,
-    @NonNull IRI propertyIRI)
+  @NonNull private List<@NonNull List<@NonNull OWLObject>> getPropertyAssertionTuples(
+    @NonNull AxiomType<?> axiomType, @NonNull IRI individualIRI, @NonNull OWLObject property)
+    throws SWRLBuiltInException
   {
-    Set<@NonNull OWLDataPropertyAssertionAxiom> axioms = new HashSet<>(); // TODO Get assertions for this individual/property
-    OWLDataPropertyAssertionAxiom axiom = axioms.toArray(new OWLDataPropertyAssertionAxiom[axioms.size()])[0];
-    OWLLiteral value = axiom.getObject();
+    OWLNamedIndividual individual = getSWRLAPIOWLDataFactory().getOWLNamedIndividual(individualIRI);
+    Map<@NonNull Integer, @NonNull OWLObject> boundValues = new HashMap<>();
+
+    boundValues.put(0, individual);
+    boundValues.put(1, property);
 
-    return value.toString();
+    return getOWLAxiomIndex().getTuples(axiomType, boundValues).stream()
+      .filter(tuple -> tuple.get(0).equals(individual) && tuple.get(1).equals(property)).collect(Collectors.toList());
   }
 
   private long convertArgumentToALong(int argumentNumber, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
@@ -1,15 +1,26 @@
 package org.swrlapi.builtins.temporal;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
 
 /**
  * A class that supports temporal operations using the Gregorian calendar. In instance of this class is supplied with a
  * DatetimeStringProcessor that governs how timestamps are converted to and from datetime strings. Apart from the
  * granularity constants, users should generally not use this class directly but should instead use the Instant and
  * Period classes in this package.
+ * <p>
+ * Instances are thread-safe. Datetime strings are converted to granule counts with the immutable java.time types and
+ * the results are cached, so datetimes that are mentioned repeatedly by temporal built-ins are parsed only once.
  */
 class Temporal
 {
@@ -26,7 +37,7 @@ class Temporal
 
   public final static int NUMBER_OF_GRANULARITIES = 7;
 
-  private long nowGranuleCountInMillis = -1; // Granule count in milliseconds since 1 C.E.
+  private volatile long nowGranuleCountInMillis = -1; // Granule count in milliseconds since 1 C.E.
 
   private final DatetimeStringProcessor datetimeStringProcessor;
 
@@ -86,7 +97,15 @@ class Temporal
       31 + 28 + 31 + 30 + 31 + 30 + 31 + 31 + 30 + 31 + 30, // to December
       365 };
 
-  @NonNull private final GregorianCalendar gc;
+  // The first year in which java.time's proleptic Gregorian calendar agrees with GregorianCalendar, which uses the
+  // Julian calendar before the Gregorian change date
+  private static final int FIRST_GREGORIAN_YEAR = 1583;
+
+  private static final int MAXIMUM_CACHED_DATETIME_STRINGS = 10000;
+
+  // Granule counts in milliseconds of parsed datetime strings, keyed by the ID of the default time zone they were
+  // resolved in and the datetime string
+  @NonNull private final Cache<@NonNull List<@NonNull String>, @NonNull Long> datetimeStringGranuleCounts;
 
   /**
    * @param datetimeStringProcessor A datetime string processor
@@ -95,7 +114,7 @@ class Temporal
   {
     this.datetimeStringProcessor = datetimeStringProcessor;
 
-    this.gc = new GregorianCalendar();
+    this.datetimeStringGranuleCounts = CacheBuilder.newBuilder().maximumSize(MAXIMUM_CACHED_DATETIME_STRINGS).build();
   }
 
   /**
@@ -114,6 +133,15 @@ class Temporal
     this.nowGranuleCountInMillis = millisecondsFrom1970 + MillisecondsTo1970;
   }
 
+  /**
+   * Discard the cached granule counts of parsed datetime strings. Granule counts resolved in a default time zone are
+   * not used after it changes, so this is not needed when the default time zone changes.
+   */
+  public void clearDatetimeStringCache()
+  {
+    this.datetimeStringGranuleCounts.invalidateAll();
+  }
+
   /**
    * @param granularity A granularity
    * @throws TemporalException If the specified granularity is invalid
@@ -194,40 +222,84 @@ class Temporal
   {
     checkGranularity(granularity);
 
-    int years = getDatetimeStringProcessor().getYears(datetimeString);
+    TimeZone timeZone = TimeZone.getDefault();
+    List<@NonNull String> cacheKey = Arrays.asList(timeZone.getID(), datetimeString);
+    Long granuleCountInMillis = this.datetimeStringGranuleCounts.getIfPresent(cacheKey);
+
+    if (granuleCountInMillis == null) { // Invalid datetime strings throw an exception and are not cached
+      granuleCountInMillis = parseDatetimeString2GranuleCountInMillis(datetimeString, timeZone);
+      this.datetimeStringGranuleCounts.put(cacheKey, granuleCountInMillis);
+    }
+
+    return convertGranuleCount(granuleCountInMillis, MILLISECONDS, granularity);
+  }
+
+  private long parseDatetimeString2GranuleCountInMillis(@NonNull String datetimeString, @NonNull TimeZone timeZone)
+    throws TemporalException
+  {
+    String[] datetimeTokens = getDatetimeStringProcessor().tokenizeDatetimeString(datetimeString);
+
+    int years = getDatetimeStringProcessor().getTimeComponent(datetimeString, datetimeTokens, YEARS);
     if (years < 1 || years > 9999)
       throw new TemporalException("years must be between 1  and 9999 in datetime: " + datetimeString);
 
-    int months = getDatetimeStringProcessor().getMonths(datetimeString);
+    int months = getDatetimeStringProcessor().getTimeComponent(datetimeString, datetimeTokens, MONTHS);
     if (months < 1 | months > 12)
       throw new TemporalException("months must be between 1 and 12 in datetime: " + datetimeString);
 
-    int days = getDatetimeStringProcessor().getDays(datetimeString);
+    int days = getDatetimeStringProcessor().getTimeComponent(datetimeString, datetimeTokens, DAYS);
     if (days < 1 || days > 31)
       throw new TemporalException("days must be between 1 and 31 in datetime: " + datetimeString);
 
-    int hours = getDatetimeStringProcessor().getHours(datetimeString);
+    int hours = getDatetimeStringProcessor().getTimeComponent(datetimeString, datetimeTokens, HOURS);
     if (hours < 0 || hours > 23)
       throw new TemporalException("hours must bebetween 0 and 23 in datetime: " + datetimeString);
 
-    int minutes = getDatetimeStringProcessor().getMinutes(datetimeString);
+    int minutes = getDatetimeStringProcessor().getTimeComponent(datetimeString, datetimeTokens, MINUTES);
     if (minutes < 0 || minutes > 59)
       throw new TemporalException("minutes must be between 0 and 59 in datetime: " + datetimeString);
 
-    int seconds = getDatetimeStringProcessor().getSeconds(datetimeString);
+    int seconds = getDatetimeStringProcessor().getTimeComponent(datetimeString, datetimeTokens, SECONDS);
     if (seconds < 0)
       throw new TemporalException("seconds must be 0 or greater in datetime: " + datetimeString);
 
-    int milliseconds = getDatetimeStringProcessor().getMilliseconds(datetimeString);
+    int milliseconds = getDatetimeStringProcessor().getTimeComponent(datetimeString, datetimeTokens, MILLISECONDS);
     if (milliseconds < 0)
       throw new TemporalException("milliseconds must be 0 or greater in datetime: " + datetimeString);
 
-    this.gc.clear();
-    this.gc.set(years, months - 1, days, hours, minutes, seconds);
+    return localDatetime2MillisecondsFrom1970(years, months, days, hours, minutes, seconds, timeZone) + milliseconds
+      + MillisecondsTo1970;
+  }
 
-    long granuleCountInMillis = this.gc.getTimeInMillis() + milliseconds + MillisecondsTo1970;
+  /**
+   * Resolve a datetime in a time zone. As with a lenient calendar, days, hours, minutes, and seconds beyond their
+   * ranges roll over into the following month, day, hour, or minute; a local time in a daylight savings gap is moved
+   * forward by the length of the gap and an ambiguous local time resolves to the later offset.
+   * <p>
+   * Datetimes are resolved with a GregorianCalendar if java.time disagrees with it, i.e., before the Gregorian change
+   * date and where java.time's zone rules have a local mean time offset that java.util.TimeZone does not model. The
+   * resulting granule counts then remain consistent with the java.sql.Timestamp conversions to datetime strings.
+   */
+  private static long localDatetime2MillisecondsFrom1970(int years, int months, int days, int hours, int minutes,
+    int seconds, @NonNull TimeZone timeZone)
+  {
+    if (years >= FIRST_GREGORIAN_YEAR) {
+      LocalDateTime localDatetime = LocalDate.of(years, months, 1).atStartOfDay().plusDays(days - 1).plusHours(hours)
+        .plusMinutes(minutes).plusSeconds(seconds);
+      ZonedDateTime zonedDatetime = ZonedDateTime.ofLocal(localDatetime, timeZone.toZoneId(), null)
+        .withLaterOffsetAtOverlap();
+      long millisecondsFrom1970 = zonedDatetime.toInstant().toEpochMilli();
+
+      if (timeZone.getOffset(millisecondsFrom1970) == zonedDatetime.getOffset().getTotalSeconds() * 1000)
+        return millisecondsFrom1970;
+    }
 
-    return convertGranuleCount(granuleCountInMillis, MILLISECONDS, granularity);
+    GregorianCalendar gc = new GregorianCalendar(timeZone);
+
+    gc.clear();
+    gc.set(years, months - 1, days, hours, minutes, seconds);
+
+    return gc.getTimeInMillis();
   }
 
   public static long utilDate2GranuleCount(java.util.Date date, int granularity) throws TemporalException
@@ -305,11 +377,18 @@ class Temporal
     return days_in_month[(int)monthCount - 1];
   }
 
+  /**
+   * Leap years follow the Julian calendar up to and including the Gregorian change year and the Gregorian calendar
+   * thereafter, as in {@link GregorianCalendar#isLeapYear(int)}.
+   */
   public static boolean isLeapYear(long yearCount)
   {
-    GregorianCalendar gc = new GregorianCalendar();
-
-    return gc.isLeapYear((int)yearCount);
+    if ((yearCount & 3) != 0)
+      return false;
+    else if (yearCount > GregorianChangeYear)
+      return (yearCount % 100 != 0) || (yearCount % 400 == 0);
+    else
+      return true;
   }
 
   // We ignore leap years here - convertGranuleCount adjusts for them.
@@ -598,19 +677,33 @@ class Temporal
   }
 
   // Calculate the number of extra leap granules at a specific granularity up until the start of a year.
-  //
-  // TODO: optimize leap granules up to year - very inefficient.
   private static long leapGranulesUpToYear(long yearCount, int granularity) throws TemporalException
   {
-    long leapDays = 0;
-
     checkGranularity(granularity);
 
-    for (long i = 0; i < yearCount; i++)
-      if (isLeapYear(i))
-        leapDays++; // isLeap year takes care of Gregorian discontinuity
+    return leapYearsBeforeYear(yearCount) * conversion_table[DAYS][granularity];
+  }
+
+  // The number of leap years from year 0 up to but excluding a year, counting Julian leap years up to and including
+  // the Gregorian change year and Gregorian leap years thereafter.
+  private static long leapYearsBeforeYear(long yearCount)
+  {
+    if (yearCount <= 0)
+      return 0;
+
+    long julianYearCount = Math.min(yearCount, GregorianChangeYear + 1);
+    long leapYears = (julianYearCount + 3) / 4; // Every fourth year from year 0
 
-    return leapDays * conversion_table[DAYS][granularity];
+    if (yearCount > GregorianChangeYear + 1)
+      leapYears += gregorianLeapYearsUpToYear(yearCount - 1) - gregorianLeapYearsUpToYear(GregorianChangeYear);
+
+    return leapYears;
+  }
+
+  // The number of Gregorian leap years from year 1 up to and including a year
+  private static long gregorianLeapYearsUpToYear(long yearCount)
+  {
+    return yearCount / 4 - yearCount / 100 + yearCount / 400;
   }
 
   // Calculate the number of extra leap granules at a specific granularity up until the start of a month.
@@ -0,0 +1,250 @@
+package org.swrlapi.builtins.temporal;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * An index of the valid times of the valid instant and valid period individuals in an ontology and its imports
+ * closure. Temporal built-ins use it to enumerate the individuals whose valid time may be in a temporal relation with
+ * a period without comparing the period with every individual. Valid times are held as granule counts in milliseconds
+ * in two sorted endpoint indexes, one keyed by start time and one by finish time. A valid instant starts and finishes
+ * at its time.
+ * <p>
+ * Individuals whose valid time cannot be indexed are always returned as candidates. These include individuals with
+ * several or invalid values and individuals whose valid time ends 'now'. The built-ins then report the same results
+ * and errors for them as when they compare each individual.
+ * <p>
+ * The index is built when created and then kept up to date from ontology change events. A rebuild fills new tables and
+ * publishes them in one step, so lookups see either the old or the new tables and never partially built ones. The
+ * index is held by its {@link org.swrlapi.core.SWRLAPIOWLOntology}, which registers it for ontology change events and
+ * removes it when disposed.
+ *
+ * @see org.swrlapi.core.SWRLAPIOWLOntology#getOWLOntologyIndex(Class, java.util.function.Function)
+ */
+final class TemporalIntervalIndex implements OWLOntologyChangeListener
+{
+  private static final IRI HasTimePropertyIRI = IRI.create(SWRLBuiltInLibraryImpl.HasTimePropertyName);
+  private static final IRI HasStartTimePropertyIRI = IRI.create(SWRLBuiltInLibraryImpl.HasStartTimePropertyName);
+  private static final IRI HasFinishTimePropertyIRI = IRI.create(SWRLBuiltInLibraryImpl.HasFinishTimePropertyName);
+
+  @NonNull private final OWLOntology ontology;
+  @NonNull private final Temporal temporal;
+  @NonNull private volatile Tables tables; // Replaced as a whole by a rebuild
+
+  TemporalIntervalIndex(@NonNull OWLOntology ontology)
+  {
+    this.ontology = ontology;
+    this.temporal = new Temporal(new XSDDateTimeStringProcessor());
+    this.tables = build();
+  }
+
+  /**
+   * Bounds are inclusive granule counts in milliseconds; {@link Long#MIN_VALUE} and {@link Long#MAX_VALUE} leave a
+   * range open.
+   *
+   * @param earliestStart  The earliest start time
+   * @param latestStart    The latest start time
+   * @param earliestFinish The earliest finish time
+   * @param latestFinish   The latest finish time
+   * @return The individuals whose valid time starts and finishes within the ranges, plus the unindexed individuals
+   */
+  @NonNull public Set<@NonNull IRI> getCandidates(long earliestStart, long latestStart, long earliestFinish,
+    long latestFinish)
+  {
+    Tables tables = this.tables;
+    Set<@NonNull IRI> candidates = new HashSet<>(tables.unindexedIndividuals);
+
+    if (earliestStart > latestStart || earliestFinish > latestFinish)
+      return candidates;
+
+    // Scan the endpoint index with more bounded sides
+    NavigableMap<@NonNull Long, @NonNull Set<@NonNull IRI>> endpoints = getNumberOfBoundedSides(earliestStart,
+      latestStart) >= getNumberOfBoundedSides(earliestFinish, latestFinish) ?
+      tables.startIndex.subMap(earliestStart, true, latestStart, true) :
+      tables.finishIndex.subMap(earliestFinish, true, latestFinish, true);
+
+    for (Set<@NonNull IRI> individuals : endpoints.values()) {
+      for (IRI individual : individuals) {
+        Interval interval = tables.intervals.get(individual);
+
+        if (interval != null && interval.start >= earliestStart && interval.start <= latestStart
+          && interval.finish >= earliestFinish && interval.finish <= latestFinish)
+          candidates.add(individual);
+      }
+    }
+    return candidates;
+  }
+
+  @Override public synchronized void ontologiesChanged(@NonNull List<? extends OWLOntologyChange> changes)
+  {
+    for (OWLOntologyChange change : changes) {
+      if (change.isImportChange()) {
+        this.tables = build();
+        return;
+      } else if (change.isAxiomChange() && change.getAxiom() instanceof OWLDataPropertyAssertionAxiom && this.ontology
+        .getImportsClosure().contains(change.getOntology())) {
+        OWLDataPropertyAssertionAxiom axiom = (OWLDataPropertyAssertionAxiom)change.getAxiom();
+
+        if (axiom.getSubject().isNamed() && getValidTimeProperty(axiom.getProperty()) != null)
+          update(this.tables, axiom.getSubject().asOWLNamedIndividual());
+      }
+    }
+  }
+
+  @NonNull private Tables build()
+  {
+    Tables tables = new Tables();
+
+    for (OWLDataPropertyAssertionAxiom axiom : this.ontology
+      .getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED))
+      if (axiom.getSubject().isNamed() && getValidTimeProperty(axiom.getProperty()) != null)
+        update(tables, axiom.getSubject().asOWLNamedIndividual());
+
+    return tables;
+  }
+
+  // Recompute the valid time of an individual from its assertions in the imports closure. The new entry is added
+  // before the old one is removed so that concurrent lookups always find the individual.
+  private void update(@NonNull Tables tables, @NonNull OWLNamedIndividual individual)
+  {
+    IRI individualIRI = individual.getIRI();
+    Set<@NonNull String> times = new LinkedHashSet<>();
+    Set<@NonNull String> startTimes = new LinkedHashSet<>();
+    Set<@NonNull String> finishTimes = new LinkedHashSet<>();
+
+    for (OWLOntology importedOntology : this.ontology.getImportsClosure()) {
+      for (OWLDataPropertyAssertionAxiom axiom : importedOntology.getDataPropertyAssertionAxioms(individual)) {
+        IRI propertyIRI = getValidTimeProperty(axiom.getProperty());
+
+        if (HasTimePropertyIRI.equals(propertyIRI))
+          times.add(axiom.getObject().getLiteral());
+        else if (HasStartTimePropertyIRI.equals(propertyIRI))
+          startTimes.add(axiom.getObject().getLiteral());
+        else if (HasFinishTimePropertyIRI.equals(propertyIRI))
+          finishTimes.add(axiom.getObject().getLiteral());
+      }
+    }
+
+    Long start = null, finish = null;
+
+    if (times.size() == 1 && startTimes.isEmpty() && finishTimes.isEmpty())
+      start = finish = datetimeString2GranuleCount(times.iterator().next());
+    else if (times.isEmpty() && startTimes.size() == 1 && finishTimes.size() == 1) {
+      start = datetimeString2GranuleCount(startTimes.iterator().next());
+      finish = datetimeString2GranuleCount(finishTimes.iterator().next());
+    }
+
+    Interval interval = start != null && finish != null && start <= finish ? new Interval(start, finish) : null;
+    Interval previousInterval;
+
+    if (interval != null) {
+      tables.startIndex.computeIfAbsent(interval.start, k -> ConcurrentHashMap.newKeySet()).add(individualIRI);
+      tables.finishIndex.computeIfAbsent(interval.finish, k -> ConcurrentHashMap.newKeySet()).add(individualIRI);
+      previousInterval = tables.intervals.put(individualIRI, interval);
+      tables.unindexedIndividuals.remove(individualIRI);
+    } else {
+      if (!times.isEmpty() || !startTimes.isEmpty() || !finishTimes.isEmpty())
+        tables.unindexedIndividuals.add(individualIRI);
+      else
+        tables.unindexedIndividuals.remove(individualIRI);
+      previousInterval = tables.intervals.remove(individualIRI);
+    }
+
+    if (previousInterval != null) {
+      if (interval == null || interval.start != previousInterval.start)
+        removeFromIndex(tables.startIndex, previousInterval.start, individualIRI);
+      if (interval == null || interval.finish != previousInterval.finish)
+        removeFromIndex(tables.finishIndex, previousInterval.finish, individualIRI);
+    }
+  }
+
+  // Null for 'now', whose granule count changes over time, and for invalid datetime strings
+  @Nullable private Long datetimeString2GranuleCount(@NonNull String datetimeString)
+  {
+    if (datetimeString.trim().equals("now"))
+      return null;
+
+    try {
+      return new Instant(this.temporal, datetimeString, Temporal.FINEST).getGranuleCount();
+    } catch (TemporalException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  @Nullable private static IRI getValidTimeProperty(@NonNull OWLDataPropertyExpression property)
+  {
+    if (property.isAnonymous())
+      return null;
+
+    IRI propertyIRI = property.asOWLDataProperty().getIRI();
+
+    return propertyIRI.equals(HasTimePropertyIRI) || propertyIRI.equals(HasStartTimePropertyIRI) || propertyIRI
+      .equals(HasFinishTimePropertyIRI) ? propertyIRI : null;
+  }
+
+  private static int getNumberOfBoundedSides(long from, long to)
+  {
+    return (from != Long.MIN_VALUE ? 1 : 0) + (to != Long.MAX_VALUE ? 1 : 0);
+  }
+
+  private static void removeFromIndex(@NonNull Map<@NonNull Long, @NonNull Set<@NonNull IRI>> index, long key,
+    @NonNull IRI individualIRI)
+  {
+    Set<@NonNull IRI> individuals = index.get(key);
+
+    if (individuals != null) {
+      individuals.remove(individualIRI);
+      if (individuals.isEmpty())
+        index.remove(key);
+    }
+  }
+
+  /**
+   * The valid times of the individuals and the endpoint indexes over them. Lookups may run while the tables are
+   * updated for a changed individual, so they are concurrent collections.
+   */
+  private static final class Tables
+  {
+    @NonNull private final Map<@NonNull IRI, @NonNull Interval> intervals;
+    @NonNull private final NavigableMap<@NonNull Long, @NonNull Set<@NonNull IRI>> startIndex;
+    @NonNull private final NavigableMap<@NonNull Long, @NonNull Set<@NonNull IRI>> finishIndex;
+    @NonNull private final Set<@NonNull IRI> unindexedIndividuals;
+
+    private Tables()
+    {
+      this.intervals = new ConcurrentHashMap<>();
+      this.startIndex = new ConcurrentSkipListMap<>();
+      this.finishIndex = new ConcurrentSkipListMap<>();
+      this.unindexedIndividuals = ConcurrentHashMap.newKeySet();
+    }
+  }
+
+  private static final class Interval
+  {
+    private final long start, finish;
+
+    private Interval(long start, long finish)
+    {
+      this.start = start;
+      this.finish = finish;
+    }
+  }
+}
@@ -3,10 +3,13 @@ package org.swrlapi.core;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
+import org.swrlapi.builtins.CompiledSWRLBuiltInArguments;
+import org.swrlapi.builtins.ResolvedSWRLBuiltIn;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -27,6 +30,42 @@ public interface SWRLAPIBuiltInAtom extends SWRLBuiltInAtom
    */
   @NonNull IRI getBuiltInIRI();
 
+  /**
+   * @return The implementation of the built-in if it was resolved when the enclosing rule was loaded; by default the
+   * built-in is never resolved
+   */
+  default @NonNull Optional<@NonNull ResolvedSWRLBuiltIn> getResolvedBuiltIn()
+  {
+    return Optional.empty();
+  }
+
+  /**
+   * By default the resolved implementation is not retained, so the built-in is invoked by name.
+   *
+   * @param resolvedBuiltIn The resolved implementation of the built-in
+   */
+  default void setResolvedBuiltIn(@NonNull ResolvedSWRLBuiltIn resolvedBuiltIn)
+  {
+  }
+
+  /**
+   * @return The compiled forms of the constant arguments of the built-in, which are compiled when the enclosing rule is
+   * loaded; by default there are none
+   */
+  @NonNull default CompiledSWRLBuiltInArguments getCompiledArguments()
+  {
+    return CompiledSWRLBuiltInArguments.empty();
+  }
+
+  /**
+   * By default the compiled arguments are not retained, so the built-in is invoked with its uncompiled arguments.
+   *
+   * @param compiledArguments The compiled forms of the constant arguments of the built-in
+   */
+  default void setCompiledArguments(@NonNull CompiledSWRLBuiltInArguments compiledArguments)
+  {
+  }
+
   /**
    * @return The 0-based index of the built-in in the enclosing rule
    */
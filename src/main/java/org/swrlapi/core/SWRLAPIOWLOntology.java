@@ -6,6 +6,7 @@ import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
 import org.swrlapi.exceptions.SWRLBuiltInException;
@@ -17,12 +18,16 @@ import org.swrlapi.sqwrl.SQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLQueryRenderer;
 import org.swrlapi.sqwrl.SQWRLResult;
 import org.swrlapi.sqwrl.SQWRLResultGenerator;
+import org.swrlapi.sqwrl.SQWRLResultStream;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryNameException;
 import org.swrlapi.ui.model.SWRLAutoCompleter;
 import org.swrlapi.ui.model.SWRLRuleEngineModel;
 
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Wraps the OWLAPI's {@link org.semanticweb.owlapi.model.OWLOntology} class with additional functionality used by the
@@ -144,6 +149,23 @@ public interface SWRLAPIOWLOntology
 
   @NonNull SQWRLResult getSQWRLResult(@NonNull String queryName) throws SQWRLException;
 
+  /**
+   * @param queryName  The name of the query
+   * @param bufferSize The maximum number of rows buffered before the query waits for the reader
+   * @return A result stream for the query; by default, created by the query with this name
+   * @throws SQWRLException If there is no query with this name or it cannot be streamed
+   * @see org.swrlapi.sqwrl.SQWRLQuery#createSQWRLResultStream(int)
+   */
+  @NonNull default SQWRLResultStream createSQWRLResultStream(@NonNull String queryName, int bufferSize)
+      throws SQWRLException
+  {
+    for (SQWRLQuery query : getSQWRLQueries())
+      if (query.getQueryName().equals(queryName))
+        return query.createSQWRLResultStream(bufferSize);
+
+    throw new SQWRLInvalidQueryNameException(queryName);
+  }
+
   @NonNull Set<@NonNull String> getSQWRLQueryNames();
 
   @NonNull Set<@NonNull SQWRLQuery> getSQWRLQueries();
@@ -170,6 +192,64 @@ public interface SWRLAPIOWLOntology
 
   void resetOntologyChanged();
 
+  // Change log methods
+
+  /**
+   * Start, or restart with an empty log, recording the asserted OWL axioms (which include SWRL rules) that are added to
+   * or removed from this ontology. Ontology changes are listened to until {@link #finishOWLAxiomChangeLog()} is called.
+   */
+  default void startOWLAxiomChangeLog()
+  {
+  }
+
+  default void finishOWLAxiomChangeLog()
+  {
+  }
+
+  /**
+   * @return True if the change log has been started and records all changes since then; false if, for example, the
+   * ontology has been completely reprocessed in the meantime
+   */
+  default boolean hasOWLAxiomChangeLog()
+  {
+    return false;
+  }
+
+  @NonNull default Set<@NonNull OWLAxiom> getAddedOWLAxioms()
+  {
+    return Collections.emptySet();
+  }
+
+  @NonNull default Set<@NonNull OWLAxiom> getRemovedOWLAxioms()
+  {
+    return Collections.emptySet();
+  }
+
+  // Index methods
+
+  /**
+   * Get an index over this ontology that keeps itself up to date from ontology changes. The index is created on first
+   * request, registered for changes to the ontology, and shared by all later requests for the same index class until
+   * the ontology is disposed. The default implementation creates a new index on each request and does not register it.
+   *
+   * @param indexClass   The class of the index
+   * @param indexCreator Creates the index for an OWL ontology
+   * @return The index of the given class for this ontology
+   */
+  @NonNull default <T extends OWLOntologyChangeListener> T getOWLOntologyIndex(@NonNull Class<T> indexClass,
+    @NonNull Function<@NonNull OWLOntology, @NonNull T> indexCreator)
+  {
+    return indexCreator.apply(getOWLOntology());
+  }
+
+  /**
+   * Remove the ontology change listeners this ontology and its indexes have registered with the ontology manager.
+   * The ontology should not be used after it has been disposed.
+   */
+  default void dispose()
+  {
+  }
+
   // Axiom counting methods
 
   boolean hasAssertedOWLAxiom(OWLAxiom axiom);
@@ -36,6 +36,20 @@ public interface SWRLRuleEngine
    */
   void infer() throws SWRLRuleEngineException;
 
+  /**
+   * Like {@link #infer()} but only sends the OWL axioms (which include SWRL rules) that have been added or removed
+   * since the previous incremental inference to the rule engine rather than resetting it and reloading all knowledge.
+   * A full reload is performed on the first call, if the target rule engine cannot retract axioms, if the OWL 2 RL rule
+   * selection has changed, or if the rule engine has been used for other operations in the meantime.
+   *
+   * @throws SWRLRuleEngineException If an error occurs during inference
+   * @see org.swrlapi.bridge.TargetSWRLRuleEngine#canRetractOWLAxioms()
+   */
+  default void inferIncrementally() throws SWRLRuleEngineException
+  {
+    infer();
+  }
+
   /**
    * Load asserted OWL axioms (which include SWRL rules) from a source OWL ontology.
    *
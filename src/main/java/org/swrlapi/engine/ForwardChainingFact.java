@@ -0,0 +1,38 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.util.List;
+
+/**
+ * A fact held by a {@link ForwardChainingFactStore}: a tuple of OWL objects under a predicate.
+ *
+ * @see org.swrlapi.engine.ForwardChainingFactStore
+ */
+final class ForwardChainingFact
+{
+  @NonNull private final Object predicate;
+  @NonNull private final List<@NonNull OWLObject> tuple;
+
+  public ForwardChainingFact(@NonNull Object predicate, @NonNull List<@NonNull OWLObject> tuple)
+  {
+    this.predicate = predicate;
+    this.tuple = tuple;
+  }
+
+  @NonNull public Object getPredicate()
+  {
+    return this.predicate;
+  }
+
+  @NonNull public List<@NonNull OWLObject> getTuple()
+  {
+    return this.tuple;
+  }
+
+  @NonNull @Override public String toString()
+  {
+    return this.predicate + "" + this.tuple;
+  }
+}
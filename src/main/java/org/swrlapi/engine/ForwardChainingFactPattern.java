@@ -0,0 +1,121 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLIndividualArgument;
+import org.semanticweb.owlapi.model.SWRLLiteralArgument;
+import org.semanticweb.owlapi.model.SWRLVariable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A pattern that is matched against, or instantiated to, facts in a {@link ForwardChainingFactStore}. Each argument
+ * is a variable, an individual or a literal.
+ *
+ * @see org.swrlapi.engine.ForwardChainingRule
+ */
+final class ForwardChainingFactPattern
+{
+  @NonNull private final Object predicate;
+  @NonNull private final List<@NonNull SWRLArgument> arguments;
+
+  public ForwardChainingFactPattern(@NonNull Object predicate, @NonNull SWRLArgument... arguments)
+  {
+    this.predicate = predicate;
+    this.arguments = Arrays.asList(arguments);
+  }
+
+  @NonNull public Object getPredicate()
+  {
+    return this.predicate;
+  }
+
+  @NonNull public Map<@NonNull Integer, @NonNull OWLObject> getBoundValues(
+    @NonNull Map<@NonNull IRI, @NonNull OWLObject> binding)
+  {
+    Map<@NonNull Integer, @NonNull OWLObject> boundValues = new HashMap<>();
+
+    for (int position = 0; position < this.arguments.size(); position++) {
+      OWLObject value = getValue(this.arguments.get(position), binding);
+
+      if (value != null)
+        boundValues.put(position, value);
+    }
+    return boundValues;
+  }
+
+  /**
+   * @param tuple   A tuple of the pattern's predicate
+   * @param binding The current variable binding
+   * @return The binding extended with the pattern's variables, or null if the tuple does not match
+   */
+  @Nullable public Map<@NonNull IRI, @NonNull OWLObject> match(@NonNull List<@NonNull OWLObject> tuple,
+    @NonNull Map<@NonNull IRI, @NonNull OWLObject> binding)
+  {
+    Map<@NonNull IRI, @NonNull OWLObject> extendedBinding = new HashMap<>(binding);
+
+    for (int position = 0; position < this.arguments.size(); position++) {
+      SWRLArgument argument = this.arguments.get(position);
+      OWLObject value = tuple.get(position);
+
+      if (argument instanceof SWRLVariable) {
+        OWLObject boundValue = extendedBinding.putIfAbsent(((SWRLVariable)argument).getIRI(), value);
+
+        if (boundValue != null && !boundValue.equals(value))
+          return null;
+      } else if (!value.equals(getConstantValue(argument)))
+        return null;
+    }
+    return extendedBinding;
+  }
+
+  /**
+   * @param binding A variable binding
+   * @return The fact for the binding, or null if a variable is not bound
+   */
+  @Nullable public ForwardChainingFact instantiate(@NonNull Map<@NonNull IRI, @NonNull OWLObject> binding)
+  {
+    List<@NonNull OWLObject> tuple = new ArrayList<>(this.arguments.size());
+
+    for (SWRLArgument argument : this.arguments) {
+      OWLObject value = getValue(argument, binding);
+
+      if (value == null)
+        return null;
+
+      tuple.add(value);
+    }
+    return new ForwardChainingFact(this.predicate, tuple);
+  }
+
+  @NonNull @Override public String toString()
+  {
+    return this.predicate + "" + this.arguments;
+  }
+
+  @Nullable static OWLObject getValue(@NonNull SWRLArgument argument,
+    @NonNull Map<@NonNull IRI, @NonNull OWLObject> binding)
+  {
+    if (argument instanceof SWRLVariable)
+      return binding.get(((SWRLVariable)argument).getIRI());
+    else
+      return getConstantValue(argument);
+  }
+
+  @Nullable private static OWLObject getConstantValue(@NonNull SWRLArgument argument)
+  {
+    if (argument instanceof SWRLIndividualArgument)
+      return ((SWRLIndividualArgument)argument).getIndividual();
+    else if (argument instanceof SWRLLiteralArgument)
+      return ((SWRLLiteralArgument)argument).getLiteral();
+    else
+      return null;
+  }
+}
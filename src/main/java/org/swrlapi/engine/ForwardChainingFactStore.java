@@ -0,0 +1,347 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The facts known to a {@link ForwardChainingSWRLRuleEngine}. A fact is a tuple of OWL objects held under a
+ * predicate: class assertions are held under their class expression and property assertions under their property
+ * expression. Other supported axioms are held under the IRI of the corresponding RDF vocabulary term, e.g., same
+ * individual axioms as the ordered pairs of their individuals under <code>owl:sameAs</code> and subclass axioms as
+ * subclass and superclass pairs under <code>rdfs:subClassOf</code>. The tuples of each predicate are indexed by
+ * argument position.
+ */
+class ForwardChainingFactStore
+{
+  @NonNull static final IRI SAME_AS = OWLRDFVocabulary.OWL_SAME_AS.getIRI();
+  @NonNull static final IRI DIFFERENT_FROM = OWLRDFVocabulary.OWL_DIFFERENT_FROM.getIRI();
+  @NonNull static final IRI SUB_CLASS_OF = OWLRDFVocabulary.RDFS_SUBCLASS_OF.getIRI();
+  @NonNull static final IRI EQUIVALENT_CLASS = OWLRDFVocabulary.OWL_EQUIVALENT_CLASS.getIRI();
+  @NonNull static final IRI SUB_PROPERTY_OF = OWLRDFVocabulary.RDFS_SUB_PROPERTY_OF.getIRI();
+  @NonNull static final IRI EQUIVALENT_PROPERTY = OWLRDFVocabulary.OWL_EQUIVALENT_PROPERTY.getIRI();
+  @NonNull static final IRI DOMAIN = OWLRDFVocabulary.RDFS_DOMAIN.getIRI();
+  @NonNull static final IRI RANGE = OWLRDFVocabulary.RDFS_RANGE.getIRI();
+  @NonNull static final IRI INVERSE_OF = OWLRDFVocabulary.OWL_INVERSE_OF.getIRI();
+  @NonNull static final IRI SYMMETRIC_PROPERTY = OWLRDFVocabulary.OWL_SYMMETRIC_PROPERTY.getIRI();
+  @NonNull static final IRI TRANSITIVE_PROPERTY = OWLRDFVocabulary.OWL_TRANSITIVE_PROPERTY.getIRI();
+  @NonNull static final IRI FUNCTIONAL_PROPERTY = OWLRDFVocabulary.OWL_FUNCTIONAL_PROPERTY.getIRI();
+  @NonNull static final IRI INVERSE_FUNCTIONAL_PROPERTY = OWLRDFVocabulary.OWL_INVERSE_FUNCTIONAL_PROPERTY.getIRI();
+
+  @NonNull private static final Set<@NonNull IRI> REFLEXIVE_PREDICATES = Collections.unmodifiableSet(new HashSet<>(
+    Arrays.asList(SAME_AS, DIFFERENT_FROM, SUB_CLASS_OF, EQUIVALENT_CLASS, SUB_PROPERTY_OF, EQUIVALENT_PROPERTY)));
+
+  @NonNull private final Map<@NonNull Object, @NonNull Relation> relations;
+  private int numberOfFacts;
+
+  public ForwardChainingFactStore()
+  {
+    this.relations = new HashMap<>();
+    this.numberOfFacts = 0;
+  }
+
+  /**
+   * @param predicate A predicate
+   * @param tuple     The tuple to add
+   * @return True if the fact was not already known
+   */
+  public boolean add(@NonNull Object predicate, @NonNull List<@NonNull OWLObject> tuple)
+  {
+    boolean isNew = this.relations.computeIfAbsent(predicate, p -> new Relation(tuple.size())).add(tuple);
+
+    if (isNew)
+      this.numberOfFacts++;
+
+    return isNew;
+  }
+
+  public boolean contains(@NonNull Object predicate, @NonNull List<@NonNull OWLObject> tuple)
+  {
+    Relation relation = this.relations.get(predicate);
+
+    return relation != null && relation.tuples.contains(tuple);
+  }
+
+  /**
+   * @param predicate   A predicate
+   * @param boundValues The values of the bound argument positions
+   * @return The tuples of the predicate that may match the bound values; the caller must check each tuple
+   */
+  @NonNull public Collection<@NonNull List<@NonNull OWLObject>> getCandidateTuples(@NonNull Object predicate,
+    @NonNull Map<@NonNull Integer, @NonNull OWLObject> boundValues)
+  {
+    Relation relation = this.relations.get(predicate);
+
+    if (relation == null)
+      return Collections.emptySet();
+    else
+      return relation.getCandidateTuples(boundValues);
+  }
+
+  @NonNull public Set<@NonNull Object> getPredicates()
+  {
+    return Collections.unmodifiableSet(this.relations.keySet());
+  }
+
+  public int getNumberOfFacts()
+  {
+    return this.numberOfFacts;
+  }
+
+  public boolean isEmpty()
+  {
+    return this.numberOfFacts == 0;
+  }
+
+  public void clear()
+  {
+    this.relations.clear();
+    this.numberOfFacts = 0;
+  }
+
+  /**
+   * Convert an OWL axiom to the facts that represent it. Axioms that are not represented as facts produce no facts.
+   *
+   * @param axiom An OWL axiom
+   * @return The facts
+   */
+  @NonNull public static List<@NonNull ForwardChainingFact> getFacts(@NonNull OWLAxiom axiom)
+  {
+    if (axiom instanceof OWLClassAssertionAxiom) {
+      OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+      return getFacts(classAssertionAxiom.getClassExpression(), classAssertionAxiom.getIndividual());
+    } else if (axiom instanceof OWLPropertyAssertionAxiom) {
+      OWLPropertyAssertionAxiom<?, ?> propertyAssertionAxiom = (OWLPropertyAssertionAxiom<?, ?>)axiom;
+      return getFacts(propertyAssertionAxiom.getProperty(), propertyAssertionAxiom.getSubject(),
+        propertyAssertionAxiom.getObject());
+    } else if (axiom instanceof OWLSameIndividualAxiom)
+      return getOrderedPairFacts(SAME_AS, ((OWLSameIndividualAxiom)axiom).getIndividuals());
+    else if (axiom instanceof OWLDifferentIndividualsAxiom)
+      return getOrderedPairFacts(DIFFERENT_FROM, ((OWLDifferentIndividualsAxiom)axiom).getIndividuals());
+    else if (axiom instanceof OWLSubClassOfAxiom) {
+      OWLSubClassOfAxiom subClassOfAxiom = (OWLSubClassOfAxiom)axiom;
+      return getFacts(SUB_CLASS_OF, subClassOfAxiom.getSubClass(), subClassOfAxiom.getSuperClass());
+    } else if (axiom instanceof OWLEquivalentClassesAxiom)
+      return getOrderedPairFacts(EQUIVALENT_CLASS, ((OWLEquivalentClassesAxiom)axiom).getClassExpressions());
+    else if (axiom instanceof OWLSubPropertyAxiom) {
+      OWLSubPropertyAxiom<?> subPropertyAxiom = (OWLSubPropertyAxiom<?>)axiom;
+      return getFacts(SUB_PROPERTY_OF, subPropertyAxiom.getSubProperty(), subPropertyAxiom.getSuperProperty());
+    } else if (axiom instanceof OWLEquivalentObjectPropertiesAxiom)
+      return getOrderedPairFacts(EQUIVALENT_PROPERTY, ((OWLEquivalentObjectPropertiesAxiom)axiom).getProperties());
+    else if (axiom instanceof OWLEquivalentDataPropertiesAxiom)
+      return getOrderedPairFacts(EQUIVALENT_PROPERTY, ((OWLEquivalentDataPropertiesAxiom)axiom).getProperties());
+    else if (axiom instanceof OWLPropertyDomainAxiom) {
+      OWLPropertyDomainAxiom<?> domainAxiom = (OWLPropertyDomainAxiom<?>)axiom;
+      return getFacts(DOMAIN, domainAxiom.getProperty(), domainAxiom.getDomain());
+    } else if (axiom instanceof OWLPropertyRangeAxiom) {
+      OWLPropertyRangeAxiom<?, ?> rangeAxiom = (OWLPropertyRangeAxiom<?, ?>)axiom;
+      return getFacts(RANGE, rangeAxiom.getProperty(), rangeAxiom.getRange());
+    } else if (axiom instanceof OWLInverseObjectPropertiesAxiom) {
+      OWLInverseObjectPropertiesAxiom inverseAxiom = (OWLInverseObjectPropertiesAxiom)axiom;
+      OWLObjectPropertyExpression firstProperty = inverseAxiom.getFirstProperty();
+      OWLObjectPropertyExpression secondProperty = inverseAxiom.getSecondProperty();
+      return Arrays.asList(new ForwardChainingFact(INVERSE_OF, Arrays.<OWLObject>asList(firstProperty, secondProperty)),
+        new ForwardChainingFact(INVERSE_OF, Arrays.<OWLObject>asList(secondProperty, firstProperty)));
+    } else if (axiom instanceof OWLSymmetricObjectPropertyAxiom)
+      return getFacts(SYMMETRIC_PROPERTY, ((OWLSymmetricObjectPropertyAxiom)axiom).getProperty());
+    else if (axiom instanceof OWLTransitiveObjectPropertyAxiom)
+      return getFacts(TRANSITIVE_PROPERTY, ((OWLTransitiveObjectPropertyAxiom)axiom).getProperty());
+    else if (axiom instanceof OWLFunctionalObjectPropertyAxiom)
+      return getFacts(FUNCTIONAL_PROPERTY, ((OWLFunctionalObjectPropertyAxiom)axiom).getProperty());
+    else if (axiom instanceof OWLFunctionalDataPropertyAxiom)
+      return getFacts(FUNCTIONAL_PROPERTY, ((OWLFunctionalDataPropertyAxiom)axiom).getProperty());
+    else if (axiom instanceof OWLInverseFunctionalObjectPropertyAxiom)
+      return getFacts(INVERSE_FUNCTIONAL_PROPERTY, ((OWLInverseFunctionalObjectPropertyAxiom)axiom).getProperty());
+    else
+      return Collections.emptyList();
+  }
+
+  /**
+   * Convert a fact to the OWL axiom that it represents. Only facts that can be inferred by rules are supported.
+   *
+   * @param fact        A fact
+   * @param dataFactory The data factory used to create the axiom
+   * @return An OWL axiom
+   * @throws TargetSWRLRuleEngineException If the fact does not represent a supported axiom
+   */
+  @NonNull public static OWLAxiom getOWLAxiom(@NonNull ForwardChainingFact fact, @NonNull OWLDataFactory dataFactory)
+    throws TargetSWRLRuleEngineException
+  {
+    Object predicate = fact.getPredicate();
+    List<@NonNull OWLObject> tuple = fact.getTuple();
+
+    if (predicate instanceof OWLClassExpression && isA(tuple, OWLIndividual.class))
+      return dataFactory.getOWLClassAssertionAxiom((OWLClassExpression)predicate, (OWLIndividual)tuple.get(0));
+    else if (predicate instanceof OWLObjectPropertyExpression && isA(tuple, OWLIndividual.class, OWLIndividual.class))
+      return dataFactory.getOWLObjectPropertyAssertionAxiom((OWLObjectPropertyExpression)predicate,
+        (OWLIndividual)tuple.get(0), (OWLIndividual)tuple.get(1));
+    else if (predicate instanceof OWLDataPropertyExpression && isA(tuple, OWLIndividual.class, OWLLiteral.class))
+      return dataFactory.getOWLDataPropertyAssertionAxiom((OWLDataPropertyExpression)predicate,
+        (OWLIndividual)tuple.get(0), (OWLLiteral)tuple.get(1));
+    else if (predicate.equals(SAME_AS) && isA(tuple, OWLIndividual.class, OWLIndividual.class))
+      return dataFactory.getOWLSameIndividualAxiom((OWLIndividual)tuple.get(0), (OWLIndividual)tuple.get(1));
+    else if (predicate.equals(DIFFERENT_FROM) && isA(tuple, OWLIndividual.class, OWLIndividual.class))
+      return dataFactory.getOWLDifferentIndividualsAxiom((OWLIndividual)tuple.get(0), (OWLIndividual)tuple.get(1));
+    else if (predicate.equals(SUB_CLASS_OF) && isA(tuple, OWLClassExpression.class, OWLClassExpression.class))
+      return dataFactory.getOWLSubClassOfAxiom((OWLClassExpression)tuple.get(0), (OWLClassExpression)tuple.get(1));
+    else if (predicate.equals(EQUIVALENT_CLASS) && isA(tuple, OWLClassExpression.class, OWLClassExpression.class))
+      return dataFactory
+        .getOWLEquivalentClassesAxiom((OWLClassExpression)tuple.get(0), (OWLClassExpression)tuple.get(1));
+    else if (predicate.equals(SUB_PROPERTY_OF) && isA(tuple, OWLObjectPropertyExpression.class,
+      OWLObjectPropertyExpression.class))
+      return dataFactory.getOWLSubObjectPropertyOfAxiom((OWLObjectPropertyExpression)tuple.get(0),
+        (OWLObjectPropertyExpression)tuple.get(1));
+    else if (predicate.equals(SUB_PROPERTY_OF) && isA(tuple, OWLDataPropertyExpression.class,
+      OWLDataPropertyExpression.class))
+      return dataFactory.getOWLSubDataPropertyOfAxiom((OWLDataPropertyExpression)tuple.get(0),
+        (OWLDataPropertyExpression)tuple.get(1));
+    else if (predicate.equals(EQUIVALENT_PROPERTY) && isA(tuple, OWLObjectPropertyExpression.class,
+      OWLObjectPropertyExpression.class))
+      return dataFactory.getOWLEquivalentObjectPropertiesAxiom((OWLObjectPropertyExpression)tuple.get(0),
+        (OWLObjectPropertyExpression)tuple.get(1));
+    else if (predicate.equals(EQUIVALENT_PROPERTY) && isA(tuple, OWLDataPropertyExpression.class,
+      OWLDataPropertyExpression.class))
+      return dataFactory.getOWLEquivalentDataPropertiesAxiom((OWLDataPropertyExpression)tuple.get(0),
+        (OWLDataPropertyExpression)tuple.get(1));
+    else if (predicate.equals(DOMAIN) && isA(tuple, OWLObjectPropertyExpression.class, OWLClassExpression.class))
+      return dataFactory.getOWLObjectPropertyDomainAxiom((OWLObjectPropertyExpression)tuple.get(0),
+        (OWLClassExpression)tuple.get(1));
+    else if (predicate.equals(DOMAIN) && isA(tuple, OWLDataPropertyExpression.class, OWLClassExpression.class))
+      return dataFactory.getOWLDataPropertyDomainAxiom((OWLDataPropertyExpression)tuple.get(0),
+        (OWLClassExpression)tuple.get(1));
+    else if (predicate.equals(RANGE) && isA(tuple, OWLObjectPropertyExpression.class, OWLClassExpression.class))
+      return dataFactory.getOWLObjectPropertyRangeAxiom((OWLObjectPropertyExpression)tuple.get(0),
+        (OWLClassExpression)tuple.get(1));
+    else if (predicate.equals(RANGE) && isA(tuple, OWLDataPropertyExpression.class, OWLDataRange.class))
+      return dataFactory
+        .getOWLDataPropertyRangeAxiom((OWLDataPropertyExpression)tuple.get(0), (OWLDataRange)tuple.get(1));
+    else
+      throw new TargetSWRLRuleEngineException("fact " + fact + " does not represent a supported OWL axiom");
+  }
+
+  /**
+   * Facts that relate a value to itself under an equality or subsumption predicate are trivially true and are not
+   * held. Their OWL axioms would also be degenerate (e.g., a same individual axiom with a single individual).
+   *
+   * @param fact A fact
+   * @return True if the fact is trivially true
+   */
+  public static boolean isTrivial(@NonNull ForwardChainingFact fact)
+  {
+    return REFLEXIVE_PREDICATES.contains(fact.getPredicate()) && fact.getTuple().get(0).equals(fact.getTuple().get(1));
+  }
+
+  @NonNull private static List<@NonNull ForwardChainingFact> getFacts(@NonNull Object predicate,
+    @NonNull OWLObject... values)
+  {
+    return Collections.singletonList(new ForwardChainingFact(predicate, Arrays.asList(values)));
+  }
+
+  @NonNull private static List<@NonNull ForwardChainingFact> getOrderedPairFacts(@NonNull Object predicate,
+    @NonNull Set<? extends @NonNull OWLObject> values)
+  {
+    List<@NonNull ForwardChainingFact> facts = new ArrayList<>();
+
+    for (OWLObject value1 : values)
+      for (OWLObject value2 : values)
+        if (!value1.equals(value2))
+          facts.add(new ForwardChainingFact(predicate, Arrays.asList(value1, value2)));
+
+    return facts;
+  }
+
+  private static boolean isA(@NonNull List<@NonNull OWLObject> tuple, @NonNull Class<?>... types)
+  {
+    if (tuple.size() != types.length)
+      return false;
+
+    for (int position = 0; position < types.length; position++)
+      if (!types[position].isInstance(tuple.get(position)))
+        return false;
+
+    return true;
+  }
+
+  private static class Relation
+  {
+    @NonNull private final Set<@NonNull List<@NonNull OWLObject>> tuples;
+    @NonNull private final List<@NonNull Map<@NonNull OWLObject, @NonNull List<@NonNull List<@NonNull OWLObject>>>>
+      positionIndexes;
+
+    public Relation(int arity)
+    {
+      this.tuples = new HashSet<>();
+      this.positionIndexes = new ArrayList<>(arity);
+
+      for (int position = 0; position < arity; position++)
+        this.positionIndexes.add(new HashMap<>());
+    }
+
+    public boolean add(@NonNull List<@NonNull OWLObject> tuple)
+    {
+      if (!this.tuples.add(tuple))
+        return false;
+
+      for (int position = 0; position < tuple.size(); position++)
+        this.positionIndexes.get(position).computeIfAbsent(tuple.get(position), v -> new ArrayList<>()).add(tuple);
+
+      return true;
+    }
+
+    // Use the smallest index entry for the bound positions
+    @NonNull public Collection<@NonNull List<@NonNull OWLObject>> getCandidateTuples(
+      @NonNull Map<@NonNull Integer, @NonNull OWLObject> boundValues)
+    {
+      @Nullable Collection<@NonNull List<@NonNull OWLObject>> candidateTuples = null;
+
+      for (Map.Entry<@NonNull Integer, @NonNull OWLObject> boundValue : boundValues.entrySet()) {
+        List<@NonNull List<@NonNull OWLObject>> tuples = this.positionIndexes.get(boundValue.getKey())
+          .get(boundValue.getValue());
+
+        if (tuples == null)
+          return Collections.emptySet();
+        else if (candidateTuples == null || tuples.size() < candidateTuples.size())
+          candidateTuples = tuples;
+      }
+      return candidateTuples == null ? this.tuples : candidateTuples;
+    }
+  }
+}
@@ -0,0 +1,379 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataHasValue;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDataSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectHasValue;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLObjectMaxCardinality;
+import org.semanticweb.owlapi.model.OWLObjectOneOf;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectUnionOf;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.owl2rl.AbstractOWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The OWL 2 RL engine of a {@link ForwardChainingSWRLRuleEngine}. Enabled OWL 2 RL rules are compiled to
+ * {@link ForwardChainingRule}s that are evaluated by the engine together with its SWRL rules.
+ * <p>
+ * The schema rules in Table 9 are compiled to generic rules over schema facts (e.g., <code>rdfs:subClassOf</code>
+ * pairs) and are evaluated first. The remaining rules are then instantiated for the closed schema, so that, for
+ * example, <code>cax-sco</code> becomes one rule <code>C1(?x) -> C2(?x)</code> for each subclass pair, and the
+ * <code>eq-rep-*</code> rules become one rule for each class and property. Rules that are not enabled are not
+ * compiled, so disabling a rule or table removes its cost from evaluation entirely. The time spent evaluating the
+ * rules of each table is recorded.
+ * <p>
+ * Rules that detect inconsistencies, the datatype rules in Table 8, and rules that rely on axioms or class
+ * expressions that are not passed to target rule engines (e.g., property chains and keys) are not supported.
+ *
+ * @see org.swrlapi.engine.ForwardChainingSWRLRuleEngine
+ */
+public class ForwardChainingOWL2RLEngine extends AbstractOWL2RLEngine
+{
+  @NonNull private static final Set<OWL2RLRule> SUPPORTED_RULES = Collections.unmodifiableSet(EnumSet
+    .of(OWL2RLRule.EQ_SYM, OWL2RLRule.EQ_TRANS, OWL2RLRule.EQ_REP_S, OWL2RLRule.EQ_REP_O, OWL2RLRule.PRP_DOM,
+      OWL2RLRule.PRP_RNG, OWL2RLRule.PRP_FP, OWL2RLRule.PRP_IFP, OWL2RLRule.PRP_SYMP, OWL2RLRule.PRP_TRP,
+      OWL2RLRule.PRP_SPO1, OWL2RLRule.PRP_EQP1, OWL2RLRule.PRP_EQP2, OWL2RLRule.PRP_INV1, OWL2RLRule.PRP_INV2,
+      OWL2RLRule.CLS_INT1, OWL2RLRule.CLS_INT2, OWL2RLRule.CLS_UNI, OWL2RLRule.CLS_SFV1, OWL2RLRule.CLS_SFV2,
+      OWL2RLRule.CLS_AVF, OWL2RLRule.CLS_HV1, OWL2RLRule.CLS_HV2, OWL2RLRule.CLS_MAXC2, OWL2RLRule.CLS_MAXQC3,
+      OWL2RLRule.CLS_MAXQC4, OWL2RLRule.CLS_OO, OWL2RLRule.CAX_SCO, OWL2RLRule.CAX_EQC1, OWL2RLRule.CAX_EQC2,
+      OWL2RLRule.SCM_SCO, OWL2RLRule.SCM_EQC1, OWL2RLRule.SCM_EQC2, OWL2RLRule.SCM_SPO, OWL2RLRule.SCM_EQP1,
+      OWL2RLRule.SCM_EQP2, OWL2RLRule.SCM_DOM1, OWL2RLRule.SCM_DOM2, OWL2RLRule.SCM_RNG1, OWL2RLRule.SCM_RNG2,
+      OWL2RLRule.SCM_INT, OWL2RLRule.SCM_UNI));
+
+  // Pairs of rules that are instantiated from the same schema facts, which are held in both orders
+  @NonNull private static final Set<@NonNull Set<OWL2RLRule>> GROUPED_RULE_SETS = Collections.unmodifiableSet(
+    new HashSet<>(Arrays.asList(EnumSet.of(OWL2RLRule.CAX_EQC1, OWL2RLRule.CAX_EQC2),
+      EnumSet.of(OWL2RLRule.PRP_EQP1, OWL2RLRule.PRP_EQP2), EnumSet.of(OWL2RLRule.PRP_INV1, OWL2RLRule.PRP_INV2),
+      EnumSet.of(OWL2RLRule.SCM_EQC1, OWL2RLRule.SCM_EQC2), EnumSet.of(OWL2RLRule.SCM_EQP1, OWL2RLRule.SCM_EQP2))));
+
+  @NonNull private final OWLDataFactory dataFactory;
+  @NonNull private final Map<OWL2RLRule, OWL2RLRuleTable> rule2TableMap;
+  @NonNull private final Map<OWL2RLRuleTable, @NonNull Long> ruleTableEvaluationTimes;
+  @NonNull private final SWRLVariable x, y, z;
+
+  public ForwardChainingOWL2RLEngine(@NonNull OWL2RLPersistenceLayer persistenceLayer,
+    @NonNull OWLDataFactory dataFactory)
+  {
+    super(persistenceLayer, EnumSet.complementOf(EnumSet.copyOf(SUPPORTED_RULES)), Collections.emptySet(),
+      GROUPED_RULE_SETS);
+
+    this.dataFactory = dataFactory;
+    this.rule2TableMap = new EnumMap<>(OWL2RLRule.class);
+    this.ruleTableEvaluationTimes = new EnumMap<>(OWL2RLRuleTable.class);
+    this.x = createVariable("x");
+    this.y = createVariable("y");
+    this.z = createVariable("z");
+
+    for (OWL2RLRuleTable table : getRuleTables())
+      for (OWL2RLRule rule : getRules(table))
+        this.rule2TableMap.put(rule, table);
+
+    resetRuleTableEvaluationTimes();
+  }
+
+  /**
+   * @return The time in nanoseconds spent evaluating the rules of each table in the last run of the rule engine
+   */
+  @NonNull public Map<OWL2RLRuleTable, @NonNull Long> getRuleTableEvaluationTimes()
+  {
+    return Collections.unmodifiableMap(this.ruleTableEvaluationTimes);
+  }
+
+  void resetRuleTableEvaluationTimes()
+  {
+    for (OWL2RLRuleTable table : getRuleTables())
+      this.ruleTableEvaluationTimes.put(table, 0L);
+  }
+
+  void addRuleEvaluationTime(@NonNull OWL2RLRule rule, long evaluationTime)
+  {
+    this.ruleTableEvaluationTimes.merge(this.rule2TableMap.get(rule), evaluationTime, Long::sum);
+  }
+
+  /**
+   * @param classExpressions The class expressions used in the ontology
+   * @return The schema facts that hold for the class expressions themselves (<code>scm-int</code> and
+   * <code>scm-uni</code>)
+   */
+  @NonNull List<@NonNull ForwardChainingFact> createSchemaFacts(
+    @NonNull Collection<@NonNull OWLClassExpression> classExpressions)
+  {
+    List<@NonNull ForwardChainingFact> facts = new ArrayList<>();
+
+    for (OWLClassExpression classExpression : classExpressions) {
+      if (classExpression instanceof OWLObjectIntersectionOf && isRuleEnabled(OWL2RLRule.SCM_INT)) {
+        for (OWLClassExpression operand : ((OWLObjectIntersectionOf)classExpression).getOperands())
+          facts.add(createFact(ForwardChainingFactStore.SUB_CLASS_OF, classExpression, operand));
+      } else if (classExpression instanceof OWLObjectUnionOf && isRuleEnabled(OWL2RLRule.SCM_UNI)) {
+        for (OWLClassExpression operand : ((OWLObjectUnionOf)classExpression).getOperands())
+          facts.add(createFact(ForwardChainingFactStore.SUB_CLASS_OF, operand, classExpression));
+      }
+    }
+    return facts;
+  }
+
+  /**
+   * @return The enabled rules of Table 9 that are evaluated over schema facts
+   */
+  @NonNull List<@NonNull ForwardChainingRule> createSchemaRules()
+  {
+    List<@NonNull ForwardChainingRule> rules = new ArrayList<>();
+    IRI subClassOf = ForwardChainingFactStore.SUB_CLASS_OF;
+    IRI equivalentClass = ForwardChainingFactStore.EQUIVALENT_CLASS;
+    IRI subPropertyOf = ForwardChainingFactStore.SUB_PROPERTY_OF;
+    IRI equivalentProperty = ForwardChainingFactStore.EQUIVALENT_PROPERTY;
+    IRI domain = ForwardChainingFactStore.DOMAIN;
+    IRI range = ForwardChainingFactStore.RANGE;
+
+    addRule(rules, OWL2RLRule.SCM_SCO, Arrays.asList(pattern(subClassOf, x, y), pattern(subClassOf, y, z)),
+      pattern(subClassOf, x, z));
+    addRule(rules, OWL2RLRule.SCM_EQC1, Collections.singletonList(pattern(equivalentClass, x, y)),
+      pattern(subClassOf, x, y), pattern(subClassOf, y, x));
+    addRule(rules, OWL2RLRule.SCM_EQC2, Arrays.asList(pattern(subClassOf, x, y), pattern(subClassOf, y, x)),
+      pattern(equivalentClass, x, y));
+    addRule(rules, OWL2RLRule.SCM_SPO, Arrays.asList(pattern(subPropertyOf, x, y), pattern(subPropertyOf, y, z)),
+      pattern(subPropertyOf, x, z));
+    addRule(rules, OWL2RLRule.SCM_EQP1, Collections.singletonList(pattern(equivalentProperty, x, y)),
+      pattern(subPropertyOf, x, y), pattern(subPropertyOf, y, x));
+    addRule(rules, OWL2RLRule.SCM_EQP2, Arrays.asList(pattern(subPropertyOf, x, y), pattern(subPropertyOf, y, x)),
+      pattern(equivalentProperty, x, y));
+    addRule(rules, OWL2RLRule.SCM_DOM1, Arrays.asList(pattern(domain, x, y), pattern(subClassOf, y, z)),
+      pattern(domain, x, z));
+    addRule(rules, OWL2RLRule.SCM_DOM2, Arrays.asList(pattern(domain, y, z), pattern(subPropertyOf, x, y)),
+      pattern(domain, x, z));
+    addRule(rules, OWL2RLRule.SCM_RNG1, Arrays.asList(pattern(range, x, y), pattern(subClassOf, y, z)),
+      pattern(range, x, z));
+    addRule(rules, OWL2RLRule.SCM_RNG2, Arrays.asList(pattern(range, y, z), pattern(subPropertyOf, x, y)),
+      pattern(range, x, z));
+
+    return rules;
+  }
+
+  /**
+   * Instantiate the enabled rules of Tables 5, 6 and 7 for the schema facts and class expressions of an ontology.
+   *
+   * @param facts            The facts, including the closed schema
+   * @param classExpressions The class expressions used in the ontology
+   * @return The rules
+   */
+  @NonNull List<@NonNull ForwardChainingRule> createInstanceRules(@NonNull ForwardChainingFactStore facts,
+    @NonNull Collection<@NonNull OWLClassExpression> classExpressions)
+  {
+    List<@NonNull ForwardChainingRule> rules = new ArrayList<>();
+
+    for (List<@NonNull OWLObject> tuple : getTuples(facts, ForwardChainingFactStore.SUB_CLASS_OF))
+      addRule(rules, OWL2RLRule.CAX_SCO, Collections.singletonList(pattern(tuple.get(0), x)),
+        pattern(tuple.get(1), x));
+
+    // Equivalent classes are held in both orders, so cax-eqc1 also covers cax-eqc2
+    for (List<@NonNull OWLObject> tuple : getTuples(facts, ForwardChainingFactStore.EQUIVALENT_CLASS))
+      addRule(rules, OWL2RLRule.CAX_EQC1, Collections.singletonList(pattern(tuple.get(0), x)),
+        pattern(tuple.get(1), x));
+
+    for (List<@NonNull OWLObject> tuple : getTuples(facts, ForwardChainingFactStore.DOMAIN))
+      if (tuple.get(1) instanceof OWLClassExpression)
+        addRule(rules, OWL2RLRule.PRP_DOM, Collections.singletonList(pattern(tuple.get(0), x, y)),
+          pattern(tuple.get(1), x));
+
+    for (List<@NonNull OWLObject> tuple : getTuples(facts, ForwardChainingFactStore.RANGE))
+      if (tuple.get(1) instanceof OWLClassExpression)
+        addRule(rules, OWL2RLRule.PRP_RNG, Collections.singletonList(pattern(tuple.get(0), x, y)),
+          pattern(tuple.get(1), y));
+
+    for (List<@NonNull OWLObject> tuple : getTuples(facts, ForwardChainingFactStore.FUNCTIONAL_PROPERTY))
+      if (tuple.get(0) instanceof OWLObjectPropertyExpression)
+        addRule(rules, OWL2RLRule.PRP_FP, Arrays.asList(pattern(tuple.get(0), x, y), pattern(tuple.get(0), x, z)),
+          pattern(ForwardChainingFactStore.SAME_AS, y, z));
+
+    for (List<@NonNull OWLObject> tuple : getTuples(facts, ForwardChainingFactStore.INVERSE_FUNCTIONAL_PROPERTY))
+      addRule(rules, OWL2RLRule.PRP_IFP, Arrays.asList(pattern(tuple.get(0), x, z), pattern(tuple.get(0), y, z)),
+        pattern(ForwardChainingFactStore.SAME_AS, x, y));
+
+    for (List<@NonNull OWLObject> tuple : getTuples(facts, ForwardChainingFactStore.SYMMETRIC_PROPERTY))
+      addRule(rules, OWL2RLRule.PRP_SYMP, Collections.singletonList(pattern(tuple.get(0), x, y)),
+        pattern(tuple.get(0), y, x));
+
+    for (List<@NonNull OWLObject> tuple : getTuples(facts, ForwardChainingFactStore.TRANSITIVE_PROPERTY))
+      addRule(rules, OWL2RLRule.PRP_TRP, Arrays.asList(pattern(tuple.get(0), x, y), pattern(tuple.get(0), y, z)),
+        pattern(tuple.get(0), x, z));
+
+    for (List<@NonNull OWLObject> tuple : getTuples(facts, ForwardChainingFactStore.SUB_PROPERTY_OF))
+      addRule(rules, OWL2RLRule.PRP_SPO1, Collections.singletonList(pattern(tuple.get(0), x, y)),
+        pattern(tuple.get(1), x, y));
+
+    // Equivalent and inverse properties are held in both orders, so prp-eqp1 and prp-inv1 cover prp-eqp2 and prp-inv2
+    for (List<@NonNull OWLObject> tuple : getTuples(facts, ForwardChainingFactStore.EQUIVALENT_PROPERTY))
+      addRule(rules, OWL2RLRule.PRP_EQP1, Collections.singletonList(pattern(tuple.get(0), x, y)),
+        pattern(tuple.get(1), x, y));
+
+    for (List<@NonNull OWLObject> tuple : getTuples(facts, ForwardChainingFactStore.INVERSE_OF))
+      addRule(rules, OWL2RLRule.PRP_INV1, Collections.singletonList(pattern(tuple.get(0), x, y)),
+        pattern(tuple.get(1), y, x));
+
+    for (OWLClassExpression classExpression : classExpressions)
+      addClassExpressionRules(rules, classExpression);
+
+    return rules;
+  }
+
+  /**
+   * Instantiate the enabled rules of Table 4 for the predicates of an ontology.
+   *
+   * @param predicates The predicates that facts may be held under
+   * @return The rules
+   */
+  @NonNull List<@NonNull ForwardChainingRule> createEqualityRules(@NonNull Collection<@NonNull Object> predicates)
+  {
+    List<@NonNull ForwardChainingRule> rules = new ArrayList<>();
+    IRI sameAs = ForwardChainingFactStore.SAME_AS;
+
+    addRule(rules, OWL2RLRule.EQ_SYM, Collections.singletonList(pattern(sameAs, x, y)), pattern(sameAs, y, x));
+    addRule(rules, OWL2RLRule.EQ_TRANS, Arrays.asList(pattern(sameAs, x, y), pattern(sameAs, y, z)),
+      pattern(sameAs, x, z));
+
+    // owl:sameAs facts are usually far fewer than the facts of a predicate, so they are matched first
+    for (Object predicate : predicates) {
+      if (predicate instanceof OWLClassExpression)
+        addRule(rules, OWL2RLRule.EQ_REP_S, Arrays.asList(pattern(sameAs, x, y), pattern(predicate, x)),
+          pattern(predicate, y));
+      else if (predicate instanceof OWLDataPropertyExpression)
+        addRule(rules, OWL2RLRule.EQ_REP_S, Arrays.asList(pattern(sameAs, x, y), pattern(predicate, x, z)),
+          pattern(predicate, y, z));
+      else if (predicate instanceof OWLObjectPropertyExpression || predicate
+        .equals(ForwardChainingFactStore.DIFFERENT_FROM)) {
+        addRule(rules, OWL2RLRule.EQ_REP_S, Arrays.asList(pattern(sameAs, x, y), pattern(predicate, x, z)),
+          pattern(predicate, y, z));
+        addRule(rules, OWL2RLRule.EQ_REP_O, Arrays.asList(pattern(sameAs, x, y), pattern(predicate, z, x)),
+          pattern(predicate, z, y));
+      }
+    }
+    return rules;
+  }
+
+  private void addClassExpressionRules(@NonNull List<@NonNull ForwardChainingRule> rules,
+    @NonNull OWLClassExpression classExpression)
+  {
+    if (classExpression instanceof OWLObjectIntersectionOf) {
+      List<@NonNull ForwardChainingFactPattern> operandPatterns = new ArrayList<>();
+
+      for (OWLClassExpression operand : ((OWLObjectIntersectionOf)classExpression).getOperands()) {
+        operandPatterns.add(pattern(operand, x));
+        addRule(rules, OWL2RLRule.CLS_INT2, Collections.singletonList(pattern(classExpression, x)),
+          pattern(operand, x));
+      }
+      addRule(rules, OWL2RLRule.CLS_INT1, operandPatterns, pattern(classExpression, x));
+    } else if (classExpression instanceof OWLObjectUnionOf) {
+      for (OWLClassExpression operand : ((OWLObjectUnionOf)classExpression).getOperands())
+        addRule(rules, OWL2RLRule.CLS_UNI, Collections.singletonList(pattern(operand, x)),
+          pattern(classExpression, x));
+    } else if (classExpression instanceof OWLObjectSomeValuesFrom) {
+      OWLObjectSomeValuesFrom someValuesFrom = (OWLObjectSomeValuesFrom)classExpression;
+
+      if (someValuesFrom.getFiller().isOWLThing())
+        addRule(rules, OWL2RLRule.CLS_SFV2, Collections.singletonList(pattern(someValuesFrom.getProperty(), x, y)),
+          pattern(classExpression, x));
+      else
+        addRule(rules, OWL2RLRule.CLS_SFV1,
+          Arrays.asList(pattern(someValuesFrom.getProperty(), x, y), pattern(someValuesFrom.getFiller(), y)),
+          pattern(classExpression, x));
+    } else if (classExpression instanceof OWLDataSomeValuesFrom) {
+      OWLDataSomeValuesFrom someValuesFrom = (OWLDataSomeValuesFrom)classExpression;
+
+      if (someValuesFrom.getFiller().isTopDatatype())
+        addRule(rules, OWL2RLRule.CLS_SFV2, Collections.singletonList(pattern(someValuesFrom.getProperty(), x, y)),
+          pattern(classExpression, x));
+    } else if (classExpression instanceof OWLObjectAllValuesFrom) {
+      OWLObjectAllValuesFrom allValuesFrom = (OWLObjectAllValuesFrom)classExpression;
+
+      addRule(rules, OWL2RLRule.CLS_AVF,
+        Arrays.asList(pattern(classExpression, x), pattern(allValuesFrom.getProperty(), x, y)),
+        pattern(allValuesFrom.getFiller(), y));
+    } else if (classExpression instanceof OWLObjectHasValue) {
+      OWLObjectHasValue hasValue = (OWLObjectHasValue)classExpression;
+      SWRLArgument value = this.dataFactory.getSWRLIndividualArgument(hasValue.getFiller());
+
+      addRule(rules, OWL2RLRule.CLS_HV1, Collections.singletonList(pattern(classExpression, x)),
+        pattern(hasValue.getProperty(), x, value));
+      addRule(rules, OWL2RLRule.CLS_HV2, Collections.singletonList(pattern(hasValue.getProperty(), x, value)),
+        pattern(classExpression, x));
+    } else if (classExpression instanceof OWLDataHasValue) {
+      OWLDataHasValue hasValue = (OWLDataHasValue)classExpression;
+      SWRLArgument value = this.dataFactory.getSWRLLiteralArgument(hasValue.getFiller());
+
+      addRule(rules, OWL2RLRule.CLS_HV1, Collections.singletonList(pattern(classExpression, x)),
+        pattern(hasValue.getProperty(), x, value));
+      addRule(rules, OWL2RLRule.CLS_HV2, Collections.singletonList(pattern(hasValue.getProperty(), x, value)),
+        pattern(classExpression, x));
+    } else if (classExpression instanceof OWLObjectMaxCardinality) {
+      OWLObjectMaxCardinality maxCardinality = (OWLObjectMaxCardinality)classExpression;
+      OWLObjectPropertyExpression property = maxCardinality.getProperty();
+      OWLClassExpression filler = maxCardinality.getFiller();
+
+      if (maxCardinality.getCardinality() == 1) {
+        if (!filler.isOWLThing())
+          addRule(rules, OWL2RLRule.CLS_MAXQC3,
+            Arrays.asList(pattern(classExpression, x), pattern(property, x, y), pattern(filler, y),
+              pattern(property, x, z), pattern(filler, z)), pattern(ForwardChainingFactStore.SAME_AS, y, z));
+        else // An unqualified restriction is held with an owl:Thing filler, so cls-maxc2 and cls-maxqc4 coincide
+          addRule(rules, isRuleEnabled(OWL2RLRule.CLS_MAXC2) ? OWL2RLRule.CLS_MAXC2 : OWL2RLRule.CLS_MAXQC4,
+            Arrays.asList(pattern(classExpression, x), pattern(property, x, y), pattern(property, x, z)),
+            pattern(ForwardChainingFactStore.SAME_AS, y, z));
+      }
+    } else if (classExpression instanceof OWLObjectOneOf) {
+      for (OWLIndividual individual : ((OWLObjectOneOf)classExpression).getIndividuals())
+        addRule(rules, OWL2RLRule.CLS_OO, Collections.emptyList(),
+          pattern(classExpression, this.dataFactory.getSWRLIndividualArgument(individual)));
+    }
+  }
+
+  private void addRule(@NonNull List<@NonNull ForwardChainingRule> rules, @NonNull OWL2RLRule rule,
+    @NonNull List<@NonNull ForwardChainingFactPattern> bodyFactPatterns,
+    @NonNull ForwardChainingFactPattern... headFactPatterns)
+  {
+    if (isRuleEnabled(rule))
+      rules.add(new ForwardChainingRule(rule, bodyFactPatterns, Arrays.asList(headFactPatterns)));
+  }
+
+  @NonNull private Collection<@NonNull List<@NonNull OWLObject>> getTuples(@NonNull ForwardChainingFactStore facts,
+    @NonNull Object predicate)
+  {
+    return facts.getCandidateTuples(predicate, Collections.emptyMap());
+  }
+
+  @NonNull private ForwardChainingFactPattern pattern(@NonNull Object predicate, @NonNull SWRLArgument... arguments)
+  {
+    return new ForwardChainingFactPattern(predicate, arguments);
+  }
+
+  @NonNull private ForwardChainingFact createFact(@NonNull Object predicate, @NonNull OWLObject... values)
+  {
+    return new ForwardChainingFact(predicate, Arrays.asList(values));
+  }
+
+  @NonNull private SWRLVariable createVariable(@NonNull String name)
+  {
+    return this.dataFactory.getSWRLVariable(IRI.create(SWRLA_NAMESPACE + name));
+  }
+}
@@ -0,0 +1,389 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLDataRangeAtom;
+import org.semanticweb.owlapi.model.SWRLDifferentIndividualsAtom;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.builtins.SWRLBuiltInBindingTable;
+import org.swrlapi.builtins.arguments.SWRLAnnotationPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLClassExpressionBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDataPropertyExpressionBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDatatypeBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLObjectPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLObjectPropertyExpressionBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+import org.swrlapi.owl2rl.OWL2RLNames.OWL2RLRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A rule compiled for a {@link ForwardChainingSWRLRuleEngine}, either from a SWRL rule or SQWRL query or from an OWL
+ * 2 RL rule instantiated for the axioms of an ontology. Body fact patterns are matched against the engine's facts,
+ * data range atoms then filter the resulting variable bindings, and the body built-ins are then invoked in order to
+ * extend or filter the bindings. A rule that invokes built-ins processes each binding of its fact patterns at most
+ * once, so it fires once for each instantiation.
+ */
+class ForwardChainingRule
+{
+  @NonNull private final String ruleName;
+  @Nullable private final OWL2RLRule owl2RLRule;
+  @NonNull private final List<@NonNull ForwardChainingFactPattern> factPatterns;
+  @NonNull private final List<@NonNull SWRLDataRangeAtom> dataRangeAtoms;
+  @NonNull private final List<@NonNull SWRLAPIBuiltInAtom> bodyBuiltInAtoms;
+  @NonNull private final List<@NonNull ForwardChainingFactPattern> headFactPatterns;
+  @NonNull private final List<@NonNull SWRLAPIBuiltInAtom> headBuiltInAtoms;
+  @NonNull private final Set<@NonNull Map<@NonNull IRI, @NonNull OWLObject>> matchedBindings;
+
+  public ForwardChainingRule(@NonNull String ruleName, @NonNull List<@NonNull SWRLAtom> bodyAtoms,
+    @NonNull List<@NonNull SWRLAtom> headAtoms) throws TargetSWRLRuleEngineException
+  {
+    this.ruleName = ruleName;
+    this.owl2RLRule = null;
+    this.factPatterns = new ArrayList<>();
+    this.dataRangeAtoms = new ArrayList<>();
+    this.bodyBuiltInAtoms = new ArrayList<>();
+    this.headFactPatterns = new ArrayList<>();
+    this.headBuiltInAtoms = new ArrayList<>();
+    this.matchedBindings = new HashSet<>();
+
+    for (SWRLAtom atom : bodyAtoms) {
+      if (atom instanceof SWRLAPIBuiltInAtom)
+        this.bodyBuiltInAtoms.add((SWRLAPIBuiltInAtom)atom);
+      else if (atom instanceof SWRLDataRangeAtom) {
+        SWRLDataRangeAtom dataRangeAtom = (SWRLDataRangeAtom)atom;
+
+        if (!dataRangeAtom.getPredicate().isDatatype())
+          throw new TargetSWRLRuleEngineException(
+            "data range atom " + atom + " in rule " + ruleName + " does not refer to a datatype");
+        this.dataRangeAtoms.add(dataRangeAtom);
+      } else
+        this.factPatterns.add(createFactPattern(atom));
+    }
+
+    for (SWRLAtom atom : headAtoms) {
+      if (atom instanceof SWRLAPIBuiltInAtom)
+        this.headBuiltInAtoms.add((SWRLAPIBuiltInAtom)atom);
+      else
+        this.headFactPatterns.add(createFactPattern(atom));
+    }
+  }
+
+  public ForwardChainingRule(@NonNull OWL2RLRule owl2RLRule,
+    @NonNull List<@NonNull ForwardChainingFactPattern> bodyFactPatterns,
+    @NonNull List<@NonNull ForwardChainingFactPattern> headFactPatterns)
+  {
+    this.ruleName = owl2RLRule.name();
+    this.owl2RLRule = owl2RLRule;
+    this.factPatterns = new ArrayList<>(bodyFactPatterns);
+    this.dataRangeAtoms = Collections.emptyList();
+    this.bodyBuiltInAtoms = Collections.emptyList();
+    this.headFactPatterns = new ArrayList<>(headFactPatterns);
+    this.headBuiltInAtoms = Collections.emptyList();
+    this.matchedBindings = new HashSet<>();
+  }
+
+  @NonNull public String getRuleName()
+  {
+    return this.ruleName;
+  }
+
+  /**
+   * @return The OWL 2 RL rule that this rule was instantiated from, if any
+   */
+  @NonNull public Optional<@NonNull OWL2RLRule> getOWL2RLRule()
+  {
+    return Optional.ofNullable(this.owl2RLRule);
+  }
+
+  @NonNull public Set<@NonNull Object> getHeadPredicates()
+  {
+    return this.headFactPatterns.stream().map(ForwardChainingFactPattern::getPredicate).collect(Collectors.toSet());
+  }
+
+  public void reset()
+  {
+    this.matchedBindings.clear();
+  }
+
+  /**
+   * Find the variable bindings that satisfy the body of the rule. If a set of new facts is supplied, only bindings that
+   * match at least one new fact are considered. Rules that invoke built-ins only return bindings that have not been
+   * found before; other rules may return a binding more than once.
+   *
+   * @param facts    All known facts
+   * @param newFacts The facts added since the last call, or null to consider all facts
+   * @param bridge   The bridge used to invoke built-ins
+   * @return The bindings
+   * @throws SWRLBuiltInException If an error occurs invoking a built-in
+   */
+  @NonNull public List<@NonNull Map<@NonNull IRI, @NonNull OWLObject>> match(@NonNull ForwardChainingFactStore facts,
+    @Nullable ForwardChainingFactStore newFacts, @NonNull SWRLRuleEngineBridge bridge) throws SWRLBuiltInException
+  {
+    List<@NonNull Map<@NonNull IRI, @NonNull OWLObject>> factBindings = new ArrayList<>();
+
+    if (newFacts == null)
+      join(facts, null, -1, 0, Collections.emptyMap(), factBindings);
+    else { // A rule without fact patterns has no bindings that use a new fact
+      for (int newFactPatternIndex = 0; newFactPatternIndex < this.factPatterns.size(); newFactPatternIndex++)
+        join(facts, newFacts, newFactPatternIndex, 0, Collections.emptyMap(), factBindings);
+    }
+
+    if (!hasBuiltIns() && this.dataRangeAtoms.isEmpty()) // Facts are held once, so repeated bindings are harmless
+      return factBindings;
+
+    List<@NonNull Map<@NonNull IRI, @NonNull OWLObject>> bindings = new ArrayList<>();
+
+    for (Map<@NonNull IRI, @NonNull OWLObject> factBinding : factBindings) {
+      if ((!hasBuiltIns() || this.matchedBindings.add(factBinding)) && satisfiesDataRangeAtoms(factBinding))
+        bindings.addAll(invokeBodyBuiltIns(factBinding, bridge));
+    }
+    return bindings;
+  }
+
+  /**
+   * Instantiate the head of the rule for a binding. Head built-ins are invoked in order and the remaining head atoms
+   * are returned as facts.
+   *
+   * @param binding A binding returned by {@link #match(ForwardChainingFactStore, ForwardChainingFactStore,
+   *                SWRLRuleEngineBridge)}
+   * @param bridge  The bridge used to invoke built-ins
+   * @return The facts produced by the head
+   * @throws SWRLBuiltInException          If an error occurs invoking a built-in
+   * @throws TargetSWRLRuleEngineException If a head variable is not bound
+   */
+  @NonNull public List<@NonNull ForwardChainingFact> fire(@NonNull Map<@NonNull IRI, @NonNull OWLObject> binding,
+    @NonNull SWRLRuleEngineBridge bridge) throws SWRLBuiltInException, TargetSWRLRuleEngineException
+  {
+    List<@NonNull ForwardChainingFact> facts = new ArrayList<>(this.headFactPatterns.size());
+
+    for (SWRLAPIBuiltInAtom builtInAtom : this.headBuiltInAtoms)
+      bridge.invokeSWRLBuiltIn(builtInAtom, true, createBuiltInArguments(builtInAtom, binding, bridge));
+
+    for (ForwardChainingFactPattern headFactPattern : this.headFactPatterns) {
+      ForwardChainingFact fact = headFactPattern.instantiate(binding);
+
+      if (fact == null)
+        throw new TargetSWRLRuleEngineException(
+          "head atom " + headFactPattern + " of rule " + this.ruleName
+            + " has a variable that is not bound in its body");
+
+      facts.add(fact);
+    }
+    return facts;
+  }
+
+  private boolean hasBuiltIns()
+  {
+    return !this.bodyBuiltInAtoms.isEmpty() || !this.headBuiltInAtoms.isEmpty();
+  }
+
+  // Match fact pattern factPatternIndex onwards; the pattern at newFactPatternIndex is matched against the new facts
+  private void join(@NonNull ForwardChainingFactStore facts, @Nullable ForwardChainingFactStore newFacts,
+    int newFactPatternIndex, int factPatternIndex, @NonNull Map<@NonNull IRI, @NonNull OWLObject> binding,
+    @NonNull List<@NonNull Map<@NonNull IRI, @NonNull OWLObject>> bindings)
+  {
+    if (factPatternIndex == this.factPatterns.size())
+      bindings.add(binding);
+    else {
+      ForwardChainingFactPattern factPattern = this.factPatterns.get(factPatternIndex);
+      ForwardChainingFactStore matchedFacts = (factPatternIndex == newFactPatternIndex && newFacts != null) ?
+        newFacts :
+        facts;
+
+      for (List<@NonNull OWLObject> tuple : matchedFacts
+        .getCandidateTuples(factPattern.getPredicate(), factPattern.getBoundValues(binding))) {
+        Map<@NonNull IRI, @NonNull OWLObject> extendedBinding = factPattern.match(tuple, binding);
+
+        if (extendedBinding != null)
+          join(facts, newFacts, newFactPatternIndex, factPatternIndex + 1, extendedBinding, bindings);
+      }
+    }
+  }
+
+  private boolean satisfiesDataRangeAtoms(@NonNull Map<@NonNull IRI, @NonNull OWLObject> binding)
+  {
+    for (SWRLDataRangeAtom dataRangeAtom : this.dataRangeAtoms) {
+      OWLDatatype datatype = dataRangeAtom.getPredicate().asOWLDatatype();
+      SWRLArgument argument = dataRangeAtom.getArgument();
+      OWLObject value = ForwardChainingFactPattern.getValue(argument, binding);
+
+      if (!(value instanceof OWLLiteral) || !(datatype.isTopDatatype() || ((OWLLiteral)value).getDatatype()
+        .equals(datatype)))
+        return false;
+    }
+    return true;
+  }
+
+  @NonNull private List<@NonNull Map<@NonNull IRI, @NonNull OWLObject>> invokeBodyBuiltIns(
+    @NonNull Map<@NonNull IRI, @NonNull OWLObject> binding, @NonNull SWRLRuleEngineBridge bridge)
+    throws SWRLBuiltInException
+  {
+    List<@NonNull Map<@NonNull IRI, @NonNull OWLObject>> bindings = Collections.singletonList(binding);
+
+    for (SWRLAPIBuiltInAtom builtInAtom : this.bodyBuiltInAtoms) {
+      List<@NonNull Map<@NonNull IRI, @NonNull OWLObject>> extendedBindings = new ArrayList<>();
+
+      for (Map<@NonNull IRI, @NonNull OWLObject> currentBinding : bindings) {
+        List<@NonNull SWRLBuiltInArgument> arguments = createBuiltInArguments(builtInAtom, currentBinding, bridge);
+        List<@NonNull SWRLBuiltInArgument> atomArguments = builtInAtom.getBuiltInArguments();
+        SWRLBuiltInBindingTable results = bridge.invokeSWRLBuiltIn(builtInAtom, false, arguments).distinct();
+
+        for (int row = 0; row < results.getNumberOfRows(); row++) {
+          Map<@NonNull IRI, @NonNull OWLObject> extendedBinding = new HashMap<>(currentBinding);
+
+          for (int argumentIndex = 0; argumentIndex < atomArguments.size(); argumentIndex++) {
+            SWRLBuiltInArgument atomArgument = atomArguments.get(argumentIndex);
+
+            if (atomArgument.isVariable())
+              extendedBinding
+                .putIfAbsent(atomArgument.asVariable().getIRI(), getValue(results.getArgument(row, argumentIndex)));
+          }
+          extendedBindings.add(extendedBinding);
+        }
+      }
+      bindings = extendedBindings;
+    }
+    return bindings;
+  }
+
+  // Bound variables are passed as their values; unbound variables as fresh unbound arguments
+  @NonNull private List<@NonNull SWRLBuiltInArgument> createBuiltInArguments(@NonNull SWRLAPIBuiltInAtom builtInAtom,
+    @NonNull Map<@NonNull IRI, @NonNull OWLObject> binding, @NonNull SWRLRuleEngineBridge bridge)
+    throws SWRLBuiltInException
+  {
+    SWRLBuiltInArgumentFactory argumentFactory = bridge.getSWRLBuiltInArgumentFactory();
+    List<@NonNull SWRLBuiltInArgument> arguments = new ArrayList<>();
+
+    for (SWRLBuiltInArgument argument : builtInAtom.getBuiltInArguments()) {
+      if (argument.isVariable()) {
+        IRI variableIRI = argument.asVariable().getIRI();
+        OWLObject value = binding.get(variableIRI);
+
+        if (value != null) {
+          SWRLBuiltInArgument valueArgument = createBuiltInArgument(value, argumentFactory);
+          arguments.add(
+            argumentFactory.getVariableValueBuiltInArgument(valueArgument, argument.asVariable().getVariableName()));
+        } else
+          arguments.add(argumentFactory.getUnboundVariableBuiltInArgument(variableIRI));
+      } else
+        arguments.add(argument);
+    }
+    return arguments;
+  }
+
+  @NonNull private SWRLBuiltInArgument createBuiltInArgument(@NonNull OWLObject value,
+    @NonNull SWRLBuiltInArgumentFactory argumentFactory) throws SWRLBuiltInException
+  {
+    if (value instanceof OWLLiteral)
+      return argumentFactory.getLiteralBuiltInArgument((OWLLiteral)value);
+    else if (value instanceof OWLNamedIndividual)
+      return argumentFactory.getNamedIndividualBuiltInArgument((OWLNamedIndividual)value);
+    else if (value instanceof OWLClass)
+      return argumentFactory.getClassBuiltInArgument((OWLClass)value);
+    else if (value instanceof OWLClassExpression)
+      return argumentFactory.getClassExpressionBuiltInArgument((OWLClassExpression)value);
+    else if (value instanceof OWLObjectProperty)
+      return argumentFactory.getObjectPropertyBuiltInArgument((OWLObjectProperty)value);
+    else if (value instanceof OWLObjectPropertyExpression)
+      return argumentFactory.getObjectPropertyExpressionBuiltInArgument((OWLObjectPropertyExpression)value);
+    else if (value instanceof OWLDataProperty)
+      return argumentFactory.getDataPropertyBuiltInArgument((OWLDataProperty)value);
+    else if (value instanceof OWLDataPropertyExpression)
+      return argumentFactory.getDataPropertyExpressionBuiltInArgument((OWLDataPropertyExpression)value);
+    else if (value instanceof OWLAnnotationProperty)
+      return argumentFactory.getAnnotationPropertyBuiltInArgument((OWLAnnotationProperty)value);
+    else if (value instanceof OWLDatatype)
+      return argumentFactory.getDatatypeBuiltInArgument((OWLDatatype)value);
+    else
+      throw new SWRLBuiltInException("value " + value + " in rule " + this.ruleName
+        + " cannot be passed to a built-in; only named individuals, literals and OWL entities are supported");
+  }
+
+  @NonNull private OWLObject getValue(@NonNull SWRLBuiltInArgument argument) throws SWRLBuiltInException
+  {
+    if (argument instanceof SWRLLiteralBuiltInArgument)
+      return ((SWRLLiteralBuiltInArgument)argument).getLiteral();
+    else if (argument instanceof SWRLNamedIndividualBuiltInArgument)
+      return ((SWRLNamedIndividualBuiltInArgument)argument).getOWLNamedIndividual();
+    else if (argument instanceof SWRLClassBuiltInArgument)
+      return ((SWRLClassBuiltInArgument)argument).getOWLClass();
+    else if (argument instanceof SWRLClassExpressionBuiltInArgument)
+      return ((SWRLClassExpressionBuiltInArgument)argument).getOWLClassExpression();
+    else if (argument instanceof SWRLObjectPropertyBuiltInArgument)
+      return ((SWRLObjectPropertyBuiltInArgument)argument).getOWLObjectProperty();
+    else if (argument instanceof SWRLObjectPropertyExpressionBuiltInArgument)
+      return ((SWRLObjectPropertyExpressionBuiltInArgument)argument).getOWLObjectPropertyExpression();
+    else if (argument instanceof SWRLDataPropertyBuiltInArgument)
+      return ((SWRLDataPropertyBuiltInArgument)argument).getOWLDataProperty();
+    else if (argument instanceof SWRLDataPropertyExpressionBuiltInArgument)
+      return ((SWRLDataPropertyExpressionBuiltInArgument)argument).getOWLDataPropertyExpression();
+    else if (argument instanceof SWRLAnnotationPropertyBuiltInArgument)
+      return ((SWRLAnnotationPropertyBuiltInArgument)argument).getOWLAnnotationProperty();
+    else if (argument instanceof SWRLDatatypeBuiltInArgument)
+      return ((SWRLDatatypeBuiltInArgument)argument).getOWLDatatype();
+    else
+      throw new SWRLBuiltInException(
+        "built-in in rule " + this.ruleName + " returned unsupported argument " + argument);
+  }
+
+  @NonNull private ForwardChainingFactPattern createFactPattern(@NonNull SWRLAtom atom)
+    throws TargetSWRLRuleEngineException
+  {
+    if (atom instanceof SWRLClassAtom) {
+      SWRLClassAtom classAtom = (SWRLClassAtom)atom;
+      return new ForwardChainingFactPattern(classAtom.getPredicate(), classAtom.getArgument());
+    } else if (atom instanceof SWRLObjectPropertyAtom) {
+      SWRLObjectPropertyAtom objectPropertyAtom = (SWRLObjectPropertyAtom)atom;
+      return new ForwardChainingFactPattern(objectPropertyAtom.getPredicate(), objectPropertyAtom.getFirstArgument(),
+        objectPropertyAtom.getSecondArgument());
+    } else if (atom instanceof SWRLDataPropertyAtom) {
+      SWRLDataPropertyAtom dataPropertyAtom = (SWRLDataPropertyAtom)atom;
+      return new ForwardChainingFactPattern(dataPropertyAtom.getPredicate(), dataPropertyAtom.getFirstArgument(),
+        dataPropertyAtom.getSecondArgument());
+    } else if (atom instanceof SWRLSameIndividualAtom) {
+      SWRLSameIndividualAtom sameIndividualAtom = (SWRLSameIndividualAtom)atom;
+      return new ForwardChainingFactPattern(ForwardChainingFactStore.SAME_AS, sameIndividualAtom.getFirstArgument(),
+        sameIndividualAtom.getSecondArgument());
+    } else if (atom instanceof SWRLDifferentIndividualsAtom) {
+      SWRLDifferentIndividualsAtom differentIndividualsAtom = (SWRLDifferentIndividualsAtom)atom;
+      return new ForwardChainingFactPattern(ForwardChainingFactStore.DIFFERENT_FROM,
+        differentIndividualsAtom.getFirstArgument(), differentIndividualsAtom.getSecondArgument());
+    } else
+      throw new TargetSWRLRuleEngineException("unsupported atom " + atom + " in rule " + this.ruleName);
+  }
+}
@@ -0,0 +1,252 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.owl2rl.OWL2RLEngine;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A pure Java, in-process SWRL rule engine that can be used where no other rule engine is available.
+ * <p>
+ * Assertions and the supported schema axioms are held as facts. Rules are evaluated semi-naively: after a first pass
+ * over all facts, each pass only considers rule instantiations that use at least one fact inferred in the previous
+ * pass, and evaluation stops when a pass infers nothing new. The enabled OWL 2 RL schema rules are evaluated first;
+ * the remaining enabled OWL 2 RL rules are then compiled for the closed schema by the
+ * {@link ForwardChainingOWL2RLEngine} and evaluated together with the SWRL rules. Built-ins are invoked through the
+ * {@link org.swrlapi.bridge.SWRLRuleEngineBridge} and inferred axioms are reported to it. Active SQWRL queries are
+ * evaluated once rule evaluation is complete. SQWRL collections are not supported. Evaluation stops with an exception
+ * if the thread running the engine is interrupted.
+ * <p>
+ * Defined axioms and rules can be retracted, so the engine can be updated incrementally between runs. Retraction is
+ * by recomputation: the next run starts again from the facts of the remaining defined axioms, which drops everything
+ * that was inferred from the retracted ones.
+ *
+ * @see org.swrlapi.engine.ForwardChainingSWRLRuleEngineCreator
+ */
+public class ForwardChainingSWRLRuleEngine implements TargetSWRLRuleEngine
+{
+  @NonNull static final String RULE_ENGINE_NAME = "ForwardChaining";
+  @NonNull private static final String RULE_ENGINE_VERSION = "1.0";
+
+  @NonNull private final SWRLRuleEngineBridge bridge;
+  @NonNull private final ForwardChainingOWL2RLEngine owl2RLEngine;
+  @NonNull private final ForwardChainingFactStore facts;
+  @NonNull private final Set<@NonNull OWLClassExpression> classExpressions;
+  @NonNull private final List<@NonNull ForwardChainingRule> rules;
+  @NonNull private final List<@NonNull ForwardChainingRule> queries;
+  @NonNull private final Set<@NonNull OWLAxiom> definedOWLAxioms; // Including rules
+  private boolean isRecomputationNeeded; // True if axioms have been retracted since the facts were computed
+
+  public ForwardChainingSWRLRuleEngine(@NonNull SWRLRuleEngineBridge bridge)
+  {
+    this.bridge = bridge;
+    this.owl2RLEngine = new ForwardChainingOWL2RLEngine(bridge.getOWL2RLPersistenceLayer(),
+      bridge.getSWRLAPIOWLDataFactory());
+    this.facts = new ForwardChainingFactStore();
+    this.classExpressions = new HashSet<>();
+    this.rules = new ArrayList<>();
+    this.queries = new ArrayList<>();
+    this.definedOWLAxioms = new LinkedHashSet<>();
+    this.isRecomputationNeeded = false;
+  }
+
+  @Override public void defineOWLAxiom(@NonNull OWLAxiom axiom) throws TargetSWRLRuleEngineException
+  {
+    if (this.definedOWLAxioms.add(axiom) && !this.isRecomputationNeeded)
+      addOWLAxiom(axiom);
+  }
+
+  @Override public boolean canRetractOWLAxioms()
+  {
+    return true;
+  }
+
+  @Override public void retractOWLAxiom(@NonNull OWLAxiom axiom) throws TargetSWRLRuleEngineException
+  {
+    if (this.definedOWLAxioms.remove(axiom))
+      this.isRecomputationNeeded = true;
+  }
+
+  // Facts, rules and class expressions are only added, so they are recomputed from the defined axioms after retraction
+  private void addOWLAxiom(@NonNull OWLAxiom axiom) throws TargetSWRLRuleEngineException
+  {
+    this.classExpressions.addAll(axiom.getNestedClassExpressions());
+
+    if (axiom instanceof SWRLAPIRule) {
+      SWRLAPIRule rule = (SWRLAPIRule)axiom;
+
+      if (!rule.isSQWRLQuery() && rule.isActive()) // Queries are defined by defineSQWRLQuery
+        this.rules.add(new ForwardChainingRule(rule.getRuleName(), rule.getBodyAtoms(), rule.getHeadAtoms()));
+    } else {
+      for (ForwardChainingFact fact : ForwardChainingFactStore.getFacts(axiom))
+        addFact(fact, null);
+    }
+  }
+
+  @Override public void defineSQWRLQuery(@NonNull SQWRLQuery query) throws TargetSWRLRuleEngineException
+  {
+    if (query.isActive()) {
+      if (query.hasSQWRLCollections())
+        throw new TargetSWRLRuleEngineException(
+          "SQWRL query " + query.getQueryName() + " uses collections, which are not supported by rule engine "
+            + RULE_ENGINE_NAME);
+
+      this.queries.add(new ForwardChainingRule(query.getQueryName(), query.getBodyAtoms(), query.getHeadAtoms()));
+    }
+  }
+
+  @Override public void runRuleEngine() throws TargetSWRLRuleEngineException
+  {
+    try {
+      if (this.isRecomputationNeeded)
+        recomputeFacts();
+
+      this.owl2RLEngine.resetRuleTableEvaluationTimes();
+
+      ForwardChainingFactStore schemaFacts = new ForwardChainingFactStore(); // Considered with all others below
+      for (ForwardChainingFact fact : this.owl2RLEngine.createSchemaFacts(this.classExpressions))
+        addFact(fact, schemaFacts);
+      evaluate(this.owl2RLEngine.createSchemaRules());
+
+      List<@NonNull ForwardChainingRule> instanceRules = new ArrayList<>(this.rules);
+      instanceRules.addAll(this.owl2RLEngine.createInstanceRules(this.facts, this.classExpressions));
+
+      Set<@NonNull Object> predicates = new HashSet<>(this.facts.getPredicates());
+      for (ForwardChainingRule rule : instanceRules)
+        predicates.addAll(rule.getHeadPredicates());
+      instanceRules.addAll(this.owl2RLEngine.createEqualityRules(predicates));
+
+      evaluate(instanceRules);
+
+      for (ForwardChainingRule query : this.queries) {
+        throwExceptionIfInterrupted();
+        query.reset();
+        for (Map<@NonNull IRI, @NonNull OWLObject> binding : query.match(this.facts, null, this.bridge))
+          query.fire(binding, this.bridge);
+      }
+    } catch (SWRLBuiltInException | SWRLRuleEngineBridgeException e) {
+      throw new TargetSWRLRuleEngineException(
+        "error running rule engine " + RULE_ENGINE_NAME + ": " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    }
+  }
+
+  @Override public void resetRuleEngine()
+  {
+    this.facts.clear();
+    this.classExpressions.clear();
+    this.rules.clear();
+    this.queries.clear();
+    this.definedOWLAxioms.clear();
+    this.isRecomputationNeeded = false;
+  }
+
+  @NonNull @Override public String getTargetRuleEngineName()
+  {
+    return RULE_ENGINE_NAME;
+  }
+
+  @NonNull @Override public String getTargetRuleEngineVersion()
+  {
+    return RULE_ENGINE_VERSION;
+  }
+
+  @NonNull @Override public Icon getTargetRuleEngineIcon()
+  {
+    return new ImageIcon();
+  }
+
+  @NonNull @Override public OWLReasoner getOWLReasoner()
+  {
+    throw new TargetSWRLRuleEngineException("rule engine " + RULE_ENGINE_NAME + " does not provide an OWL reasoner");
+  }
+
+  @NonNull @Override public OWL2RLEngine getOWL2RLEngine()
+  {
+    return this.owl2RLEngine;
+  }
+
+  // Evaluate rules to a fixpoint; the time spent in each OWL 2 RL rule is recorded against its table
+  private void evaluate(@NonNull List<@NonNull ForwardChainingRule> rules)
+    throws SWRLBuiltInException, SWRLRuleEngineBridgeException
+  {
+    ForwardChainingFactStore newFacts = null; // All facts are considered on the first pass
+
+    do {
+      List<@NonNull ForwardChainingFact> inferredFacts = new ArrayList<>();
+      ForwardChainingFactStore addedFacts = new ForwardChainingFactStore();
+
+      // Find all matches before adding inferred facts so the fact store is not changed while it is being read
+      for (ForwardChainingRule rule : rules) {
+        long startTime = System.nanoTime();
+
+        throwExceptionIfInterrupted();
+
+        for (Map<@NonNull IRI, @NonNull OWLObject> binding : rule.match(this.facts, newFacts, this.bridge))
+          inferredFacts.addAll(rule.fire(binding, this.bridge));
+
+        rule.getOWL2RLRule()
+          .ifPresent(owl2RLRule -> this.owl2RLEngine.addRuleEvaluationTime(owl2RLRule, System.nanoTime() - startTime));
+      }
+
+      for (ForwardChainingFact fact : inferredFacts)
+        addFact(fact, addedFacts);
+
+      newFacts = addedFacts;
+    } while (!newFacts.isEmpty());
+  }
+
+  private void recomputeFacts() throws TargetSWRLRuleEngineException
+  {
+    this.facts.clear();
+    this.classExpressions.clear();
+    this.rules.clear();
+    this.isRecomputationNeeded = false;
+
+    for (OWLAxiom axiom : this.definedOWLAxioms)
+      addOWLAxiom(axiom);
+  }
+
+  // A streamed SQWRL query is cancelled by interrupting the thread running the rule engine
+  private static void throwExceptionIfInterrupted() throws TargetSWRLRuleEngineException
+  {
+    if (Thread.currentThread().isInterrupted())
+      throw new TargetSWRLRuleEngineException("rule engine " + RULE_ENGINE_NAME + " was interrupted");
+  }
+
+  // A new fact is also added to newFacts, if supplied, and its axiom is reported to the bridge as inferred. Facts held
+  // under anonymous class expressions are intermediate results of OWL 2 RL rules and are not reported.
+  private void addFact(@NonNull ForwardChainingFact fact, @Nullable ForwardChainingFactStore newFacts)
+    throws SWRLRuleEngineBridgeException
+  {
+    if (ForwardChainingFactStore.isTrivial(fact) || !this.facts.add(fact.getPredicate(), fact.getTuple()))
+      return;
+
+    if (newFacts != null) {
+      newFacts.add(fact.getPredicate(), fact.getTuple());
+
+      if (!(fact.getPredicate() instanceof OWLClassExpression) || !((OWLClassExpression)fact.getPredicate())
+        .isAnonymous())
+        this.bridge
+          .inferOWLAxiom(ForwardChainingFactStore.getOWLAxiom(fact, this.bridge.getSWRLAPIOWLDataFactory()));
+    }
+  }
+}
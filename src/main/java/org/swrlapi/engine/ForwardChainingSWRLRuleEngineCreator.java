@@ -0,0 +1,25 @@
+package org.swrlapi.engine;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.bridge.TargetSWRLRuleEngineCreator;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+
+/**
+ * Creates {@link ForwardChainingSWRLRuleEngine} instances. The engine can be made available by registering this
+ * creator with a {@link org.swrlapi.factory.SWRLRuleAndQueryEngineFactory}.
+ */
+public class ForwardChainingSWRLRuleEngineCreator implements TargetSWRLRuleEngineCreator
+{
+  @NonNull @Override public TargetSWRLRuleEngine create(@NonNull SWRLRuleEngineBridge bridge)
+    throws TargetSWRLRuleEngineException
+  {
+    return new ForwardChainingSWRLRuleEngine(bridge);
+  }
+
+  @NonNull @Override public String getRuleEngineName()
+  {
+    return ForwardChainingSWRLRuleEngine.RULE_ENGINE_NAME;
+  }
+}
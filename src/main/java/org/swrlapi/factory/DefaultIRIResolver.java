@@ -1,5 +1,7 @@
 package org.swrlapi.factory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.formats.PrefixDocumentFormat;
@@ -14,113 +16,112 @@ import org.semanticweb.owlapi.util.SimpleRenderer;
 import org.swrlapi.core.IRIResolver;
 
 import javax.annotation.Nonnull;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An IRI resolver that can be used concurrently by multiple threads without locking when resolving names.
+ * <p>
+ * Prefixes are held in an immutable snapshot that also caches resolved prefixed names, short forms and IRIs. Changing
+ * the prefixes with {@link #setPrefix(String, String)} or {@link #updatePrefixes(OWLOntology)}, or discarding
+ * auto-generated names with {@link #reset()}, atomically publishes a new snapshot with a new epoch and empty caches.
+ * Threads that are resolving names at the time of a change complete against the previous snapshot.
+ */
 public class DefaultIRIResolver implements IRIResolver
 {
   private static final String GENERATED_IRI_NAMESPACE = "http://swrl.stanford.edu/autogenerated";
+  private static final int NAME_CACHE_MAXIMUM_SIZE = 10000;
 
-  @NonNull private final DefaultPrefixManager prefixManager;
   @NonNull private final OWLObjectRenderer objectRenderer;
 
-  @NonNull private final Map<@NonNull String, @NonNull String> autogenNamespace2Prefix = new HashMap<>();
-  @NonNull private final Map<@NonNull String, @NonNull String> autogeneratedPrefix2Namespace = new HashMap<>();
-  @NonNull private final Map<@NonNull IRI, @NonNull String> autogenIRI2PrefixedName = new HashMap<>();
-  @NonNull private final Map<@NonNull String, @NonNull IRI> autogenPrefixedName2IRI = new HashMap<>();
+  @NonNull private final Map<@NonNull String, @NonNull String> autogenNamespace2Prefix = new ConcurrentHashMap<>();
+  @NonNull private final Map<@NonNull String, @NonNull String> autogeneratedPrefix2Namespace =
+    new ConcurrentHashMap<>();
+  @NonNull private final Map<@NonNull IRI, @NonNull String> autogenIRI2PrefixedName = new ConcurrentHashMap<>();
+  @NonNull private final Map<@NonNull String, @NonNull IRI> autogenPrefixedName2IRI = new ConcurrentHashMap<>();
+
+  @Nullable private final String defaultPrefix;
 
-  @Nullable private String defaultPrefix;
+  @NonNull private final AtomicInteger autogenPrefixNumber = new AtomicInteger();
+  @NonNull private final AtomicInteger autogenPrefixedNameNumber = new AtomicInteger();
 
-  private int autogenPrefixNumber = 0;
-  private int autogenPrefixedNameNumber = 0;
+  @NonNull private volatile PrefixState prefixState; // Replaced, never modified, by writers
 
   public DefaultIRIResolver()
   {
-    this.prefixManager = new DefaultPrefixManager();
+    this.defaultPrefix = null;
     this.objectRenderer = new SimpleRenderer();
+    this.prefixState = new PrefixState(new DefaultPrefixManager(), 0);
   }
 
   public DefaultIRIResolver(@NonNull String defaultPrefix)
   {
-    this.prefixManager = new DefaultPrefixManager();
-    this.prefixManager.setDefaultPrefix(defaultPrefix);
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+    prefixManager.setDefaultPrefix(defaultPrefix);
+
     this.defaultPrefix = defaultPrefix;
     this.objectRenderer = new SimpleRenderer();
+    this.prefixState = new PrefixState(prefixManager, 0);
   }
 
-  @Override public void reset()
+  /**
+   * Names resolved under an earlier epoch may no longer be valid.
+   *
+   * @return A number that changes whenever the prefixes change or auto-generated names are discarded
+   */
+  public long getEpoch()
+  {
+    return this.prefixState.epoch;
+  }
+
+  @Override public synchronized void reset()
   {
     this.autogenNamespace2Prefix.clear();
     this.autogeneratedPrefix2Namespace.clear();
     this.autogenPrefixedName2IRI.clear();
     this.autogenIRI2PrefixedName.clear();
 
-    this.autogenPrefixedNameNumber = 0;
-    this.autogenPrefixNumber = 0;
+    this.autogenPrefixedNameNumber.set(0);
+    this.autogenPrefixNumber.set(0);
+
+    // Cached names may be auto-generated names that have now been discarded
+    this.prefixState = new PrefixState(this.prefixState.prefixManager, this.prefixState.epoch + 1);
   }
 
   @NonNull @Override public Optional<@NonNull IRI> variableName2IRI(@NonNull String variableName)
   {
+    DefaultPrefixManager prefixManager = this.prefixState.prefixManager;
     String defaultPrefix = prefixManager.getDefaultPrefix();
     if (defaultPrefix != null && defaultPrefix.matches(".*[0-9A-Za-z]$"))
       return Optional.of(IRI.create("", "#" + variableName));
     else
-      return Optional.of(this.prefixManager.getIRI(variableName));
+      return Optional.of(prefixManager.getIRI(variableName));
   }
 
   @NonNull @Override public Optional<@NonNull IRI> prefixedName2IRI(@NonNull String prefixedName)
   {
-    if (this.autogenPrefixedName2IRI.containsKey(prefixedName))
-      return Optional.of(this.autogenPrefixedName2IRI.get(prefixedName));
+    PrefixState prefixState = this.prefixState;
+    IRI cachedIRI = prefixState.prefixedName2IRI.getIfPresent(prefixedName);
+
+    if (cachedIRI != null)
+      return Optional.of(cachedIRI);
     else {
-      String prefix = getPrefix(prefixedName);
-      String remainder = getRemainder(prefixedName);
-      if (prefix.isEmpty()) {
-        if (remainder.isEmpty())
-          return Optional.empty(); // Prefix and remainder empty
-        else { // Prefix empty, remainder not empty
-          IRI iri = prefixManager.getIRI(remainder);
-          if (iri != null)
-            return Optional.of(iri);
-          else
-            return Optional.empty();
-        }
-      } else { // Prefix not empty
-        IRI iri = this.prefixManager.getIRI(prefixedName);
-        if (iri != null)
-          return Optional.of(iri);
-        else { // Prefix manager does not have a mapping - try the auto-generated cache
-          if (this.autogeneratedPrefix2Namespace.containsKey(prefix)) {
-            String namespace = this.autogeneratedPrefix2Namespace.get(prefix);
-            return Optional.of(IRI.create(namespace, remainder));
-          } else
-            return Optional.empty(); // Cannot loadSWRLBuiltInLibraries a match
-        }
-      }
+      Optional<@NonNull IRI> iri = resolvePrefixedName(prefixedName, prefixState.prefixManager);
+
+      // Unresolved names are not cached because they may later be auto-generated
+      if (iri.isPresent())
+        prefixState.prefixedName2IRI.put(prefixedName, iri.get());
+
+      return iri;
     }
   }
 
   @Override public Optional<@NonNull String> iri2PrefixedName(@NonNull IRI iri)
   {
-    String existingPrefixedName = this.prefixManager.getPrefixIRI(iri);
-    if (existingPrefixedName != null)
-      return Optional.of(existingPrefixedName);
-    else {
-      String namespace = iri.getNamespace();
-      com.google.common.base.Optional<@NonNull String> remainder = iri.getRemainder();
-      if (remainder.isPresent()) {
-        if (namespace.isEmpty()) {
-          String prefixedName = remainder.get();
-          return Optional.of(prefixedName);
-        } else { // OWLAPI prefix manager does not have a prefixed form. We auto-generate a prefix for each namespace.
-          return Optional.of(autoGeneratePrefixedName(iri, namespace, remainder.get()));
-        }
-      } else { // No remainder - auto-generate a prefixed form
-        return Optional.of(autoGeneratePrefixedName(iri));
-      }
-    }
+    return iri2PrefixedName(iri, this.prefixState);
   }
 
   @Override @NonNull public Optional<@NonNull String> iri2VariableName(@NonNull IRI iri)
@@ -140,41 +141,59 @@ public class DefaultIRIResolver implements IRIResolver
 
   @Override @NonNull public Optional<@NonNull String> iri2ShortForm(@NonNull IRI iri)
   {
-    String shortForm = this.prefixManager.getShortForm(iri);
+    PrefixState prefixState = this.prefixState;
+    String cachedShortForm = prefixState.iri2ShortForm.getIfPresent(iri);
 
-    if (shortForm == null || shortForm.isEmpty() || shortForm.startsWith("<"))
-      return iri2PrefixedName(iri);
-    else
-      return Optional.of(shortForm);
+    if (cachedShortForm != null)
+      return Optional.of(cachedShortForm);
+    else {
+      String shortForm = prefixState.prefixManager.getShortForm(iri);
+
+      if (shortForm == null || shortForm.isEmpty() || shortForm.startsWith("<"))
+        return iri2PrefixedName(iri, prefixState);
+      else {
+        prefixState.iri2ShortForm.put(iri, shortForm);
+        return Optional.of(shortForm);
+      }
+    }
   }
 
-  @Override public void setPrefix(@NonNull String prefix, @NonNull String namespace)
+  @Override public synchronized void setPrefix(@NonNull String prefix, @NonNull String namespace)
   {
-    this.prefixManager.setPrefix(prefix, namespace);
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+
+    prefixManager.clear();
+    prefixManager.copyPrefixesFrom(this.prefixState.prefixManager);
+    prefixManager.setPrefix(prefix, namespace);
+
+    this.prefixState = new PrefixState(prefixManager, this.prefixState.epoch + 1);
   }
 
-  @Override public void updatePrefixes(@NonNull OWLOntology ontology)
+  @Override public synchronized void updatePrefixes(@NonNull OWLOntology ontology)
   {
     OWLOntologyManager owlOntologyManager = ontology.getOWLOntologyManager();
     OWLDocumentFormat ontologyFormat = owlOntologyManager.getOntologyFormat(ontology);
+    DefaultPrefixManager prefixManager = new DefaultPrefixManager();
 
-    this.prefixManager.clear();
+    prefixManager.clear();
     if (this.defaultPrefix != null)
-      this.prefixManager.setDefaultPrefix(this.defaultPrefix);
+      prefixManager.setDefaultPrefix(this.defaultPrefix);
 
     if (ontologyFormat != null && ontologyFormat.isPrefixOWLOntologyFormat()) {
       PrefixDocumentFormat prefixOntologyFormat = ontologyFormat.asPrefixOWLOntologyFormat();
 
       Map<@NonNull String, String> map = prefixOntologyFormat.getPrefixName2PrefixMap();
       for (String prefix : map.keySet())
-        this.prefixManager.setPrefix(prefix, map.get(prefix));
+        prefixManager.setPrefix(prefix, map.get(prefix));
     }
-    addSWRLAPIPrefixes();
+    addSWRLAPIPrefixes(prefixManager);
+
+    this.prefixState = new PrefixState(prefixManager, this.prefixState.epoch + 1);
   }
 
   @Override public IRI generateIRI()
   {
-    String defaultPrefix = this.prefixManager.getDefaultPrefix();
+    String defaultPrefix = this.prefixState.prefixManager.getDefaultPrefix();
 
     if (defaultPrefix != null)
       return IRI.create(defaultPrefix + "#" + UUID.randomUUID().toString().replaceAll("-", "_"));
@@ -184,7 +203,75 @@ public class DefaultIRIResolver implements IRIResolver
 
   @NonNull @Override public String render(@Nonnull OWLObject owlObject)
   {
-    return this.objectRenderer.render(owlObject);
+    synchronized (this.objectRenderer) { // The renderer accumulates its output in an instance buffer
+      return this.objectRenderer.render(owlObject);
+    }
+  }
+
+  @NonNull private Optional<@NonNull String> iri2PrefixedName(@NonNull IRI iri, @NonNull PrefixState prefixState)
+  {
+    String cachedPrefixedName = prefixState.iri2PrefixedName.getIfPresent(iri);
+
+    if (cachedPrefixedName != null)
+      return Optional.of(cachedPrefixedName);
+    else {
+      String prefixedName = resolveIRI(iri, prefixState.prefixManager);
+
+      prefixState.iri2PrefixedName.put(iri, prefixedName);
+
+      return Optional.of(prefixedName);
+    }
+  }
+
+  @NonNull private Optional<@NonNull IRI> resolvePrefixedName(@NonNull String prefixedName,
+    @NonNull DefaultPrefixManager prefixManager)
+  {
+    if (this.autogenPrefixedName2IRI.containsKey(prefixedName))
+      return Optional.of(this.autogenPrefixedName2IRI.get(prefixedName));
+    else {
+      String prefix = getPrefix(prefixedName);
+      String remainder = getRemainder(prefixedName);
+      if (prefix.isEmpty()) {
+        if (remainder.isEmpty())
+          return Optional.empty(); // Prefix and remainder empty
+        else { // Prefix empty, remainder not empty
+          IRI iri = prefixManager.getIRI(remainder);
+          if (iri != null)
+            return Optional.of(iri);
+          else
+            return Optional.empty();
+        }
+      } else { // Prefix not empty
+        IRI iri = prefixManager.getIRI(prefixedName);
+        if (iri != null)
+          return Optional.of(iri);
+        else { // Prefix manager does not have a mapping - try the auto-generated cache
+          String namespace = this.autogeneratedPrefix2Namespace.get(prefix);
+          if (namespace != null)
+            return Optional.of(IRI.create(namespace, remainder));
+          else
+            return Optional.empty(); // Cannot loadSWRLBuiltInLibraries a match
+        }
+      }
+    }
+  }
+
+  @NonNull private String resolveIRI(@NonNull IRI iri, @NonNull DefaultPrefixManager prefixManager)
+  {
+    String existingPrefixedName = prefixManager.getPrefixIRI(iri);
+    if (existingPrefixedName != null)
+      return existingPrefixedName;
+    else {
+      String namespace = iri.getNamespace();
+      com.google.common.base.Optional<@NonNull String> remainder = iri.getRemainder();
+      if (remainder.isPresent()) {
+        if (namespace.isEmpty())
+          return remainder.get();
+        else // OWLAPI prefix manager does not have a prefixed form. We auto-generate a prefix for each namespace.
+          return autoGeneratePrefixedName(iri, namespace, remainder.get());
+      } else // No remainder - auto-generate a prefixed form
+        return autoGeneratePrefixedName(iri);
+    }
   }
 
   @NonNull private String getPrefix(@NonNull String prefixedName)
@@ -209,28 +296,22 @@ public class DefaultIRIResolver implements IRIResolver
 
   @NonNull private String autoGeneratePrefix(@NonNull String namespace)
   {
-    if (this.autogenNamespace2Prefix.containsKey(namespace))
-      return this.autogenNamespace2Prefix.get(namespace);
-    else {
-      String autogeneratedPrefix = "autogen" + this.autogenPrefixNumber++ + ":";
-      this.autogenNamespace2Prefix.put(namespace, autogeneratedPrefix);
-      this.autogeneratedPrefix2Namespace.put(autogeneratedPrefix, namespace);
+    return this.autogenNamespace2Prefix.computeIfAbsent(namespace, n -> {
+      String autogeneratedPrefix = "autogen" + this.autogenPrefixNumber.getAndIncrement() + ":";
+      this.autogeneratedPrefix2Namespace.put(autogeneratedPrefix, n);
 
       return autogeneratedPrefix;
-    }
+    });
   }
 
   @NonNull private String autoGeneratePrefixedName(@NonNull IRI iri)
   {
-    if (this.autogenIRI2PrefixedName.containsKey(iri))
-      return this.autogenIRI2PrefixedName.get(iri);
-    else {
-      String autoGeneratedPrefixedName = "autogen:p" + this.autogenPrefixedNameNumber++;
-      this.autogenPrefixedName2IRI.put(autoGeneratedPrefixedName, iri);
-      this.autogenIRI2PrefixedName.put(iri, autoGeneratedPrefixedName);
+    return this.autogenIRI2PrefixedName.computeIfAbsent(iri, i -> {
+      String autoGeneratedPrefixedName = "autogen:p" + this.autogenPrefixedNameNumber.getAndIncrement();
+      this.autogenPrefixedName2IRI.put(autoGeneratedPrefixedName, i);
 
       return autoGeneratedPrefixedName;
-    }
+    });
   }
 
   @NonNull private String autoGeneratePrefixedName(@NonNull IRI iri, @NonNull String namespace,
@@ -243,18 +324,36 @@ public class DefaultIRIResolver implements IRIResolver
     return autogenPrefixedName;
   }
 
-  private void addSWRLAPIPrefixes()
+  private static void addSWRLAPIPrefixes(@NonNull DefaultPrefixManager prefixManager)
+  {
+    prefixManager.setPrefix("owl:", "http://www.w3.org/2002/07/owl#");
+    prefixManager.setPrefix("swrl:", "http://www.w3.org/2003/11/swrl#");
+    prefixManager.setPrefix("swrlb:", "http://www.w3.org/2003/11/swrlb#");
+    prefixManager.setPrefix("sqwrl:", "http://sqwrl.stanford.edu/ontologies/built-ins/3.4/sqwrl.owl#");
+    prefixManager.setPrefix("swrlm:", "http://swrl.stanford.edu/ontologies/built-ins/3.4/swrlm.owl#");
+    prefixManager.setPrefix("temporal:", "http://swrl.stanford.edu/ontologies/built-ins/3.3/temporal.owl#");
+    prefixManager.setPrefix("swrlx:", "http://swrl.stanford.edu/ontologies/built-ins/3.3/swrlx.owl#");
+    prefixManager.setPrefix("abox:", "http://swrl.stanford.edu/ontologies/built-ins/5.0.0/abox.owl#");
+    prefixManager.setPrefix("tbox:", "http://swrl.stanford.edu/ontologies/built-ins/5.0.0/tbox.owl#");
+    prefixManager.setPrefix("rbox:", "http://swrl.stanford.edu/ontologies/built-ins/5.0.0/rbox.owl#");
+    prefixManager.setPrefix("swrla:", "http://swrl.stanford.edu/ontologies/3.3/swrla.owl#");
+  }
+
+  private static final class PrefixState
   {
-    this.prefixManager.setPrefix("owl:", "http://www.w3.org/2002/07/owl#");
-    this.prefixManager.setPrefix("swrl:", "http://www.w3.org/2003/11/swrl#");
-    this.prefixManager.setPrefix("swrlb:", "http://www.w3.org/2003/11/swrlb#");
-    this.prefixManager.setPrefix("sqwrl:", "http://sqwrl.stanford.edu/ontologies/built-ins/3.4/sqwrl.owl#");
-    this.prefixManager.setPrefix("swrlm:", "http://swrl.stanford.edu/ontologies/built-ins/3.4/swrlm.owl#");
-    this.prefixManager.setPrefix("temporal:", "http://swrl.stanford.edu/ontologies/built-ins/3.3/temporal.owl#");
-    this.prefixManager.setPrefix("swrlx:", "http://swrl.stanford.edu/ontologies/built-ins/3.3/swrlx.owl#");
-    this.prefixManager.setPrefix("abox:", "http://swrl.stanford.edu/ontologies/built-ins/5.0.0/abox.owl#");
-    this.prefixManager.setPrefix("tbox:", "http://swrl.stanford.edu/ontologies/built-ins/5.0.0/tbox.owl#");
-    this.prefixManager.setPrefix("rbox:", "http://swrl.stanford.edu/ontologies/built-ins/5.0.0/rbox.owl#");
-    this.prefixManager.setPrefix("swrla:", "http://swrl.stanford.edu/ontologies/3.3/swrla.owl#");
+    @NonNull private final DefaultPrefixManager prefixManager; // Not modified after construction
+    private final long epoch;
+    @NonNull private final Cache<@NonNull IRI, @NonNull String> iri2PrefixedName;
+    @NonNull private final Cache<@NonNull IRI, @NonNull String> iri2ShortForm;
+    @NonNull private final Cache<@NonNull String, @NonNull IRI> prefixedName2IRI;
+
+    private PrefixState(@NonNull DefaultPrefixManager prefixManager, long epoch)
+    {
+      this.prefixManager = prefixManager;
+      this.epoch = epoch;
+      this.iri2PrefixedName = CacheBuilder.newBuilder().maximumSize(NAME_CACHE_MAXIMUM_SIZE).build();
+      this.iri2ShortForm = CacheBuilder.newBuilder().maximumSize(NAME_CACHE_MAXIMUM_SIZE).build();
+      this.prefixedName2IRI = CacheBuilder.newBuilder().maximumSize(NAME_CACHE_MAXIMUM_SIZE).build();
+    }
   }
-}
\ No newline at end of file
+}
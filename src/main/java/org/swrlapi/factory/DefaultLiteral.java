@@ -11,6 +11,7 @@ import org.semanticweb.owlapi.vocab.XSDVocabulary;
 import org.swrlapi.exceptions.LiteralException;
 import org.swrlapi.literal.Literal;
 import org.swrlapi.literal.OWLLiteralComparator;
+import org.swrlapi.literal.TypedLiteralValue;
 import org.swrlapi.literal.XSDDate;
 import org.swrlapi.literal.XSDDateTime;
 import org.swrlapi.literal.XSDDuration;
@@ -23,6 +24,7 @@ import java.net.URI;
 class DefaultLiteral implements Literal
 {
   @NonNull private final OWLLiteral literal;
+  @Nullable private volatile TypedLiteralValue typedLiteralValue = null; // Created on first use
 
   public DefaultLiteral(@NonNull OWLLiteral literal)
   {
@@ -34,6 +36,17 @@ class DefaultLiteral implements Literal
     return this.literal;
   }
 
+  @NonNull @Override public TypedLiteralValue getTypedLiteralValue()
+  {
+    TypedLiteralValue typedLiteralValue = this.typedLiteralValue;
+
+    if (typedLiteralValue == null) {
+      typedLiteralValue = new TypedLiteralValue(this.literal);
+      this.typedLiteralValue = typedLiteralValue;
+    }
+    return typedLiteralValue;
+  }
+
   @Override public boolean isNumeric()
   {
     return OWLLiteralComparator.isNumeric(literal);
@@ -225,7 +238,7 @@ class DefaultLiteral implements Literal
         "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.BOOLEAN
           .getPrefixedName());
 
-    return Boolean.parseBoolean(this.literal.getLiteral());
+    return (Boolean)getTypedLiteralValue().getValue();
   }
 
   @Override public byte getByte() throws LiteralException
@@ -234,7 +247,7 @@ class DefaultLiteral implements Literal
       if (!isByte())
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.BYTE.getPrefixedName());
-      return Byte.parseByte(this.literal.getLiteral());
+      return (byte)getTypedLiteralValue().getLongValue();
     } catch (NumberFormatException e) {
       throw new LiteralException(
         "cannot convert value " + this.literal.getLiteral() + " of type " + this.literal.getDatatype()
@@ -245,10 +258,8 @@ class DefaultLiteral implements Literal
   @Override public short getShort() throws LiteralException
   {
     try {
-      if (isShort())
-        return Short.parseShort(this.literal.getLiteral());
-      else if (isByte())
-        return Byte.parseByte(this.literal.getLiteral());
+      if (isShort() || isByte())
+        return (short)getTypedLiteralValue().getLongValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.SHORT
@@ -263,12 +274,8 @@ class DefaultLiteral implements Literal
   @Override public int getInt() throws LiteralException
   {
     try {
-      if (isInt())
-        return Integer.parseInt(this.literal.getLiteral());
-      else if (isShort())
-        return Short.parseShort(this.literal.getLiteral());
-      else if (isByte())
-        return Byte.parseByte(this.literal.getLiteral());
+      if (isInt() || isShort() || isByte())
+        return (int)getTypedLiteralValue().getLongValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.INT.getPrefixedName());
@@ -282,14 +289,8 @@ class DefaultLiteral implements Literal
   @Override public long getLong() throws LiteralException
   {
     try {
-      if (isLong())
-        return Long.parseLong(this.literal.getLiteral());
-      else if (isInt())
-        return Integer.parseInt(this.literal.getLiteral());
-      else if (isShort())
-        return Short.parseShort(this.literal.getLiteral());
-      else if (isByte())
-        return Byte.parseByte(this.literal.getLiteral());
+      if (isLong() || isInt() || isShort() || isByte())
+        return getTypedLiteralValue().getLongValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.LONG.getPrefixedName());
@@ -306,17 +307,11 @@ class DefaultLiteral implements Literal
   {
     try {
       if (isFloat())
-        return Float.parseFloat(this.literal.getLiteral());
+        return (Float)getTypedLiteralValue().getValue();
       else if (isDouble())
         return Float.parseFloat(this.literal.getLiteral());
-      else if (isInt())
-        return Integer.parseInt(this.literal.getLiteral());
-      else if (isLong())
-        return Long.parseLong(this.literal.getLiteral());
-      else if (isShort())
-        return Short.parseShort(this.literal.getLiteral());
-      else if (isByte())
-        return Byte.parseByte(this.literal.getLiteral());
+      else if (isInt() || isLong() || isShort() || isByte())
+        return getTypedLiteralValue().getLongValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.FLOAT
@@ -334,17 +329,11 @@ class DefaultLiteral implements Literal
   {
     try {
       if (isDouble())
-        return Double.parseDouble(this.literal.getLiteral());
+        return (Double)getTypedLiteralValue().getValue();
       else if (isFloat())
-        return Float.parseFloat(this.literal.getLiteral());
-      else if (isInt())
-        return Integer.parseInt(this.literal.getLiteral());
-      else if (isLong())
-        return Long.parseLong(this.literal.getLiteral());
-      else if (isShort())
-        return Short.parseShort(this.literal.getLiteral());
-      else if (isByte())
-        return Byte.parseByte(this.literal.getLiteral());
+        return (Float)getTypedLiteralValue().getValue();
+      else if (isInt() || isLong() || isShort() || isByte())
+        return getTypedLiteralValue().getLongValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.DOUBLE
@@ -360,7 +349,7 @@ class DefaultLiteral implements Literal
   {
     try {
       if (isNumeric())
-        return new BigDecimal(this.literal.getLiteral());
+        return getTypedLiteralValue().getDecimalValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.DECIMAL
@@ -563,7 +552,7 @@ class DefaultLiteral implements Literal
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.ANY_URI
             .getPrefixedName());
-      return URI.create(this.literal.getLiteral());
+      return (URI)getTypedLiteralValue().getValue();
     } catch (IllegalArgumentException e) {
       throw new LiteralException(
         "cannot convert value " + this.literal.getLiteral() + " of type " + this.literal.getDatatype() + " to "
@@ -576,7 +565,7 @@ class DefaultLiteral implements Literal
     if (!isTime())
       throw new LiteralException(
         "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.TIME.getPrefixedName());
-    return new XSDTime(this.literal.getLiteral());
+    return (XSDTime)getTypedLiteralValue().getValue();
   }
 
   @NonNull @Override public XSDDate getDate() throws LiteralException
@@ -584,7 +573,7 @@ class DefaultLiteral implements Literal
     if (!isDate())
       throw new LiteralException(
         "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.DATE.getPrefixedName());
-    return new XSDDate(this.literal.getLiteral());
+    return (XSDDate)getTypedLiteralValue().getValue();
   }
 
   @NonNull @Override public XSDDateTime getDateTime() throws LiteralException
@@ -593,7 +582,7 @@ class DefaultLiteral implements Literal
       throw new LiteralException(
         "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.DATE_TIME
           .getPrefixedName());
-    return new XSDDateTime(this.literal.getLiteral());
+    return (XSDDateTime)getTypedLiteralValue().getValue();
   }
 
   @NonNull @Override public XSDDuration getDuration() throws LiteralException
@@ -603,7 +592,7 @@ class DefaultLiteral implements Literal
         "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.DURATION
           .getPrefixedName());
 
-    return new XSDDuration(this.literal.getLiteral());
+    return (XSDDuration)getTypedLiteralValue().getValue();
   }
 
   @NonNull @Override public String getValue()
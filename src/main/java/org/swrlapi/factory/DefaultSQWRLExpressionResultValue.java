@@ -1,6 +1,9 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Deterministic;
+import org.checkerframework.dataflow.qual.SideEffectFree;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.values.SQWRLExpressionResultValue;
 
@@ -25,6 +28,24 @@ abstract class DefaultSQWRLExpressionResultValue extends DefaultSQWRLResultValue
     return this;
   }
 
+  @SideEffectFree @Deterministic @Override public boolean equals(@Nullable Object obj)
+  {
+    if (this == obj)
+      return true;
+    if ((obj == null) || (obj.getClass() != this.getClass()))
+      return false;
+    DefaultSQWRLExpressionResultValue e = (DefaultSQWRLExpressionResultValue)obj;
+
+    return this.rendering.equals(e.rendering);
+  }
+
+  @SideEffectFree @Deterministic @Override public int hashCode()
+  {
+    int hash = 176;
+    hash = hash + this.rendering.hashCode();
+    return hash;
+  }
+
   @Override public int compareTo(@NonNull SQWRLExpressionResultValue o)
   {
     if (o == null)
@@ -22,12 +22,8 @@ import org.swrlapi.sqwrl.values.SQWRLNamedIndividualResultValue;
 import org.swrlapi.sqwrl.values.SQWRLObjectPropertyExpressionResultValue;
 import org.swrlapi.sqwrl.values.SQWRLObjectPropertyResultValue;
 
-import java.util.Comparator;
-
 class DefaultSQWRLLiteralResultValue extends DefaultLiteral implements SQWRLLiteralResultValue
 {
-  private static final Comparator<@NonNull OWLLiteral> owlLiteralComparator = OWLLiteralComparator.COMPARATOR;
-
   private final String datatypePrefixedName;
 
   public DefaultSQWRLLiteralResultValue(@NonNull OWLLiteral literal, @NonNull String datatypePrefixedName)
@@ -193,13 +189,13 @@ class DefaultSQWRLLiteralResultValue extends DefaultLiteral implements SQWRLLite
       return false;
     DefaultSQWRLLiteralResultValue l = (DefaultSQWRLLiteralResultValue)obj;
 
-    return owlLiteralComparator.compare(this.getOWLLiteral(), l.getOWLLiteral()) == 0;
+    return OWLLiteralComparator.compare(getTypedLiteralValue(), l.getTypedLiteralValue()) == 0;
   }
 
   @SideEffectFree @Deterministic @Override public int hashCode()
   {
     int hash = 98;
-    hash = hash + (null == this.getOWLLiteral() ? 0 : this.getOWLLiteral().hashCode());
+    hash = hash + (null == this.getOWLLiteral() ? 0 : getTypedLiteralValue().getComparisonHashCode());
     return hash;
   }
 
@@ -208,6 +204,6 @@ class DefaultSQWRLLiteralResultValue extends DefaultLiteral implements SQWRLLite
     if (o == null)
       throw new NullPointerException();
 
-    return owlLiteralComparator.compare(this.getOWLLiteral(), o.getOWLLiteral());
+    return OWLLiteralComparator.compare(getTypedLiteralValue(), o.getTypedLiteralValue());
   }
 }
@@ -17,7 +17,7 @@ import org.swrlapi.sqwrl.SQWRLNames;
 import org.swrlapi.sqwrl.SQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLResult;
 import org.swrlapi.sqwrl.SQWRLResultGenerator;
-import org.swrlapi.sqwrl.SQWRLResultManager;
+import org.swrlapi.sqwrl.SQWRLResultStream;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
 import java.math.BigInteger;
@@ -36,7 +36,7 @@ class DefaultSQWRLQuery implements SQWRLQuery
   @NonNull private final String queryName;
   @NonNull private final List<@NonNull SWRLAtom> bodyAtoms;
   @NonNull private final List<@NonNull SWRLAtom> headAtoms;
-  @NonNull private final SQWRLResultManager sqwrlResult;
+  @NonNull private final DefaultSQWRLResultManager sqwrlResult;
   // Map of collection name to group arguments. Applies only to grouped collections.
   @NonNull private final Map<@NonNull String, @NonNull List<@NonNull SWRLBuiltInArgument>> collectionGroupArgumentsMap;
   @NonNull private final IRIResolver iriResolver;
@@ -48,13 +48,25 @@ class DefaultSQWRLQuery implements SQWRLQuery
   public DefaultSQWRLQuery(@NonNull String queryName, @NonNull List<@NonNull SWRLAtom> bodyAtoms,
     @NonNull List<@NonNull SWRLAtom> headAtoms, boolean active, @NonNull String comment,
     @NonNull LiteralFactory literalFactory, @NonNull IRIResolver iriResolver) throws SWRLBuiltInException
+  {
+    this(queryName, bodyAtoms, headAtoms, active, comment, literalFactory, iriResolver, false);
+  }
+
+  /**
+   * @param isColumnarResult If true, the query result is held column-wise
+   * @see org.swrlapi.factory.SQWRLResultColumnStore
+   */
+  public DefaultSQWRLQuery(@NonNull String queryName, @NonNull List<@NonNull SWRLAtom> bodyAtoms,
+    @NonNull List<@NonNull SWRLAtom> headAtoms, boolean active, @NonNull String comment,
+    @NonNull LiteralFactory literalFactory, @NonNull IRIResolver iriResolver, boolean isColumnarResult)
+    throws SWRLBuiltInException
   {
     this.queryName = queryName;
     this.bodyAtoms = new ArrayList<>(bodyAtoms);
     this.headAtoms = new ArrayList<>(headAtoms);
     this.active = active;
     this.comment = comment;
-    this.sqwrlResult = SWRLAPIInternalFactory.createSQWRLResultManager(iriResolver);
+    this.sqwrlResult = new DefaultSQWRLResultManager(iriResolver, isColumnarResult);
     this.collectionGroupArgumentsMap = new HashMap<>();
     this.iriResolver = iriResolver;
     this.literalFactory = literalFactory;
@@ -87,6 +99,11 @@ class DefaultSQWRLQuery implements SQWRLQuery
     return this.sqwrlResult;
   }
 
+  @NonNull @Override public SQWRLResultStream createSQWRLResultStream(int bufferSize) throws SQWRLException
+  {
+    return this.sqwrlResult.createSQWRLResultStream(bufferSize);
+  }
+
   @NonNull @Override public SQWRLResultGenerator getSQWRLResultGenerator()
   {
     return this.sqwrlResult;
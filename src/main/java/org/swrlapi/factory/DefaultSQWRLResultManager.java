@@ -1,7 +1,9 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.SideEffectFree;
+import org.semanticweb.owlapi.model.IRI;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.exceptions.SWRLAPIInternalException;
 import org.swrlapi.sqwrl.SQWRLResultManager;
@@ -34,7 +36,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 
 class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
@@ -47,6 +49,7 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
   @NonNull private final List<@NonNull Integer> selectedColumnIndexes, orderByColumnIndexes;
   @NonNull private final Map<@NonNull Integer, @NonNull String> aggregateColumnIndexes; // Map of (index, function) pairs
   private int numberOfColumns, currentRowDataColumnIndex;
+  private final boolean isColumnar;
   private boolean isConfigured, isPrepared, isRowOpen, isOrdered, isAscending, isDistinct, hasAggregates;
   private int limit = -1, nth = -1, firstN = -1, lastN = -1, sliceSize = -1;
   private boolean notNthSelection = false, firstSelection = false, lastSelection = false, notFirstSelection = false;
@@ -58,10 +61,28 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
   @NonNull private List<@NonNull SQWRLResultValue> rowData; // List of SQWRLResultValue objects used when assembling a row.
   @NonNull private Map<@NonNull String, @NonNull List<@NonNull SQWRLResultValue>> columnValuesMap; // Column name -> List<@NonNull SQWRLResultValue>
   private int currentRowIndex;
+  @Nullable private transient Set<@NonNull SQWRLResultRowKey> distinctRowKeys; // Row keys added for distinct results
+  // Group key -> index of the group's row in rows; aggregateAccumulators has the accumulators for each such row
+  @NonNull private transient Map<@NonNull SQWRLResultRowKey, @NonNull Integer> aggregateGroupIndexes;
+  @NonNull private transient List<@NonNull SQWRLAggregateAccumulator @NonNull []> aggregateAccumulators;
+  private transient int @NonNull [] aggregateColumns; // Aggregate column indexes, set when configured
+  @Nullable private transient DefaultSQWRLResultStream resultStream; // Receives the rows if the result is streamed
 
   public DefaultSQWRLResultManager(@NonNull IRIResolver iriResolver)
+  {
+    this(iriResolver, false);
+  }
+
+  /**
+   * @param iriResolver An IRI resolver
+   * @param isColumnar  If true, rows are held column-wise; they are encoded as they are added unless the result has
+   *                    aggregates, whose group rows are updated in place and are encoded when the result is prepared
+   * @see org.swrlapi.factory.SQWRLResultColumnStore
+   */
+  public DefaultSQWRLResultManager(@NonNull IRIResolver iriResolver, boolean isColumnar)
   {
     this.sqwrlResultValueFactory = SWRLAPIInternalFactory.createSQWRLResultValueFactory(iriResolver);
+    this.isColumnar = isColumnar;
 
     this.isConfigured = false;
     this.isPrepared = false;
@@ -81,6 +102,9 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     this.rowData = new ArrayList<>();
     this.columnValuesMap = new HashMap<>();
     this.currentRowIndex = -1; // If there are no rows in the final result, it will remain at -1.
+    this.aggregateGroupIndexes = new HashMap<>();
+    this.aggregateAccumulators = new ArrayList<>();
+    this.aggregateColumns = new int[0];
   }
 
   // Configuration phase methods
@@ -180,8 +204,12 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
       throw new SQWRLInvalidQueryException("aggregate columns cannot also be selected columns");
 
     this.hasAggregates = !this.aggregateColumnIndexes.isEmpty();
+    this.aggregateColumns = this.aggregateColumnIndexes.keySet().stream().mapToInt(Integer::intValue).sorted()
+      .toArray();
 
     this.isConfigured = true;
+
+    this.rows = createRows();
   }
 
   // Methods used to retrieve the result structure after the result has been configured
@@ -283,8 +311,16 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     throwExceptionIfNotConfigured();
     throwExceptionIfAlreadyPrepared();
 
-    if (this.isRowOpen)
-      this.rows.add(this.rowData);
+    if (this.isRowOpen) {
+      if (this.resultStream != null)
+        this.resultStream.addRow(this.rowData);
+      else if (this.hasAggregates)
+        addAggregateRow(this.rowData);
+      else if (this.isDistinct)
+        addDistinctRow(this.rowData);
+      else
+        this.rows.add(this.rowData);
+    }
 
     this.isRowOpen = false;
   }
@@ -305,10 +341,14 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     else
       this.currentRowIndex = -1;
 
+    if (this.resultStream != null)
+      this.resultStream.finished(); // Rows have already been delivered to the stream
+
     if (this.hasAggregates)
-      this.rows = aggregate(this.rows); // Aggregation implies killing duplicate rows
-    else if (this.isDistinct)
-      this.rows = distinct(this.rows);
+      aggregate(); // Rows were grouped as they were added
+    else if (this.isDistinct && this.distinctRowKeys == null)
+      this.rows = distinct(this.rows); // Rows were added before the result was marked as distinct
+    this.distinctRowKeys = null;
 
     if (this.isOrdered && this.rows.size() > 0)
       this.rows = orderBy(this.rows, this.isAscending);
@@ -318,6 +358,41 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     prepareColumnVectors();
   }
 
+  @Override public void failed(@NonNull Throwable failure) throws SQWRLException
+  {
+    if (this.resultStream != null)
+      this.resultStream.failed(failure);
+  }
+
+  /**
+   * Deliver the rows of this result to a stream as they are added instead of storing them. The stream is finished
+   * when the result is prepared, which leaves the result itself empty. Only results without ordering, distinct,
+   * aggregation, or selection operators can be streamed.
+   *
+   * @param bufferSize The maximum number of rows buffered before row addition waits for the reader
+   * @return A result stream
+   * @throws SQWRLException If the result cannot be streamed
+   */
+  @NonNull DefaultSQWRLResultStream createSQWRLResultStream(int bufferSize) throws SQWRLException
+  {
+    throwExceptionIfNotConfigured();
+    throwExceptionIfAlreadyPrepared();
+
+    if (bufferSize < 1)
+      throw new SQWRLException("invalid result stream buffer size " + bufferSize);
+
+    if (this.isOrdered || this.isDistinct || this.hasAggregates || hasSelectionOperator())
+      throw new SQWRLInvalidQueryException(
+        "only queries without ordering, distinct, aggregation, or selection operators can be streamed");
+
+    if (!this.rows.isEmpty())
+      throw new SQWRLResultStateException("attempt to stream result after rows have been added");
+
+    this.resultStream = new DefaultSQWRLResultStream(getColumnNames(), bufferSize);
+
+    return this.resultStream;
+  }
+
   // Methods used to retrieve data after result has been prepared
 
   @Override public int getNumberOfRows() throws SQWRLException
@@ -810,6 +885,13 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
       return sourceRows;
   }
 
+  private boolean hasSelectionOperator()
+  {
+    return hasLimit() || hasNth() || hasNotNth() || hasFirstSelection() || hasLastSelection() || hasNotFirstSelection()
+      || hasNotLastSelection() || hasNthSliceSelection() || hasNotNthSliceSelection() || hasNthLastSliceSelection()
+      || hasNotNthLastSliceSelection();
+  }
+
   private boolean hasLimit()
   {
     return this.limit != -1;
@@ -869,7 +951,19 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
   {
     this.columnValuesMap = new HashMap<>();
 
-    if (getNumberOfColumns() > 0) {
+    if (this.isColumnar) { // Rows and columns become views of the column store
+      SQWRLResultColumnStore columnStore;
+
+      if (this.rows instanceof SQWRLResultColumnStore) // Rows were encoded as they were added
+        columnStore = (SQWRLResultColumnStore)this.rows;
+      else // Aggregated, ordered, or selected rows
+        columnStore = new SQWRLResultColumnStore(this.rows, getNumberOfColumns(), getSQWRLResultValueFactory());
+
+      columnStore.trimToSize();
+      this.rows = columnStore;
+      for (int c = 0; c < getNumberOfColumns(); c++)
+        this.columnValuesMap.put(getColumnName(c), columnStore.getColumn(c));
+    } else if (getNumberOfColumns() > 0) {
       List<@NonNull List<@NonNull SQWRLResultValue>> columns = new ArrayList<>(getNumberOfColumns());
 
       for (int c = 0; c < getNumberOfColumns(); c++)
@@ -987,19 +1081,37 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     return ((value instanceof SQWRLLiteralResultValue) && (((SQWRLLiteralResultValue)value).isNumeric()));
   }
 
-  // TODO Fix - very inefficient
+  // Drops duplicate rows as they are added so that the result never holds more than the distinct rows
+  private void addDistinctRow(@NonNull List<@NonNull SQWRLResultValue> row) throws SQWRLException
+  {
+    Set<@NonNull SQWRLResultRowKey> rowKeys = this.distinctRowKeys;
+
+    if (rowKeys == null) { // First row since the result was marked as distinct
+      this.rows = distinct(this.rows);
+      rowKeys = new HashSet<>();
+      for (List<@NonNull SQWRLResultValue> existingRow : this.rows)
+        rowKeys.add(new SQWRLResultRowKey(existingRow));
+      this.distinctRowKeys = rowKeys;
+    }
+
+    try {
+      if (rowKeys.add(new SQWRLResultRowKey(row)))
+        this.rows.add(row);
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
+    }
+  }
+
+  // Keeps the first occurrence of each row and preserves row order
   @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> distinct(
     @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> sourceRows) throws SQWRLException
   {
-    List<@NonNull List<@NonNull SQWRLResultValue>> localRows = new ArrayList<>(sourceRows);
-    List<@NonNull List<@NonNull SQWRLResultValue>> processedRows = new ArrayList<>();
-    SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames, true); // Look at the
-    // entire row.
+    List<@NonNull List<@NonNull SQWRLResultValue>> processedRows = createRows();
+    Set<@NonNull SQWRLResultRowKey> rowKeys = new HashSet<>();
 
     try {
-      Collections.sort(localRows, rowComparator); // Binary search is expecting a sorted list
-      for (List<@NonNull SQWRLResultValue> row : localRows) {
-        if (Collections.binarySearch(processedRows, row, rowComparator) < 0)
+      for (List<@NonNull SQWRLResultValue> row : sourceRows) {
+        if (rowKeys.add(new SQWRLResultRowKey(row)))
           processedRows.add(row);
       }
     } catch (RuntimeException e) {
@@ -1008,93 +1120,92 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     return processedRows;
   }
 
-  @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> aggregate(
-    @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> sourceRows) throws SQWRLException
+  // Adds the row's aggregate column values to its group; the first row of each group becomes the group's result row.
+  // Aggregation implies killing duplicate rows.
+  private void addAggregateRow(@NonNull List<@NonNull SQWRLResultValue> row) throws SQWRLException
   {
-    List<@NonNull List<@NonNull SQWRLResultValue>> result = new ArrayList<>();
-    SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames,
-      this.selectedColumnIndexes, true);
-    // Key is index of aggregated row in result, value is hash map of aggregate column index to list of original values.
-    Map<@NonNull Integer, Map<@NonNull Integer, @NonNull List<@NonNull SQWRLResultValue>>> aggregatesMap = new HashMap<>();
-    // Map of column indexes to value lists; used to accumulate values for aggregation.
-    Map<@NonNull Integer, @NonNull List<@NonNull SQWRLResultValue>> aggregateRowMap;
-    List<@NonNull SQWRLResultValue> values;
-    SQWRLResultValue value;
-
-    for (List<@NonNull SQWRLResultValue> row : sourceRows) {
-      Optional<@NonNull Integer> foundRowIndex = findRowIndex(result, row,
-        rowComparator); // Find row with same values for non aggregated columns
-
-      if (foundRowIndex.isPresent()) { // Row with same values for non aggregated columns not yet present in result.
-        aggregateRowMap = aggregatesMap.get(foundRowIndex.get()); // Find the aggregate map
-        for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-          value = row.get(aggregateColumnIndex); // Find value
-          values = aggregateRowMap.get(aggregateColumnIndex); // Find row map
-          values.add(value); // Add value
-        }
-      } else { // We found a row that has the same values for the non aggregated columns.
-        aggregateRowMap = new HashMap<>();
-        // Find value for each aggregated column in row and add each to map indexed by result row
-        for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-          values = new ArrayList<>();
-          value = row.get(aggregateColumnIndex);
-          values.add(value);
-          aggregateRowMap.put(aggregateColumnIndex, values);
-        }
-        aggregatesMap.put(result.size(), aggregateRowMap); //
-        result.add(row);
-      }
+    SQWRLResultRowKey groupKey = new SQWRLResultRowKey(row, this.selectedColumnIndexes);
+    SQWRLAggregateAccumulator[] accumulators;
+
+    try {
+      Integer groupIndex = this.aggregateGroupIndexes.get(groupKey);
+
+      if (groupIndex == null) { // Row with same values for non aggregated columns not yet present in result
+        accumulators = new SQWRLAggregateAccumulator[this.aggregateColumns.length];
+        for (int i = 0; i < this.aggregateColumns.length; i++)
+          accumulators[i] = createAggregateAccumulator(this.aggregateColumns[i]);
+        this.aggregateGroupIndexes.put(groupKey, this.rows.size());
+        this.aggregateAccumulators.add(accumulators);
+        this.rows.add(row);
+      } else
+        accumulators = this.aggregateAccumulators.get(groupIndex);
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
     }
 
+    for (int i = 0; i < this.aggregateColumns.length; i++)
+      accumulators[i].add(row.get(this.aggregateColumns[i]));
+  }
+
+  // Replaces the aggregate column values in each group's result row with the aggregated values
+  private void aggregate() throws SQWRLException
+  {
     int rowIndex = 0;
-    for (List<@NonNull SQWRLResultValue> row : result) {
-      aggregateRowMap = aggregatesMap.get(rowIndex);
-
-      for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-        String aggregateFunctionName = this.aggregateColumnIndexes.get(aggregateColumnIndex);
-        List<@NonNull SQWRLResultValue> columnValues = aggregateRowMap.get(aggregateColumnIndex);
-
-        // We have checked in addCell that only numeric data are added for sum, max, min, and avg
-        if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MinAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = min(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MaxAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = max(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.SumAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = sum(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.AvgAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = avg(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MedianAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = median(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountAggregateFunction))
-          value = count(columnValues);
-        else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountDistinctAggregateFunction))
-          value = countDistinct(columnValues);
-        else
-          throw new SQWRLInvalidAggregateFunctionNameException("invalid aggregate function " + aggregateFunctionName);
+    for (List<@NonNull SQWRLResultValue> row : this.rows) {
+      SQWRLAggregateAccumulator[] accumulators = this.aggregateAccumulators.get(rowIndex);
 
-        row.set(aggregateColumnIndex, value);
-      }
+      for (int i = 0; i < this.aggregateColumns.length; i++)
+        row.set(this.aggregateColumns[i], accumulators[i].getAggregateValue());
       rowIndex++;
     }
-    return result;
+    this.aggregateGroupIndexes = new HashMap<>();
+    this.aggregateAccumulators = new ArrayList<>();
+  }
+
+  // Rows of a columnar result are encoded as they are added unless aggregation updates them in place
+  @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> createRows() throws SQWRLException
+  {
+    if (this.isColumnar && !this.hasAggregates)
+      return new SQWRLResultColumnStore(getNumberOfColumns(), getSQWRLResultValueFactory());
+    else
+      return new ArrayList<>();
+  }
+
+  @NonNull private SQWRLAggregateAccumulator createAggregateAccumulator(int aggregateColumnIndex)
+    throws SQWRLException
+  {
+    String aggregateFunctionName = this.aggregateColumnIndexes.get(aggregateColumnIndex);
+
+    // We have checked in addCell that only numeric data are added for sum, max, min, and avg
+    if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MinAggregateFunction))
+      return new MinAccumulator(aggregateColumnIndex);
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MaxAggregateFunction))
+      return new MaxAccumulator(aggregateColumnIndex);
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.SumAggregateFunction))
+      return new SumAccumulator(aggregateColumnIndex, SQWRLResultNames.SumAggregateFunction);
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.AvgAggregateFunction))
+      return new AvgAccumulator(aggregateColumnIndex);
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MedianAggregateFunction))
+      return new MedianAccumulator(aggregateColumnIndex);
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountAggregateFunction))
+      return new CountAccumulator();
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountDistinctAggregateFunction))
+      return new CountDistinctAccumulator();
+    else
+      throw new SQWRLInvalidAggregateFunctionNameException("invalid aggregate function " + aggregateFunctionName);
   }
 
   @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> orderBy(
     @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> sourceRows, boolean ascending) throws SQWRLException
   {
-    List<@NonNull List<@NonNull SQWRLResultValue>> result = new ArrayList<>(sourceRows);
     SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames,
       this.orderByColumnIndexes, ascending);
+    long orderedPrefixSize = getOrderedPrefixSize();
+
+    if (orderedPrefixSize != -1 && orderedPrefixSize < sourceRows.size())
+      return orderByTopK(sourceRows, rowComparator, (int)orderedPrefixSize);
+
+    List<@NonNull List<@NonNull SQWRLResultValue>> result = new ArrayList<>(sourceRows);
 
     try {
       Collections.sort(result, rowComparator);
@@ -1105,170 +1216,356 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     return result;
   }
 
-  @NonNull private SQWRLLiteralResultValue min(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  // Returns the first k rows that a full (stable) sort would produce using a bounded heap of k rows
+  @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> orderByTopK(
+    @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> sourceRows,
+    @NonNull SQWRLResultRowComparator rowComparator, int k) throws SQWRLException
   {
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MinAggregateFunction);
-
-    SQWRLLiteralResultValue result = columnValues.get(0);
+    if (k == 0)
+      return new ArrayList<>();
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
+    // Ties are broken on the source row index so that the result matches a stable sort
+    Comparator<@NonNull Integer> rowIndexComparator = (i1, i2) -> {
+      int diff = rowComparator.compare(sourceRows.get(i1), sourceRows.get(i2));
+      return diff != 0 ? diff : Integer.compare(i1, i2);
+    };
+    // The head of the heap is the last of the k rows ordered so far
+    PriorityQueue<@NonNull Integer> heap = new PriorityQueue<>(k, rowIndexComparator.reversed());
 
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.MinAggregateFunction + " aggregate on column with non numeric literal "
-            + value + " with type " + value.getOWLDatatype() + "in (0-based) row " + rowIndex + ", column "
-            + columnIndex);
-
-      if (result == null)
-        result = value;
-      else if (value.compareTo(result) < 0)
-        result = value;
-      rowIndex++;
+    try {
+      for (int rowIndex = 0; rowIndex < sourceRows.size(); rowIndex++) {
+        if (heap.size() < k)
+          heap.add(rowIndex);
+        else if (rowIndexComparator.compare(rowIndex, heap.peek()) < 0) {
+          heap.poll();
+          heap.add(rowIndex);
+        }
+      }
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
     }
 
+    List<@NonNull List<@NonNull SQWRLResultValue>> result = new ArrayList<>(heap.size());
+    while (!heap.isEmpty())
+      result.add(sourceRows.get(heap.poll()));
+    Collections.reverse(result);
+
     return result;
   }
 
-  @NonNull private SQWRLLiteralResultValue max(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  // Number of leading ordered rows read by the selection operators, or -1 if they may read rows beyond a prefix
+  private long getOrderedPrefixSize()
   {
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MaxAggregateFunction);
+    if (hasLimit())
+      return Math.max(this.limit, 0);
 
-    SQWRLLiteralResultValue result = columnValues.get(0);
+    if (hasNotNth() || hasNotFirstSelection() || hasLastSelection() || hasNotLastSelection()
+      || hasNotNthSliceSelection() || hasNthLastSliceSelection() || hasNotNthLastSliceSelection())
+      return -1;
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
+    long prefixSize = -1;
 
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.MaxAggregateFunction + " aggregate with non numeric literal " + value
-            + " with type " + value.getOWLDatatype() + "in (0-based) row " + rowIndex + ", column " + columnIndex);
+    if (hasNth())
+      prefixSize = Math.max(prefixSize, Math.max(this.nth, 1));
 
-      if (result == null)
-        result = value;
-      else if (value.compareTo(result) > 0)
-        result = value;
-      rowIndex++;
+    if (hasFirstSelection())
+      prefixSize = Math.max(prefixSize, Math.max(this.firstN, 1));
+
+    if (hasNthSliceSelection()) {
+      long n = Math.max(this.firstN, 1);
+      prefixSize = Math.max(prefixSize, Math.max(n, n + this.sliceSize - 1));
     }
 
-    return result;
+    return prefixSize;
   }
 
-  @NonNull private SQWRLLiteralResultValue sum(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  /**
+   * Incrementally computes the value of an aggregate function for one aggregate column of a group of rows.
+   */
+  private interface SQWRLAggregateAccumulator
   {
-    double sum = 0;
+    void add(@NonNull SQWRLResultValue value) throws SQWRLException;
 
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.SumAggregateFunction);
+    @NonNull SQWRLResultValue getAggregateValue() throws SQWRLException;
+  }
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
+  /**
+   * Base class for the accumulators of the numeric aggregate functions. It records one input value for each numeric
+   * datatype seen so that the aggregate value can be given the least narrow of the input types.
+   */
+  private abstract class NumericAccumulator implements SQWRLAggregateAccumulator
+  {
+    @NonNull private final String aggregateFunctionName;
+    @NonNull private final Map<@NonNull IRI, @NonNull SQWRLLiteralResultValue> inputTypeValues = new HashMap<>();
+    private final int columnIndex;
+    protected int count = 0;
 
-      if (!isNumericValue(value))
+    protected NumericAccumulator(int columnIndex, @NonNull String aggregateFunctionName)
+    {
+      this.columnIndex = columnIndex;
+      this.aggregateFunctionName = aggregateFunctionName;
+    }
+
+    @Override public void add(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      if (!value.isLiteral())
         throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.SumAggregateFunction + " aggregate  on non numeric value: " + value
-            + " with type " + value.getOWLDatatype() + " in (0-based) row " + rowIndex + ", column " + columnIndex);
+          "Found non literal value " + value + " in (0-based) row " + this.count + ", column " + this.columnIndex
+            + " - expecting literal");
 
-      double d = value.getDouble();
+      SQWRLLiteralResultValue literalValue = value.asLiteralResult();
 
-      sum = sum + d;
-      rowIndex++;
+      if (!isNumericValue(literalValue))
+        throw new SQWRLException(
+          "attempt to use " + this.aggregateFunctionName + " aggregate on column with non numeric literal "
+            + literalValue + " with type " + literalValue.getOWLDatatype() + " in (0-based) row " + this.count
+            + ", column " + this.columnIndex);
+
+      this.inputTypeValues.putIfAbsent(literalValue.getOWLDatatype().getIRI(), literalValue);
+      add(literalValue);
+      this.count++;
+    }
+
+    protected abstract void add(@NonNull SQWRLLiteralResultValue value) throws SQWRLException;
+
+    @NonNull protected SQWRLLiteralResultValue createAggregateValue(double value) throws SQWRLException
+    {
+      if (this.count == 0)
+        throw new SQWRLException("empty aggregate list for function " + this.aggregateFunctionName);
+
+      return getSQWRLResultValueFactory()
+        .createLeastNarrowNumericLiteralValue(value, new ArrayList<>(this.inputTypeValues.values()));
     }
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(sum, columnValues);
   }
 
-  @NonNull private SQWRLLiteralResultValue avg(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  private final class MinAccumulator extends NumericAccumulator
   {
-    double sum = 0;
-    int count = 0;
+    @Nullable private SQWRLLiteralResultValue min = null;
 
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for function " + SQWRLResultNames.AvgAggregateFunction);
+    public MinAccumulator(int columnIndex)
+    {
+      super(columnIndex, SQWRLResultNames.MinAggregateFunction);
+    }
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
+    @Override protected void add(@NonNull SQWRLLiteralResultValue value)
+    {
+      if (this.min == null || value.compareTo(this.min) < 0)
+        this.min = value;
+    }
 
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.AvgAggregateFunction + " aggregate on column with non literal value "
-            + value + " with type " + value.getOWLDatatype() + " in (0-based) row " + rowIndex + ", column "
-            + columnIndex);
+    @NonNull @Override public SQWRLResultValue getAggregateValue() throws SQWRLException
+    {
+      if (this.min == null)
+        throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MinAggregateFunction);
+
+      return this.min;
+    }
+  }
 
-      double d = value.getDouble();
+  private final class MaxAccumulator extends NumericAccumulator
+  {
+    @Nullable private SQWRLLiteralResultValue max = null;
 
-      count++;
-      sum = sum + d;
-      rowIndex++;
+    public MaxAccumulator(int columnIndex)
+    {
+      super(columnIndex, SQWRLResultNames.MaxAggregateFunction);
+    }
+
+    @Override protected void add(@NonNull SQWRLLiteralResultValue value)
+    {
+      if (this.max == null || value.compareTo(this.max) > 0)
+        this.max = value;
     }
-    double avgValue = sum / count;
 
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(avgValue, columnValues);
+    @NonNull @Override public SQWRLResultValue getAggregateValue() throws SQWRLException
+    {
+      if (this.max == null)
+        throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MaxAggregateFunction);
+
+      return this.max;
+    }
   }
 
-  @NonNull private SQWRLLiteralResultValue median(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  private class SumAccumulator extends NumericAccumulator
   {
-    double[] valueArray = new double[columnValues.size()];
-    int count = 0, middle = columnValues.size() / 2;
-    double medianValue;
+    protected double sum = 0;
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.MedianAggregateFunction + " aggregate on column with non literal value "
-            + value + " with type " + value.getOWLDatatype() + " in (0-based) row " + rowIndex + ", column "
-            + columnIndex);
+    public SumAccumulator(int columnIndex, @NonNull String aggregateFunctionName)
+    {
+      super(columnIndex, aggregateFunctionName);
+    }
 
-      double d = value.getDouble();
-      valueArray[count++] = d;
+    @Override protected void add(@NonNull SQWRLLiteralResultValue value) throws SQWRLException
+    {
+      this.sum = this.sum + value.getDouble();
     }
 
-    Arrays.sort(valueArray);
+    @NonNull @Override public SQWRLResultValue getAggregateValue() throws SQWRLException
+    {
+      return createAggregateValue(this.sum);
+    }
+  }
 
-    if (columnValues.size() % 2 == 1)
-      medianValue = valueArray[middle];
-    else
-      medianValue = (valueArray[middle - 1] + valueArray[middle]) / 2;
+  private final class AvgAccumulator extends SumAccumulator
+  {
+    public AvgAccumulator(int columnIndex)
+    {
+      super(columnIndex, SQWRLResultNames.AvgAggregateFunction);
+    }
 
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(medianValue, columnValues);
+    @NonNull @Override public SQWRLResultValue getAggregateValue() throws SQWRLException
+    {
+      return createAggregateValue(this.sum / this.count);
+    }
   }
 
-  @NonNull private SQWRLLiteralResultValue count(@NonNull List<@NonNull SQWRLResultValue> columnValues)
+  /**
+   * Values are held in a primitive array and the middle values are found with a selection algorithm rather than by
+   * sorting.
+   */
+  private final class MedianAccumulator extends NumericAccumulator
   {
-    return getSQWRLResultValueFactory().getLiteralValue(columnValues.size());
+    private double @NonNull [] values = new double[16];
+
+    public MedianAccumulator(int columnIndex)
+    {
+      super(columnIndex, SQWRLResultNames.MedianAggregateFunction);
+    }
+
+    @Override protected void add(@NonNull SQWRLLiteralResultValue value) throws SQWRLException
+    {
+      if (this.count == this.values.length)
+        this.values = Arrays.copyOf(this.values, this.values.length * 2);
+      this.values[this.count] = value.getDouble();
+    }
+
+    @NonNull @Override public SQWRLResultValue getAggregateValue() throws SQWRLException
+    {
+      int middle = this.count / 2;
+      double medianValue;
+
+      if (this.count == 0)
+        throw new SQWRLException("empty aggregate list for function " + SQWRLResultNames.MedianAggregateFunction);
+
+      double upperMiddleValue = select(this.values, this.count, middle);
+
+      if (this.count % 2 == 1)
+        medianValue = upperMiddleValue;
+      else { // After selection all values before the middle are no greater than the upper middle value
+        double lowerMiddleValue = this.values[0];
+        for (int i = 1; i < middle; i++)
+          if (Double.compare(this.values[i], lowerMiddleValue) > 0)
+            lowerMiddleValue = this.values[i];
+        medianValue = (lowerMiddleValue + upperMiddleValue) / 2;
+      }
+      return createAggregateValue(medianValue);
+    }
   }
 
-  @NonNull private SQWRLLiteralResultValue countDistinct(@NonNull List<@NonNull SQWRLResultValue> columnValues)
+  private final class CountAccumulator implements SQWRLAggregateAccumulator
   {
-    Set<@NonNull SQWRLResultValue> distinctValues = new HashSet<>(columnValues);
+    private int count = 0;
+
+    @Override public void add(@NonNull SQWRLResultValue value)
+    {
+      this.count++;
+    }
 
-    return getSQWRLResultValueFactory().getLiteralValue(distinctValues.size());
+    @NonNull @Override public SQWRLResultValue getAggregateValue()
+    {
+      return getSQWRLResultValueFactory().getLiteralValue(this.count);
+    }
   }
 
-  // TODO: linear search is not very efficient.
-  @NonNull private Optional<@NonNull Integer> findRowIndex(
-    @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> result, @NonNull List<@NonNull SQWRLResultValue> rowToFind,
-    @NonNull Comparator<List<@NonNull SQWRLResultValue>> rowComparator) throws SQWRLException
+  private final class CountDistinctAccumulator implements SQWRLAggregateAccumulator
   {
-    int rowIndex = 0;
+    @NonNull private final Set<@NonNull SQWRLResultValue> distinctValues = new HashSet<>();
 
-    try {
-      for (List<@NonNull SQWRLResultValue> row : result) {
-        if (rowComparator.compare(rowToFind, row) == 0)
-          return Optional.of(rowIndex);
-        rowIndex++;
+    @Override public void add(@NonNull SQWRLResultValue value)
+    {
+      this.distinctValues.add(value);
+    }
+
+    @NonNull @Override public SQWRLResultValue getAggregateValue()
+    {
+      return getSQWRLResultValueFactory().getLiteralValue(this.distinctValues.size());
+    }
+  }
+
+  /**
+   * Rearrange the first length values so that the value at index k is the one that would be there if they were
+   * sorted, with no greater values before it and no smaller values after it. Uses Hoare's selection algorithm.
+   */
+  private static double select(double @NonNull [] values, int length, int k)
+  {
+    int left = 0, right = length - 1;
+
+    while (left < right) {
+      double pivot = values[(left + right) >>> 1];
+      int i = left, j = right;
+
+      while (i <= j) {
+        while (Double.compare(values[i], pivot) < 0)
+          i++;
+        while (Double.compare(values[j], pivot) > 0)
+          j--;
+        if (i <= j) {
+          double tmp = values[i];
+          values[i] = values[j];
+          values[j] = tmp;
+          i++;
+          j--;
+        }
       }
-    } catch (RuntimeException e) {
-      throw new SQWRLException("Internal error comparing rows", e);
+      if (k <= j)
+        right = j;
+      else if (k >= i)
+        left = i;
+      else
+        break;
+    }
+    return values[k];
+  }
+
+  /**
+   * Hash key for a result row. Two keys are equal if their rows have pairwise equal values; the hash code is computed
+   * once when the key is created.
+   */
+  private static final class SQWRLResultRowKey
+  {
+    @NonNull private final List<@NonNull SQWRLResultValue> row;
+    private final int hashCode;
+
+    public SQWRLResultRowKey(@NonNull List<@NonNull SQWRLResultValue> row)
+    {
+      this.row = row;
+      this.hashCode = row.hashCode();
+    }
+
+    public SQWRLResultRowKey(@NonNull List<@NonNull SQWRLResultValue> row,
+      @NonNull List<@NonNull Integer> columnIndexes)
+    {
+      this.row = new ArrayList<>(columnIndexes.size());
+      for (Integer columnIndex : columnIndexes)
+        this.row.add(row.get(columnIndex));
+      this.hashCode = this.row.hashCode();
+    }
+
+    @Override public boolean equals(@Nullable Object obj)
+    {
+      if (this == obj)
+        return true;
+      if (!(obj instanceof SQWRLResultRowKey))
+        return false;
+      SQWRLResultRowKey k = (SQWRLResultRowKey)obj;
+
+      return this.hashCode == k.hashCode && this.row.equals(k.row);
+    }
+
+    @Override public int hashCode()
+    {
+      return this.hashCode;
     }
-    return Optional.<@NonNull Integer>empty();
   }
 
   private static class SQWRLResultRowComparator implements Comparator<List<@NonNull SQWRLResultValue>>
@@ -1326,24 +1623,6 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     }
   }
 
-  @NonNull private List<@NonNull SQWRLLiteralResultValue> convert2LiteralResultValues(
-    @NonNull List<@NonNull SQWRLResultValue> columnValues, int columnIndex) throws SQWRLException
-  {
-    List<@NonNull SQWRLLiteralResultValue> literalValues = new ArrayList<>();
-
-    int rowIndex = 0;
-    for (SQWRLResultValue value : columnValues) {
-      if (value.isLiteral())
-        literalValues.add(value.asLiteralResult());
-      else
-        throw new SQWRLException(
-          "Found non literal value " + value + " in (0-based) row " + rowIndex + ", column " + columnIndex
-            + " - expecting literal");
-      rowIndex++;
-    }
-    return literalValues;
-  }
-
   private SQWRLResultValueFactory getSQWRLResultValueFactory()
   {
     return this.sqwrlResultValueFactory;
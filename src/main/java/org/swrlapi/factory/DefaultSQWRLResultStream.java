@@ -0,0 +1,141 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.swrlapi.sqwrl.SQWRLResultStream;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLResultStateException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A SQWRL result stream backed by a bounded blocking queue. Rows are added by the thread running the query (via
+ * {@link org.swrlapi.factory.DefaultSQWRLResultManager}) and read by the caller.
+ *
+ * @see org.swrlapi.factory.DefaultSQWRLResultManager#createSQWRLResultStream(int)
+ */
+final class DefaultSQWRLResultStream implements SQWRLResultStream
+{
+  private static final long OFFER_TIMEOUT_MILLISECONDS = 100;
+
+  // Marks the end of the result in the queue; compared by identity
+  @NonNull private final List<@NonNull SQWRLResultValue> endOfResult = new ArrayList<>();
+
+  @NonNull private final List<@NonNull String> columnNames;
+  @NonNull private final BlockingQueue<@NonNull List<@NonNull SQWRLResultValue>> rowBuffer;
+  @Nullable private volatile Throwable failure;
+  private volatile boolean isClosed;
+  @Nullable private List<@NonNull SQWRLResultValue> currentRow;
+  private boolean isAtEndOfResult;
+
+  public DefaultSQWRLResultStream(@NonNull List<@NonNull String> columnNames, int bufferSize)
+  {
+    this.columnNames = Collections.unmodifiableList(new ArrayList<>(columnNames));
+    this.rowBuffer = new ArrayBlockingQueue<>(bufferSize);
+    this.failure = null;
+    this.isClosed = false;
+    this.currentRow = null;
+    this.isAtEndOfResult = false;
+  }
+
+  // Methods used by the thread running the query
+
+  /**
+   * Add a row, waiting while the buffer is full.
+   */
+  public void addRow(@NonNull List<@NonNull SQWRLResultValue> row) throws SQWRLException
+  {
+    if (!offer(row))
+      throw new SQWRLResultStateException("attempt to add row to closed result stream");
+  }
+
+  /**
+   * Signal that the query has finished normally.
+   */
+  public void finished() throws SQWRLException
+  {
+    offer(this.endOfResult);
+  }
+
+  /**
+   * Signal that the query has failed. The reader will receive the failure after reading the rows already buffered.
+   */
+  public void failed(@NonNull Throwable failure) throws SQWRLException
+  {
+    this.failure = failure;
+    offer(this.endOfResult);
+  }
+
+  // Methods used by the reader
+
+  @NonNull @Override public List<@NonNull String> getColumnNames()
+  {
+    return this.columnNames;
+  }
+
+  @Override public boolean next() throws SQWRLException
+  {
+    if (this.isAtEndOfResult || this.isClosed)
+      return false;
+
+    List<@NonNull SQWRLResultValue> row;
+    try {
+      row = this.rowBuffer.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQWRLException("interrupted while waiting for SQWRL result row", e);
+    }
+
+    if (row == this.endOfResult) {
+      Throwable failure = this.failure;
+
+      this.isAtEndOfResult = true;
+      this.currentRow = null;
+      if (failure != null)
+        throw new SQWRLException(
+          "error running SQWRL query: " + (failure.getMessage() != null ? failure.getMessage() : ""), failure);
+      return false;
+    } else {
+      this.currentRow = row;
+      return true;
+    }
+  }
+
+  @NonNull @Override public List<@NonNull SQWRLResultValue> getRow() throws SQWRLException
+  {
+    List<@NonNull SQWRLResultValue> row = this.currentRow;
+
+    if (row == null)
+      throw new SQWRLResultStateException("attempt to get row from result stream with no current row");
+
+    return Collections.unmodifiableList(row);
+  }
+
+  @Override public void close()
+  {
+    this.isClosed = true;
+    this.currentRow = null;
+    this.rowBuffer.clear();
+  }
+
+  // Returns false if the stream has been closed by the reader
+  private boolean offer(@NonNull List<@NonNull SQWRLResultValue> row) throws SQWRLException
+  {
+    try {
+      while (!this.isClosed) {
+        if (this.rowBuffer.offer(row, OFFER_TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS))
+          return true;
+      }
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQWRLException("interrupted while adding row to SQWRL result stream", e);
+    }
+  }
+}
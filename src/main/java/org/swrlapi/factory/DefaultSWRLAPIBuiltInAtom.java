@@ -1,7 +1,10 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.builtins.CompiledSWRLBuiltInArguments;
+import org.swrlapi.builtins.ResolvedSWRLBuiltIn;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
 import org.swrlapi.core.SWRLAPIBuiltInAtom;
@@ -13,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 class DefaultSWRLAPIBuiltInAtom extends SWRLBuiltInAtomImpl implements SWRLAPIBuiltInAtom
@@ -24,6 +28,8 @@ class DefaultSWRLAPIBuiltInAtom extends SWRLBuiltInAtomImpl implements SWRLAPIBu
   @NonNull private final String builtInPrefixedName;
   @NonNull private List<@NonNull SWRLBuiltInArgument> arguments;
   @NonNull private Set<@NonNull String> pathVariableNames = new HashSet<>();
+  @Nullable private transient ResolvedSWRLBuiltIn resolvedBuiltIn = null; // Resolved at rule load time
+  @Nullable private transient CompiledSWRLBuiltInArguments compiledArguments = null; // Compiled at rule load time
 
   private boolean sqwrlCollectionResultsUsed = false;
   private int builtInIndex = -1; // Index of this built-in atom in rule body; left-to-right, first built-in index is 0,
@@ -47,6 +53,7 @@ class DefaultSWRLAPIBuiltInAtom extends SWRLBuiltInAtomImpl implements SWRLAPIBu
   @Override public void setBuiltInArguments(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
   {
     this.arguments = arguments;
+    this.compiledArguments = null; // Compiled forms of the previous arguments no longer apply
   }
 
   @NonNull @Override public String getBuiltInPrefixedName()
@@ -69,6 +76,26 @@ class DefaultSWRLAPIBuiltInAtom extends SWRLBuiltInAtomImpl implements SWRLAPIBu
     return this.arguments.size();
   }
 
+  @NonNull @Override public Optional<@NonNull ResolvedSWRLBuiltIn> getResolvedBuiltIn()
+  {
+    return Optional.ofNullable(this.resolvedBuiltIn);
+  }
+
+  @Override public void setResolvedBuiltIn(@NonNull ResolvedSWRLBuiltIn resolvedBuiltIn)
+  {
+    this.resolvedBuiltIn = resolvedBuiltIn;
+  }
+
+  @NonNull @Override public CompiledSWRLBuiltInArguments getCompiledArguments()
+  {
+    return this.compiledArguments != null ? this.compiledArguments : CompiledSWRLBuiltInArguments.empty();
+  }
+
+  @Override public void setCompiledArguments(@NonNull CompiledSWRLBuiltInArguments compiledArguments)
+  {
+    this.compiledArguments = compiledArguments;
+  }
+
   @Override public int getBuiltInIndex()
   {
     return this.builtInIndex;
@@ -1,6 +1,7 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
@@ -8,7 +9,6 @@ import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
-import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
@@ -18,31 +18,23 @@ import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
-import org.semanticweb.owlapi.model.OWLDataPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLDatatypeDefinitionAxiom;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
-import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
 import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
-import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
-import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLDisjointUnionAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
-import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
-import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLException;
-import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
-import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
 import org.semanticweb.owlapi.model.OWLIndividual;
-import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
-import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
-import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLNaryIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLNaryPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
@@ -53,14 +45,11 @@ import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLReflexiveObjectPropertyAxiom;
-import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
 import org.semanticweb.owlapi.model.OWLSubAnnotationPropertyOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
-import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
-import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
-import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
-import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLUnaryPropertyAxiom;
 import org.semanticweb.owlapi.model.SWRLAtom;
 import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
 import org.semanticweb.owlapi.model.SWRLDArgument;
@@ -68,16 +57,19 @@ import org.semanticweb.owlapi.model.SWRLLiteralArgument;
 import org.semanticweb.owlapi.model.SWRLPredicate;
 import org.semanticweb.owlapi.model.SWRLRule;
 import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.util.SimpleIRIMapper;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.swrlapi.builtins.ResolvedSWRLBuiltIn;
 import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLAPIRule;
 import org.swrlapi.core.SWRLRuleRenderer;
@@ -91,6 +83,7 @@ import org.swrlapi.sqwrl.SQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLQueryRenderer;
 import org.swrlapi.sqwrl.SQWRLResult;
 import org.swrlapi.sqwrl.SQWRLResultGenerator;
+import org.swrlapi.sqwrl.SQWRLResultStream;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryNameException;
 import org.swrlapi.ui.model.SWRLAutoCompleter;
@@ -99,14 +92,17 @@ import org.swrlapi.ui.model.SWRLRuleEngineModel;
 import javax.annotation.Nonnull;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChangeListener
 {
@@ -114,6 +110,20 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
 
   private static final String AUTOGENERATED_RULE_NAME_PREFIX = "S";
 
+  // Supported OWL axiom types other than declarations and SWRL rules
+  @NonNull private static final Set<@NonNull AxiomType<?>> PROCESSED_AXIOM_TYPES = Collections.unmodifiableSet(
+    new HashSet<>(Arrays
+      .asList(AxiomType.CLASS_ASSERTION, AxiomType.OBJECT_PROPERTY_ASSERTION, AxiomType.DATA_PROPERTY_ASSERTION,
+        AxiomType.SAME_INDIVIDUAL, AxiomType.DIFFERENT_INDIVIDUALS, AxiomType.SUBCLASS_OF, AxiomType.EQUIVALENT_CLASSES,
+        AxiomType.SUB_OBJECT_PROPERTY, AxiomType.SUB_DATA_PROPERTY, AxiomType.EQUIVALENT_DATA_PROPERTIES,
+        AxiomType.EQUIVALENT_OBJECT_PROPERTIES, AxiomType.TRANSITIVE_OBJECT_PROPERTY,
+        AxiomType.SYMMETRIC_OBJECT_PROPERTY, AxiomType.FUNCTIONAL_OBJECT_PROPERTY,
+        AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, AxiomType.FUNCTIONAL_DATA_PROPERTY,
+        AxiomType.OBJECT_PROPERTY_DOMAIN, AxiomType.DATA_PROPERTY_DOMAIN, AxiomType.OBJECT_PROPERTY_RANGE,
+        AxiomType.DATA_PROPERTY_RANGE, AxiomType.INVERSE_OBJECT_PROPERTIES, AxiomType.IRREFLEXIVE_OBJECT_PROPERTY,
+        AxiomType.ASYMMETRIC_OBJECT_PROPERTY, AxiomType.DISJOINT_OBJECT_PROPERTIES,
+        AxiomType.DISJOINT_DATA_PROPERTIES)));
+
   @NonNull private final OWLOntology ontology;
   @NonNull private final IRIResolver iriResolver;
   @NonNull private final SWRLBuiltInLibraryManager swrlBuiltInLibraryManager;
@@ -134,13 +144,40 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
 
   @NonNull private final Set<SWRLRuleEngineModel> swrlRuleEngineModels;
 
+  // Shared because it keeps itself up to date from ontology changes
+  @Nullable private SWRLAutoCompleter swrlAutoCompleter;
+
+  // Changes received in event freeze mode; processed when that mode is finished
+  @NonNull private final List<@NonNull OWLOntologyChange> pendingOntologyChanges;
+
+  // Indexes over the ontology, keyed by index class; each is registered for ontology changes
+  @NonNull private final Map<@NonNull Class<?>, @NonNull OWLOntologyChangeListener> ontologyIndexes;
+
+  // Asserted OWL axioms added and removed since the OWL axiom change log was started
+  @NonNull private final Set<@NonNull OWLAxiom> addedOWLAxioms;
+  @NonNull private final Set<@NonNull OWLAxiom> removedOWLAxioms;
+
+  private final boolean columnarSQWRLResults;
   private boolean hasOntologyChanged = true; // Ensure initial processing
   private boolean eventFreezeMode = false;
+  private boolean isOWLAxiomChangeLogStarted = false;
+  private boolean isOWLAxiomChangeLogComplete = false; // False after the ontology has been completely reprocessed
 
   public DefaultSWRLAPIOWLOntology(@NonNull OWLOntology ontology, @NonNull IRIResolver iriResolver)
+  {
+    this(ontology, iriResolver, false);
+  }
+
+  /**
+   * @param columnarSQWRLResults If true, the results of SQWRL queries are stored column-wise
+   * @see org.swrlapi.factory.SQWRLResultColumnStore
+   */
+  public DefaultSWRLAPIOWLOntology(@NonNull OWLOntology ontology, @NonNull IRIResolver iriResolver,
+    boolean columnarSQWRLResults)
   {
     this.ontology = ontology;
     this.iriResolver = iriResolver;
+    this.columnarSQWRLResults = columnarSQWRLResults;
     this.swrlapiOWLDataFactory = SWRLAPIInternalFactory.createSWRLAPIOWLDataFactory(this.iriResolver);
     this.swrlBuiltInLibraryManager = SWRLAPIInternalFactory.createSWRLBuiltInLibraryManager();
 
@@ -158,6 +195,13 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
 
     this.swrlRuleEngineModels = new HashSet<>();
 
+    this.pendingOntologyChanges = new ArrayList<>();
+
+    this.ontologyIndexes = new ConcurrentHashMap<>();
+
+    this.addedOWLAxioms = new LinkedHashSet<>();
+    this.removedOWLAxioms = new LinkedHashSet<>();
+
     addSWRLAPIOntologies(this.ontology);
 
     iriResolver.updatePrefixes(this.ontology);
@@ -188,12 +232,18 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.dataPropertyDeclarationAxioms.clear();
     this.annotationPropertyDeclarationAxioms.clear();
 
+    this.pendingOntologyChanges.clear();
+
+    this.addedOWLAxioms.clear();
+    this.removedOWLAxioms.clear();
+    this.isOWLAxiomChangeLogComplete = false;
+
     this.hasOntologyChanged = false;
   }
 
   @Override public void registerRuleEngineModel(SWRLRuleEngineModel swrlRuleEngineModel)
   {
-    if (this.swrlRuleEngineModels.isEmpty())
+    if (!isListeningToOntologyChanges())
       this.ontology.getOWLOntologyManager().addOntologyChangeListener(this);
 
     this.swrlRuleEngineModels.add(swrlRuleEngineModel);
@@ -202,10 +252,75 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   @Override public void unregisterRuleEngineModel(SWRLRuleEngineModel swrlRuleEngineModel)
   {
     this.swrlRuleEngineModels.remove(swrlRuleEngineModel);
-    if (this.swrlRuleEngineModels.isEmpty())
+    if (!isListeningToOntologyChanges())
       this.ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
   }
 
+  @NonNull @Override public <T extends OWLOntologyChangeListener> T getOWLOntologyIndex(@NonNull Class<T> indexClass,
+    @NonNull Function<@NonNull OWLOntology, @NonNull T> indexCreator)
+  {
+    return indexClass.cast(this.ontologyIndexes.computeIfAbsent(indexClass, c -> {
+      T index = indexCreator.apply(this.ontology);
+      this.ontology.getOWLOntologyManager().addOntologyChangeListener(index);
+      return index;
+    }));
+  }
+
+  @Override public void dispose()
+  {
+    for (OWLOntologyChangeListener index : this.ontologyIndexes.values())
+      this.ontology.getOWLOntologyManager().removeOntologyChangeListener(index);
+    this.ontologyIndexes.clear();
+
+    synchronized (this) {
+      if (this.swrlAutoCompleter != null) {
+        this.swrlAutoCompleter.dispose();
+        this.swrlAutoCompleter = null;
+      }
+    }
+
+    this.swrlRuleEngineModels.clear();
+    finishOWLAxiomChangeLog(); // Removes this ontology's listener now that there are no models
+  }
+
+  @Override public void startOWLAxiomChangeLog()
+  {
+    if (!isListeningToOntologyChanges())
+      this.ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+
+    this.isOWLAxiomChangeLogStarted = true;
+    this.isOWLAxiomChangeLogComplete = true;
+    this.addedOWLAxioms.clear();
+    this.removedOWLAxioms.clear();
+  }
+
+  @Override public void finishOWLAxiomChangeLog()
+  {
+    this.isOWLAxiomChangeLogStarted = false;
+    this.isOWLAxiomChangeLogComplete = false;
+    this.addedOWLAxioms.clear();
+    this.removedOWLAxioms.clear();
+
+    if (!isListeningToOntologyChanges())
+      this.ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+  }
+
+  @Override public boolean hasOWLAxiomChangeLog()
+  {
+    return this.isOWLAxiomChangeLogStarted && this.isOWLAxiomChangeLogComplete && this.pendingOntologyChanges
+      .isEmpty();
+  }
+
+  @NonNull @Override public Set<@NonNull OWLAxiom> getAddedOWLAxioms()
+  {
+    return Collections.unmodifiableSet(this.addedOWLAxioms);
+  }
+
+  @NonNull @Override public Set<@NonNull OWLAxiom> getRemovedOWLAxioms()
+  {
+    return Collections.unmodifiableSet(this.removedOWLAxioms);
+  }
+
   @NonNull @Override public SWRLAPIRule createSWRLRule(@NonNull String ruleName, @NonNull String rule)
     throws SWRLParseException, SWRLBuiltInException
   {
@@ -248,6 +363,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
 
       this.swrlRules.remove(ruleName);
       this.owlapiRules.remove(ruleName);
+      removeAssertedOWLAxiom(rule);
 
       this.ontology.getOWLOntologyManager().removeAxiom(this.ontology, owlapiRule);
     }
@@ -294,20 +410,9 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
 
     for (SWRLRule owlapiRule : getOWLOntology().getAxioms(AxiomType.SWRL_RULE, Imports.INCLUDED)) {
       Optional<@NonNull String> ruleName = getRuleName(owlapiRule);
-      boolean isActive = getIsRuleEnabled(owlapiRule);
-      String comment = getRuleComment(owlapiRule);
       String finalRuleName = ruleName.isPresent() ? ruleName.get() : "S" + ++ruleNameIndex;
 
-      SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule, finalRuleName, comment, isActive);
-
-      this.swrlRules.put(finalRuleName, swrlapiRule);
-      this.owlapiRules.put(finalRuleName, owlapiRule);
-      this.assertedOWLAxioms.add(swrlapiRule);
-
-      if (swrlapiRule.isSQWRLQuery()) {
-        SQWRLQuery query = createSQWRLQueryFromSWRLRule(swrlapiRule);
-        this.sqwrlQueries.put(finalRuleName, query);
-      }
+      processSWRLRule(owlapiRule, finalRuleName);
       // TODO Do we want to add axioms to OWLAPI rule that does not have them?
       // generateRuleAnnotations(ruleName, comment, true)
       // ontologyManager.removeAxiom(ontology, owlapiRule); // Remove the original annotated rule
@@ -315,6 +420,22 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     }
   }
 
+  private void processSWRLRule(@NonNull SWRLRule owlapiRule, @NonNull String ruleName) throws SWRLBuiltInException
+  {
+    boolean isActive = getIsRuleEnabled(owlapiRule);
+    String comment = getRuleComment(owlapiRule);
+    SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule, ruleName, comment, isActive);
+
+    this.swrlRules.put(ruleName, swrlapiRule);
+    this.owlapiRules.put(ruleName, owlapiRule);
+    addAssertedOWLAxiom(swrlapiRule);
+
+    if (swrlapiRule.isSQWRLQuery()) {
+      SQWRLQuery query = createSQWRLQueryFromSWRLRule(swrlapiRule);
+      this.sqwrlQueries.put(ruleName, query);
+    }
+  }
+
   @NonNull @Override public Optional<@NonNull SWRLAPIRule> getSWRLRule(@NonNull String ruleName)
     throws SWRLRuleException
   {
@@ -339,9 +460,12 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     return new SWRLParser(this);
   }
 
-  @NonNull @Override public SWRLAutoCompleter createSWRLAutoCompleter()
+  @NonNull @Override public synchronized SWRLAutoCompleter createSWRLAutoCompleter()
   {
-    return SWRLAPIInternalFactory.createSWRLAutoCompleter(this);
+    if (this.swrlAutoCompleter == null)
+      this.swrlAutoCompleter = SWRLAPIInternalFactory.createSWRLAutoCompleter(this);
+
+    return this.swrlAutoCompleter;
   }
 
   @NonNull @Override public SWRLRuleRenderer createSWRLRuleRenderer()
@@ -432,6 +556,15 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     return this.sqwrlQueries.get(queryName).getSQWRLResult();
   }
 
+  @NonNull @Override public SQWRLResultStream createSQWRLResultStream(@NonNull String queryName, int bufferSize)
+    throws SQWRLException
+  {
+    if (!this.sqwrlQueries.containsKey(queryName))
+      throw new SQWRLInvalidQueryNameException(queryName);
+
+    return this.sqwrlQueries.get(queryName).createSQWRLResultStream(bufferSize);
+  }
+
   /**
    * Get the result generator for a SQWRL query.
    */
@@ -451,7 +584,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     String comment = rule.getComment();
 
     return SWRLAPIInternalFactory.createSQWRLQuery(queryName, rule.getBodyAtoms(), rule.getHeadAtoms(), active, comment,
-      getSWRLAPIOWLDataFactory().getLiteralFactory(), getIRIResolver());
+      getSWRLAPIOWLDataFactory().getLiteralFactory(), getIRIResolver(), this.columnarSQWRLResults);
   }
 
   @NonNull private Optional<@NonNull String> getRuleName(@NonNull SWRLRule owlapiRule)
@@ -551,6 +684,16 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   @Override public void finishEventFreezeMode()
   {
     this.eventFreezeMode = false;
+
+    if (!this.pendingOntologyChanges.isEmpty()) {
+      List<@NonNull OWLOntologyChange> changes = new ArrayList<>(this.pendingOntologyChanges);
+      this.pendingOntologyChanges.clear();
+      try {
+        processOntologyChanges(changes);
+      } catch (SWRLBuiltInException e) {
+        throw new SWRLAPIException("error processing SQWRL queries in ontology: " + e.getMessage(), e);
+      }
+    }
   }
 
   @Override public boolean hasOntologyChanged()
@@ -626,8 +769,9 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
         List<@NonNull SWRLDArgument> swrlDArguments = builtInAtom.getArguments();
         List<@NonNull SWRLBuiltInArgument> swrlBuiltInArguments = convertSWRLDArguments2SWRLBuiltInArguments(
           swrlDArguments);
-        SWRLBuiltInAtom swrlapiBuiltInAtom = getSWRLAPIOWLDataFactory()
+        SWRLAPIBuiltInAtom swrlapiBuiltInAtom = getSWRLAPIOWLDataFactory()
           .getSWRLAPIBuiltInAtom(ruleName, builtInIRI, builtInPrefixedName, swrlBuiltInArguments);
+        resolveSWRLBuiltIn(swrlapiBuiltInAtom);
         swrlapiBodyAtoms.add(swrlapiBuiltInAtom);
       } else
         swrlapiBodyAtoms.add(atom); // Only built-in atoms are converted; other atoms remain the same
@@ -641,8 +785,9 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
         List<@NonNull SWRLDArgument> swrlDArguments = builtInAtom.getArguments();
         List<@NonNull SWRLBuiltInArgument> swrlBuiltInArguments = convertSWRLDArguments2SWRLBuiltInArguments(
           swrlDArguments);
-        SWRLBuiltInAtom swrlapiBuiltInAtom = getSWRLAPIOWLDataFactory()
+        SWRLAPIBuiltInAtom swrlapiBuiltInAtom = getSWRLAPIOWLDataFactory()
           .getSWRLAPIBuiltInAtom(ruleName, builtInIRI, builtInPrefixedName, swrlBuiltInArguments);
+        resolveSWRLBuiltIn(swrlapiBuiltInAtom);
         swrlapiHeadAtoms.add(swrlapiBuiltInAtom);
       } else
         swrlapiHeadAtoms.add(atom); // Only built-in atoms are converted; other atoms remain the same
@@ -650,6 +795,26 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     return SWRLAPIInternalFactory.createSWRLAPIRule(ruleName, swrlapiBodyAtoms, swrlapiHeadAtoms, comment, isActive);
   }
 
+  /**
+   * Resolve the implementation of a built-in once when its rule is loaded so that rule engines can invoke it directly,
+   * and compile its constant arguments. Built-ins without an implementation are left unresolved; an error will be
+   * reported if they are invoked.
+   */
+  private void resolveSWRLBuiltIn(@NonNull SWRLAPIBuiltInAtom builtInAtom)
+  {
+    try {
+      ResolvedSWRLBuiltIn resolvedBuiltIn = this.swrlBuiltInLibraryManager
+        .resolveSWRLBuiltIn(builtInAtom.getRuleName(), builtInAtom.getBuiltInPrefixedName());
+
+      builtInAtom.setResolvedBuiltIn(resolvedBuiltIn);
+      builtInAtom.setCompiledArguments(this.swrlBuiltInLibraryManager
+        .compileSWRLBuiltInArguments(resolvedBuiltIn, builtInAtom.getBuiltInArguments()));
+    } catch (SWRLBuiltInException e) {
+      log.debug("Could not resolve built-in " + builtInAtom.getBuiltInPrefixedName() + " in rule " + builtInAtom
+        .getRuleName() + ": " + e.getMessage());
+    }
+  }
+
   /**
    * Both the OWLAPI and the SWRLAPI use the {@link org.semanticweb.owlapi.model.SWRLBuiltInAtom} class to represent
    * built-in atoms. However, the SWRLAPI has a richer range of possible argument types. The OWLAPI allows
@@ -838,322 +1003,258 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
 
     this.swrlRules.put(ruleName, swrlapiRule);
     this.owlapiRules.put(ruleName, owlapiRule);
-    this.assertedOWLAxioms.add(swrlapiRule);
+    addAssertedOWLAxiom(swrlapiRule);
 
     this.ontology.getOWLOntologyManager().addAxiom(this.ontology, owlapiRule);
   }
 
   /**
-   * Process currently supported OWL axioms. The processing consists of recording any OWL properties in the processed
-   * axioms (with an instance of the {@link DefaultIRIResolver} class) and generating declaration
-   * axioms for these properties.
-   * <p>
-   * TODO The current approach is clunky. A better approach would be to walk the axioms with a visitor and recordOWLClassExpression the
-   * properties and generate the declaration axioms.
+   * Process currently supported OWL axioms. The processing consists of recording the supported axioms and generating
+   * declaration axioms for any undeclared classes, individuals, and properties that they refer to. Explicit declaration
+   * axioms are processed first so that generated declarations are only created for entities that have none.
    */
   private void processOWLAxioms()
   {
-    processOWLClassDeclarationAxioms();
-    processOWLIndividualDeclarationAxioms();
-    processOWLObjectPropertyDeclarationAxioms();
-    processOWLDataPropertyDeclarationAxioms();
-    processOWLAnnotationPropertyDeclarationAxioms();
-    processOWLClassAssertionAxioms();
-    processOWLObjectPropertyAssertionAxioms();
-    processOWLDataPropertyAssertionAxioms();
-    processOWLSameIndividualAxioms();
-    processOWLDifferentIndividualsAxioms();
-    processOWLSubClassOfAxioms();
-    processOWLEquivalentClassesAxioms();
-    processOWLSubObjectPropertyOfAxioms();
-    processOWLSubDataPropertyOfAxioms();
-    processOWLEquivalentDataPropertiesAxioms();
-    processOWLEquivalentObjectPropertiesAxioms();
-    processOWLTransitiveObjectPropertyAxioms();
-    processOWLSymmetricObjectPropertyAxioms();
-    processOWLFunctionalObjectPropertyAxioms();
-    processOWLInverseFunctionalObjectPropertyAxioms();
-    processOWLFunctionalDataPropertyAxioms();
-    processOWLObjectPropertyDomainAxioms();
-    processOWLDataPropertyDomainAxioms();
-    processOWLObjectPropertyRangeAxioms();
-    processOWLDataPropertyRangeAxioms();
-    processOWLInverseObjectPropertiesAxioms();
-    processOWLIrreflexiveObjectPropertyAxioms();
-    processOWLAsymmetricObjectPropertyAxioms();
-    processOWLDisjointObjectPropertiesAxioms();
-    processOWLDisjointDataPropertiesAxioms();
-  }
-
-  private void processOWLClassAssertionAxioms()
-  {
-    for (OWLClassAssertionAxiom axiom : getOWLClassAssertionAxioms()) {
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getIndividual());
-      this.assertedOWLAxioms.add(axiom);
-    }
+    for (OWLDeclarationAxiom axiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED))
+      processOWLDeclarationAxiom(axiom);
 
+    for (AxiomType<?> axiomType : PROCESSED_AXIOM_TYPES)
+      for (OWLAxiom axiom : getOWLOntology().getAxioms(axiomType, Imports.INCLUDED))
+        processOWLAxiom(axiom);
   }
 
-  private void processOWLObjectPropertyAssertionAxioms()
+  private void processOWLDeclarationAxiom(@NonNull OWLDeclarationAxiom axiom)
   {
-    for (OWLObjectPropertyAssertionAxiom axiom : getOWLObjectPropertyAssertionAxioms()) {
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getObject());
-      this.assertedOWLAxioms.add(axiom);
-    }
-  }
+    OWLEntity entity = axiom.getEntity();
+    Optional<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>> declarationAxioms = getDeclarationAxioms(entity);
 
-  private void processOWLDataPropertyAssertionAxioms()
-  {
-    for (OWLDataPropertyAssertionAxiom axiom : getOWLDataPropertyAssertionAxioms()) {
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
-      this.assertedOWLAxioms.add(axiom);
-    }
-  }
+    if (declarationAxioms.isPresent()) {
+      OWLDeclarationAxiom previousAxiom = declarationAxioms.get().put(entity.getIRI(), axiom);
 
-  private void processOWLClassDeclarationAxioms()
-  {
-    for (OWLDeclarationAxiom axiom : getOWLClassDeclarationAxioms()) {
-      OWLEntity cls = axiom.getEntity();
-      this.classDeclarationAxioms.put(cls.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
+      if (previousAxiom != null && isGeneratedOWLDeclarationAxiom(previousAxiom))
+        removeAssertedOWLAxiom(previousAxiom);
+      addAssertedOWLAxiom(axiom);
     }
   }
 
-  private void processOWLIndividualDeclarationAxioms()
+  private void processOWLAxiom(@NonNull OWLAxiom axiom)
   {
-    for (OWLDeclarationAxiom axiom : getOWLIndividualDeclarationAxioms()) {
-      OWLEntity individual = axiom.getEntity();
-      this.individualDeclarationAxioms.put(individual.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
-  }
-
-  private void processOWLObjectPropertyDeclarationAxioms()
-  {
-    for (OWLDeclarationAxiom axiom : getOWLObjectPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-      this.objectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
+    getDeclarableOWLEntities(axiom).forEach(this::generateOWLDeclarationAxiomIfNecessary);
+    addAssertedOWLAxiom(axiom);
   }
 
-  private void processOWLDataPropertyDeclarationAxioms()
-  {
-    for (OWLDeclarationAxiom axiom : getOWLDataPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-
-      this.dataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
+  /**
+   * Returns the named entities in a supported axiom for which declaration axioms are generated.
+   */
+  @NonNull private Set<@NonNull OWLEntity> getDeclarableOWLEntities(@NonNull OWLAxiom axiom)
+  {
+    Set<@NonNull OWLEntity> entities = new HashSet<>();
+
+    if (axiom instanceof OWLClassAssertionAxiom)
+      addIfOWLEntity(entities, ((OWLClassAssertionAxiom)axiom).getIndividual());
+    else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+      addIfOWLEntity(entities, ((OWLObjectPropertyAssertionAxiom)axiom).getSubject());
+      addIfOWLEntity(entities, ((OWLObjectPropertyAssertionAxiom)axiom).getObject());
+    } else if (axiom instanceof OWLDataPropertyAssertionAxiom)
+      addIfOWLEntity(entities, ((OWLDataPropertyAssertionAxiom)axiom).getSubject());
+    else if (axiom instanceof OWLNaryIndividualAxiom) // Same and different individuals
+      ((OWLNaryIndividualAxiom)axiom).getIndividuals().forEach(individual -> addIfOWLEntity(entities, individual));
+    else if (axiom instanceof OWLSubClassOfAxiom) {
+      addIfOWLEntity(entities, ((OWLSubClassOfAxiom)axiom).getSubClass());
+      addIfOWLEntity(entities, ((OWLSubClassOfAxiom)axiom).getSuperClass());
+    } else if (axiom instanceof OWLEquivalentClassesAxiom)
+      entities.addAll(((OWLEquivalentClassesAxiom)axiom).getNamedClasses());
+    else if (axiom instanceof OWLSubPropertyAxiom) { // Object and data sub properties
+      addIfOWLEntity(entities, ((OWLSubPropertyAxiom<?>)axiom).getSubProperty());
+      addIfOWLEntity(entities, ((OWLSubPropertyAxiom<?>)axiom).getSuperProperty());
+    } else if (axiom instanceof OWLNaryPropertyAxiom) // Equivalent, disjoint, and inverse properties
+      ((OWLNaryPropertyAxiom<?>)axiom).getProperties().forEach(property -> addIfOWLEntity(entities, property));
+    else if (axiom instanceof OWLUnaryPropertyAxiom) { // Property characteristics, domains, and ranges
+      addIfOWLEntity(entities, ((OWLUnaryPropertyAxiom<?>)axiom).getProperty());
+      if (axiom instanceof OWLObjectPropertyDomainAxiom)
+        addIfOWLEntity(entities, ((OWLObjectPropertyDomainAxiom)axiom).getDomain());
+      else if (axiom instanceof OWLDataPropertyDomainAxiom)
+        addIfOWLEntity(entities, ((OWLDataPropertyDomainAxiom)axiom).getDomain());
+      else if (axiom instanceof OWLObjectPropertyRangeAxiom)
+        addIfOWLEntity(entities, ((OWLObjectPropertyRangeAxiom)axiom).getRange());
     }
+    return entities;
   }
 
-  private void processOWLAnnotationPropertyDeclarationAxioms()
+  private static void addIfOWLEntity(@NonNull Set<@NonNull OWLEntity> entities, @NonNull OWLObject owlObject)
   {
-    for (OWLDeclarationAxiom axiom : getOWLAnnotationPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-
-      this.annotationPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
+    if (owlObject instanceof OWLEntity)
+      entities.add((OWLEntity)owlObject);
   }
 
-  private void processOWLSameIndividualAxioms()
+  private void generateOWLDeclarationAxiomIfNecessary(@NonNull OWLEntity entity)
   {
-    Set<@NonNull OWLSameIndividualAxiom> axioms = getOWLSameIndividualAxioms();
-    for (OWLSameIndividualAxiom axiom : axioms) {
-      axiom.getIndividuals().forEach(this::generateOWLIndividualDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    if (entity.isOWLClass())
+      generateOWLClassDeclarationAxiom(entity.asOWLClass());
+    else if (entity.isOWLNamedIndividual())
+      generateOWLIndividualDeclarationAxiomIfNecessary(entity.asOWLNamedIndividual());
+    else if (entity.isOWLObjectProperty())
+      generateOWLObjectPropertyDeclarationAxiomIfNecessary(entity.asOWLObjectProperty());
+    else if (entity.isOWLDataProperty())
+      generateOWLDataPropertyDeclarationAxiomIfNecessary(entity.asOWLDataProperty());
   }
 
-  private void processOWLDifferentIndividualsAxioms()
+  @NonNull private Optional<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>> getDeclarationAxioms(
+    @NonNull OWLEntity entity)
   {
-    Set<@NonNull OWLDifferentIndividualsAxiom> axioms = getOWLDifferentIndividualsAxioms();
-    for (OWLDifferentIndividualsAxiom axiom : axioms) {
-      axiom.getIndividuals().forEach(this::generateOWLIndividualDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    if (entity.isOWLClass())
+      return Optional.of(this.classDeclarationAxioms);
+    else if (entity.isOWLNamedIndividual())
+      return Optional.of(this.individualDeclarationAxioms);
+    else if (entity.isOWLObjectProperty())
+      return Optional.of(this.objectPropertyDeclarationAxioms);
+    else if (entity.isOWLDataProperty())
+      return Optional.of(this.dataPropertyDeclarationAxioms);
+    else if (entity.isOWLAnnotationProperty())
+      return Optional.of(this.annotationPropertyDeclarationAxioms);
+    else
+      return Optional.empty();
   }
 
-  private void processOWLSubClassOfAxioms()
+  private boolean isGeneratedOWLDeclarationAxiom(@NonNull OWLDeclarationAxiom axiom)
   {
-    Set<@NonNull OWLSubClassOfAxiom> axioms = getOWLSubClassOfAxioms();
-    for (OWLSubClassOfAxiom axiom : axioms) {
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getSubClass());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getSuperClass());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    return !isAssertedInOntology(axiom);
   }
 
-  private void processOWLEquivalentClassesAxioms()
+  private boolean isAssertedInOntology(@NonNull OWLAxiom axiom)
   {
-    Set<@NonNull OWLEquivalentClassesAxiom> axioms = getOWLEquivalentClassesAxioms();
-    for (OWLEquivalentClassesAxiom axiom : axioms) {
-      axiom.getNamedClasses().forEach(this::generateOWLClassDeclarationAxiom);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    return getOWLOntology().containsAxiom(axiom, Imports.INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS);
   }
 
-  private void processOWLSubObjectPropertyOfAxioms()
+  /**
+   * A declaration axiom is generated for an entity if at least one supported axiom in the ontology refers to it in a
+   * position that requires a declaration.
+   */
+  private boolean isOWLDeclarationAxiomRequired(@NonNull OWLEntity entity)
   {
-    Set<@NonNull OWLSubObjectPropertyOfAxiom> axioms = getOWLSubObjectPropertyOfAxioms();
-    for (OWLSubObjectPropertyOfAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
+    for (OWLAxiom axiom : getOWLOntology().getReferencingAxioms(entity, Imports.INCLUDED)) {
+      if (PROCESSED_AXIOM_TYPES.contains(axiom.getAxiomType()) && getDeclarableOWLEntities(axiom).contains(entity))
+        return true;
     }
-    this.assertedOWLAxioms.addAll(axioms);
+    return false;
   }
 
-  private void processOWLSubDataPropertyOfAxioms()
+  /**
+   * Update the extracted rules, queries, and axioms with a set of ontology changes. Only rules that have been added or
+   * removed are converted or discarded. Changes other than axiom additions and removals (e.g., import changes) may
+   * affect the entire imports closure so they cause the ontology to be completely reprocessed.
+   */
+  private void processOntologyChanges(@NonNull List<? extends OWLOntologyChange> changes) throws SWRLBuiltInException
   {
-    Set<@NonNull OWLSubDataPropertyOfAxiom> axioms = getOWLSubDataPropertyOfAxioms();
-    for (OWLSubDataPropertyOfAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    Set<@NonNull OWLOntology> importsClosure = getOWLOntology().getImportsClosure();
 
-  private void processOWLTransitiveObjectPropertyAxioms()
-  {
-    Set<@NonNull OWLTransitiveObjectPropertyAxiom> axioms = getOWLTransitiveObjectPropertyAxioms();
-    for (OWLTransitiveObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    for (OWLOntologyChange change : changes) {
+      if (!importsClosure.contains(change.getOntology()))
+        continue;
 
-  private void processOWLSymmetricObjectPropertyAxioms()
-  {
-    Set<@NonNull OWLSymmetricObjectPropertyAxiom> axioms = getOWLSymmetricObjectPropertyAxioms();
-    for (OWLSymmetricObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
+      if (change.isAddAxiom())
+        processAddedOWLAxiom(change.getAxiom());
+      else if (change.isRemoveAxiom())
+        processRemovedOWLAxiom(change.getAxiom());
+      else {
+        processOntology();
+        return;
+      }
+    }
+    notifyRegisteredRuleEngineModels();
   }
 
-  private void processOWLFunctionalObjectPropertyAxioms()
+  // Changes are processed after they have been applied so we check the ontology's current state
+  private void processAddedOWLAxiom(@NonNull OWLAxiom axiom) throws SWRLBuiltInException
   {
-    Set<@NonNull OWLFunctionalObjectPropertyAxiom> axioms = getOWLFunctionalObjectPropertyAxioms();
-    for (OWLFunctionalObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    if (!isAssertedInOntology(axiom))
+      return;
 
-  private void processOWLInverseFunctionalObjectPropertyAxioms()
-  {
-    Set<@NonNull OWLInverseFunctionalObjectPropertyAxiom> axioms = getOWLInverseFunctionalObjectPropertyAxioms();
-    for (OWLInverseFunctionalObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    if (axiom.isOfType(AxiomType.SWRL_RULE)) {
+      SWRLRule owlapiRule = (SWRLRule)axiom;
 
-  private void processOWLFunctionalDataPropertyAxioms()
-  {
-    Set<@NonNull OWLFunctionalDataPropertyAxiom> axioms = getOWLFunctionalDataPropertyAxioms();
-    for (OWLFunctionalDataPropertyAxiom axiom : axioms)
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+      if (!this.owlapiRules.containsValue(owlapiRule)) { // Rules created by this class are already recorded
+        Optional<@NonNull String> ruleName = getRuleName(owlapiRule);
+        String finalRuleName = ruleName.isPresent() ?
+          ruleName.get() :
+          getNextRuleName().orElseThrow(() -> new SWRLAPIInternalException("no rule names available"));
 
-  private void processOWLObjectPropertyDomainAxioms()
-  {
-    Set<@NonNull OWLObjectPropertyDomainAxiom> axioms = getOWLObjectPropertyDomainAxioms();
-    for (OWLObjectPropertyDomainAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+        processSWRLRule(owlapiRule, finalRuleName);
+      }
+    } else if (axiom.isOfType(AxiomType.DECLARATION))
+      processOWLDeclarationAxiom((OWLDeclarationAxiom)axiom);
+    else if (PROCESSED_AXIOM_TYPES.contains(axiom.getAxiomType()))
+      processOWLAxiom(axiom);
   }
 
-  private void processOWLDataPropertyDomainAxioms()
+  private void processRemovedOWLAxiom(@NonNull OWLAxiom axiom)
   {
-    Set<@NonNull OWLDataPropertyDomainAxiom> axioms = getOWLDataPropertyDomainAxioms();
-    for (OWLDataPropertyDomainAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    if (isAssertedInOntology(axiom)) // Still asserted in another ontology in the imports closure
+      return;
 
-  private void processOWLObjectPropertyRangeAxioms()
-  {
-    Set<@NonNull OWLObjectPropertyRangeAxiom> axioms = getOWLObjectPropertyRangeAxioms();
-    for (OWLObjectPropertyRangeAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getRange());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    if (axiom.isOfType(AxiomType.SWRL_RULE)) {
+      Optional<@NonNull String> ruleName = this.owlapiRules.entrySet().stream()
+        .filter(entry -> entry.getValue().equals(axiom)).map(Map.Entry::getKey).findFirst();
 
-  private void processOWLDataPropertyRangeAxioms()
-  {
-    Set<@NonNull OWLDataPropertyRangeAxiom> axioms = getOWLDataPropertyRangeAxioms();
-    for (OWLDataPropertyRangeAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
+      if (ruleName.isPresent()) {
+        SWRLAPIRule swrlapiRule = this.swrlRules.remove(ruleName.get());
+        this.owlapiRules.remove(ruleName.get());
+        this.sqwrlQueries.remove(ruleName.get());
+        if (swrlapiRule != null)
+          removeAssertedOWLAxiom(swrlapiRule);
+      }
+    } else if (axiom.isOfType(AxiomType.DECLARATION)) {
+      OWLEntity entity = ((OWLDeclarationAxiom)axiom).getEntity();
+      Optional<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>> declarationAxioms = getDeclarationAxioms(
+        entity);
+
+      if (declarationAxioms.isPresent() && axiom.equals(declarationAxioms.get().get(entity.getIRI()))) {
+        declarationAxioms.get().remove(entity.getIRI());
+        removeAssertedOWLAxiom(axiom);
+        if (isOWLDeclarationAxiomRequired(entity))
+          generateOWLDeclarationAxiomIfNecessary(entity);
+      }
+    } else if (PROCESSED_AXIOM_TYPES.contains(axiom.getAxiomType()) && removeAssertedOWLAxiom(axiom)) {
+      for (OWLEntity entity : getDeclarableOWLEntities(axiom)) {
+        Optional<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>> declarationAxioms = getDeclarationAxioms(
+          entity);
+
+        if (declarationAxioms.isPresent()) {
+          OWLDeclarationAxiom declarationAxiom = declarationAxioms.get().get(entity.getIRI());
+
+          if (declarationAxiom != null && isGeneratedOWLDeclarationAxiom(declarationAxiom)
+            && !isOWLDeclarationAxiomRequired(entity)) {
+            declarationAxioms.get().remove(entity.getIRI());
+            removeAssertedOWLAxiom(declarationAxiom);
+          }
+        }
+      }
     }
-    this.assertedOWLAxioms.addAll(axioms);
   }
 
-  private void processOWLIrreflexiveObjectPropertyAxioms()
+  private boolean addAssertedOWLAxiom(@NonNull OWLAxiom axiom)
   {
-    Set<@NonNull OWLIrreflexiveObjectPropertyAxiom> axioms = getOWLIrreflexiveObjectPropertyAxioms();
-    for (OWLIrreflexiveObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    boolean isAdded = this.assertedOWLAxioms.add(axiom);
 
-  private void processOWLAsymmetricObjectPropertyAxioms()
-  {
-    Set<@NonNull OWLAsymmetricObjectPropertyAxiom> axioms = getOWLAsymmetricObjectPropertyAxioms();
-    for (OWLAsymmetricObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    if (isAdded && this.isOWLAxiomChangeLogComplete && !this.removedOWLAxioms.remove(axiom))
+      this.addedOWLAxioms.add(axiom);
 
-  private void processOWLEquivalentObjectPropertiesAxioms()
-  {
-    Set<@NonNull OWLEquivalentObjectPropertiesAxiom> axioms = getOWLEquivalentObjectPropertiesAxioms();
-    for (OWLEquivalentObjectPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLObjectPropertyDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    return isAdded;
   }
 
-  private void processOWLEquivalentDataPropertiesAxioms()
+  private boolean removeAssertedOWLAxiom(@NonNull OWLAxiom axiom)
   {
-    Set<@NonNull OWLEquivalentDataPropertiesAxiom> axioms = getOWLEquivalentDataPropertiesAxioms();
-    for (OWLEquivalentDataPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLDataPropertyDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    boolean isRemoved = this.assertedOWLAxioms.remove(axiom);
 
-  private void processOWLInverseObjectPropertiesAxioms()
-  {
-    Set<@NonNull OWLInverseObjectPropertiesAxiom> axioms = getOWLInverseObjectPropertiesAxioms();
-    for (OWLInverseObjectPropertiesAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getFirstProperty());
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSecondProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
+    if (isRemoved && this.isOWLAxiomChangeLogComplete && !this.addedOWLAxioms.remove(axiom))
+      this.removedOWLAxioms.add(axiom);
 
-  private void processOWLDisjointObjectPropertiesAxioms()
-  {
-    Set<@NonNull OWLDisjointObjectPropertiesAxiom> axioms = getOWLDisjointObjectPropertiesAxioms();
-    for (OWLDisjointObjectPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLObjectPropertyDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    return isRemoved;
   }
 
-  private void processOWLDisjointDataPropertiesAxioms()
+  private boolean isListeningToOntologyChanges()
   {
-    Set<@NonNull OWLDisjointDataPropertiesAxiom> axioms = getOWLDisjointDataPropertiesAxioms();
-    for (OWLDisjointDataPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLDataPropertyDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    return !this.swrlRuleEngineModels.isEmpty() || this.isOWLAxiomChangeLogStarted;
   }
 
   private void generateOWLClassDeclarationAxiom(@NonNull OWLClass cls)
@@ -1161,7 +1262,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     if (!this.classDeclarationAxioms.containsKey(cls.getIRI())) {
       OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLClassDeclarationAxiom(cls);
       this.classDeclarationAxioms.put(cls.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
+      addAssertedOWLAxiom(axiom);
     }
   }
 
@@ -1180,7 +1281,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory()
         .getOWLIndividualDeclarationAxiom(individual.asOWLNamedIndividual());
       this.individualDeclarationAxioms.put(individual.asOWLNamedIndividual().getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
+      addAssertedOWLAxiom(axiom);
     }
   }
 
@@ -1192,7 +1293,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       if (!this.objectPropertyDeclarationAxioms.containsKey(property.getIRI())) {
         OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLObjectPropertyDeclarationAxiom(property);
         this.objectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-        this.assertedOWLAxioms.add(axiom);
+        addAssertedOWLAxiom(axiom);
       }
     }
   }
@@ -1204,141 +1305,16 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       if (!this.dataPropertyDeclarationAxioms.containsKey(property.getIRI())) {
         OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLDataPropertyDeclarationAxiom(property);
         this.dataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-        this.assertedOWLAxioms.add(axiom);
+        addAssertedOWLAxiom(axiom);
       }
     }
   }
 
-  @NonNull private Set<@NonNull OWLSameIndividualAxiom> getOWLSameIndividualAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SAME_INDIVIDUAL, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLDifferentIndividualsAxiom> getOWLDifferentIndividualsAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DIFFERENT_INDIVIDUALS, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLSubObjectPropertyOfAxiom> getOWLSubObjectPropertyOfAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SUB_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLSubDataPropertyOfAxiom> getOWLSubDataPropertyOfAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SUB_DATA_PROPERTY, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLEquivalentClassesAxiom> getOWLEquivalentClassesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_CLASSES, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLClassAssertionAxiom> getOWLClassAssertionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.CLASS_ASSERTION, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLObjectPropertyAssertionAxiom> getOWLObjectPropertyAssertionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLDataPropertyAssertionAxiom> getOWLDataPropertyAssertionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLSubClassOfAxiom> getOWLSubClassOfAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SUBCLASS_OF, Imports.INCLUDED);
-  }
-
   @NonNull @SuppressWarnings("unused") private Set<@NonNull OWLDisjointClassesAxiom> getOWLDisjointClassesAxioms()
   {
     return getOWLOntology().getAxioms(AxiomType.DISJOINT_CLASSES, Imports.INCLUDED);
   }
 
-  @NonNull private Set<@NonNull OWLEquivalentDataPropertiesAxiom> getOWLEquivalentDataPropertiesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_DATA_PROPERTIES, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLEquivalentObjectPropertiesAxiom> getOWLEquivalentObjectPropertiesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_OBJECT_PROPERTIES, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLDisjointDataPropertiesAxiom> getOWLDisjointDataPropertiesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DISJOINT_DATA_PROPERTIES, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLDisjointObjectPropertiesAxiom> getOWLDisjointObjectPropertiesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DISJOINT_OBJECT_PROPERTIES, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLObjectPropertyDomainAxiom> getOWLObjectPropertyDomainAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_DOMAIN, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLDataPropertyDomainAxiom> getOWLDataPropertyDomainAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_DOMAIN, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLObjectPropertyRangeAxiom> getOWLObjectPropertyRangeAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_RANGE, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLDataPropertyRangeAxiom> getOWLDataPropertyRangeAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_RANGE, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLFunctionalObjectPropertyAxiom> getOWLFunctionalObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLFunctionalDataPropertyAxiom> getOWLFunctionalDataPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.FUNCTIONAL_DATA_PROPERTY, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLIrreflexiveObjectPropertyAxiom> getOWLIrreflexiveObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.IRREFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLInverseFunctionalObjectPropertyAxiom> getOWLInverseFunctionalObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLTransitiveObjectPropertyAxiom> getOWLTransitiveObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.TRANSITIVE_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLSymmetricObjectPropertyAxiom> getOWLSymmetricObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLAsymmetricObjectPropertyAxiom> getOWLAsymmetricObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.ASYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
-
-  @NonNull private Set<@NonNull OWLInverseObjectPropertiesAxiom> getOWLInverseObjectPropertiesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.INVERSE_OBJECT_PROPERTIES, Imports.INCLUDED);
-  }
-
   @NonNull private Set<@NonNull OWLNegativeDataPropertyAssertionAxiom> getOWLNegativeDataPropertyAssertionAxioms()
   {
     return getOWLOntology().getAxioms(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
@@ -1394,45 +1370,15 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     return getOWLOntology().getAxioms(AxiomType.SUB_ANNOTATION_PROPERTY_OF, Imports.INCLUDED);
   }
 
-  @NonNull private Set<@NonNull OWLDeclarationAxiom> getOWLClassDeclarationAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream()
-      .filter(owlDeclarationAxiom -> owlDeclarationAxiom.getEntity().isOWLClass()).collect(Collectors.toSet());
-  }
-
-  @NonNull private Set<@NonNull OWLDeclarationAxiom> getOWLIndividualDeclarationAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream()
-      .filter(owlDeclarationAxiom -> owlDeclarationAxiom.getEntity().isOWLNamedIndividual())
-      .collect(Collectors.toSet());
-  }
-
-  @NonNull private Set<@NonNull OWLDeclarationAxiom> getOWLObjectPropertyDeclarationAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream()
-      .filter(owlDeclarationAxiom -> owlDeclarationAxiom.getEntity().isOWLObjectProperty()).collect(Collectors.toSet());
-  }
-
-  @NonNull private Set<@NonNull OWLDeclarationAxiom> getOWLDataPropertyDeclarationAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream()
-      .filter(owlDeclarationAxiom -> owlDeclarationAxiom.getEntity().isOWLDataProperty()).collect(Collectors.toSet());
-  }
-
-  @NonNull private Set<@NonNull OWLDeclarationAxiom> getOWLAnnotationPropertyDeclarationAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream()
-      .filter(owlDeclarationAxiom -> owlDeclarationAxiom.getEntity().isOWLAnnotationProperty())
-      .collect(Collectors.toSet());
-  }
-
   @Override public void ontologiesChanged(@Nonnull List<? extends OWLOntologyChange> list) throws OWLException
   {
     this.hasOntologyChanged = true;
 
-    if (!eventFreezeMode) {
+    if (eventFreezeMode)
+      this.pendingOntologyChanges.addAll(list);
+    else {
       try {
-        processOntology();
+        processOntologyChanges(list);
       } catch (SWRLBuiltInException e) {
         String message = "error processing SQWRL queries in ontology: " + e.getMessage();
         throw new OWLException(message);
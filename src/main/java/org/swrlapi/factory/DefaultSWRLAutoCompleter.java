@@ -3,82 +3,213 @@ package org.swrlapi.factory;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.ui.model.SWRLAutoCompleter;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 /**
+ * Renderings are held in a sorted map so that the completions of a prefix are the contiguous range of renderings
+ * starting at the prefix. Each rendering is mapped to the number of entities or keywords that produce it.
+ * <p>
+ * The completer is kept up to date from ontology change events: an added or removed axiom adds or removes the
+ * renderings of the entities that enter or leave the signature of the ontology's imports closure. Any other change,
+ * and a change of the prefixes or auto-generated names of the IRI resolver, causes a rebuild on next use.
+ *
  * @see org.swrlapi.ui.dialog.SWRLRuleEditorDialog
  */
-class DefaultSWRLAutoCompleter implements SWRLAutoCompleter
+class DefaultSWRLAutoCompleter implements SWRLAutoCompleter, OWLOntologyChangeListener
 {
-  private static final Logger log = LoggerFactory.getLogger(DefaultSWRLAutoCompleter.class);
+  private static final String[] KEYWORDS = { "sameAs", "differentFrom", "and", "or", "not" };
 
-  @NonNull private final List<@NonNull String> renderings;
+  // Shorter completions first; the shortest is the prefix itself if it is a rendering
+  private static final Comparator<@NonNull String> COMPLETION_RANKING = Comparator.comparingInt(String::length)
+    .thenComparing(Comparator.naturalOrder());
+
+  @NonNull private final SWRLAPIOWLOntology swrlapiowlOntology;
+  @NonNull private final Set<@NonNull OWLEntity> entities;
+  @NonNull private final NavigableMap<@NonNull String, @NonNull Integer> renderings;
+
+  private long iriResolverEpoch;
+  private boolean isStale;
 
   public DefaultSWRLAutoCompleter(@NonNull SWRLAPIOWLOntology swrlapiowlOntology)
   {
-    IRIResolver iriResolver = swrlapiowlOntology.getIRIResolver();
-    this.renderings = new ArrayList<>();
-
-    for (OWLEntity owlEntity : swrlapiowlOntology.getOWLOntology().getSignature(Imports.INCLUDED)) {
-      //log.info("iri " + owlEntity.getIRI() + ", shortForm " + prefixManager.iri2ShortForm(owlEntity.getIRI()));
-      Optional<@NonNull String> shortForm = iriResolver.iri2ShortForm(owlEntity.getIRI());
-      if (shortForm.isPresent()) {
-        if (shortForm.get().startsWith(":")) // Strip leading ":"
-          this.renderings.add(shortForm.get().substring(1));
-        this.renderings.add(shortForm.get());
+    this.swrlapiowlOntology = swrlapiowlOntology;
+    this.entities = new HashSet<>();
+    this.renderings = new TreeMap<>();
+
+    build();
+
+    swrlapiowlOntology.getOWLOntology().getOWLOntologyManager().addOntologyChangeListener(this);
+  }
+
+  @NonNull @Override public synchronized List<@NonNull String> getCompletions(@NonNull String prefix)
+  {
+    List<@NonNull String> completions = new ArrayList<>();
+
+    updateIfStale();
+
+    for (String rendering : this.renderings.tailMap(prefix, true).keySet()) {
+      if (!rendering.startsWith(prefix))
+        break;
+      completions.add(rendering);
+    }
+    return completions;
+  }
+
+  @NonNull @Override public synchronized List<@NonNull String> getCompletions(@NonNull String prefix,
+    int maximumNumberOfCompletions)
+  {
+    TreeSet<@NonNull String> completions = new TreeSet<>(COMPLETION_RANKING);
+
+    if (maximumNumberOfCompletions <= 0)
+      return new ArrayList<>();
+
+    updateIfStale();
+
+    for (String rendering : this.renderings.tailMap(prefix, true).keySet()) {
+      if (!rendering.startsWith(prefix))
+        break;
+      if (completions.size() < maximumNumberOfCompletions)
+        completions.add(rendering);
+      else if (COMPLETION_RANKING.compare(rendering, completions.last()) < 0) {
+        completions.pollLast();
+        completions.add(rendering);
       }
     }
+    return new ArrayList<>(completions);
+  }
+
+  @Override public synchronized void dispose()
+  {
+    this.swrlapiowlOntology.getOWLOntology().getOWLOntologyManager().removeOntologyChangeListener(this);
+  }
+
+  @Override public synchronized void ontologiesChanged(@NonNull List<? extends OWLOntologyChange> changes)
+  {
+    OWLOntology ontology = this.swrlapiowlOntology.getOWLOntology();
+
+    if (this.isStale || this.iriResolverEpoch != getIRIResolverEpoch()) { // Renderings will be rebuilt anyway
+      this.isStale = true;
+      return;
+    }
+
+    Set<@NonNull OWLOntology> importsClosure = ontology.getImportsClosure();
+
+    for (OWLOntologyChange change : changes) {
+      if (!importsClosure.contains(change.getOntology()))
+        continue;
 
-    for (IRI swrlBuiltInIRI : swrlapiowlOntology.getSWRLBuiltInIRIs()) {
-      Optional<@NonNull String> prefixedName = iriResolver.iri2PrefixedName(swrlBuiltInIRI);
-      if (prefixedName.isPresent()) {
-        if (prefixedName.get().startsWith(":"))
-          this.renderings.add(prefixedName.get().substring(1));
-        this.renderings.add(prefixedName.get());
+      if (change.isAddAxiom()) {
+        for (OWLEntity owlEntity : change.getAxiom().getSignature())
+          if (this.entities.add(owlEntity))
+            addRenderings(getRenderings(owlEntity));
+      } else if (change.isRemoveAxiom()) { // Changes have been applied so we check the ontology's current signature
+        for (OWLEntity owlEntity : change.getAxiom().getSignature())
+          if (!ontology.containsEntityInSignature(owlEntity, Imports.INCLUDED) && this.entities.remove(owlEntity))
+            removeRenderings(getRenderings(owlEntity));
+      } else {
+        this.isStale = true;
+        return;
       }
     }
+  }
+
+  private void updateIfStale()
+  {
+    if (this.isStale || this.iriResolverEpoch != getIRIResolverEpoch())
+      build();
+  }
+
+  private void build()
+  {
+    IRIResolver iriResolver = this.swrlapiowlOntology.getIRIResolver();
+
+    this.iriResolverEpoch = getIRIResolverEpoch();
+    this.isStale = false;
+    this.entities.clear();
+    this.renderings.clear();
+
+    for (OWLEntity owlEntity : this.swrlapiowlOntology.getOWLOntology().getSignature(Imports.INCLUDED)) {
+      this.entities.add(owlEntity);
+      addRenderings(getRenderings(owlEntity));
+    }
+
+    for (IRI swrlBuiltInIRI : this.swrlapiowlOntology.getSWRLBuiltInIRIs())
+      addRenderings(getRenderings(iriResolver.iri2PrefixedName(swrlBuiltInIRI)));
 
     for (OWLRDFVocabulary v : OWLRDFVocabulary.values()) {
       String prefixedName = v.getPrefixedName();
       if (prefixedName != null)
-        this.renderings.add(prefixedName);
+        addRendering(prefixedName);
     }
 
     for (XSDVocabulary v : XSDVocabulary.values()) {
       String prefixedName = v.getPrefixedName();
       if (prefixedName != null)
-        this.renderings.add(prefixedName);
+        addRendering(prefixedName);
     }
 
-    this.renderings.add("sameAs");
-    this.renderings.add("differentFrom");
-    this.renderings.add("and");
-    this.renderings.add("or");
-    this.renderings.add("not");
+    for (String keyword : KEYWORDS)
+      addRendering(keyword);
+  }
 
-    Collections.sort(this.renderings);
+  @NonNull private List<@NonNull String> getRenderings(@NonNull OWLEntity owlEntity)
+  {
+    return getRenderings(this.swrlapiowlOntology.getIRIResolver().iri2ShortForm(owlEntity.getIRI()));
   }
 
-  @NonNull @Override public List<@NonNull String> getCompletions(@NonNull String prefix)
-  { // TODO Look at - not very efficient
-    List<@NonNull String> completions = new ArrayList<>();
+  @NonNull private static List<@NonNull String> getRenderings(@NonNull Optional<@NonNull String> name)
+  {
+    List<@NonNull String> renderings = new ArrayList<>(2);
 
-    for (String rendering : renderings) {
-      if (rendering.startsWith(prefix))
-        completions.add(rendering);
+    if (name.isPresent()) {
+      if (name.get().startsWith(":")) // Strip leading ":"
+        renderings.add(name.get().substring(1));
+      renderings.add(name.get());
     }
-    return completions;
+    return renderings;
+  }
+
+  private void addRenderings(@NonNull List<@NonNull String> renderings)
+  {
+    for (String rendering : renderings)
+      addRendering(rendering);
+  }
+
+  private void addRendering(@NonNull String rendering)
+  {
+    this.renderings.merge(rendering, 1, Integer::sum);
+  }
+
+  private void removeRenderings(@NonNull List<@NonNull String> renderings)
+  {
+    for (String rendering : renderings)
+      this.renderings.computeIfPresent(rendering, (r, count) -> count > 1 ? count - 1 : null);
+  }
+
+  // Renderings made under an earlier epoch may no longer be valid
+  private long getIRIResolverEpoch()
+  {
+    IRIResolver iriResolver = this.swrlapiowlOntology.getIRIResolver();
+
+    return iriResolver instanceof DefaultIRIResolver ? ((DefaultIRIResolver)iriResolver).getEpoch() : 0;
   }
 }
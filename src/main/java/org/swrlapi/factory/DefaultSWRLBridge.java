@@ -5,12 +5,16 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 import org.swrlapi.bridge.SWRLBridge;
 import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.builtins.ResolvedSWRLBuiltIn;
+import org.swrlapi.builtins.SWRLBuiltInBindingTable;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.exceptions.SWRLBuiltInBridgeException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
@@ -24,7 +28,9 @@ import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Default implementation of a SWRL rule engine bridge, built-in bridge, built-in bridge controller, and rule engine
@@ -147,7 +153,23 @@ public class DefaultSWRLBridge implements SWRLBridge
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     return this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager()
-      .invokeSWRLBuiltIn(this, ruleName, builtInName, builtInIndex, isInConsequent, arguments);
+      .invokeSWRLBuiltIn(this, ruleName, builtInName, builtInIndex, isInConsequent, arguments).distinct();
+  }
+
+  @NonNull @Override public SWRLBuiltInBindingTable invokeSWRLBuiltIn(
+    @NonNull SWRLAPIBuiltInAtom builtInAtom, boolean isInConsequent,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    Optional<@NonNull ResolvedSWRLBuiltIn> resolvedBuiltIn = builtInAtom.getResolvedBuiltIn();
+
+    if (resolvedBuiltIn.isPresent())
+      return this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager()
+        .invokeSWRLBuiltIn(this, resolvedBuiltIn.get(), builtInAtom.getCompiledArguments(), builtInAtom.getRuleName(),
+          builtInAtom.getBuiltInIndex(), isInConsequent, arguments);
+    else
+      return this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager()
+        .invokeSWRLBuiltIn(this, builtInAtom.getRuleName(), builtInAtom.getBuiltInPrefixedName(),
+          builtInAtom.getBuiltInIndex(), isInConsequent, arguments);
   }
 
   public boolean isOWLClass(@NonNull IRI iri)
@@ -200,6 +222,12 @@ public class DefaultSWRLBridge implements SWRLBridge
     return this.swrlapiOWLOntology.getOWLOntology();
   }
 
+  @NonNull @Override public <T extends OWLOntologyChangeListener> T getOWLOntologyIndex(@NonNull Class<T> indexClass,
+    @NonNull Function<@NonNull OWLOntology, @NonNull T> indexCreator)
+  {
+    return this.swrlapiOWLOntology.getOWLOntologyIndex(indexClass, indexCreator);
+  }
+
   @NonNull @Override public OWLLiteralFactory getOWLLiteralFactory()
   {
     return getSWRLAPIOWLDataFactory().getOWLLiteralFactory();
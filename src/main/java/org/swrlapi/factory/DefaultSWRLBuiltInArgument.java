@@ -33,6 +33,7 @@ import org.swrlapi.builtins.arguments.SWRLObjectPropertyBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLObjectPropertyExpressionBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
 import org.swrlapi.exceptions.SWRLAPIException;
+import org.swrlapi.exceptions.SWRLAPIInternalException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 
 import javax.annotation.Nonnull;
@@ -40,7 +41,7 @@ import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 
-abstract class DefaultSWRLBuiltInArgument implements SWRLBuiltInArgument
+abstract class DefaultSWRLBuiltInArgument implements SWRLBuiltInArgument, Cloneable
 {
   private static final long serialVersionUID = 1L;
 
@@ -81,6 +82,18 @@ abstract class DefaultSWRLBuiltInArgument implements SWRLBuiltInArgument
     this.boundVariableName = boundVariableName;
   }
 
+  /**
+   * @return A copy of this argument
+   */
+  @NonNull DefaultSWRLBuiltInArgument copy()
+  {
+    try {
+      return (DefaultSWRLBuiltInArgument)super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new SWRLAPIInternalException("could not copy built-in argument " + this);
+    }
+  }
+
   @NonNull @Override public SQWRLCollectionVariableBuiltInArgument asCollectionVariable() throws SWRLBuiltInException
   {
     throw new SWRLBuiltInException(
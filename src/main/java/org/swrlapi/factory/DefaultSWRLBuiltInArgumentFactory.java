@@ -1,6 +1,9 @@
 package org.swrlapi.factory;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -38,15 +41,27 @@ import java.net.URI;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Named entity and literal arguments are optionally interned in a weak, concurrent interner so that equal arguments
+ * created by enumerating built-ins share a single instance, which can be compared by identity. Variable, class and
+ * property expression, multi-value and collection arguments are mutable or rarely repeated and are never interned.
+ */
 class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
 {
   @NonNull private final IRIResolver iriResolver;
   @NonNull private final OWLLiteralFactory owlLiteralFactory;
+  @Nullable private final Interner<@NonNull DefaultSWRLBuiltInArgument> interner; // Null if not interning
 
   public DefaultSWRLBuiltInArgumentFactory(@NonNull IRIResolver iriResolver)
+  {
+    this(iriResolver, false);
+  }
+
+  public DefaultSWRLBuiltInArgumentFactory(@NonNull IRIResolver iriResolver, boolean internArguments)
   {
     this.iriResolver = iriResolver;
     this.owlLiteralFactory = SWRLAPIInternalFactory.createOWLLiteralFactory();
+    this.interner = internArguments ? Interners.newWeakInterner() : null;
   }
 
   @NonNull @Override public SWRLVariableBuiltInArgument getUnboundVariableBuiltInArgument(@NonNull IRI variableIRI)
@@ -63,7 +78,7 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
 
   @NonNull @Override public SWRLClassBuiltInArgument getClassBuiltInArgument(OWLClass cls)
   {
-    return new DefaultSWRLClassBuiltInArgument(cls);
+    return intern(new DefaultSWRLClassBuiltInArgument(cls));
   }
 
   @NonNull @Override public SWRLClassExpressionBuiltInArgument getClassExpressionBuiltInArgument(OWLClassExpression ce)
@@ -71,13 +86,13 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
     if (ce.isAnonymous())
       return new DefaultSWRLClassExpressionBuiltInArgument(ce);
     else
-      return new DefaultSWRLClassBuiltInArgument(ce.asOWLClass());
+      return intern(new DefaultSWRLClassBuiltInArgument(ce.asOWLClass()));
   }
 
   @NonNull @Override public SWRLObjectPropertyBuiltInArgument getObjectPropertyBuiltInArgument(
     @NonNull OWLObjectProperty property)
   {
-    return new DefaultSWRLObjectPropertyBuiltInArgument(property);
+    return intern(new DefaultSWRLObjectPropertyBuiltInArgument(property));
   }
 
   @NonNull @Override public SWRLObjectPropertyExpressionBuiltInArgument getObjectPropertyExpressionBuiltInArgument(
@@ -86,13 +101,13 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
     if (propertyExpression.isAnonymous())
       return new DefaultSWRLObjectPropertyExpressionBuiltInArgument(propertyExpression);
     else
-      return new DefaultSWRLObjectPropertyBuiltInArgument(propertyExpression.asOWLObjectProperty());
+      return intern(new DefaultSWRLObjectPropertyBuiltInArgument(propertyExpression.asOWLObjectProperty()));
   }
 
   @NonNull @Override public SWRLDataPropertyBuiltInArgument getDataPropertyBuiltInArgument(
     @NonNull OWLDataProperty property)
   {
-    return new DefaultSWRLDataPropertyBuiltInArgument(property);
+    return intern(new DefaultSWRLDataPropertyBuiltInArgument(property));
   }
 
   @NonNull @Override public SWRLDataPropertyExpressionBuiltInArgument getDataPropertyExpressionBuiltInArgument(
@@ -101,104 +116,104 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
     if (propertyExpression.isAnonymous())
       return new DefaultSWRLDataPropertyExpressionBuiltInArgument(propertyExpression);
     else
-      return new DefaultSWRLDataPropertyBuiltInArgument(propertyExpression.asOWLDataProperty());
+      return intern(new DefaultSWRLDataPropertyBuiltInArgument(propertyExpression.asOWLDataProperty()));
   }
 
   @NonNull @Override public SWRLAnnotationPropertyBuiltInArgument getAnnotationPropertyBuiltInArgument(
     @NonNull OWLAnnotationProperty property)
   {
-    return new DefaultSWRLAnnotationPropertyBuiltInArgument(property);
+    return intern(new DefaultSWRLAnnotationPropertyBuiltInArgument(property));
   }
 
   @NonNull @Override public SWRLDatatypeBuiltInArgument getDatatypeBuiltInArgument(@NonNull OWLDatatype datatype)
   {
-    return new DefaultSWRLDatatypeBuiltInArgument(datatype);
+    return intern(new DefaultSWRLDatatypeBuiltInArgument(datatype));
   }
 
   @NonNull @Override public SWRLNamedIndividualBuiltInArgument getNamedIndividualBuiltInArgument(
     @NonNull OWLNamedIndividual individual)
   {
-    return new DefaultSWRLNamedIndividualBuiltInArgument(individual);
+    return intern(new DefaultSWRLNamedIndividualBuiltInArgument(individual));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(@NonNull OWLLiteral literal)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(literal);
+    return intern(new DefaultSWRLLiteralBuiltInArgument(literal));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(@NonNull String s)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(s));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(s)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(boolean b)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(b));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(b)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(short s)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(s));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(s)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(byte b)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(b));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(b)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(int i)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(i));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(i)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(long l)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(l));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(l)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(float f)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(f));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(f)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(double d)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(d));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(d)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(@NonNull BigDecimal d)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(d));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(d)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(@NonNull BigInteger i)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(i));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(i)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(@NonNull URI uri)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(uri));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(uri)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(@NonNull XSDDate date)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(date));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(date)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(@NonNull XSDTime time)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(time));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(time)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(@NonNull XSDDateTime datetime)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(datetime));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(datetime)));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(@NonNull XSDDuration duration)
   {
-    return new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(duration));
+    return intern(new DefaultSWRLLiteralBuiltInArgument(getOWLLiteralFactory().getOWLLiteral(duration)));
   }
 
   @NonNull @Override public SWRLMultiValueVariableBuiltInArgument getMultiValueVariableBuiltInArgument(
@@ -220,6 +235,27 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
     return new DefaultSQWRLCollectionVariableBuiltInArgument(variableIRI, queryName, collectionName, collectionGroupID);
   }
 
+  @NonNull @Override public SWRLBuiltInArgument getVariableValueBuiltInArgument(@NonNull SWRLBuiltInArgument value,
+    @NonNull String boundVariableName)
+  {
+    if (!(value instanceof DefaultSWRLBuiltInArgument)) // Not created by this factory
+      return SWRLBuiltInArgumentFactory.super.getVariableValueBuiltInArgument(value, boundVariableName);
+
+    // Values may be interned or held by callers, so the name is recorded on a copy
+    DefaultSWRLBuiltInArgument argument = ((DefaultSWRLBuiltInArgument)value).copy();
+    argument.setBoundVariableName(boundVariableName);
+
+    return argument;
+  }
+
+  @SuppressWarnings("unchecked") @NonNull private <T extends DefaultSWRLBuiltInArgument> T intern(@NonNull T argument)
+  {
+    if (this.interner == null)
+      return argument;
+
+    return (T)this.interner.intern(argument); // Equal arguments have the same class
+  }
+
   @NonNull private OWLLiteralFactory getOWLLiteralFactory()
   {
     return this.owlLiteralFactory;
@@ -0,0 +1,84 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.builtins.CompiledSWRLBuiltInArguments;
+import org.swrlapi.builtins.SWRLBuiltInBridge;
+import org.swrlapi.builtins.SWRLBuiltInContext;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
+
+/**
+ * Immutable invocation context for a single built-in invocation. A new context is created for each invocation so that
+ * built-ins in the same library can be invoked concurrently.
+ *
+ * @see org.swrlapi.builtins.AbstractSWRLBuiltInLibrary
+ */
+final class DefaultSWRLBuiltInContext implements SWRLBuiltInContext
+{
+  @NonNull private final SWRLBuiltInBridge bridge;
+  @NonNull private final String ruleName;
+  private final int builtInIndex;
+  private final boolean isInConsequent;
+  @NonNull private final CompiledSWRLBuiltInArguments compiledArguments;
+
+  public DefaultSWRLBuiltInContext(@NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName, int builtInIndex,
+    boolean isInConsequent, @NonNull CompiledSWRLBuiltInArguments compiledArguments)
+  {
+    this.bridge = bridge;
+    this.ruleName = ruleName;
+    this.builtInIndex = builtInIndex;
+    this.isInConsequent = isInConsequent;
+    this.compiledArguments = compiledArguments;
+  }
+
+  @NonNull @Override public SWRLBuiltInBridge getBuiltInBridge()
+  {
+    return this.bridge;
+  }
+
+  @NonNull @Override public String getInvokingRuleName() throws SWRLBuiltInLibraryException
+  {
+    if (this.ruleName.length() == 0)
+      throw new SWRLBuiltInLibraryException(
+        "invalid call to getInvokingRuleName - should only be called from within a built-in");
+
+    return this.ruleName;
+  }
+
+  @Override public int getInvokingBuiltInIndex() throws SWRLBuiltInLibraryException
+  {
+    if (this.builtInIndex == -1)
+      throw new SWRLBuiltInLibraryException(
+        "invalid call to getInvokingBuiltInIndex - should only be called from within a built-in");
+
+    return this.builtInIndex;
+  }
+
+  @Override public boolean getIsInConsequent()
+  {
+    return this.isInConsequent;
+  }
+
+  @NonNull @Override public CompiledSWRLBuiltInArguments getCompiledArguments()
+  {
+    return this.compiledArguments;
+  }
+
+  @Override public void checkThatInConsequent() throws SWRLBuiltInException
+  {
+    if (!this.isInConsequent)
+      throw new SWRLBuiltInException("built-in can only be used in consequent");
+  }
+
+  @Override public void checkThatInAntecedent() throws SWRLBuiltInException
+  {
+    if (this.isInConsequent)
+      throw new SWRLBuiltInException("built-in can only be used in antecedent");
+  }
+
+  @NonNull @Override public String toString()
+  {
+    return "(ruleName: " + this.ruleName + ", builtInIndex: " + this.builtInIndex + ", isInConsequent: "
+      + this.isInConsequent + ")";
+  }
+}
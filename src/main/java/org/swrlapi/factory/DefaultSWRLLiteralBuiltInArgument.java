@@ -16,19 +16,18 @@ import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentVisitor;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentVisitorEx;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.literal.Literal;
 import org.swrlapi.literal.OWLLiteralComparator;
 
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Set;
 
 class DefaultSWRLLiteralBuiltInArgument extends DefaultSWRLBuiltInArgument implements SWRLLiteralBuiltInArgument
 {
   private static final long serialVersionUID = 1L;
 
-  @NonNull private static final Comparator<OWLLiteral> owlLiteralComparator = OWLLiteralComparator.COMPARATOR;
-
   @NonNull private final OWLLiteral literal;
+  @Nullable private transient volatile Literal literalValue = null; // Created on first use
 
   public DefaultSWRLLiteralBuiltInArgument(@NonNull OWLLiteral literal)
   {
@@ -45,6 +44,17 @@ class DefaultSWRLLiteralBuiltInArgument extends DefaultSWRLBuiltInArgument imple
     return this.literal;
   }
 
+  @NonNull @Override public Literal getLiteralValue()
+  {
+    Literal literalValue = this.literalValue;
+
+    if (literalValue == null) {
+      literalValue = SWRLAPIInternalFactory.createLiteral(this.literal);
+      this.literalValue = literalValue;
+    }
+    return literalValue;
+  }
+
   @NonNull @Override public SWRLLiteralBuiltInArgument asSWRLLiteralBuiltInArgument() throws SWRLBuiltInException
   {
     return this;
@@ -79,7 +89,8 @@ class DefaultSWRLLiteralBuiltInArgument extends DefaultSWRLBuiltInArgument imple
 
     SWRLLiteralBuiltInArgument other = (SWRLLiteralBuiltInArgument)o;
 
-    return owlLiteralComparator.compare(this.getLiteral(), other.getLiteral());
+    return OWLLiteralComparator
+      .compare(getLiteralValue().getTypedLiteralValue(), other.getLiteralValue().getTypedLiteralValue());
   }
 
   @Override public void accept(@NonNull SWRLObjectVisitor visitor)
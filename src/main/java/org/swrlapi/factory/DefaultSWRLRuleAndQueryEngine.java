@@ -1,7 +1,9 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
@@ -27,15 +29,28 @@ import org.swrlapi.sqwrl.SQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLQueryEngine;
 import org.swrlapi.sqwrl.SQWRLQueryRenderer;
 import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultGenerator;
+import org.swrlapi.sqwrl.SQWRLResultStream;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
 import org.swrlapi.ui.model.SWRLAutoCompleter;
 
 import javax.swing.*;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +63,12 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   @NonNull private final SWRLBuiltInBridgeController builtInBridgeController;
   @NonNull private final SWRLRuleEngineBridgeController ruleEngineBridgeController;
 
+  @NonNull private final ExecutorService sqwrlQueryStreamExecutor; // Runs streamed queries one at a time
+
+  // True if the target rule engine holds the asserted axioms as of the start of the ontology's OWL axiom change log
+  private boolean isIncrementallyExported;
+  @Nullable private StreamedSQWRLQuery streamedSQWRLQuery; // The most recently streamed query, if any
+
   public DefaultSWRLRuleAndQueryEngine(@NonNull SWRLAPIOWLOntology swrlapiOWLOntology,
     @NonNull TargetSWRLRuleEngine targetSWRLRuleEngine,
     @NonNull SWRLRuleEngineBridgeController ruleEngineBridgeController,
@@ -57,6 +78,17 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     this.targetSWRLRuleEngine = targetSWRLRuleEngine;
     this.builtInBridgeController = builtInBridgeController;
     this.ruleEngineBridgeController = ruleEngineBridgeController;
+    this.isIncrementallyExported = false;
+    this.streamedSQWRLQuery = null;
+
+    ThreadPoolExecutor sqwrlQueryStreamExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "SQWRL query stream");
+        thread.setDaemon(true);
+        return thread;
+      });
+    sqwrlQueryStreamExecutor.allowCoreThreadTimeOut(true); // No idle thread is kept for the engine
+    this.sqwrlQueryStreamExecutor = sqwrlQueryStreamExecutor;
   }
 
   @Override public void importAssertedOWLAxioms() throws SWRLRuleEngineException
@@ -87,11 +119,15 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 
   @Override public void run() throws SWRLRuleEngineException
   {
+    awaitStreamedSQWRLQuery();
+
     getTargetSWRLRuleEngine().runRuleEngine();
   }
 
   @Override public void exportInferredOWLAxioms() throws SWRLRuleEngineException
   {
+    awaitStreamedSQWRLQuery();
+
     try {
       getSWRLAPIOWLOntology().startEventFreezeMode(); // Suspend possible event generation for bulk updates.
 
@@ -111,6 +147,34 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     exportInferredOWLAxioms();
   }
 
+  @Override public void inferIncrementally() throws SWRLRuleEngineException
+  {
+    awaitStreamedSQWRLQuery();
+
+    if (!this.isIncrementallyExported || !this.swrlapiOWLOntology.hasOWLAxiomChangeLog() || !getTargetSWRLRuleEngine()
+      .canRetractOWLAxioms() || getOWL2RLEngine().hasRuleSelectionChanged())
+      importAssertedOWLAxioms(); // Import will call reset()
+    else {
+      try {
+        getBuiltInBridgeController().reset();
+
+        // The target rule engine is in an unknown state until the update completes
+        this.isIncrementallyExported = false;
+        for (OWLAxiom axiom : this.swrlapiOWLOntology.getRemovedOWLAxioms())
+          getTargetSWRLRuleEngine().retractOWLAxiom(axiom);
+        exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getAddedOWLAxioms());
+      } catch (SWRLAPIException e) {
+        throw new SWRLRuleEngineException(
+          "error exporting knowledge to rule engine: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+      }
+    }
+    this.swrlapiOWLOntology.startOWLAxiomChangeLog();
+    this.isIncrementallyExported = true;
+
+    run();
+    exportInferredOWLAxioms();
+  }
+
   @NonNull @Override public SQWRLResult runSQWRLQuery(@NonNull String queryName) throws SQWRLException
   {
     try {
@@ -122,6 +186,41 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     }
   }
 
+  @NonNull @Override public SQWRLResultStream runSQWRLQueryAsStream(@NonNull String queryName, int bufferSize)
+    throws SQWRLException
+  {
+    SQWRLResultStream resultStream;
+    SQWRLResultGenerator resultGenerator;
+
+    try {
+      importSQWRLQueryAndOWLAxioms(queryName);
+      resultStream = this.swrlapiOWLOntology.createSQWRLResultStream(queryName, bufferSize);
+      resultGenerator = this.swrlapiOWLOntology.getSQWRLResultGenerator(queryName);
+    } catch (SWRLAPIException | SWRLBuiltInException e) {
+      throw new SQWRLException("error running SQWRL queries: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    }
+
+    CountDownLatch queryFinished = new CountDownLatch(1);
+    Future<?> query = this.sqwrlQueryStreamExecutor.submit(() -> {
+      try {
+        getTargetSWRLRuleEngine().runRuleEngine();
+        this.swrlapiOWLOntology.getSQWRLResult(queryName); // Preparing the result finishes the stream
+      } catch (Throwable e) { // Including errors, so that the reader is never left waiting for the end of the result
+        try {
+          resultGenerator.failed(e);
+        } catch (SQWRLException ie) {
+          // Interrupted; the stream has been closed by the reader
+        }
+      } finally {
+        queryFinished.countDown();
+      }
+    });
+
+    this.streamedSQWRLQuery = new StreamedSQWRLQuery(resultStream, query, queryFinished);
+
+    return this.streamedSQWRLQuery;
+  }
+
   @Override public void runSQWRLQueries() throws SQWRLException
   {
     try {
@@ -158,6 +257,8 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 
   @NonNull @Override public SQWRLResult getSQWRLResult(@NonNull String queryName) throws SQWRLException
   {
+    awaitStreamedSQWRLQuery();
+
     return this.swrlapiOWLOntology.getSQWRLResult(queryName);
   }
 
@@ -366,6 +467,11 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 
   private void reset()
   {
+    awaitStreamedSQWRLQuery();
+
+    this.isIncrementallyExported = false;
+    this.swrlapiOWLOntology.finishOWLAxiomChangeLog();
+
     try {
       getTargetSWRLRuleEngine().resetRuleEngine(); // Reset the target rule engine
       getBuiltInBridgeController().reset();
@@ -409,11 +515,17 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     return this.targetSWRLRuleEngine;
   }
 
-  private void exportOWLAxioms2TargetRuleEngine(@NonNull Set<@NonNull OWLAxiom> axioms)
+  // Axioms are passed to the target rule engine in batches of a single axiom type
+  private void exportOWLAxioms2TargetRuleEngine(@NonNull Collection<@NonNull OWLAxiom> axioms)
     throws SWRLRuleEngineException, TargetSWRLRuleEngineException
   {
+    Map<@NonNull AxiomType<?>, @NonNull List<@NonNull OWLAxiom>> axiomsByType = new LinkedHashMap<>();
+
     for (OWLAxiom axiom : axioms)
-      getTargetSWRLRuleEngine().defineOWLAxiom(axiom);
+      axiomsByType.computeIfAbsent(axiom.getAxiomType(), axiomType -> new ArrayList<>()).add(axiom);
+
+    for (List<@NonNull OWLAxiom> axiomsOfType : axiomsByType.values())
+      getTargetSWRLRuleEngine().defineOWLAxioms(Collections.unmodifiableList(axiomsOfType));
   }
 
   private void writeOWLAxioms2OWLOntology(@NonNull Set<@NonNull OWLAxiom> axioms) throws SWRLRuleEngineException
@@ -440,4 +552,90 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   {
     return this.builtInBridgeController;
   }
+
+  // The target rule engine is used by a streamed query until its reader has finished with the result
+  private void awaitStreamedSQWRLQuery() throws SWRLRuleEngineException
+  {
+    StreamedSQWRLQuery streamedSQWRLQuery = this.streamedSQWRLQuery;
+
+    if (streamedSQWRLQuery != null) {
+      if (!streamedSQWRLQuery.isReaderFinished())
+        throw new SWRLRuleEngineException(
+          "rule engine is running a streamed SQWRL query; the result stream must be read to its end or closed first");
+
+      streamedSQWRLQuery.awaitQueryFinished();
+      this.streamedSQWRLQuery = null;
+    }
+  }
+
+  /**
+   * The result stream of a SQWRL query run by the query stream executor. The reader is finished with the result when
+   * the end of the result or a failure has been reached or the stream has been closed. Closing the stream also cancels
+   * the query.
+   */
+  private static final class StreamedSQWRLQuery implements SQWRLResultStream
+  {
+    @NonNull private final SQWRLResultStream resultStream;
+    @NonNull private final Future<?> query;
+    @NonNull private final CountDownLatch queryFinished;
+    private volatile boolean isReaderFinished;
+
+    public StreamedSQWRLQuery(@NonNull SQWRLResultStream resultStream, @NonNull Future<?> query,
+      @NonNull CountDownLatch queryFinished)
+    {
+      this.resultStream = resultStream;
+      this.query = query;
+      this.queryFinished = queryFinished;
+      this.isReaderFinished = false;
+    }
+
+    @NonNull @Override public List<@NonNull String> getColumnNames()
+    {
+      return this.resultStream.getColumnNames();
+    }
+
+    @Override public boolean next() throws SQWRLException
+    {
+      try {
+        boolean hasNext = this.resultStream.next();
+
+        if (!hasNext)
+          this.isReaderFinished = true;
+        return hasNext;
+      } catch (SQWRLException | RuntimeException e) {
+        this.isReaderFinished = true;
+        throw e;
+      }
+    }
+
+    @NonNull @Override public List<@NonNull SQWRLResultValue> getRow() throws SQWRLException
+    {
+      return this.resultStream.getRow();
+    }
+
+    @Override public void close()
+    {
+      this.isReaderFinished = true;
+      this.resultStream.close(); // The query's remaining rows are discarded
+      this.query.cancel(true);
+    }
+
+    public boolean isReaderFinished()
+    {
+      return this.isReaderFinished;
+    }
+
+    // Once the reader has finished, the query either has finished or stops at its next row or interruption check
+    public void awaitQueryFinished() throws SWRLRuleEngineException
+    {
+      close();
+
+      try {
+        this.queryFinished.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SWRLRuleEngineException("interrupted while waiting for streamed SQWRL query to finish", e);
+      }
+    }
+  }
 }
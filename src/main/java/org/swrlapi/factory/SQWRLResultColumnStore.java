@@ -0,0 +1,429 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.swrlapi.exceptions.SWRLAPIInternalException;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented storage for the rows of a SQWRL result. Columns holding a single numeric datatype are stored in
+ * primitive (or {@link BigDecimal}) arrays and all other columns are dictionary encoded, so that each distinct entity
+ * or literal is held once. Rows are encoded as they are added; a numeric column that receives a value it cannot hold
+ * is converted to a dictionary-encoded column. Result values are created on access; rows and columns are presented as
+ * read-only list views.
+ *
+ * @see org.swrlapi.factory.DefaultSQWRLResultManager
+ */
+final class SQWRLResultColumnStore extends AbstractList<@NonNull List<@NonNull SQWRLResultValue>>
+{
+  private static final int INITIAL_CAPACITY = 16;
+
+  @NonNull private final List<@Nullable Column> columns; // Null until the first row is added
+  @NonNull private final SQWRLResultValueFactory sqwrlResultValueFactory;
+  private int numberOfRows;
+
+  public SQWRLResultColumnStore(int numberOfColumns, @NonNull SQWRLResultValueFactory sqwrlResultValueFactory)
+  {
+    this.columns = new ArrayList<>(numberOfColumns);
+    this.sqwrlResultValueFactory = sqwrlResultValueFactory;
+    this.numberOfRows = 0;
+
+    for (int c = 0; c < numberOfColumns; c++)
+      this.columns.add(null);
+  }
+
+  public SQWRLResultColumnStore(@NonNull List<@NonNull List<@NonNull SQWRLResultValue>> rows, int numberOfColumns,
+    @NonNull SQWRLResultValueFactory sqwrlResultValueFactory)
+  {
+    this(numberOfColumns, sqwrlResultValueFactory);
+
+    for (List<@NonNull SQWRLResultValue> row : rows)
+      add(row);
+    trimToSize();
+  }
+
+  @Override public boolean add(@NonNull List<@NonNull SQWRLResultValue> row)
+  {
+    if (row.size() != this.columns.size())
+      throw new IllegalArgumentException("expecting " + this.columns.size() + " values, got " + row.size());
+
+    try {
+      for (int c = 0; c < this.columns.size(); c++) {
+        SQWRLResultValue value = row.get(c);
+        Column column = this.columns.get(c);
+
+        if (column == null)
+          this.columns.set(c, createColumn(value));
+        else if (!column.add(value)) {
+          Column dictionaryColumn = new DictionaryColumn(column, this.numberOfRows);
+          dictionaryColumn.add(value);
+          this.columns.set(c, dictionaryColumn);
+        }
+      }
+    } catch (SQWRLException e) {
+      throw new SWRLAPIInternalException("error encoding SQWRL result row " + row, e);
+    }
+    this.numberOfRows++;
+
+    return true;
+  }
+
+  @NonNull @Override public List<@NonNull SQWRLResultValue> get(int rowIndex)
+  {
+    if (rowIndex < 0 || rowIndex >= this.numberOfRows)
+      throw new IndexOutOfBoundsException("row index " + rowIndex + ", number of rows " + this.numberOfRows);
+
+    return new AbstractList<@NonNull SQWRLResultValue>()
+    {
+      @NonNull @Override public SQWRLResultValue get(int columnIndex)
+      {
+        return getColumnStorage(columnIndex).get(rowIndex);
+      }
+
+      @Override public int size()
+      {
+        return SQWRLResultColumnStore.this.columns.size();
+      }
+    };
+  }
+
+  @Override public int size()
+  {
+    return this.numberOfRows;
+  }
+
+  @NonNull public List<@NonNull SQWRLResultValue> getColumn(int columnIndex)
+  {
+    return new AbstractList<@NonNull SQWRLResultValue>()
+    {
+      @NonNull @Override public SQWRLResultValue get(int rowIndex)
+      {
+        if (rowIndex < 0 || rowIndex >= SQWRLResultColumnStore.this.numberOfRows)
+          throw new IndexOutOfBoundsException(
+            "row index " + rowIndex + ", number of rows " + SQWRLResultColumnStore.this.numberOfRows);
+
+        return getColumnStorage(columnIndex).get(rowIndex);
+      }
+
+      @Override public int size()
+      {
+        return SQWRLResultColumnStore.this.numberOfRows;
+      }
+    };
+  }
+
+  /**
+   * Release the spare capacity and the dictionary lookup tables used while rows are added.
+   */
+  public void trimToSize()
+  {
+    for (Column column : this.columns)
+      if (column != null)
+        column.trimToSize(this.numberOfRows);
+  }
+
+  @NonNull private Column getColumnStorage(int columnIndex)
+  {
+    Column column = this.columns.get(columnIndex);
+
+    if (column == null) // Only possible if there are no rows
+      throw new IndexOutOfBoundsException("no rows in column " + columnIndex);
+
+    return column;
+  }
+
+  @NonNull private Column createColumn(@NonNull SQWRLResultValue value) throws SQWRLException
+  {
+    @Nullable NumericColumnType columnType = getNumericColumnType(value);
+    Column column;
+
+    if (columnType == null)
+      column = new DictionaryColumn();
+    else if (columnType == NumericColumnType.DECIMAL)
+      column = new DecimalColumn(this.sqwrlResultValueFactory);
+    else if (columnType == NumericColumnType.FLOAT || columnType == NumericColumnType.DOUBLE)
+      column = new DoubleColumn(columnType, this.sqwrlResultValueFactory);
+    else
+      column = new LongColumn(columnType, this.sqwrlResultValueFactory);
+
+    column.add(value);
+
+    return column;
+  }
+
+  /**
+   * Only literals whose lexical form is the one the result value factory would generate for their value are stored
+   * in a numeric column, so that the values created on access are identical to the values that were added.
+   */
+  @Nullable private static NumericColumnType getNumericColumnType(@NonNull SQWRLResultValue value) throws SQWRLException
+  {
+    if (!value.isLiteral())
+      return null;
+
+    SQWRLLiteralResultValue literal = value.asLiteralResult();
+    String lexicalForm = getLexicalForm(value);
+
+    try {
+      if (literal.isByte() && lexicalForm.equals(Byte.toString(Byte.parseByte(lexicalForm))))
+        return NumericColumnType.BYTE;
+      else if (literal.isShort() && lexicalForm.equals(Short.toString(Short.parseShort(lexicalForm))))
+        return NumericColumnType.SHORT;
+      else if (literal.isInt() && lexicalForm.equals(Integer.toString(Integer.parseInt(lexicalForm))))
+        return NumericColumnType.INT;
+      else if (literal.isLong() && lexicalForm.equals(Long.toString(Long.parseLong(lexicalForm))))
+        return NumericColumnType.LONG;
+      else if (literal.isFloat() && lexicalForm.equals(Float.toString(Float.parseFloat(lexicalForm))))
+        return NumericColumnType.FLOAT;
+      else if (literal.isDouble() && lexicalForm.equals(Double.toString(Double.parseDouble(lexicalForm))))
+        return NumericColumnType.DOUBLE;
+      else if (literal.isDecimal() && lexicalForm.equals(new BigDecimal(lexicalForm).toString()))
+        return NumericColumnType.DECIMAL;
+      else
+        return null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  @NonNull private static String getLexicalForm(@NonNull SQWRLResultValue value) throws SQWRLException
+  {
+    return value.asLiteralResult().getOWLLiteral().getLiteral();
+  }
+
+  private static int grow(int capacity)
+  {
+    return Math.max(INITIAL_CAPACITY, capacity * 2);
+  }
+
+  private enum NumericColumnType
+  {
+    BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, DECIMAL
+  }
+
+  private interface Column
+  {
+    /**
+     * @return False if the value cannot be held in the column, in which case the column is unchanged
+     */
+    boolean add(@NonNull SQWRLResultValue value) throws SQWRLException;
+
+    @NonNull SQWRLResultValue get(int rowIndex);
+
+    void trimToSize(int numberOfRows);
+  }
+
+  private static final class LongColumn implements Column
+  {
+    private long @NonNull [] values;
+    private int size;
+    @NonNull private final NumericColumnType columnType;
+    @NonNull private final SQWRLResultValueFactory sqwrlResultValueFactory;
+
+    public LongColumn(@NonNull NumericColumnType columnType, @NonNull SQWRLResultValueFactory sqwrlResultValueFactory)
+    {
+      this.values = new long[INITIAL_CAPACITY];
+      this.columnType = columnType;
+      this.sqwrlResultValueFactory = sqwrlResultValueFactory;
+    }
+
+    @Override public boolean add(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      if (getNumericColumnType(value) != this.columnType)
+        return false;
+
+      if (this.size == this.values.length)
+        this.values = Arrays.copyOf(this.values, grow(this.size));
+      this.values[this.size++] = Long.parseLong(getLexicalForm(value));
+
+      return true;
+    }
+
+    @NonNull @Override public SQWRLResultValue get(int rowIndex)
+    {
+      long value = this.values[rowIndex];
+
+      if (this.columnType == NumericColumnType.BYTE)
+        return this.sqwrlResultValueFactory.getLiteralValue((byte)value);
+      else if (this.columnType == NumericColumnType.SHORT)
+        return this.sqwrlResultValueFactory.getLiteralValue((short)value);
+      else if (this.columnType == NumericColumnType.INT)
+        return this.sqwrlResultValueFactory.getLiteralValue((int)value);
+      else
+        return this.sqwrlResultValueFactory.getLiteralValue(value);
+    }
+
+    @Override public void trimToSize(int numberOfRows)
+    {
+      this.values = Arrays.copyOf(this.values, numberOfRows);
+    }
+  }
+
+  private static final class DoubleColumn implements Column
+  {
+    private double @NonNull [] values;
+    private int size;
+    @NonNull private final NumericColumnType columnType;
+    @NonNull private final SQWRLResultValueFactory sqwrlResultValueFactory;
+
+    public DoubleColumn(@NonNull NumericColumnType columnType,
+      @NonNull SQWRLResultValueFactory sqwrlResultValueFactory)
+    {
+      this.values = new double[INITIAL_CAPACITY];
+      this.columnType = columnType;
+      this.sqwrlResultValueFactory = sqwrlResultValueFactory;
+    }
+
+    @Override public boolean add(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      if (getNumericColumnType(value) != this.columnType)
+        return false;
+
+      String lexicalForm = getLexicalForm(value);
+
+      if (this.size == this.values.length)
+        this.values = Arrays.copyOf(this.values, grow(this.size));
+      this.values[this.size++] = isFloat() ? Float.parseFloat(lexicalForm) : Double.parseDouble(lexicalForm);
+
+      return true;
+    }
+
+    @NonNull @Override public SQWRLResultValue get(int rowIndex)
+    {
+      if (isFloat())
+        return this.sqwrlResultValueFactory.getLiteralValue((float)this.values[rowIndex]);
+      else
+        return this.sqwrlResultValueFactory.getLiteralValue(this.values[rowIndex]);
+    }
+
+    @Override public void trimToSize(int numberOfRows)
+    {
+      this.values = Arrays.copyOf(this.values, numberOfRows);
+    }
+
+    private boolean isFloat()
+    {
+      return this.columnType == NumericColumnType.FLOAT;
+    }
+  }
+
+  private static final class DecimalColumn implements Column
+  {
+    @NonNull private BigDecimal @NonNull [] values;
+    private int size;
+    @NonNull private final SQWRLResultValueFactory sqwrlResultValueFactory;
+
+    public DecimalColumn(@NonNull SQWRLResultValueFactory sqwrlResultValueFactory)
+    {
+      this.values = new BigDecimal[INITIAL_CAPACITY];
+      this.sqwrlResultValueFactory = sqwrlResultValueFactory;
+    }
+
+    @Override public boolean add(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      if (getNumericColumnType(value) != NumericColumnType.DECIMAL)
+        return false;
+
+      if (this.size == this.values.length)
+        this.values = Arrays.copyOf(this.values, grow(this.size));
+      this.values[this.size++] = new BigDecimal(getLexicalForm(value));
+
+      return true;
+    }
+
+    @NonNull @Override public SQWRLResultValue get(int rowIndex)
+    {
+      return this.sqwrlResultValueFactory.getLiteralValue(this.values[rowIndex]);
+    }
+
+    @Override public void trimToSize(int numberOfRows)
+    {
+      this.values = Arrays.copyOf(this.values, numberOfRows);
+    }
+  }
+
+  /**
+   * Holds each distinct value once. Literals are keyed on their OWL literal rather than on the result value so that
+   * literals that are equal in value but differ in lexical form or datatype are kept apart.
+   */
+  private static final class DictionaryColumn implements Column
+  {
+    private int @NonNull [] codes;
+    private int size;
+    @NonNull private final List<@NonNull SQWRLResultValue> dictionary;
+    @Nullable private Map<@NonNull Object, @NonNull Integer> dictionaryCodes; // Dropped when trimmed
+
+    public DictionaryColumn()
+    {
+      this.codes = new int[INITIAL_CAPACITY];
+      this.dictionary = new ArrayList<>();
+      this.dictionaryCodes = new HashMap<>();
+    }
+
+    // Takes over the values of a column that cannot hold a newly added value
+    public DictionaryColumn(@NonNull Column column, int numberOfRows) throws SQWRLException
+    {
+      this();
+
+      for (int r = 0; r < numberOfRows; r++)
+        add(column.get(r));
+    }
+
+    @Override public boolean add(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      Map<@NonNull Object, @NonNull Integer> dictionaryCodes = getDictionaryCodes();
+      Object key = getKey(value);
+      Integer code = dictionaryCodes.get(key);
+
+      if (code == null) {
+        code = this.dictionary.size();
+        dictionaryCodes.put(key, code);
+        this.dictionary.add(value);
+      }
+
+      if (this.size == this.codes.length)
+        this.codes = Arrays.copyOf(this.codes, grow(this.size));
+      this.codes[this.size++] = code;
+
+      return true;
+    }
+
+    @NonNull @Override public SQWRLResultValue get(int rowIndex)
+    {
+      return this.dictionary.get(this.codes[rowIndex]);
+    }
+
+    @Override public void trimToSize(int numberOfRows)
+    {
+      this.codes = Arrays.copyOf(this.codes, numberOfRows);
+      this.dictionaryCodes = null;
+    }
+
+    @NonNull private Map<@NonNull Object, @NonNull Integer> getDictionaryCodes() throws SQWRLException
+    {
+      Map<@NonNull Object, @NonNull Integer> dictionaryCodes = this.dictionaryCodes;
+
+      if (dictionaryCodes == null) { // Rows are added after the column was trimmed
+        dictionaryCodes = new HashMap<>();
+        for (int code = 0; code < this.dictionary.size(); code++)
+          dictionaryCodes.put(getKey(this.dictionary.get(code)), code);
+        this.dictionaryCodes = dictionaryCodes;
+      }
+      return dictionaryCodes;
+    }
+
+    @NonNull private static Object getKey(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      return value.isLiteral() ? value.asLiteralResult().getOWLLiteral() : value;
+    }
+  }
+}
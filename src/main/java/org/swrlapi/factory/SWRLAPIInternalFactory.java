@@ -8,6 +8,9 @@ import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.SWRLAtom;
 import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.builtins.CompiledSWRLBuiltInArguments;
+import org.swrlapi.builtins.SWRLBuiltInBridge;
+import org.swrlapi.builtins.SWRLBuiltInContext;
 import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
@@ -67,6 +70,35 @@ public class SWRLAPIInternalFactory
     return new SWRLBuiltInLibraryManager();
   }
 
+  /**
+   * @param bridge         The invoking built-in bridge
+   * @param ruleName       The name of the invoking rule
+   * @param builtInIndex   The 0-based index of the invoked built-in in the rule
+   * @param isInConsequent True if the built-in is in the rule consequent
+   * @return An immutable built-in invocation context
+   */
+  @NonNull public static SWRLBuiltInContext createSWRLBuiltInContext(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull String ruleName, int builtInIndex, boolean isInConsequent)
+  {
+    return new DefaultSWRLBuiltInContext(bridge, ruleName, builtInIndex, isInConsequent,
+      CompiledSWRLBuiltInArguments.empty());
+  }
+
+  /**
+   * @param bridge            The invoking built-in bridge
+   * @param ruleName          The name of the invoking rule
+   * @param builtInIndex      The 0-based index of the invoked built-in in the rule
+   * @param isInConsequent    True if the built-in is in the rule consequent
+   * @param compiledArguments The compiled constant arguments of the invoked built-in
+   * @return An immutable built-in invocation context
+   */
+  @NonNull public static SWRLBuiltInContext createSWRLBuiltInContext(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull String ruleName, int builtInIndex, boolean isInConsequent,
+    @NonNull CompiledSWRLBuiltInArguments compiledArguments)
+  {
+    return new DefaultSWRLBuiltInContext(bridge, ruleName, builtInIndex, isInConsequent, compiledArguments);
+  }
+
   /**
    * @param ontology    An OWL ontology
    * @param iriResolver An IRI resolver
@@ -106,6 +138,18 @@ public class SWRLAPIInternalFactory
     return new DefaultSQWRLResultManager(iriResolver);
   }
 
+  /**
+   * Create a SQWRL result that is stored column-wise as rows are added. Numeric columns are held in primitive arrays
+   * and other columns are dictionary encoded, which greatly reduces the memory used by large results.
+   *
+   * @param iriResolver An IRI resolver
+   * @return A column-oriented SQWRL result
+   */
+  @NonNull public static SQWRLResultManager createColumnarSQWRLResultManager(@NonNull IRIResolver iriResolver)
+  {
+    return new DefaultSQWRLResultManager(iriResolver, true);
+  }
+
   /**
    * @param ontology An OWL ontology
    * @return An OWL 2 RL persistence layer
@@ -121,7 +165,18 @@ public class SWRLAPIInternalFactory
    */
   @NonNull public static SWRLBuiltInArgumentFactory createSWRLBuiltInArgumentFactory(@NonNull IRIResolver iriResolver)
   {
-    return new DefaultSWRLBuiltInArgumentFactory(iriResolver);
+    return new DefaultSWRLBuiltInArgumentFactory(iriResolver, false);
+  }
+
+  /**
+   * @param iriResolver     An IRI resolver
+   * @param internArguments If true, equal named entity and literal arguments are shared
+   * @return A SWRL built-in argument factory
+   */
+  @NonNull public static SWRLBuiltInArgumentFactory createSWRLBuiltInArgumentFactory(@NonNull IRIResolver iriResolver,
+    boolean internArguments)
+  {
+    return new DefaultSWRLBuiltInArgumentFactory(iriResolver, internArguments);
   }
 
   /**
@@ -141,13 +196,37 @@ public class SWRLAPIInternalFactory
     return new DefaultSQWRLQuery(queryName, bodyAtoms, headAtoms, active, comment, literalFactory, iriResolver);
   }
 
+  /**
+   * @param isColumnarResult If true, the result of the query is stored column-wise
+   * @see #createColumnarSQWRLResultManager(IRIResolver)
+   */
+  @NonNull public static SQWRLQuery createSQWRLQuery(@NonNull String queryName,
+    @NonNull List<@NonNull SWRLAtom> bodyAtoms, @NonNull List<@NonNull SWRLAtom> headAtoms, boolean active,
+    @NonNull String comment, @NonNull LiteralFactory literalFactory, @NonNull IRIResolver iriResolver,
+    boolean isColumnarResult) throws SWRLBuiltInException
+  {
+    return new DefaultSQWRLQuery(queryName, bodyAtoms, headAtoms, active, comment, literalFactory, iriResolver,
+      isColumnarResult);
+  }
+
   /**
    * @param iriResolver An IRI resolver
    * @return A SWRLAPI-based OWL data factory
    */
   @NonNull public static SWRLAPIOWLDataFactory createSWRLAPIOWLDataFactory(@NonNull IRIResolver iriResolver)
   {
-    return new DefaultSWRLAPIOWLDataFactory(iriResolver);
+    return new DefaultSWRLAPIOWLDataFactory(iriResolver, false);
+  }
+
+  /**
+   * @param iriResolver            An IRI resolver
+   * @param internBuiltInArguments If true, equal named entity and literal built-in arguments are shared
+   * @return A SWRLAPI-based OWL data factory
+   */
+  @NonNull public static SWRLAPIOWLDataFactory createSWRLAPIOWLDataFactory(@NonNull IRIResolver iriResolver,
+    boolean internBuiltInArguments)
+  {
+    return new DefaultSWRLAPIOWLDataFactory(iriResolver, internBuiltInArguments);
   }
 
   /**
@@ -269,6 +348,27 @@ public class SWRLAPIInternalFactory
     return swrlapiowlOntology;
   }
 
+  /**
+   * Create a {@link org.swrlapi.core.SWRLAPIOWLOntology} from an OWLAPI-based
+   * {@link org.semanticweb.owlapi.model.OWLOntology}.
+   *
+   * @param ontology             An OWLAPI-based ontology
+   * @param iriResolver          An IRI resolver
+   * @param columnarSQWRLResults If true, the results of the ontology's SQWRL queries are stored column-wise
+   * @return A SWRLAPI-based wrapper of an OWL ontology
+   * @throws SQWRLException If a SQWRL error occurs during ontology processing
+   * @see #createColumnarSQWRLResultManager(IRIResolver)
+   */
+  @NonNull public static SWRLAPIOWLOntology createSWRLAPIOntology(@NonNull OWLOntology ontology,
+    @NonNull IRIResolver iriResolver, boolean columnarSQWRLResults) throws SWRLBuiltInException
+  {
+    SWRLAPIOWLOntology swrlapiowlOntology = new DefaultSWRLAPIOWLOntology(ontology, iriResolver,
+      columnarSQWRLResults);
+    swrlapiowlOntology.processOntology();
+
+    return swrlapiowlOntology;
+  }
+
   /**
    * Create a {@link org.swrlapi.core.SWRLAPIOWLOntology} from an OWLAPI-based
    * {@link org.semanticweb.owlapi.model.OWLOntology}.
@@ -38,6 +38,11 @@ import java.util.List;
 
 /**
  * Factory for creating {@link SWRLBuiltInArgument} objects.
+ * <p>
+ * A factory may intern the named entity and literal arguments that it creates, so that equal arguments are the same
+ * instance. Interned arguments are shared, so a bound variable name set on one would be seen by all its users; use
+ * {@link #getVariableValueBuiltInArgument(SWRLBuiltInArgument, String)} to pass the value of a bound variable to a
+ * built-in.
  *
  * @see org.swrlapi.builtins.arguments.SWRLBuiltInArgument
  */
@@ -231,4 +236,21 @@ public interface SWRLBuiltInArgumentFactory
    */
   @NonNull SQWRLCollectionVariableBuiltInArgument getSQWRLCollectionVariableBuiltInArgument(@NonNull IRI variableIRI,
     @NonNull String queryName, @NonNull String collectionName, @NonNull String collectionID);
+
+  /**
+   * The default implementation records the name on the value itself, which is only safe for factories that do not
+   * intern or otherwise share the arguments they create.
+   *
+   * @param value             The value of a bound variable
+   * @param boundVariableName The name of the variable
+   * @return A built-in argument equal to the value that records the name of the variable it was bound to
+   * @see org.swrlapi.builtins.arguments.SWRLBuiltInArgument#getBoundVariableName()
+   */
+  @NonNull default SWRLBuiltInArgument getVariableValueBuiltInArgument(@NonNull SWRLBuiltInArgument value,
+    @NonNull String boundVariableName)
+  {
+    value.setBoundVariableName(boundVariableName);
+
+    return value;
+  }
 }
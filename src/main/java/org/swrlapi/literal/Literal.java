@@ -135,6 +135,16 @@ public interface Literal
 
   @NonNull OWLLiteral getOWLLiteral();
 
+  /**
+   * By default the typed value is parsed on each call.
+   *
+   * @return The typed value of the literal, which is parsed once and cached
+   */
+  @NonNull default TypedLiteralValue getTypedLiteralValue()
+  {
+    return new TypedLiteralValue(getOWLLiteral());
+  }
+
   @NonNull OWLDatatype getOWLDatatype();
 
   @NonNull String getOWLDatatypeName();
@@ -33,109 +33,118 @@ public final class OWLLiteralComparator implements Comparator<OWLLiteral>
     return compareOWLLiterals(l1, l2);
   }
 
+  /**
+   * Compute a hash code for a literal that is consistent with this comparator, i.e., literals that compare as equal
+   * have the same hash code. Numeric literals are hashed on their value so that, for example, "1"^^xsd:int and
+   * "1.0"^^xsd:decimal hash identically.
+   *
+   * @param literal A literal
+   * @return A hash code consistent with {@link #compare(OWLLiteral, OWLLiteral)}
+   */
+  public static int hashCode(@NonNull OWLLiteral literal)
+  {
+    String lexicalForm = literal.getLiteral();
+
+    try {
+      if (isNumeric(literal)) {
+        // Values that are equal under any of the numeric comparisons round to the same float
+        float value = literal.getDatatype().isFloat() ?
+          Float.parseFloat(lexicalForm) :
+          (float)Double.parseDouble(lexicalForm);
+        return value == 0.0f ? 0 : Float.hashCode(value); // -0.0 and 0.0 are equal as xsd:decimal
+      } else {
+        int hash = literal.getDatatype().getIRI().hashCode();
+        if (literal.getDatatype().isBoolean())
+          return 31 * hash + Boolean.hashCode(Boolean.parseBoolean(lexicalForm));
+        else if (literal.getDatatype().getIRI().equals(XSDVocabulary.ANY_URI.getIRI()))
+          return 31 * hash + URI.create(lexicalForm).hashCode();
+        else if (literal.getDatatype().getIRI().equals(XSDVocabulary.TIME.getIRI()))
+          return 31 * hash + new XSDTime(lexicalForm).hashCode();
+        else if (literal.getDatatype().getIRI().equals(XSDVocabulary.DATE.getIRI()))
+          return 31 * hash + new XSDDate(lexicalForm).hashCode();
+        else if (literal.getDatatype().getIRI().equals(XSDVocabulary.DATE_TIME.getIRI()))
+          return 31 * hash + new XSDDateTime(lexicalForm).hashCode();
+        else if (literal.getDatatype().getIRI().equals(XSDVocabulary.DURATION.getIRI()))
+          return 31 * hash + new XSDDuration(lexicalForm).hashCode();
+        else { // The natural order comparator skips leading zeros in digit runs so we do not hash zeros
+          for (int i = 0; i < lexicalForm.length(); i++) {
+            char c = lexicalForm.charAt(i);
+            if (c != '0')
+              hash = 31 * hash + c;
+          }
+          return hash;
+        }
+      }
+    } catch (RuntimeException e) { // Invalid literals cannot be compared; fall back to the lexical form
+      return lexicalForm.hashCode();
+    }
+  }
+
   public static boolean isNumeric(@NonNull OWLLiteral literal)
   {
-    return literal.getDatatype().getIRI().equals(XSDVocabulary.BYTE.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.SHORT.getIRI()) || literal.getDatatype().getIRI().equals(XSDVocabulary.INT.getIRI())
-      || literal.getDatatype().getIRI().equals(XSDVocabulary.LONG.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.FLOAT.getIRI()) || literal.getDatatype().getIRI().equals(XSDVocabulary.DOUBLE.getIRI())
-      || literal.getDatatype().getIRI().equals(XSDVocabulary.DECIMAL.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.INTEGER.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.POSITIVE_INTEGER.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.NEGATIVE_INTEGER.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.NON_NEGATIVE_INTEGER.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.NON_POSITIVE_INTEGER.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.UNSIGNED_LONG.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.UNSIGNED_INT.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.UNSIGNED_SHORT.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.UNSIGNED_BYTE.getIRI());
+    return TypedLiteralValue.getKind(literal.getDatatype().getIRI()).isNumeric();
   }
 
-  private int compareOWLLiterals(@NonNull OWLLiteral l1, @NonNull OWLLiteral l2)
+  /**
+   * Compare the typed values of two literals. The values are parsed at most once for each {@link TypedLiteralValue},
+   * so literals that are compared repeatedly should be compared through this method.
+   *
+   * @param v1 The typed value of the first literal
+   * @param v2 The typed value of the second literal
+   * @return The same result as {@link #compare(OWLLiteral, OWLLiteral)} for the underlying literals
+   */
+  public static int compare(@NonNull TypedLiteralValue v1, @NonNull TypedLiteralValue v2)
   {
+    OWLLiteral l1 = v1.getOWLLiteral();
+    OWLLiteral l2 = v2.getOWLLiteral();
+
     try {
-      if (areAllLiteralsNumeric(l1, l2)) {
+      if (v1.isNumeric() && v2.isNumeric()) {
         if (areTypesIdentical(l1, l2)) {
-          if (l1.getDatatype().getIRI().equals(XSDVocabulary.BYTE.getIRI())) {
-            Byte b1 = Byte.parseByte(l1.getLiteral());
-            Byte b2 = Byte.parseByte(l2.getLiteral());
-            return b1.compareTo(b2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.SHORT.getIRI()) || l1.getDatatype().getIRI()
-            .equals(XSDVocabulary.UNSIGNED_BYTE.getIRI())) {
-            Short s1 = Short.parseShort(l1.getLiteral());
-            Short s2 = Short.parseShort(l2.getLiteral());
-            return s1.compareTo(s2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.INT.getIRI()) || l1.getDatatype().getIRI()
-            .equals(XSDVocabulary.UNSIGNED_SHORT.getIRI())) {
-            Integer i1 = Integer.parseInt(l1.getLiteral());
-            Integer i2 = Integer.parseInt(l2.getLiteral());
-            return i1.compareTo(i2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.LONG.getIRI()) || l1.getDatatype().getIRI()
-            .equals(XSDVocabulary.UNSIGNED_INT.getIRI())) {
-            Long long1 = Long.parseLong(l1.getLiteral());
-            Long long2 = Long.parseLong(l2.getLiteral());
-            return long1.compareTo(long2);
-          } else if (l1.getDatatype().isFloat()) {
-            Float f1 = Float.parseFloat(l1.getLiteral());
-            Float f2 = Float.parseFloat(l2.getLiteral());
-            return f1.compareTo(f2);
-          } else if (l1.getDatatype().isDouble()) {
-            Double d1 = Double.parseDouble(l1.getLiteral());
-            Double d2 = Double.parseDouble(l2.getLiteral());
-            return d1.compareTo(d2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.DECIMAL.getIRI())) {
-            BigDecimal d1 = new BigDecimal(l1.getLiteral());
-            BigDecimal d2 = new BigDecimal(l2.getLiteral());
-            return d1.compareTo(d2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.INTEGER.getIRI()) ||
-            l1.getDatatype().getIRI().equals(XSDVocabulary.POSITIVE_INTEGER.getIRI()) ||
-            l1.getDatatype().getIRI().equals(XSDVocabulary.NON_NEGATIVE_INTEGER.getIRI()) ||
-            l1.getDatatype().getIRI().equals(XSDVocabulary.NEGATIVE_INTEGER.getIRI()) ||
-            l1.getDatatype().getIRI().equals(XSDVocabulary.NON_POSITIVE_INTEGER.getIRI()) ||
-            l1.getDatatype().getIRI().equals(XSDVocabulary.UNSIGNED_LONG.getIRI())) {
-            BigInteger d1 = new BigInteger(l1.getLiteral());
-            BigInteger d2 = new BigInteger(l2.getLiteral());
-            return d1.compareTo(d2);
-          } else
+          switch (v1.getKind()) {
+          case BYTE:
+          case SHORT:
+          case INT:
+          case LONG:
+            return Long.compare(v1.getLongValue(), v2.getLongValue());
+          case FLOAT:
+            return ((Float)v1.getValue()).compareTo((Float)v2.getValue());
+          case DOUBLE:
+            return ((Double)v1.getValue()).compareTo((Double)v2.getValue());
+          case DECIMAL:
+            return ((BigDecimal)v1.getValue()).compareTo((BigDecimal)v2.getValue());
+          case INTEGER:
+            return ((BigInteger)v1.getValue()).compareTo((BigInteger)v2.getValue());
+          default:
             throw new SWRLAPIInternalException(
               "unsupported numeric datatype " + l1.getDatatype().getIRI() + " for OWL literal with value " + l1
                 .getLiteral());
-        } else { // Types differ - use xsd:decimal for comparison
-          BigDecimal d1 = new BigDecimal(l1.getLiteral());
-          BigDecimal d2 = new BigDecimal(l2.getLiteral());
-          return d1.compareTo(d2);
-        }
+          }
+        } else if (v1.getKind().isIntegral() && v2.getKind().isIntegral()) // Types differ but both values fit in a long
+          return Long.compare(v1.getLongValue(), v2.getLongValue());
+        else // Types differ - use xsd:decimal for comparison
+          return v1.getDecimalValue().compareTo(v2.getDecimalValue());
       } else { // Non numeric type; types should be the same
         if (!areTypesIdentical(l1, l2))
           return -1;
         else {
-          if (l1.getDatatype().isBoolean()) {
-            Boolean b1 = Boolean.parseBoolean(l1.getLiteral());
-            Boolean b2 = Boolean.parseBoolean(l2.getLiteral());
-            return b1.compareTo(b2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.ANY_URI.getIRI())) {
-            URI u1 = URI.create(l1.getLiteral());
-            URI u2 = URI.create(l2.getLiteral());
-            return u1.compareTo(u2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.TIME.getIRI())) {
-            XSDTime t1 = new XSDTime(l1.getLiteral());
-            XSDTime t2 = new XSDTime(l2.getLiteral());
-            return t1.compareTo(t2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.DATE.getIRI())) {
-            XSDDate d1 = new XSDDate(l1.getLiteral());
-            XSDDate d2 = new XSDDate(l2.getLiteral());
-            return d1.compareTo(d2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.DATE_TIME.getIRI())) {
-            XSDDateTime dt1 = new XSDDateTime(l1.getLiteral());
-            XSDDateTime dt2 = new XSDDateTime(l2.getLiteral());
-            return dt1.compareTo(dt2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.DURATION.getIRI())) {
-            XSDDuration d1 = new XSDDuration(l1.getLiteral());
-            XSDDuration d2 = new XSDDuration(l2.getLiteral());
-            return d1.compareTo(d2);
-          } else
+          switch (v1.getKind()) {
+          case BOOLEAN:
+            return ((Boolean)v1.getValue()).compareTo((Boolean)v2.getValue());
+          case ANY_URI:
+            return ((URI)v1.getValue()).compareTo((URI)v2.getValue());
+          case TIME:
+            return ((XSDTime)v1.getValue()).compareTo((XSDTime)v2.getValue());
+          case DATE:
+            return ((XSDDate)v1.getValue()).compareTo((XSDDate)v2.getValue());
+          case DATE_TIME:
+            return ((XSDDateTime)v1.getValue()).compareTo((XSDDateTime)v2.getValue());
+          case DURATION:
+            return ((XSDDuration)v1.getValue()).compareTo((XSDDuration)v2.getValue());
+          default:
             // The OWLAPI seems to do a rather odd comparison so we use a natural order comparison
             return naturalOrderComparator.compare(l1.getLiteral(), l2.getLiteral());
+          }
         }
       }
     } catch (IllegalArgumentException e) {
@@ -144,17 +153,14 @@ public final class OWLLiteralComparator implements Comparator<OWLLiteral>
     }
   }
 
-  private boolean areTypesIdentical(@NonNull OWLLiteral literal1, @NonNull OWLLiteral literal2)
+  private int compareOWLLiterals(@NonNull OWLLiteral l1, @NonNull OWLLiteral l2)
   {
-    return literal1.getDatatype().getIRI().equals(literal2.getDatatype().getIRI());
+    return compare(new TypedLiteralValue(l1), new TypedLiteralValue(l2));
   }
 
-  private boolean areAllLiteralsNumeric(@NonNull OWLLiteral... literals)
+  private static boolean areTypesIdentical(@NonNull OWLLiteral literal1, @NonNull OWLLiteral literal2)
   {
-    for (OWLLiteral literal : literals)
-      if (!isNumeric(literal))
-        return false;
-    return true;
+    return literal1.getDatatype().getIRI().equals(literal2.getDatatype().getIRI());
   }
 
 }
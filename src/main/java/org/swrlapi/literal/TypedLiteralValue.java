@@ -0,0 +1,204 @@
+package org.swrlapi.literal;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The typed value of an OWL literal, parsed from its lexical form on first use and cached thereafter. Integral values
+ * that fit in a long are held as a {@link Long}, floats and doubles as {@link Float} and {@link Double}, decimals as
+ * {@link BigDecimal}, other integers as {@link BigInteger}, and temporal values as the SWRLAPI's XSD types.
+ * <p>
+ * Literal wrappers that are compared or converted repeatedly, such as built-in arguments and SQWRL result values, hold
+ * a typed value so that their lexical form is parsed only once. Invalid lexical forms are not cached, so each access
+ * reports the error.
+ *
+ * @see org.swrlapi.literal.OWLLiteralComparator
+ * @see org.swrlapi.literal.Literal#getTypedLiteralValue()
+ */
+public final class TypedLiteralValue
+{
+  enum Kind
+  {
+    BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, DECIMAL, INTEGER, BOOLEAN, ANY_URI, TIME, DATE, DATE_TIME, DURATION, OTHER;
+
+    boolean isNumeric()
+    {
+      return ordinal() <= INTEGER.ordinal();
+    }
+
+    boolean isIntegral()
+    {
+      return ordinal() <= LONG.ordinal();
+    }
+  }
+
+  private static final Map<@NonNull IRI, @NonNull Kind> kinds = new HashMap<>();
+
+  static {
+    kinds.put(XSDVocabulary.BYTE.getIRI(), Kind.BYTE);
+    kinds.put(XSDVocabulary.SHORT.getIRI(), Kind.SHORT);
+    kinds.put(XSDVocabulary.UNSIGNED_BYTE.getIRI(), Kind.SHORT);
+    kinds.put(XSDVocabulary.INT.getIRI(), Kind.INT);
+    kinds.put(XSDVocabulary.UNSIGNED_SHORT.getIRI(), Kind.INT);
+    kinds.put(XSDVocabulary.LONG.getIRI(), Kind.LONG);
+    kinds.put(XSDVocabulary.UNSIGNED_INT.getIRI(), Kind.LONG);
+    kinds.put(XSDVocabulary.FLOAT.getIRI(), Kind.FLOAT);
+    kinds.put(XSDVocabulary.DOUBLE.getIRI(), Kind.DOUBLE);
+    kinds.put(XSDVocabulary.DECIMAL.getIRI(), Kind.DECIMAL);
+    kinds.put(XSDVocabulary.INTEGER.getIRI(), Kind.INTEGER);
+    kinds.put(XSDVocabulary.POSITIVE_INTEGER.getIRI(), Kind.INTEGER);
+    kinds.put(XSDVocabulary.NON_NEGATIVE_INTEGER.getIRI(), Kind.INTEGER);
+    kinds.put(XSDVocabulary.NEGATIVE_INTEGER.getIRI(), Kind.INTEGER);
+    kinds.put(XSDVocabulary.NON_POSITIVE_INTEGER.getIRI(), Kind.INTEGER);
+    kinds.put(XSDVocabulary.UNSIGNED_LONG.getIRI(), Kind.INTEGER);
+    kinds.put(XSDVocabulary.BOOLEAN.getIRI(), Kind.BOOLEAN);
+    kinds.put(XSDVocabulary.ANY_URI.getIRI(), Kind.ANY_URI);
+    kinds.put(XSDVocabulary.TIME.getIRI(), Kind.TIME);
+    kinds.put(XSDVocabulary.DATE.getIRI(), Kind.DATE);
+    kinds.put(XSDVocabulary.DATE_TIME.getIRI(), Kind.DATE_TIME);
+    kinds.put(XSDVocabulary.DURATION.getIRI(), Kind.DURATION);
+  }
+
+  @NonNull private final OWLLiteral literal;
+  @NonNull private final Kind kind;
+  @Nullable private volatile Object value = null;
+  @Nullable private volatile BigDecimal decimalValue = null;
+  private volatile boolean hasComparisonHashCode = false;
+  private volatile int comparisonHashCode;
+
+  public TypedLiteralValue(@NonNull OWLLiteral literal)
+  {
+    this.literal = literal;
+    this.kind = getKind(literal.getDatatype().getIRI());
+  }
+
+  @NonNull public OWLLiteral getOWLLiteral()
+  {
+    return this.literal;
+  }
+
+  /**
+   * @return True if the literal has one of the numeric XSD datatypes
+   */
+  public boolean isNumeric()
+  {
+    return this.kind.isNumeric();
+  }
+
+  /**
+   * @return The typed value of the literal; the lexical form for datatypes without a typed representation
+   * @throws IllegalArgumentException If the lexical form is not valid for the datatype
+   */
+  @NonNull public Object getValue()
+  {
+    Object value = this.value;
+
+    if (value == null) {
+      value = parseValue();
+      this.value = value;
+    }
+    return value;
+  }
+
+  /**
+   * @return The value of a numeric literal as an integral value
+   * @throws IllegalArgumentException If the literal is not valid for its datatype
+   * @throws ClassCastException       If the literal does not have one of the integral datatypes that fit in a long
+   */
+  public long getLongValue()
+  {
+    return (Long)getValue();
+  }
+
+  /**
+   * @return The value of a numeric literal as an xsd:decimal
+   * @throws NumberFormatException If the lexical form is not a valid decimal
+   */
+  @NonNull public BigDecimal getDecimalValue()
+  {
+    BigDecimal decimalValue = this.decimalValue;
+
+    if (decimalValue == null) {
+      decimalValue = this.kind == Kind.DECIMAL ? (BigDecimal)getValue() : new BigDecimal(this.literal.getLiteral());
+      this.decimalValue = decimalValue;
+    }
+    return decimalValue;
+  }
+
+  /**
+   * @return A hash code consistent with the ordering of {@link OWLLiteralComparator}
+   * @see OWLLiteralComparator#hashCode(OWLLiteral)
+   */
+  public int getComparisonHashCode()
+  {
+    if (!this.hasComparisonHashCode) {
+      this.comparisonHashCode = OWLLiteralComparator.hashCode(this.literal);
+      this.hasComparisonHashCode = true;
+    }
+    return this.comparisonHashCode;
+  }
+
+  @NonNull Kind getKind()
+  {
+    return this.kind;
+  }
+
+  @NonNull static Kind getKind(@NonNull IRI datatypeIRI)
+  {
+    Kind kind = kinds.get(datatypeIRI);
+
+    return kind != null ? kind : Kind.OTHER;
+  }
+
+  @NonNull private Object parseValue()
+  {
+    String lexicalForm = this.literal.getLiteral();
+
+    switch (this.kind) {
+    case BYTE:
+      return (long)Byte.parseByte(lexicalForm);
+    case SHORT:
+      return (long)Short.parseShort(lexicalForm);
+    case INT:
+      return (long)Integer.parseInt(lexicalForm);
+    case LONG:
+      return Long.parseLong(lexicalForm);
+    case FLOAT:
+      return Float.parseFloat(lexicalForm);
+    case DOUBLE:
+      return Double.parseDouble(lexicalForm);
+    case DECIMAL:
+      return new BigDecimal(lexicalForm);
+    case INTEGER:
+      return new BigInteger(lexicalForm);
+    case BOOLEAN:
+      return Boolean.parseBoolean(lexicalForm);
+    case ANY_URI:
+      return URI.create(lexicalForm);
+    case TIME:
+      return new XSDTime(lexicalForm);
+    case DATE:
+      return new XSDDate(lexicalForm);
+    case DATE_TIME:
+      return new XSDDateTime(lexicalForm);
+    case DURATION:
+      return new XSDDuration(lexicalForm);
+    default:
+      return lexicalForm;
+    }
+  }
+
+  @NonNull @Override public String toString()
+  {
+    return this.literal.toString();
+  }
+}
@@ -1,22 +1,23 @@
 package org.swrlapi.parser;
 
-import org.checkerframework.checker.initialization.qual.UnderInitialization;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.io.IOException;
-import java.io.Reader;
-import java.io.StreamTokenizer;
-import java.io.StringReader;
-import java.math.BigInteger;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 /**
  * Tokenizer generates a {@link org.swrlapi.parser.SWRLParseException} for invalid input and a
  * {@link org.swrlapi.parser.SWRLIncompleteRuleException} (which is a subclass of
  * {@link org.swrlapi.parser.SWRLParseException}) for valid but incomplete input.
+ * <p>
+ * The input is scanned once on construction so that errors anywhere in it are reported before parsing starts. Tokens
+ * are recorded as a type and a range of offsets into the input; a {@link org.swrlapi.parser.SWRLToken} and its value
+ * are only created when the parser asks for the token. Characters are classified as they were by the
+ * {@link java.io.StreamTokenizer} this class used to wrap: whitespace is any character up to and including space,
+ * words are letters, digits, the characters in {@link #wordChars} and any character from 160 upwards, and strings are
+ * enclosed in double or single quotes and end at a line break or the end of input if not closed.
  *
  * @see org.swrlapi.parser.SWRLToken
  * @see org.swrlapi.parser.SWRLParser
@@ -28,43 +29,48 @@ class SWRLTokenizer
   @NonNull private static final char wordChars[] = { ':', '_', '-', '/', '#' };
   @NonNull private static final char ordinaryChars[] = { '.', '^', '<', '>', '(', ')', '?' };
 
-  @NonNull private final MyStreamTokenizer tokenizer;
+  // Kinds of scanned token other than an ordinary or quote character, which is its own kind
+  private static final int END_OF_INPUT = -1;
+  private static final int WORD = -2;
+
+  private static final int INITIAL_NUMBER_OF_TOKENS = 16;
+
+  @NonNull private final CharSequence input;
 
   @NonNull private final Set<@NonNull String> swrlVariables;
-  @NonNull private final List<@NonNull SWRLToken> tokens;
+  @NonNull private SWRLToken.SWRLTokenType[] tokenTypes;
+  @NonNull private int[] tokenStarts;
+  @NonNull private int[] tokenEnds;
+  private int numberOfTokens;
   private final boolean interactiveParseOnly;
   private int tokenPosition;
 
-  public SWRLTokenizer(@NonNull String input, boolean interactiveParseOnly) throws SWRLParseException
+  // The most recently created token, which is usually peeked and then got
+  @Nullable private SWRLToken lastToken;
+  private int lastTokenPosition = -1;
+
+  // Scanner state
+  private int scanPosition;
+  private int scannedKind;
+  private int scannedStart;
+  private int scannedEnd;
+  private boolean isScannedTokenPushedBack;
+
+  public SWRLTokenizer(@NonNull CharSequence input, boolean interactiveParseOnly) throws SWRLParseException
   {
-    this.tokenizer = new MyStreamTokenizer(new StringReader(input));
+    this.input = input;
 
     this.swrlVariables = new HashSet<>();
     this.interactiveParseOnly = interactiveParseOnly;
 
-    for (char wordChar : wordChars)
-      this.tokenizer.wordChars(wordChar, wordChar);
-
-    this.tokenizer.wordChars('0', '9');
+    this.tokenTypes = new SWRLToken.SWRLTokenType[INITIAL_NUMBER_OF_TOKENS];
+    this.tokenStarts = new int[INITIAL_NUMBER_OF_TOKENS];
+    this.tokenEnds = new int[INITIAL_NUMBER_OF_TOKENS];
 
-    for (char ordinaryChar : ordinaryChars)
-      this.tokenizer.ordinaryChar(ordinaryChar);
-
-    this.tokens = generateTokens();
+    generateTokens();
     this.tokenPosition = 0;
   }
 
-  // If we want to list:
-  // this.tokenizer.ordinaryChar('!');
-  // // Skip double quote
-  // this.tokenizer.ordinaryChars('$', '/');
-  // // Skip colon
-  // this.tokenizer.ordinaryChars(';', '@');
-  // this.tokenizer.ordinaryChars('[', '^');
-  // // Skip underscore
-  // this.tokenizer.ordinaryChar('`');
-  // this.tokenizer.ordinaryChars('{', '~');
-
   public void reset()
   {
     this.tokenPosition = 0;
@@ -94,20 +100,20 @@ class SWRLTokenizer
 
   public boolean hasMoreTokens()
   {
-    return this.tokenPosition < this.tokens.size();
+    return this.tokenPosition < this.numberOfTokens;
   }
 
   @NonNull public SWRLToken peekToken(@NonNull String message) throws SWRLParseException
   {
-    if (this.tokenPosition < this.tokens.size())
-      return this.tokens.get(this.tokenPosition);
+    if (this.tokenPosition < this.numberOfTokens)
+      return createToken(this.tokenPosition);
     else
       throw generateEndOfRuleException(message);
   }
 
   public void skipToken() throws SWRLParseException
   {
-    if (this.tokenPosition < this.tokens.size())
+    if (this.tokenPosition < this.numberOfTokens)
       this.tokenPosition++;
     else
       throw generateEndOfRuleException("End of rule reached unexpectedly!");
@@ -154,8 +160,8 @@ class SWRLTokenizer
 
   @NonNull private SWRLToken getToken() throws SWRLParseException
   {
-    if (this.tokenPosition < this.tokens.size())
-      return this.tokens.get(this.tokenPosition++);
+    if (this.tokenPosition < this.numberOfTokens)
+      return createToken(this.tokenPosition++);
     else
       throw generateEndOfRuleException("Incomplete rule!");
   }
@@ -172,123 +178,293 @@ class SWRLTokenizer
       throw generateEndOfRuleException(unexpectedTokenMessage);
   }
 
-  @UnderInitialization @NonNull private List<@NonNull SWRLToken> generateTokens() throws SWRLParseException
+  @NonNull private SWRLToken createToken(int position)
   {
-    List<@NonNull SWRLToken> tokens = new ArrayList<>();
-    SWRLToken token = generateToken();
-    while (token.getTokenType() != SWRLToken.SWRLTokenType.END_OF_INPUT) {
-      tokens.add(token);
-      token = generateToken();
+    if (this.lastToken == null || this.lastTokenPosition != position) {
+      this.lastToken = new SWRLToken(this.tokenTypes[position], getTokenValue(position));
+      this.lastTokenPosition = position;
     }
-    return tokens;
+    return this.lastToken;
   }
 
-  @NonNull private SWRLToken generateToken() throws SWRLParseException
+  @NonNull private String getTokenValue(int position)
   {
-    try {
-      return convertToken2SWRLToken(this.tokenizer.nextToken());
-    } catch (IOException e) {
-      throw new SWRLParseException("Error tokenizing " + (e.getMessage() != null ? e.getMessage() : ""));
+    int start = this.tokenStarts[position], end = this.tokenEnds[position];
+
+    switch (this.tokenTypes[position]) {
+    case SHORTNAME:
+    case IRI:
+    case INTEGER:
+      return this.input.subSequence(start, end).toString();
+    case STRING:
+      return getStringValue(start, end);
+    case DECIMAL:
+      return getDecimalValue(start, end);
+    case NOT:
+      return "not";
+    case AND:
+      return "and";
+    case OR:
+      return "or";
+    case IMP:
+      return "->";
+    case TYPE_QUAL:
+      return "^^";
+    case CONJUNCTION:
+      return "^";
+    case RING:
+      return ".";
+    case LPAREN:
+      return "(";
+    case RPAREN:
+      return ")";
+    case COMMA:
+      return ",";
+    case QUESTION:
+      return "?";
+    default:
+      return "";
     }
   }
 
-  @NonNull private SWRLToken convertToken2SWRLToken(int tokenType) throws SWRLParseException, IOException
+  // Process escape sequences in the range between the quotes of a string
+  @NonNull private String getStringValue(int start, int end)
   {
-    switch (tokenType) {
-    case StreamTokenizer.TT_EOF:
-      return new SWRLToken(SWRLToken.SWRLTokenType.END_OF_INPUT, "");
-    case StreamTokenizer.TT_EOL:
-      return new SWRLToken(SWRLToken.SWRLTokenType.END_OF_INPUT, "");
-    case StreamTokenizer.TT_NUMBER:
-      throw new SWRLParseException("internal error - not expecting a StreamTokenizer.TT_NUMBER");
-    case StreamTokenizer.TT_WORD: {
-      String value = this.tokenizer.getValue();
-      if (value.equalsIgnoreCase("not")) {
-        return new SWRLToken(SWRLToken.SWRLTokenType.NOT, "not");
-      } else if (value.equalsIgnoreCase("and")) {
-        return new SWRLToken(SWRLToken.SWRLTokenType.AND, "and");
-      } else if (value.equalsIgnoreCase("or")) {
-        return new SWRLToken(SWRLToken.SWRLTokenType.OR, "or");
-      } else {
-        boolean negativeNumeric = false;
-        if (value.equals("-")) {
-          int nextTokenType = this.tokenizer.nextToken();
-          if (nextTokenType == '>')
-            return new SWRLToken(SWRLToken.SWRLTokenType.IMP, "->");
-          else if (nextTokenType == StreamTokenizer.TT_EOF)
-            throw generateEndOfRuleException("Expecting '>' or integer or decimal after '-'");
-          else if (nextTokenType != StreamTokenizer.TT_WORD)
-            throw new SWRLParseException("Expecting '>' or integer or decimal after '-'");
-          else
-            negativeNumeric = true;
-        }
-        if (isInteger(value)) {
-          // See if it is followed by a '.', in which case it should be a decimal
-          if (this.tokenizer.nextToken() == '.') { // Found a . so expecting rest of decimal
-            int trailingTokenType = this.tokenizer.nextToken();
-            String trailingValue = this.tokenizer.getValue();
-            if (trailingTokenType == StreamTokenizer.TT_WORD && isInteger(trailingValue)) {
-              String decimalValue = value + "." + trailingValue;
-              decimalValue = negativeNumeric ? "-" + decimalValue : decimalValue;
-              return new SWRLToken(SWRLToken.SWRLTokenType.DECIMAL, decimalValue);
-            } else if (trailingTokenType == StreamTokenizer.TT_EOF)
-              throw generateEndOfRuleException("Expecting decimal fraction part after '.'");
-            else
-              throw new SWRLParseException("Expecting decimal fraction part after '.'");
-          } else { // No following '.' so it is an integer
-            this.tokenizer.pushBack();
-            String integerValue = negativeNumeric ? "-" + value : value;
-            return new SWRLToken(SWRLToken.SWRLTokenType.INTEGER, integerValue);
+    int i = start;
+
+    while (i < end && this.input.charAt(i) != '\\')
+      i++;
+
+    if (i == end)
+      return this.input.subSequence(start, end).toString();
+
+    StringBuilder value = new StringBuilder(end - start);
+    value.append(this.input, start, i);
+
+    while (i < end) {
+      char c = this.input.charAt(i++);
+
+      if (c == '\\') {
+        int escapedChar = i < end ? this.input.charAt(i++) : -1; // A backslash may end the input
+
+        if (escapedChar >= '0' && escapedChar <= '7') {
+          int firstDigit = escapedChar;
+
+          escapedChar -= '0';
+          if (i < end && isOctalDigit(this.input.charAt(i))) {
+            escapedChar = (escapedChar << 3) + (this.input.charAt(i++) - '0');
+            if (i < end && isOctalDigit(this.input.charAt(i)) && firstDigit <= '3')
+              escapedChar = (escapedChar << 3) + (this.input.charAt(i++) - '0');
+          }
+        } else {
+          switch (escapedChar) {
+          case 'a':
+            escapedChar = 0x7;
+            break;
+          case 'b':
+            escapedChar = '\b';
+            break;
+          case 'f':
+            escapedChar = 0xC;
+            break;
+          case 'n':
+            escapedChar = '\n';
+            break;
+          case 'r':
+            escapedChar = '\r';
+            break;
+          case 't':
+            escapedChar = '\t';
+            break;
+          case 'v':
+            escapedChar = 0xB;
+            break;
           }
-        } else { // Value is not an integer
-          if (negativeNumeric) // If negative, value should be an integer or decimal
-            throw new SWRLParseException("Expecting integer or decimal");
-          else // Must be an identifier
-            return new SWRLToken(SWRLToken.SWRLTokenType.SHORTNAME, value);
         }
-      }
+        value.append((char)escapedChar);
+      } else
+        value.append(c);
+    }
+    return value.toString();
+  }
+
+  // A decimal spans its integer part, the '.' and its fraction part, which may be separated by whitespace
+  @NonNull private String getDecimalValue(int start, int end)
+  {
+    StringBuilder value = new StringBuilder(end - start);
+
+    for (int i = start; i < end; i++) {
+      char c = this.input.charAt(i);
+      if (!isWhitespaceChar(c))
+        value.append(c);
+    }
+    return value.toString();
+  }
+
+  private void generateTokens() throws SWRLParseException
+  {
+    int kind = scan();
+
+    while (kind != END_OF_INPUT) {
+      generateToken(kind);
+      kind = scan();
     }
+  }
+
+  private void generateToken(int kind) throws SWRLParseException
+  {
+    int start = this.scannedStart, end = this.scannedEnd;
+
+    switch (kind) {
+    case WORD:
+      if (equalsIgnoreCase(start, end, "not"))
+        addToken(SWRLToken.SWRLTokenType.NOT, start, end);
+      else if (equalsIgnoreCase(start, end, "and"))
+        addToken(SWRLToken.SWRLTokenType.AND, start, end);
+      else if (equalsIgnoreCase(start, end, "or"))
+        addToken(SWRLToken.SWRLTokenType.OR, start, end);
+      else if (end - start == 1 && this.input.charAt(start) == '-') {
+        int nextKind = scan();
+        if (nextKind == '>')
+          addToken(SWRLToken.SWRLTokenType.IMP, start, this.scannedEnd);
+        else if (nextKind == END_OF_INPUT)
+          throw generateEndOfRuleException("Expecting '>' or integer or decimal after '-'");
+        else if (nextKind != WORD)
+          throw new SWRLParseException("Expecting '>' or integer or decimal after '-'");
+        else // A lone '-' is not an integer, so neither is it a negative number
+          throw new SWRLParseException("Expecting integer or decimal");
+      } else if (isInteger(start, end)) {
+        // See if it is followed by a '.', in which case it should be a decimal
+        if (scan() == '.') { // Found a . so expecting rest of decimal
+          int trailingKind = scan();
+          if (trailingKind == WORD && isInteger(this.scannedStart, this.scannedEnd))
+            addToken(SWRLToken.SWRLTokenType.DECIMAL, start, this.scannedEnd);
+          else if (trailingKind == END_OF_INPUT)
+            throw generateEndOfRuleException("Expecting decimal fraction part after '.'");
+          else
+            throw new SWRLParseException("Expecting decimal fraction part after '.'");
+        } else { // No following '.' so it is an integer
+          pushBack();
+          addToken(SWRLToken.SWRLTokenType.INTEGER, start, end);
+        }
+      } else // Must be an identifier
+        addToken(SWRLToken.SWRLTokenType.SHORTNAME, start, end);
+      break;
     case '"':
-      return new SWRLToken(SWRLToken.SWRLTokenType.STRING, this.tokenizer.getValue());
+      addToken(SWRLToken.SWRLTokenType.STRING, start, end);
+      break;
     case ',':
-      return new SWRLToken(SWRLToken.SWRLTokenType.COMMA, ",");
+      addToken(SWRLToken.SWRLTokenType.COMMA, start, end);
+      break;
     case '?':
-      return new SWRLToken(SWRLToken.SWRLTokenType.QUESTION, "?");
+      addToken(SWRLToken.SWRLTokenType.QUESTION, start, end);
+      break;
     case '(':
-      return new SWRLToken(SWRLToken.SWRLTokenType.LPAREN, "(");
+      addToken(SWRLToken.SWRLTokenType.LPAREN, start, end);
+      break;
     case ')':
-      return new SWRLToken(SWRLToken.SWRLTokenType.RPAREN, ")");
+      addToken(SWRLToken.SWRLTokenType.RPAREN, start, end);
+      break;
     case '.':
-      return new SWRLToken(SWRLToken.SWRLTokenType.RING, ".");
-    case '^': {
-      int nextTokenType = this.tokenizer.nextToken();
-      if (nextTokenType == '^') {
-        return new SWRLToken(SWRLToken.SWRLTokenType.TYPE_QUAL, "^^");
-      } else { // Not ^^
-        this.tokenizer.pushBack();
-        return new SWRLToken(SWRLToken.SWRLTokenType.CONJUNCTION, "^");
+      addToken(SWRLToken.SWRLTokenType.RING, start, end);
+      break;
+    case '^':
+      if (scan() == '^')
+        addToken(SWRLToken.SWRLTokenType.TYPE_QUAL, start, this.scannedEnd);
+      else { // Not ^^
+        pushBack();
+        addToken(SWRLToken.SWRLTokenType.CONJUNCTION, start, end);
       }
-    }
+      break;
     case '<': {
-      int nextTokenType = this.tokenizer.nextToken();
-      if (nextTokenType == StreamTokenizer.TT_WORD) {
-        String iri = this.tokenizer.getValue();
-        nextTokenType = this.tokenizer.nextToken();
-        if (nextTokenType == '>')
-          return new SWRLToken(SWRLToken.SWRLTokenType.IRI, iri);
-        else if (nextTokenType == StreamTokenizer.TT_EOF)
+      int nextKind = scan();
+      if (nextKind == WORD) {
+        int iriStart = this.scannedStart, iriEnd = this.scannedEnd;
+        nextKind = scan();
+        if (nextKind == '>')
+          addToken(SWRLToken.SWRLTokenType.IRI, iriStart, iriEnd);
+        else if (nextKind == END_OF_INPUT)
           throw generateEndOfRuleException("Expecting '>' after IRI");
         else
           throw new SWRLParseException("Expecting IRI after '<'");
-      } else if (nextTokenType == StreamTokenizer.TT_EOF)
+      } else if (nextKind == END_OF_INPUT)
         throw generateEndOfRuleException("Expecting IRI after '<'");
       else
         throw new SWRLParseException("Expecting IRI after '<'"); // Some other token
+      break;
     }
     default:
-      throw new SWRLParseException("Unexpected character '" + String.valueOf(Character.toChars(tokenType)) + "'");
+      throw new SWRLParseException("Unexpected character '" + (char)kind + "'");
+    }
+  }
+
+  private void addToken(SWRLToken.SWRLTokenType tokenType, int start, int end)
+  {
+    if (this.numberOfTokens == this.tokenTypes.length) {
+      int capacity = 2 * this.numberOfTokens;
+      this.tokenTypes = Arrays.copyOf(this.tokenTypes, capacity);
+      this.tokenStarts = Arrays.copyOf(this.tokenStarts, capacity);
+      this.tokenEnds = Arrays.copyOf(this.tokenEnds, capacity);
+    }
+    this.tokenTypes[this.numberOfTokens] = tokenType;
+    this.tokenStarts[this.numberOfTokens] = start;
+    this.tokenEnds[this.numberOfTokens] = end;
+    this.numberOfTokens++;
+  }
+
+  /**
+   * Scan the next word, quoted string or ordinary character. The range of a quoted string excludes its quotes.
+   *
+   * @return {@link #END_OF_INPUT}, {@link #WORD}, or the quote or ordinary character
+   */
+  private int scan()
+  {
+    if (this.isScannedTokenPushedBack) {
+      this.isScannedTokenPushedBack = false;
+      return this.scannedKind;
+    }
+
+    int length = this.input.length();
+
+    while (this.scanPosition < length && isWhitespaceChar(this.input.charAt(this.scanPosition)))
+      this.scanPosition++;
+
+    if (this.scanPosition == length) {
+      this.scannedStart = this.scannedEnd = length;
+      return this.scannedKind = END_OF_INPUT;
     }
 
+    char c = this.input.charAt(this.scanPosition++);
+
+    if (isWordChar(c)) {
+      this.scannedStart = this.scanPosition - 1;
+      while (this.scanPosition < length && isWordChar(this.input.charAt(this.scanPosition)))
+        this.scanPosition++;
+      this.scannedEnd = this.scanPosition;
+      return this.scannedKind = WORD;
+    } else if (c == '"' || c == '\'') { // An unclosed string ends at a line break or the end of input
+      this.scannedStart = this.scanPosition;
+      while (this.scanPosition < length) {
+        char d = this.input.charAt(this.scanPosition);
+        if (d == c || d == '\n' || d == '\r')
+          break;
+        this.scanPosition += d == '\\' ? 2 : 1; // Any character can be escaped
+      }
+      this.scanPosition = Math.min(this.scanPosition, length);
+      this.scannedEnd = this.scanPosition;
+      if (this.scanPosition < length && this.input.charAt(this.scanPosition) == c)
+        this.scanPosition++; // Skip the closing quote
+      return this.scannedKind = c;
+    } else {
+      this.scannedStart = this.scanPosition - 1;
+      this.scannedEnd = this.scanPosition;
+      return this.scannedKind = c;
+    }
+  }
+
+  private void pushBack()
+  {
+    this.isScannedTokenPushedBack = true;
   }
 
   @NonNull private SWRLParseException generateEndOfRuleException(@NonNull String message)
@@ -299,33 +475,60 @@ class SWRLTokenizer
       return new SWRLIncompleteRuleException(message);
   }
 
-  private boolean isInteger(@NonNull String s)
+  // Same as java.math.BigInteger's syntax: an optional sign followed by at least one decimal digit
+  private boolean isInteger(int start, int end)
   {
-    try {
-      new BigInteger(s);
-      return true;
-    } catch (NumberFormatException e) {
+    int i = start;
+
+    if (i < end && (this.input.charAt(i) == '-' || this.input.charAt(i) == '+'))
+      i++;
+
+    if (i == end)
       return false;
+
+    for (; i < end; i++) {
+      if (Character.digit(this.input.charAt(i), 10) < 0)
+        return false;
     }
+    return true;
   }
 
-  private class MyStreamTokenizer extends StreamTokenizer
+  // Same as String.equalsIgnoreCase
+  private boolean equalsIgnoreCase(int start, int end, @NonNull String keyword)
   {
-    public MyStreamTokenizer(@NonNull Reader r)
-    {
-      super(r);
-    }
+    if (end - start != keyword.length())
+      return false;
 
-    @Override public void parseNumbers()
-    {
+    for (int i = 0; i < keyword.length(); i++) {
+      char c1 = this.input.charAt(start + i), c2 = keyword.charAt(i);
+      if (c1 != c2) {
+        char u1 = Character.toUpperCase(c1), u2 = Character.toUpperCase(c2);
+        if (u1 != u2 && Character.toLowerCase(u1) != Character.toLowerCase(u2))
+          return false;
+      }
     }
+    return true;
+  }
 
-    @NonNull String getValue()
-    {
-      if (super.sval != null)
-        return super.sval;
-      else
-        return "";
+  private static boolean isWhitespaceChar(char c)
+  {
+    return c <= ' ';
+  }
+
+  private static boolean isWordChar(char c)
+  {
+    if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c >= 160)
+      return true;
+
+    for (char wordChar : wordChars) {
+      if (wordChar == c)
+        return true;
     }
+    return false;
+  }
+
+  private static boolean isOctalDigit(char c)
+  {
+    return c >= '0' && c <= '7';
   }
 }
@@ -43,6 +43,19 @@ public interface SQWRLQuery
    */
   @NonNull SQWRLResult getSQWRLResult() throws SQWRLException;
 
+  /**
+   * Deliver the rows of the query result to a stream as they are generated. Must be called before the query is run.
+   *
+   * @param bufferSize The maximum number of rows buffered before the query waits for the reader
+   * @return A result stream
+   * @throws SQWRLException If the query cannot be streamed, which by default it cannot
+   * @see org.swrlapi.sqwrl.SQWRLResultStream
+   */
+  @NonNull default SQWRLResultStream createSQWRLResultStream(int bufferSize) throws SQWRLException
+  {
+    throw new SQWRLException("streaming of results is not supported for SQWRL query " + getQueryName());
+  }
+
   /**
    * @param isActive The active status
    */
@@ -52,6 +52,20 @@ public interface SQWRLQueryEngine extends SWRLRuleEngine
    */
   @NonNull SQWRLResult runSQWRLQuery(@NonNull String queryName) throws SQWRLException;
 
+  /**
+   * Run a named SQWRL query, delivering its result as a stream. The query is run in a separate thread and rows are
+   * available to the caller as soon as they are generated. Other operations of the engine fail until the end of the
+   * result has been reached or the stream has been closed. Closing the stream cancels the query.
+   *
+   * @param queryName  The name of the query
+   * @param bufferSize The maximum number of rows buffered before the query waits for the caller
+   * @return The result stream of the query
+   * @throws SQWRLException If the query uses ordering, distinct, aggregation, or selection operators, or if an error
+   *                        occurs before the query is started
+   * @see org.swrlapi.sqwrl.SQWRLResultStream
+   */
+  @NonNull SQWRLResultStream runSQWRLQueryAsStream(@NonNull String queryName, int bufferSize) throws SQWRLException;
+
   /**
    * Run all enabled SQWRL queries. The {@link #getSQWRLResult(String)} method can be used to retrieve the
    * results of these queries.
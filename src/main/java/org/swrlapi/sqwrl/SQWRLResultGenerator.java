@@ -124,6 +124,17 @@ public interface SQWRLResultGenerator
 	 */
 	void prepared() throws SQWRLException;
 
+	/**
+	 * Indicate that the query generating a streamed result has failed. The reader of the result stream receives the
+	 * failure after the rows already buffered. By default, and if the result is not streamed, nothing is done.
+	 *
+	 * @param failure The cause of the failure
+	 * @throws SQWRLException If interrupted while waiting to pass the failure to the reader
+	 */
+	default void failed(@NonNull Throwable failure) throws SQWRLException
+	{
+	}
+
 	void setLimit(int limit);
 
 	/**
@@ -0,0 +1,54 @@
+package org.swrlapi.sqwrl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.List;
+
+/**
+ * A SQWRL result whose rows are delivered while the query is running rather than after it has finished. Rows are
+ * passed from the rule engine to the reader through a bounded buffer; when the buffer is full the rule engine waits
+ * until the reader has consumed rows, so only the buffered rows are held in memory.
+ * <p>
+ * Only queries that do not use ordering, distinct, aggregation or selection operators (e.g., <code>sqwrl:limit</code>)
+ * can be streamed since these operators need the full result. Rows are read as follows:
+ * <pre>
+ * try (SQWRLResultStream resultStream = queryEngine.runSQWRLQueryAsStream("q1", 1000)) {
+ *   while (resultStream.next()) {
+ *     List&lt;SQWRLResultValue&gt; row = resultStream.getRow();
+ *     ...
+ *   }
+ * }
+ * </pre>
+ * Closing the stream before the end of the result is reached stops the query.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLQueryEngine#runSQWRLQueryAsStream(String, int)
+ * @see org.swrlapi.sqwrl.SQWRLResult
+ */
+public interface SQWRLResultStream extends AutoCloseable
+{
+  /**
+   * @return The names of the columns in the result
+   */
+  @NonNull List<@NonNull String> getColumnNames();
+
+  /**
+   * Advance to the next row, waiting until it is available.
+   *
+   * @return True if there is a next row; false if the end of the result has been reached
+   * @throws SQWRLException If an error occurred while running the query
+   */
+  boolean next() throws SQWRLException;
+
+  /**
+   * @return The current row
+   * @throws SQWRLException If there is no current row
+   */
+  @NonNull List<@NonNull SQWRLResultValue> getRow() throws SQWRLException;
+
+  /**
+   * Stop delivery of the result. Rows that have not yet been read are discarded.
+   */
+  @Override void close();
+}
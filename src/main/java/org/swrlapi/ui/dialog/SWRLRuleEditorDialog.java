@@ -61,6 +61,7 @@ public class SWRLRuleEditorDialog extends JDialog implements SWRLAPIView
   private static final int BUTTON_PREFERRED_HEIGHT = 30;
   private static final int RULE_EDIT_AREA_COLUMNS = 20;
   private static final int RULE_EDIT_AREA_ROWS = 60;
+  private static final int MAXIMUM_NUMBER_OF_EXPANSIONS = 100;
 
   @NonNull private final SWRLRuleEngineModel swrlRuleEngineModel;
   @NonNull private final SWRLRuleEngineDialogManager dialogManager;
@@ -331,7 +332,7 @@ public class SWRLRuleEditorDialog extends JDialog implements SWRLAPIView
     List<@NonNull String> expansions = new ArrayList<>();
 
     expansions.add(""); // Add empty expansion that we can cycle back to
-    expansions.addAll(createSWRLAutoCompleter().getCompletions(prefix));
+    expansions.addAll(createSWRLAutoCompleter().getCompletions(prefix, MAXIMUM_NUMBER_OF_EXPANSIONS));
 
     return expansions;
   }
@@ -2,7 +2,9 @@ package org.swrlapi.ui.model;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public interface SWRLAutoCompleter
 {
@@ -11,4 +13,23 @@ public interface SWRLAutoCompleter
    * @return The possible completions
    */
   @NonNull List<@NonNull String> getCompletions(@NonNull String prefix);
+
+  /**
+   * @param prefix                     A prefix string
+   * @param maximumNumberOfCompletions The maximum number of completions to return
+   * @return The shortest possible completions, with completions of equal length in alphabetical order
+   */
+  @NonNull default List<@NonNull String> getCompletions(@NonNull String prefix, int maximumNumberOfCompletions)
+  {
+    return getCompletions(prefix).stream()
+      .sorted(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()))
+      .limit(Math.max(maximumNumberOfCompletions, 0)).collect(Collectors.toList());
+  }
+
+  /**
+   * Stop following changes to the ontology. The completer should not be used afterwards.
+   */
+  default void dispose()
+  {
+  }
 }
@@ -0,0 +1,196 @@
+package org.swrlapi.builtins;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ImportsDeclaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.OWLThing;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SameIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+/**
+ * @see OWLAxiomIndex
+ */
+public class OWLAxiomIndexTest extends IntegrationTestBase
+{
+  private static final OWLClass THING = OWLThing();
+  private static final OWLClass MALE = Class(iri("Male"));
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLObjectProperty HAS_FRIEND = ObjectProperty(iri("hasFriend"));
+  private static final OWLObjectProperty HAS_PARENT = ObjectProperty(iri("hasParent"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+  private static final OWLNamedIndividual P3 = NamedIndividual(iri("p3"));
+
+  private OWLOntologyManager ontologyManager;
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+  private OWLAxiomIndex axiomIndex;
+
+  @Before public void setUp() throws Exception
+  {
+    ontologyManager = OWLManager.createOWLOntologyManager();
+    ontology = ontologyManager.createOntology();
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    axiomIndex = swrlapiOWLOntology.getOWLOntologyIndex(OWLAxiomIndex.class, OWLAxiomIndex::new);
+  }
+
+  @Test public void testLookupByBoundArguments()
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_FRIEND, P1, P2), ObjectPropertyAssertion(HAS_FRIEND, P2, P3),
+      ObjectPropertyAssertion(HAS_PARENT, P1, P3));
+
+    assertEquals(3, getTuples(AxiomType.OBJECT_PROPERTY_ASSERTION, Collections.emptyMap()).size());
+    assertEquals(2, getTuples(AxiomType.OBJECT_PROPERTY_ASSERTION, boundValues(0, P1)).size());
+    assertEquals(2, getTuples(AxiomType.OBJECT_PROPERTY_ASSERTION, boundValues(2, P3)).size());
+
+    Map<Integer, OWLObject> subjectAndProperty = boundValues(0, P1);
+    subjectAndProperty.put(1, HAS_PARENT);
+    Collection<List<OWLObject>> tuples = getTuples(AxiomType.OBJECT_PROPERTY_ASSERTION, subjectAndProperty);
+
+    assertEquals(1, tuples.size());
+    assertTrue(tuples.contains(Arrays.<OWLObject>asList(P1, HAS_PARENT, P3)));
+  }
+
+  @Test public void testIndexFollowsOntologyChanges()
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_FRIEND, P1, P2));
+
+    assertEquals(1, getTuples(AxiomType.OBJECT_PROPERTY_ASSERTION, boundValues(0, P1)).size());
+
+    ontologyManager.addAxiom(ontology, ObjectPropertyAssertion(HAS_FRIEND, P1, P3));
+    ontologyManager.removeAxiom(ontology, ObjectPropertyAssertion(HAS_FRIEND, P1, P2));
+
+    Collection<List<OWLObject>> tuples = getTuples(AxiomType.OBJECT_PROPERTY_ASSERTION, boundValues(0, P1));
+
+    assertEquals(1, tuples.size());
+    assertTrue(tuples.contains(Arrays.<OWLObject>asList(P1, HAS_FRIEND, P3)));
+    assertTrue(getTuples(AxiomType.OBJECT_PROPERTY_ASSERTION, boundValues(2, P2)).isEmpty());
+  }
+
+  @Test public void testPairShouldRemainWhileAnotherAxiomProducesIt()
+  {
+    addOWLAxioms(ontology, SameIndividual(P1, P2), SameIndividual(P1, P2, P3));
+
+    ontologyManager.removeAxiom(ontology, SameIndividual(P1, P2, P3));
+
+    assertEquals(1, getTuples(AxiomType.SAME_INDIVIDUAL, Collections.emptyMap()).size());
+
+    ontologyManager.removeAxiom(ontology, SameIndividual(P1, P2));
+
+    assertTrue(axiomIndex.isEmpty(AxiomType.SAME_INDIVIDUAL));
+  }
+
+  @Test public void testAxiomInSeveralOntologiesRemainsUntilRemovedFromAll() throws Exception
+  {
+    OWLOntology importedOntology = ontologyManager.createOntology(iri("imported"));
+    ontologyManager.applyChange(new AddImport(ontology, ImportsDeclaration(iri("imported"))));
+
+    assertTrue(axiomIndex.isEmpty(AxiomType.SUBCLASS_OF));
+
+    ontologyManager.applyChanges(Arrays.asList(new AddAxiom(ontology, SubClassOf(MALE, PERSON)),
+      new AddAxiom(importedOntology, SubClassOf(MALE, PERSON))));
+
+    assertEquals(1, getTuples(AxiomType.SUBCLASS_OF, Collections.emptyMap()).size());
+
+    ontologyManager.removeAxiom(ontology, SubClassOf(MALE, PERSON));
+
+    assertEquals(1, getTuples(AxiomType.SUBCLASS_OF, Collections.emptyMap()).size());
+
+    ontologyManager.removeAxiom(importedOntology, SubClassOf(MALE, PERSON));
+
+    assertTrue(axiomIndex.isEmpty(AxiomType.SUBCLASS_OF));
+  }
+
+  @Test public void testDeclarationsAreIndexedByEntityType()
+  {
+    addOWLAxioms(ontology, Declaration(MALE), Declaration(HAS_FRIEND));
+
+    assertTrue(axiomIndex.isEmpty(EntityType.DATA_PROPERTY));
+    assertEquals(1, getTuples(EntityType.CLASS, Collections.emptyMap()).size());
+
+    ontologyManager.addAxiom(ontology, Declaration(PERSON));
+
+    assertEquals(1, getTuples(EntityType.CLASS, boundValues(0, PERSON)).size());
+    assertEquals(1, getTuples(EntityType.OBJECT_PROPERTY, Collections.emptyMap()).size());
+  }
+
+  @Test public void testSubClassAxiomsAreIndexedBySubAndSuperClass()
+  {
+    addOWLAxioms(ontology, SubClassOf(MALE, PERSON), SubClassOf(PERSON, THING));
+
+    assertEquals(1, getTuples(AxiomType.SUBCLASS_OF, boundValues(0, MALE)).size());
+    assertTrue(getTuples(AxiomType.SUBCLASS_OF, boundValues(1, MALE)).isEmpty());
+    assertTrue(
+      getTuples(AxiomType.SUBCLASS_OF, boundValues(1, PERSON)).contains(Arrays.<OWLObject>asList(MALE, PERSON)));
+
+    ontologyManager.removeAxiom(ontology, SubClassOf(MALE, PERSON));
+
+    assertTrue(getTuples(AxiomType.SUBCLASS_OF, boundValues(1, PERSON)).isEmpty());
+  }
+
+  @Test public void testIndexIsSharedForOntology()
+  {
+    assertSame(axiomIndex, swrlapiOWLOntology.getOWLOntologyIndex(OWLAxiomIndex.class, OWLAxiomIndex::new));
+  }
+
+  @Test public void testDisposedIndexIsNoLongerUpdated()
+  {
+    addOWLAxioms(ontology, SubClassOf(MALE, PERSON));
+
+    assertEquals(1, getTuples(AxiomType.SUBCLASS_OF, Collections.emptyMap()).size());
+
+    swrlapiOWLOntology.dispose();
+    ontologyManager.addAxiom(ontology, SubClassOf(PERSON, THING));
+
+    assertEquals(1, getTuples(AxiomType.SUBCLASS_OF, Collections.emptyMap()).size());
+    assertNotSame(axiomIndex, swrlapiOWLOntology.getOWLOntologyIndex(OWLAxiomIndex.class, OWLAxiomIndex::new));
+  }
+
+  private Collection<List<OWLObject>> getTuples(AxiomType<?> axiomType, Map<Integer, OWLObject> boundValues)
+  {
+    return axiomIndex.getTuples(axiomType, boundValues);
+  }
+
+  private Collection<List<OWLObject>> getTuples(EntityType<?> entityType, Map<Integer, OWLObject> boundValues)
+  {
+    return axiomIndex.getTuples(entityType, boundValues);
+  }
+
+  private static Map<Integer, OWLObject> boundValues(int position, OWLObject value)
+  {
+    Map<Integer, OWLObject> boundValues = new HashMap<>();
+    boundValues.put(position, value);
+    return boundValues;
+  }
+}
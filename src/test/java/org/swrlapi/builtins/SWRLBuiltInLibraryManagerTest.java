@@ -0,0 +1,282 @@
+package org.swrlapi.builtins;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+
+/**
+ * @see SWRLBuiltInLibraryManager
+ */
+public class SWRLBuiltInLibraryManagerTest extends IntegrationTestBase
+{
+  private static final IRI X = iri("x");
+
+  private SWRLBridge bridge;
+  private SWRLBuiltInLibraryManager libraryManager;
+  private SWRLBuiltInArgumentFactory argumentFactory;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+
+    bridge = SWRLAPIInternalFactory
+      .createSWRLBridge(swrlapiOWLOntology, SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+    libraryManager = swrlapiOWLOntology.getSWRLBuiltInLibraryManager();
+    argumentFactory = bridge.getSWRLBuiltInArgumentFactory();
+  }
+
+  @Test public void testPureBuiltInIsMemoized() throws Exception
+  {
+    List<List<SWRLBuiltInArgument>> firstResult = invoke("swrlb:add", unbound(), literal(2), literal(3));
+    List<List<SWRLBuiltInArgument>> secondResult = invoke("swrlb:add", unbound(), literal(2), literal(3));
+
+    assertEquals(5, getIntegerResult(firstResult));
+    assertEquals(5, getIntegerResult(secondResult));
+    assertEquals(1, libraryManager.getPureSWRLBuiltInCacheStats().missCount());
+    assertEquals(1, libraryManager.getPureSWRLBuiltInCacheStats().hitCount());
+  }
+
+  @Test public void testMemoizedResultIsNotShared() throws Exception
+  {
+    SWRLBuiltInArgument firstResult = getResult(invoke("swrlb:add", unbound(), literal(2), literal(3)));
+    firstResult.setBoundVariableName("x");
+    SWRLBuiltInArgument secondResult = getResult(invoke("swrlb:add", unbound(), literal(2), literal(3)));
+
+    assertNotSame(firstResult, secondResult);
+    assertEquals(literal(5), secondResult);
+    assertFalse(secondResult.wasBoundVariable());
+    assertEquals(1, libraryManager.getPureSWRLBuiltInCacheStats().hitCount());
+  }
+
+  @Test public void testResetClearsMemoizedResults() throws Exception
+  {
+    invoke("swrlb:add", unbound(), literal(2), literal(3));
+    libraryManager.invokeAllBuiltInLibrariesResetMethod(bridge);
+    invoke("swrlb:add", unbound(), literal(2), literal(3));
+
+    assertEquals(2, libraryManager.getPureSWRLBuiltInCacheStats().missCount());
+  }
+
+  @Test public void testPureBuiltInIsMemoizedOnBoundArgumentValues() throws Exception
+  {
+    assertEquals(5, getIntegerResult(invoke("swrlb:add", unbound(), literal(2), literal(3))));
+    assertEquals(6, getIntegerResult(invoke("swrlb:add", unbound(), literal(2), literal(4))));
+    assertEquals(2, libraryManager.getPureSWRLBuiltInCacheStats().missCount());
+    assertEquals(0, libraryManager.getPureSWRLBuiltInCacheStats().hitCount());
+  }
+
+  @Test public void testFailedPureBuiltInIsMemoized() throws Exception
+  {
+    assertTrue(invoke("swrlb:add", literal(6), literal(2), literal(3)).isEmpty());
+    assertTrue(invoke("swrlb:add", literal(6), literal(2), literal(3)).isEmpty());
+    assertEquals(1, libraryManager.getPureSWRLBuiltInCacheStats().hitCount());
+  }
+
+  @Test public void testImpureBuiltInIsNotMemoized() throws Exception
+  {
+    assertEquals(1, invoke("swrlb:lessThan", literal(2), literal(3)).size());
+    assertEquals(0, libraryManager.getPureSWRLBuiltInCacheStats().requestCount());
+  }
+
+  @Test public void testConstantRegularExpressionIsCompiled() throws Exception
+  {
+    ResolvedSWRLBuiltIn matches = libraryManager.resolveSWRLBuiltIn("r1", "swrlb:matches");
+    CompiledSWRLBuiltInArguments compiledArguments = libraryManager
+      .compileSWRLBuiltInArguments(matches, Arrays.asList(literal("abc"), literal("a.c")));
+
+    assertFalse(compiledArguments.getCompiledArgument(0, Pattern.class).isPresent());
+    assertTrue(compiledArguments.getCompiledArgument(1, Pattern.class).isPresent());
+    assertEquals(1, invoke(matches, compiledArguments, literal("abc"), literal("a.c")).size());
+    assertTrue(invoke(matches, compiledArguments, literal("abd"), literal("a.c")).isEmpty());
+  }
+
+  @Test public void testInvalidRegularExpressionIsNotCompiled() throws Exception
+  {
+    ResolvedSWRLBuiltIn matches = libraryManager.resolveSWRLBuiltIn("r1", "swrlb:matches");
+
+    assertTrue(
+      libraryManager.compileSWRLBuiltInArguments(matches, Arrays.asList(unbound(), literal("a("))).isEmpty());
+  }
+
+  @Test public void testConstantExpressionIsCompiled() throws Exception
+  {
+    ResolvedSWRLBuiltIn eval = libraryManager.resolveSWRLBuiltIn("r1", "swrlm:eval");
+    CompiledSWRLBuiltInArguments compiledArguments = libraryManager
+      .compileSWRLBuiltInArguments(eval, Arrays.asList(unbound(), literal("2 * (1 + 2)")));
+
+    assertFalse(compiledArguments.isEmpty());
+
+    List<List<SWRLBuiltInArgument>> result = invoke(eval, compiledArguments, unbound(), literal("2 * (1 + 2)"));
+
+    assertEquals(1, result.size());
+    assertEquals(6.0, ((SWRLLiteralBuiltInArgument)result.get(0).get(0)).getLiteral().parseDouble(), 0.0);
+  }
+
+  @Test public void testCompiledExpressionDoesNotSeeVariablesOfEarlierInvocations() throws Exception
+  {
+    ResolvedSWRLBuiltIn eval = libraryManager.resolveSWRLBuiltIn("r1", "swrlm:eval");
+    CompiledSWRLBuiltInArguments compiledArguments = libraryManager
+      .compileSWRLBuiltInArguments(eval, Arrays.asList(unbound(), literal("x + 1")));
+    SWRLBuiltInArgument x = argumentFactory.getVariableValueBuiltInArgument(literal(2.0), "x");
+
+    assertEquals(1, invoke(eval, compiledArguments, literal(3.0), literal("x + 1"), x).size());
+
+    try {
+      invoke(eval, compiledArguments, unbound(), literal("x + 1"));
+      fail("Expecting an exception for the undeclared variable");
+    } catch (SWRLBuiltInException e) {
+      assertTrue(e.getMessage().contains("Unrecognized symbol \"x\""));
+    }
+    try {
+      invoke("swrlm:eval", unbound(), literal("x + 1"));
+      fail("Expecting an exception for the undeclared variable");
+    } catch (SWRLBuiltInException e) {
+      assertTrue(e.getMessage().contains("Unrecognized symbol \"x\""));
+    }
+  }
+
+  @Test public void testMultiValueResultIsReturnedAsBindingTable() throws Exception
+  {
+    SWRLBuiltInBindingTable bindings = libraryManager
+      .invokeSWRLBuiltIn(bridge, "r1", "swrlb:tokenize", 0, false,
+        new ArrayList<>(Arrays.asList(unbound(), literal("a b a"), literal(" "))));
+
+    assertEquals(3, bindings.getNumberOfRows());
+    assertEquals(3, bindings.getNumberOfColumns());
+    assertTrue(bindings.isMultiValueColumn(0));
+    assertFalse(bindings.isMultiValueColumn(1));
+    assertEquals(literal("b"), bindings.getArgument(1, 0));
+    assertEquals(literal("a b a"), bindings.getArgument(2, 1));
+    assertEquals(Arrays.asList(literal("a"), literal("a b a"), literal(" ")), bindings.get(2));
+  }
+
+  @Test public void testBindingTableDistinctRemovesRepeatedRows() throws Exception
+  {
+    SWRLBuiltInBindingTable bindings = libraryManager
+      .invokeSWRLBuiltIn(bridge, "r1", "swrlb:tokenize", 0, false,
+        new ArrayList<>(Arrays.asList(unbound(), literal("a b a"), literal(" ")))).distinct();
+
+    assertEquals(2, bindings.getNumberOfRows());
+    assertEquals(literal("a"), bindings.getArgument(0, 0));
+    assertEquals(literal("b"), bindings.getArgument(1, 0));
+  }
+
+  @Test public void testSingleRowBindingTableIsDistinct() throws Exception
+  {
+    SWRLBuiltInBindingTable bindings = libraryManager
+      .invokeSWRLBuiltIn(bridge, "r1", "swrlb:add", 0, false,
+        new ArrayList<>(Arrays.asList(unbound(), literal(2), literal(3))));
+
+    assertEquals(1, bindings.getNumberOfRows());
+    assertSame(bindings, bindings.distinct());
+  }
+
+  @Test public void testBindingTableIsCreatedFromRows() throws Exception
+  {
+    SWRLBuiltInBindingTable bindings = SWRLBuiltInBindingTable.createTable(
+      Arrays.asList(Arrays.asList(literal("a"), literal("a b")), Arrays.asList(literal("b"), literal("a b"))));
+
+    assertEquals(2, bindings.getNumberOfRows());
+    assertTrue(bindings.isMultiValueColumn(0));
+    assertFalse(bindings.isMultiValueColumn(1));
+    assertEquals(Arrays.asList(literal("b"), literal("a b")), bindings.get(1));
+    assertSame(bindings, SWRLBuiltInBindingTable.createTable(bindings));
+    assertTrue(SWRLBuiltInBindingTable.createTable(new ArrayList<>()).isEmpty());
+  }
+
+  @Test public void testIntegralArithmeticBindsWidestInputType() throws Exception
+  {
+    assertEquals(literal(5L), getResult(invoke("swrlb:add", unbound(), literal(2L), literal(3L))));
+    assertEquals(literal(5), getResult(invoke("swrlb:add", unbound(), literal(2), literal(3L))));
+    assertEquals(literal(-1L), getResult(invoke("swrlb:subtract", unbound(), literal(2L), literal(3L))));
+  }
+
+  @Test public void testIntegralArithmeticOverflowIsDetected() throws Exception
+  {
+    assertTrue(invoke("swrlb:add", literal(-2L), literal(Long.MAX_VALUE), literal(Long.MAX_VALUE)).isEmpty());
+    assertEquals(1, invoke("swrlb:multiply", literal(6L), literal(2), literal(3)).size());
+  }
+
+  @Test public void testMixedIntegralTypesAreCompared() throws Exception
+  {
+    assertEquals(1, invoke("swrlb:lessThan", literal(2), literal(3L)).size());
+    assertTrue(invoke("swrlb:greaterThan", literal(2), literal(3L)).isEmpty());
+  }
+
+  private List<List<SWRLBuiltInArgument>> invoke(String builtInPrefixedName, SWRLBuiltInArgument... arguments)
+    throws Exception
+  {
+    return libraryManager.invokeSWRLBuiltIn(bridge, "r1", builtInPrefixedName, 0, false,
+      new ArrayList<>(Arrays.asList(arguments)));
+  }
+
+  private List<List<SWRLBuiltInArgument>> invoke(ResolvedSWRLBuiltIn resolvedSWRLBuiltIn,
+    CompiledSWRLBuiltInArguments compiledArguments, SWRLBuiltInArgument... arguments) throws Exception
+  {
+    return libraryManager.invokeSWRLBuiltIn(bridge, resolvedSWRLBuiltIn, compiledArguments, "r1", 0, false,
+      new ArrayList<>(Arrays.asList(arguments)));
+  }
+
+  private SWRLBuiltInArgument unbound()
+  {
+    return argumentFactory.getUnboundVariableBuiltInArgument(X);
+  }
+
+  private SWRLBuiltInArgument literal(int value)
+  {
+    return argumentFactory.getLiteralBuiltInArgument(Literal(value));
+  }
+
+  private SWRLBuiltInArgument literal(long value)
+  {
+    return argumentFactory.getLiteralBuiltInArgument(value);
+  }
+
+  private SWRLBuiltInArgument literal(double value)
+  {
+    return argumentFactory.getLiteralBuiltInArgument(Literal(value));
+  }
+
+  private SWRLBuiltInArgument literal(String value)
+  {
+    return argumentFactory.getLiteralBuiltInArgument(Literal(value));
+  }
+
+  private SWRLBuiltInArgument getResult(List<List<SWRLBuiltInArgument>> result)
+  {
+    assertEquals(1, result.size());
+
+    return result.get(0).get(0);
+  }
+
+  private int getIntegerResult(List<List<SWRLBuiltInArgument>> result)
+  {
+    assertEquals(1, result.size());
+
+    return ((SWRLLiteralBuiltInArgument)result.get(0).get(0)).getLiteral().parseInteger();
+  }
+}
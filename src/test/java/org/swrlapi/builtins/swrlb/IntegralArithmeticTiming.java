@@ -0,0 +1,132 @@
+package org.swrlapi.builtins.swrlb;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.builtins.CompiledSWRLBuiltInArguments;
+import org.swrlapi.builtins.ResolvedSWRLBuiltIn;
+import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Times the swrlb arithmetic built-ins with xsd:long arguments, which are evaluated with long arithmetic, and with
+ * xsd:decimal arguments of the same values, which are evaluated with {@link BigDecimal}s. The built-ins are invoked
+ * through their library rather than the library manager so that results are not memoized.
+ * <p>
+ * Run with the test classpath, e.g., <code>mvn test-compile</code> followed by
+ * <code>java --add-opens java.base/java.lang=ALL-UNNAMED -cp target/classes:target/test-classes:&lt;dependencies&gt;
+ * org.swrlapi.builtins.swrlb.IntegralArithmeticTiming [invocations] [rounds]</code>. Each round invokes each built-in
+ * the given number of times; the median round time is reported. The <code>--add-opens</code> option is needed on
+ * Java 9 and later only.
+ */
+public class IntegralArithmeticTiming
+{
+  private static final int NUMBER_OF_VALUES = 1024; // Distinct argument values, cycled through by each round
+  private static final long SEED = 42;
+
+  private final SWRLBridge bridge;
+  private final SWRLBuiltInLibraryManager libraryManager;
+  private final SWRLBuiltInArgumentFactory argumentFactory;
+
+  private IntegralArithmeticTiming() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+
+    this.bridge = SWRLAPIInternalFactory
+      .createSWRLBridge(swrlapiOWLOntology, SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+    this.libraryManager = swrlapiOWLOntology.getSWRLBuiltInLibraryManager();
+    this.argumentFactory = this.bridge.getSWRLBuiltInArgumentFactory();
+  }
+
+  public static void main(String[] args) throws Exception
+  {
+    int invocations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+    IntegralArithmeticTiming timing = new IntegralArithmeticTiming();
+
+    System.out.println("Median of " + rounds + " rounds of " + invocations + " invocations (ms)");
+    System.out.println(String.format("%-20s %10s %12s", "Built-in", "xsd:long", "xsd:decimal"));
+    for (String builtInName : Arrays.asList("swrlb:add", "swrlb:subtract", "swrlb:multiply")) {
+      for (boolean bindResult : Arrays.asList(true, false)) {
+        double longTime = timing.time(builtInName, false, bindResult, invocations, rounds);
+        double decimalTime = timing.time(builtInName, true, bindResult, invocations, rounds);
+
+        System.out.println(String
+          .format("%-20s %10.1f %12.1f", builtInName + (bindResult ? " bind" : " test"), longTime, decimalTime));
+      }
+    }
+  }
+
+  private double time(String builtInName, boolean isDecimal, boolean bindResult, int invocations, int rounds)
+    throws Exception
+  {
+    ResolvedSWRLBuiltIn builtIn = this.libraryManager.resolveSWRLBuiltIn("r1", builtInName);
+    List<List<SWRLBuiltInArgument>> argumentLists = createArgumentLists(builtInName, isDecimal);
+    double[] roundTimes = new double[rounds];
+
+    for (int warmUp = 0; warmUp < 3; warmUp++)
+      run(builtIn, argumentLists, bindResult, invocations);
+
+    for (int round = 0; round < rounds; round++)
+      roundTimes[round] = run(builtIn, argumentLists, bindResult, invocations);
+
+    Arrays.sort(roundTimes);
+
+    return roundTimes[rounds / 2];
+  }
+
+  private double run(ResolvedSWRLBuiltIn builtIn, List<List<SWRLBuiltInArgument>> argumentLists,
+    boolean bindResult, int invocations) throws Exception
+  {
+    long start = System.nanoTime();
+
+    for (int invocation = 0; invocation < invocations; invocation++) {
+      List<SWRLBuiltInArgument> arguments = new ArrayList<>(argumentLists.get(invocation % NUMBER_OF_VALUES));
+
+      if (bindResult)
+        arguments.set(0, this.argumentFactory.getUnboundVariableBuiltInArgument(IRI.create("urn:x")));
+
+      if (!builtIn.getLibrary().invokeBuiltInMethod(builtIn, this.bridge, "r1", 0, false,
+        CompiledSWRLBuiltInArguments.empty(), arguments))
+        throw new IllegalStateException("built-in " + builtIn + " failed for " + arguments);
+    }
+    return (System.nanoTime() - start) / 1e6;
+  }
+
+  // Each list holds the expected result followed by the operands
+  private List<List<SWRLBuiltInArgument>> createArgumentLists(String builtInName, boolean isDecimal)
+  {
+    Random random = new Random(SEED);
+    List<List<SWRLBuiltInArgument>> argumentLists = new ArrayList<>(NUMBER_OF_VALUES);
+
+    for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+      long operand1 = random.nextInt(1000000);
+      long operand2 = random.nextInt(1000000);
+      long result = builtInName.equals("swrlb:add") ?
+        operand1 + operand2 :
+        builtInName.equals("swrlb:subtract") ? operand1 - operand2 : operand1 * operand2;
+
+      argumentLists.add(Arrays.asList(argument(result, isDecimal), argument(operand1, isDecimal),
+        argument(operand2, isDecimal)));
+    }
+    return argumentLists;
+  }
+
+  private SWRLBuiltInArgument argument(long value, boolean isDecimal)
+  {
+    return isDecimal ?
+      this.argumentFactory.getLiteralBuiltInArgument(BigDecimal.valueOf(value)) :
+      this.argumentFactory.getLiteralBuiltInArgument(value);
+  }
+}
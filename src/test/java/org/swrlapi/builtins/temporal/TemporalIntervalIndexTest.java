@@ -0,0 +1,199 @@
+package org.swrlapi.builtins.temporal;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ImportsDeclaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+/**
+ * @see TemporalIntervalIndex
+ */
+public class TemporalIntervalIndexTest extends IntegrationTestBase
+{
+  private static final String TEMPORAL_NAMESPACE = "http://swrl.stanford.edu/ontologies/built-ins/3.3/temporal.owl#";
+  private static final OWLDataProperty HAS_TIME = DataProperty(IRI.create(TEMPORAL_NAMESPACE + "hasTime"));
+  private static final OWLDataProperty HAS_START_TIME = DataProperty(IRI.create(TEMPORAL_NAMESPACE + "hasStartTime"));
+  private static final OWLDataProperty HAS_FINISH_TIME = DataProperty(
+    IRI.create(TEMPORAL_NAMESPACE + "hasFinishTime"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+  private static final OWLNamedIndividual I1 = NamedIndividual(iri("i1"));
+  private static final IRI X = iri("x");
+
+  private OWLOntologyManager ontologyManager;
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+  private Temporal temporal;
+
+  @Before public void setUp() throws Exception
+  {
+    ontologyManager = OWLManager.createOWLOntologyManager();
+    ontology = ontologyManager.createOntology();
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    temporal = new Temporal(new XSDDateTimeStringProcessor());
+
+    addOWLAxioms(ontology, ClassAssertion(Class(IRI.create(TEMPORAL_NAMESPACE + "ValidPeriod")), P1),
+      ClassAssertion(Class(IRI.create(TEMPORAL_NAMESPACE + "ValidPeriod")), P2),
+      ClassAssertion(Class(IRI.create(TEMPORAL_NAMESPACE + "ValidInstant")), I1));
+    addOWLAxioms(ontology, period(P1, "2000-01-01T00:00:00.000", "2000-06-30T00:00:00.000"));
+    addOWLAxioms(ontology, period(P2, "2001-01-01T00:00:00.000", "2001-12-31T00:00:00.000"));
+    addOWLAxioms(ontology, DataPropertyAssertion(HAS_TIME, I1, Literal("2000-03-01T00:00:00.000", XSD_DATETIME)));
+  }
+
+  @Test public void testCandidatesAreWithinRanges() throws Exception
+  {
+    TemporalIntervalIndex index = getTemporalIntervalIndex();
+
+    assertEquals(iris(P1, I1), index.getCandidates(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, ms("2000-12-31")));
+    assertEquals(iris(P2), index.getCandidates(ms("2000-07-01"), Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE));
+    assertEquals(iris(I1), index.getCandidates(ms("2000-03-01"), ms("2000-03-01"), Long.MIN_VALUE, Long.MAX_VALUE));
+  }
+
+  @Test public void testIndexFollowsOntologyChanges() throws Exception
+  {
+    TemporalIntervalIndex index = getTemporalIntervalIndex();
+    OWLNamedIndividual p3 = NamedIndividual(iri("p3"));
+
+    addOWLAxioms(ontology, period(p3, "1999-01-01T00:00:00.000", "1999-12-31T00:00:00.000"));
+    assertEquals(iris(p3), index.getCandidates(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, ms("1999-12-31")));
+
+    ontologyManager.removeAxiom(ontology,
+      DataPropertyAssertion(HAS_FINISH_TIME, P2, Literal("2001-12-31T00:00:00.000", XSD_DATETIME)));
+    ontologyManager.addAxiom(ontology, DataPropertyAssertion(HAS_FINISH_TIME, P2, Literal("now", XSD_STRING)));
+
+    // An individual whose valid time is not indexed is always a candidate
+    assertEquals(iris(p3, P2), index.getCandidates(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, ms("1999-12-31")));
+  }
+
+  @Test public void testIndexIsRebuiltOnImportChange() throws Exception
+  {
+    TemporalIntervalIndex index = getTemporalIntervalIndex();
+    OWLOntology importedOntology = ontologyManager.createOntology(iri("imported"));
+    OWLNamedIndividual p3 = NamedIndividual(iri("p3"));
+
+    addOWLAxioms(importedOntology, period(p3, "1999-01-01T00:00:00.000", "1999-12-31T00:00:00.000"));
+    ontologyManager.applyChange(new AddImport(ontology, ImportsDeclaration(iri("imported"))));
+
+    assertEquals(iris(p3), index.getCandidates(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, ms("1999-12-31")));
+    assertEquals(iris(P1, I1, p3),
+      index.getCandidates(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, ms("2000-12-31")));
+  }
+
+  @Test public void testDisposedIndexIsNoLongerUpdated() throws Exception
+  {
+    TemporalIntervalIndex index = getTemporalIntervalIndex();
+
+    swrlapiOWLOntology.dispose();
+    addOWLAxioms(ontology, period(NamedIndividual(iri("p3")), "1999-01-01T00:00:00.000", "1999-12-31T00:00:00.000"));
+
+    assertEquals(iris(), index.getCandidates(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, ms("1999-12-31")));
+    assertNotSame(index, getTemporalIntervalIndex());
+  }
+
+  @Test public void testUnboundArgumentIsBoundToValidTimes() throws Exception
+  {
+    SWRLBridge bridge = SWRLAPIInternalFactory
+      .createSWRLBridge(swrlapiOWLOntology, SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+    SWRLBuiltInLibraryManager libraryManager = swrlapiOWLOntology.getSWRLBuiltInLibraryManager();
+    SWRLBuiltInArgumentFactory argumentFactory = bridge.getSWRLBuiltInArgumentFactory();
+
+    assertEquals(iris(P1, I1), getBoundIRIs(libraryManager.invokeSWRLBuiltIn(bridge, "r1", "temporal:before", 0, false,
+      new ArrayList<>(Arrays.asList(argumentFactory.getUnboundVariableBuiltInArgument(X),
+        argumentFactory.getLiteralBuiltInArgument(Literal("2000-12-31")))))));
+    assertEquals(iris(P1), getBoundIRIs(libraryManager.invokeSWRLBuiltIn(bridge, "r1", "temporal:during", 0, false,
+      new ArrayList<>(Arrays.asList(argumentFactory.getLiteralBuiltInArgument(Literal("2000-03-01T00:00:00.000")),
+        argumentFactory.getUnboundVariableBuiltInArgument(X), argumentFactory.getLiteralBuiltInArgument(
+          Literal("days")))))));
+  }
+
+  @Test public void testSubclassTypesAndUntypedGranularitiesAreRecognized() throws Exception
+  {
+    SWRLBridge bridge = SWRLAPIInternalFactory
+      .createSWRLBridge(swrlapiOWLOntology, SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+    SWRLBuiltInLibraryManager libraryManager = swrlapiOWLOntology.getSWRLBuiltInLibraryManager();
+    SWRLBuiltInArgumentFactory argumentFactory = bridge.getSWRLBuiltInArgumentFactory();
+    OWLClass fiscalYear = Class(iri("FiscalYear"));
+    OWLNamedIndividual p3 = NamedIndividual(iri("p3"));
+    OWLNamedIndividual days = NamedIndividual(IRI.create(TEMPORAL_NAMESPACE + "Days")); // Not typed as a granularity
+
+    addOWLAxioms(ontology, SubClassOf(fiscalYear, Class(IRI.create(TEMPORAL_NAMESPACE + "ValidPeriod"))),
+      ClassAssertion(fiscalYear, p3));
+    addOWLAxioms(ontology, period(p3, "1999-01-01T00:00:00.000", "1999-12-31T00:00:00.000"));
+
+    assertEquals(iris(p3, days), getBoundIRIs(libraryManager
+      .invokeSWRLBuiltIn(bridge, "r1", "temporal:during", 0, false, new ArrayList<>(Arrays
+        .asList(argumentFactory.getLiteralBuiltInArgument(Literal("1999-03-01T00:00:00.000")),
+          argumentFactory.getUnboundVariableBuiltInArgument(X),
+          argumentFactory.getNamedIndividualBuiltInArgument(days))))));
+  }
+
+  private TemporalIntervalIndex getTemporalIntervalIndex()
+  {
+    return swrlapiOWLOntology.getOWLOntologyIndex(TemporalIntervalIndex.class, TemporalIntervalIndex::new);
+  }
+
+  private OWLAxiom[] period(OWLNamedIndividual individual, String start, String finish)
+  {
+    return new OWLAxiom[] { DataPropertyAssertion(HAS_START_TIME, individual, Literal(start, XSD_DATETIME)),
+      DataPropertyAssertion(HAS_FINISH_TIME, individual, Literal(finish, XSD_DATETIME)) };
+  }
+
+  private long ms(String datetimeString) throws TemporalException
+  {
+    return new Instant(temporal, datetimeString, Temporal.FINEST).getGranuleCount();
+  }
+
+  private static Set<IRI> iris(OWLNamedIndividual... individuals)
+  {
+    Set<IRI> iris = new HashSet<>();
+
+    for (OWLNamedIndividual individual : individuals)
+      iris.add(individual.getIRI());
+
+    return iris;
+  }
+
+  private static Set<IRI> getBoundIRIs(List<List<SWRLBuiltInArgument>> bindings)
+  {
+    Set<IRI> iris = new HashSet<>();
+
+    for (List<SWRLBuiltInArgument> binding : bindings)
+      for (SWRLBuiltInArgument argument : binding)
+        if (argument instanceof SWRLNamedIndividualBuiltInArgument)
+          iris.add(((SWRLNamedIndividualBuiltInArgument)argument).getIRI());
+
+    return iris;
+  }
+}
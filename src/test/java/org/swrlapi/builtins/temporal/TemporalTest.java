@@ -0,0 +1,113 @@
+package org.swrlapi.builtins.temporal;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see Temporal
+ */
+public class TemporalTest
+{
+  private TimeZone defaultTimeZone;
+  private Temporal temporal;
+
+  @Before public void setUp()
+  {
+    defaultTimeZone = TimeZone.getDefault();
+    TimeZone.setDefault(TimeZone.getTimeZone("America/New_York")); // A zone with daylight savings and LMT offsets
+    temporal = new Temporal(new XSDDateTimeStringProcessor());
+  }
+
+  @After public void tearDown()
+  {
+    TimeZone.setDefault(defaultTimeZone);
+  }
+
+  @Test public void testDatetimeStringGranuleCountMatchesCalendar() throws Exception
+  {
+    assertGranuleCountMatchesCalendar(2016, 7, 14, 9, 30, 15, 250);
+    assertGranuleCountMatchesCalendar(2016, 3, 13, 2, 30, 0, 0); // In the daylight savings gap
+    assertGranuleCountMatchesCalendar(2016, 11, 6, 1, 30, 0, 0); // In the daylight savings overlap
+    assertGranuleCountMatchesCalendar(2015, 2, 31, 23, 59, 75, 1500); // Rolls over into March
+    assertGranuleCountMatchesCalendar(1850, 6, 1, 12, 0, 0, 0);
+    assertGranuleCountMatchesCalendar(1582, 10, 10, 0, 0, 0, 0); // Before the Gregorian change date
+    assertGranuleCountMatchesCalendar(1, 1, 1, 0, 0, 0, 0);
+  }
+
+  @Test public void testLeapYearsMatchCalendar() throws Exception
+  {
+    GregorianCalendar gc = new GregorianCalendar();
+    long leapDays = 0;
+
+    for (int year = 0; year <= 2500; year++) {
+      assertEquals("year " + year, gc.isLeapYear(year), Temporal.isLeapYear(year));
+      assertEquals("year " + year, year * 365L + leapDays,
+        Temporal.convertGranuleCount(year, Temporal.YEARS, Temporal.DAYS));
+      if (gc.isLeapYear(year))
+        leapDays++;
+    }
+  }
+
+  @Test public void testCachedGranuleCountFollowsDefaultTimeZone() throws Exception
+  {
+    long newYorkCount = temporal.datetimeString2GranuleCount("2016-07-14T09:30:00.000", Temporal.MILLISECONDS);
+
+    TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+
+    long utcCount = temporal.datetimeString2GranuleCount("2016-07-14T09:30:00.000", Temporal.MILLISECONDS);
+
+    assertEquals(4 * 60 * 60 * 1000L, newYorkCount - utcCount); // New York is four hours behind UTC in July
+  }
+
+  @Test public void testConcurrentDatetimeStringConversion() throws Exception
+  {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Callable<Boolean>> tasks = new ArrayList<>();
+
+    for (int task = 0; task < 8; task++) {
+      tasks.add(() -> {
+        for (int day = 1; day <= 28; day++) {
+          String datetimeString = temporal.normalizeDatetimeString("2016-02-" + day, Temporal.FINEST);
+          long dayCount = temporal.datetimeString2GranuleCount(datetimeString, Temporal.DAYS);
+          if (dayCount != temporal.datetimeString2GranuleCount("2016-02-01T00:00:00.000", Temporal.DAYS) + day - 1)
+            return false;
+        }
+        return true;
+      });
+    }
+
+    try {
+      for (Future<Boolean> result : executor.invokeAll(tasks))
+        assertTrue(result.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private void assertGranuleCountMatchesCalendar(int years, int months, int days, int hours, int minutes, int seconds,
+    int milliseconds) throws TemporalException
+  {
+    String datetimeString = years + "-" + months + "-" + days + "T" + hours + ":" + minutes + ":" + seconds + "."
+      + milliseconds;
+    GregorianCalendar gc = new GregorianCalendar();
+
+    gc.clear();
+    gc.set(years, months - 1, days, hours, minutes, seconds);
+
+    assertEquals(datetimeString, gc.getTimeInMillis() + milliseconds + Temporal.MillisecondsTo1970,
+      temporal.datetimeString2GranuleCount(datetimeString, Temporal.MILLISECONDS));
+  }
+}
@@ -0,0 +1,151 @@
+package org.swrlapi.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.factory.SWRLRuleAndQueryEngineFactory;
+import org.swrlapi.owl2rl.OWL2RLNames;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.test.IntegrationTestBase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.EquivalentClasses;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.FunctionalObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SameIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.TransitiveObjectProperty;
+
+/**
+ * @see ForwardChainingOWL2RLEngine
+ */
+public class ForwardChainingOWL2RLEngineTest extends IntegrationTestBase
+{
+  private static final OWLClass MALE = Class(iri("Male"));
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass MAMMAL = Class(iri("Mammal"));
+  private static final OWLClass PARENT = Class(iri("Parent"));
+  private static final OWLObjectProperty HAS_CHILD = ObjectProperty(iri("hasChild"));
+  private static final OWLObjectProperty HAS_MOTHER = ObjectProperty(iri("hasMother"));
+  private static final OWLObjectProperty HAS_ANCESTOR = ObjectProperty(iri("hasAncestor"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+  private static final OWLNamedIndividual P3 = NamedIndividual(iri("p3"));
+
+  private OWLOntology ontology;
+  private SQWRLQueryEngine ruleEngine;
+  private ForwardChainingOWL2RLEngine owl2RLEngine;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(ontology, Declaration(MALE), Declaration(PERSON), Declaration(MAMMAL), Declaration(PARENT),
+      Declaration(HAS_CHILD), Declaration(HAS_MOTHER), Declaration(HAS_ANCESTOR), Declaration(P1), Declaration(P2),
+      Declaration(P3));
+
+    SWRLRuleAndQueryEngineFactory ruleAndQueryEngineFactory = SWRLAPIInternalFactory
+      .getSWRLRuleAndQueryEngineFactory();
+
+    ruleAndQueryEngineFactory.registerRuleEngine(new ForwardChainingSWRLRuleEngineCreator());
+    ruleEngine = ruleAndQueryEngineFactory
+      .createSQWRLQueryEngine(ForwardChainingSWRLRuleEngine.RULE_ENGINE_NAME, ontology,
+        SWRLAPIFactory.createIRIResolver());
+    owl2RLEngine = (ForwardChainingOWL2RLEngine)ruleEngine.getOWL2RLEngine();
+  }
+
+  @Test public void testSubClassClosure() throws Exception
+  {
+    addOWLAxioms(ontology, SubClassOf(MALE, PERSON), SubClassOf(PERSON, MAMMAL), ClassAssertion(MALE, P1));
+
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(SubClassOf(MALE, MAMMAL)));
+    assertTrue(ontology.containsAxiom(ClassAssertion(PERSON, P1)));
+    assertTrue(ontology.containsAxiom(ClassAssertion(MAMMAL, P1)));
+  }
+
+  @Test public void testTransitiveProperty() throws Exception
+  {
+    addOWLAxioms(ontology, TransitiveObjectProperty(HAS_ANCESTOR), ObjectPropertyAssertion(HAS_ANCESTOR, P1, P2),
+      ObjectPropertyAssertion(HAS_ANCESTOR, P2, P3));
+
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P1, P3)));
+  }
+
+  @Test public void testSomeValuesFromRestriction() throws Exception
+  {
+    addOWLAxioms(ontology, EquivalentClasses(PARENT, ObjectSomeValuesFrom(HAS_CHILD, PERSON)),
+      ObjectPropertyAssertion(HAS_CHILD, P1, P2), ClassAssertion(PERSON, P2));
+
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ClassAssertion(PARENT, P1)));
+    assertFalse(ontology.containsAxiom(ClassAssertion(PARENT, P2)));
+  }
+
+  @Test public void testFunctionalPropertyReplacesEqualIndividuals() throws Exception
+  {
+    addOWLAxioms(ontology, FunctionalObjectProperty(HAS_MOTHER), ObjectPropertyAssertion(HAS_MOTHER, P1, P2),
+      ObjectPropertyAssertion(HAS_MOTHER, P1, P3), ClassAssertion(PERSON, P2));
+
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(SameIndividual(P2, P3)));
+    assertTrue(ontology.containsAxiom(ClassAssertion(PERSON, P3)));
+  }
+
+  @Test public void testDisabledTableIsNotEvaluated() throws Exception
+  {
+    addOWLAxioms(ontology, SubClassOf(MALE, PERSON), ClassAssertion(MALE, P1));
+    owl2RLEngine.disableTables(OWL2RLNames.OWL2RLRuleTable.RuleTable7);
+
+    ruleEngine.infer();
+
+    assertFalse(ontology.containsAxiom(ClassAssertion(PERSON, P1)));
+    assertEquals(0L, (long)owl2RLEngine.getRuleTableEvaluationTimes().get(OWL2RLNames.OWL2RLRuleTable.RuleTable7));
+  }
+
+  @Test public void testDisabledRuleIsNotEvaluated() throws Exception
+  {
+    addOWLAxioms(ontology, SubClassOf(MALE, PERSON), SubClassOf(PERSON, MAMMAL), ClassAssertion(MALE, P1));
+    owl2RLEngine.disableRules(OWL2RLNames.OWL2RLRule.SCM_SCO);
+
+    ruleEngine.infer();
+
+    assertFalse(ontology.containsAxiom(SubClassOf(MALE, MAMMAL)));
+    assertTrue(ontology.containsAxiom(ClassAssertion(MAMMAL, P1)));
+  }
+
+  @Test public void testRuleTableEvaluationTimes() throws Exception
+  {
+    addOWLAxioms(ontology, SubClassOf(MALE, PERSON), ClassAssertion(MALE, P1));
+
+    ruleEngine.infer();
+
+    assertTrue(owl2RLEngine.getRuleTableEvaluationTimes().get(OWL2RLNames.OWL2RLRuleTable.RuleTable7) > 0L);
+    assertEquals(0L, (long)owl2RLEngine.getRuleTableEvaluationTimes().get(OWL2RLNames.OWL2RLRuleTable.RuleTable8));
+  }
+
+  @Test public void testUnsupportedRules() throws Exception
+  {
+    assertTrue(owl2RLEngine.getUnsupportedRules().contains(OWL2RLNames.OWL2RLRule.PRP_SPO2));
+    assertFalse(owl2RLEngine.getUnsupportedRules().contains(OWL2RLNames.OWL2RLRule.CAX_SCO));
+    assertFalse(owl2RLEngine.isRuleEnabled(OWL2RLNames.OWL2RLRule.DT_TYPE1));
+  }
+}
@@ -0,0 +1,157 @@
+package org.swrlapi.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.factory.SWRLRuleAndQueryEngineFactory;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+
+/**
+ * @see ForwardChainingSWRLRuleEngine
+ */
+public class ForwardChainingSWRLRuleEngineTest extends IntegrationTestBase
+{
+  private static final OWLClass MALE = Class(iri("Male"));
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass MAMMAL = Class(iri("Mammal"));
+  private static final OWLClass ADULT = Class(iri("Adult"));
+  private static final OWLObjectProperty HAS_PARENT = ObjectProperty(iri("hasParent"));
+  private static final OWLObjectProperty HAS_ANCESTOR = ObjectProperty(iri("hasAncestor"));
+  private static final OWLDataProperty HAS_AGE = DataProperty(iri("hasAge"));
+  private static final OWLDataProperty HAS_AGE_NEXT_YEAR = DataProperty(iri("hasAgeNextYear"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+  private static final OWLNamedIndividual P3 = NamedIndividual(iri("p3"));
+  private static final OWLNamedIndividual P4 = NamedIndividual(iri("p4"));
+
+  private OWLOntology ontology;
+  private SQWRLQueryEngine ruleEngine;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(ontology, Declaration(MALE), Declaration(PERSON), Declaration(MAMMAL), Declaration(ADULT),
+      Declaration(HAS_PARENT), Declaration(HAS_ANCESTOR), Declaration(HAS_AGE), Declaration(HAS_AGE_NEXT_YEAR),
+      Declaration(P1), Declaration(P2), Declaration(P3), Declaration(P4));
+
+    SWRLRuleAndQueryEngineFactory ruleAndQueryEngineFactory = SWRLAPIInternalFactory
+      .getSWRLRuleAndQueryEngineFactory();
+
+    ruleAndQueryEngineFactory.registerRuleEngine(new ForwardChainingSWRLRuleEngineCreator());
+    ruleEngine = ruleAndQueryEngineFactory
+      .createSQWRLQueryEngine(ForwardChainingSWRLRuleEngine.RULE_ENGINE_NAME, ontology,
+        SWRLAPIFactory.createIRIResolver());
+  }
+
+  @Test public void testChainedClassAtomRules() throws Exception
+  {
+    addOWLAxioms(ontology, ClassAssertion(MALE, P1));
+    ruleEngine.createSWRLRule("r1", "Male(?x) -> Person(?x)");
+    ruleEngine.createSWRLRule("r2", "Person(?x) -> Mammal(?x)");
+
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ClassAssertion(PERSON, P1)));
+    assertTrue(ontology.containsAxiom(ClassAssertion(MAMMAL, P1)));
+    assertEquals(2, ruleEngine.getInferredOWLAxioms().size());
+  }
+
+  @Test public void testRecursiveRuleReachesFixpoint() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_PARENT, P2, P3),
+      ObjectPropertyAssertion(HAS_PARENT, P3, P4));
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    ruleEngine.createSWRLRule("r2", "hasAncestor(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P1, P4)));
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P2, P4)));
+    assertFalse(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P4, P1)));
+    assertEquals(6, ruleEngine.getInferredOWLAxioms().size());
+  }
+
+  @Test public void testBuiltInFiltersBindings() throws Exception
+  {
+    addOWLAxioms(ontology, DataPropertyAssertion(HAS_AGE, P1, Literal(20)),
+      DataPropertyAssertion(HAS_AGE, P2, Literal(10)));
+    ruleEngine.createSWRLRule("r1", "hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ClassAssertion(ADULT, P1)));
+    assertFalse(ontology.containsAxiom(ClassAssertion(ADULT, P2)));
+  }
+
+  @Test public void testBuiltInBindsVariable() throws Exception
+  {
+    addOWLAxioms(ontology, DataPropertyAssertion(HAS_AGE, P1, Literal(20)));
+    ruleEngine.createSWRLRule("r1", "hasAge(?p, ?a) ^ swrlb:add(?n, ?a, 1) -> hasAgeNextYear(?p, ?n)");
+
+    ruleEngine.infer();
+
+    assertTrue(ontology.getDataPropertyAssertionAxioms(P1).stream()
+      .anyMatch(axiom -> axiom.getProperty().equals(HAS_AGE_NEXT_YEAR) && axiom.getObject().parseInteger() == 21));
+  }
+
+  @Test public void testSQWRLQuery() throws Exception
+  {
+    addOWLAxioms(ontology, ClassAssertion(MALE, P1), ClassAssertion(MALE, P2));
+    ruleEngine.createSWRLRule("r1", "Male(?x) -> Person(?x)");
+
+    SQWRLResult result = ruleEngine.runSQWRLQuery("q1", "Person(?x) -> sqwrl:select(?x)");
+    Set<String> selectedIndividuals = new HashSet<>();
+
+    while (result.next())
+      selectedIndividuals.add(result.getNamedIndividual("x").getPrefixedName());
+
+    assertEquals(2, selectedIndividuals.size());
+  }
+
+  @Test public void testInferIncrementallyFollowsAddedAndRemovedAxioms() throws Exception
+  {
+    addOWLAxioms(ontology, ClassAssertion(MALE, P1), ClassAssertion(MALE, P2));
+    ruleEngine.createSWRLRule("r1", "Male(?x) ^ Adult(?x) -> Person(?x)");
+    ruleEngine.createSWRLRule("r2", "Person(?x) -> Mammal(?x)");
+
+    ruleEngine.inferIncrementally();
+
+    assertTrue(ruleEngine.getInferredOWLAxioms().isEmpty());
+
+    // p1 would become a person if the engine kept the fact that it is male
+    ontology.getOWLOntologyManager().removeAxiom(ontology, ClassAssertion(MALE, P1));
+    addOWLAxioms(ontology, ClassAssertion(ADULT, P1), ClassAssertion(ADULT, P2));
+
+    ruleEngine.inferIncrementally();
+
+    assertTrue(ontology.containsAxiom(ClassAssertion(PERSON, P2)));
+    assertTrue(ontology.containsAxiom(ClassAssertion(MAMMAL, P2)));
+    assertFalse(ontology.containsAxiom(ClassAssertion(PERSON, P1)));
+    assertFalse(ontology.containsAxiom(ClassAssertion(MAMMAL, P1)));
+  }
+}
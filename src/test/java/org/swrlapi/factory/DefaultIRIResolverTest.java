@@ -0,0 +1,81 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see DefaultIRIResolver
+ */
+public class DefaultIRIResolverTest
+{
+  private static final String TEST_NAMESPACE = "http://example.org#";
+
+  private DefaultIRIResolver iriResolver;
+
+  @Before public void setUp()
+  {
+    iriResolver = new DefaultIRIResolver();
+    iriResolver.setPrefix("test:", TEST_NAMESPACE);
+  }
+
+  @Test public void testResolvePrefixedName() throws Exception
+  {
+    IRI iri = IRI.create(TEST_NAMESPACE + "AClass");
+
+    assertEquals(Optional.of("test:AClass"), iriResolver.iri2PrefixedName(iri));
+    assertEquals(Optional.of("test:AClass"), iriResolver.iri2PrefixedName(iri));
+    assertEquals(Optional.of(iri), iriResolver.prefixedName2IRI("test:AClass"));
+    assertEquals(Optional.of("test:AClass"), iriResolver.iri2ShortForm(iri));
+  }
+
+  @Test public void testSetPrefixInvalidatesCachedNames() throws Exception
+  {
+    IRI iri = IRI.create("http://example.org/other#AClass");
+    long epoch = iriResolver.getEpoch();
+    String autogeneratedPrefixedName = iriResolver.iri2PrefixedName(iri).get();
+
+    iriResolver.setPrefix("other:", "http://example.org/other#");
+
+    assertNotEquals(epoch, iriResolver.getEpoch());
+    assertNotEquals(Optional.of(autogeneratedPrefixedName), iriResolver.iri2PrefixedName(iri));
+    assertEquals(Optional.of("other:AClass"), iriResolver.iri2PrefixedName(iri));
+    assertEquals(Optional.of(iri), iriResolver.prefixedName2IRI("other:AClass"));
+  }
+
+  @Test public void testConcurrentResolution() throws Exception
+  {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Callable<Boolean>> tasks = new ArrayList<>();
+
+    for (int task = 0; task < 8; task++) {
+      tasks.add(() -> {
+        for (int i = 0; i < 500; i++) {
+          IRI iri = IRI.create(TEST_NAMESPACE + "C" + i);
+          if (!iriResolver.prefixedName2IRI(iriResolver.iri2PrefixedName(iri).get()).equals(Optional.of(iri)))
+            return false;
+        }
+        return true;
+      });
+    }
+
+    try {
+      for (Future<Boolean> result : executor.invokeAll(tasks))
+        assertTrue(result.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
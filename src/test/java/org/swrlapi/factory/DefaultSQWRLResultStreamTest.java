@@ -0,0 +1,108 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.swrlapi.core.IRIResolver;
+import org.swrlapi.sqwrl.SQWRLResultStream;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryException;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see DefaultSQWRLResultStream
+ */
+public class DefaultSQWRLResultStreamTest
+{
+  private static final String columnName = "c";
+
+  private DefaultSQWRLResultManager resultManager;
+  private SQWRLResultValueFactory valueFactory;
+
+  @Rule public ExpectedException thrown = ExpectedException.none();
+
+  @Before public void setUp()
+  {
+    IRIResolver iriResolver = SWRLAPIFactory.createIRIResolver();
+
+    resultManager = new DefaultSQWRLResultManager(iriResolver);
+    valueFactory = SWRLAPIInternalFactory.createSQWRLResultValueFactory(iriResolver);
+  }
+
+  @Test public void testStreamRowsWithBackpressure() throws Exception
+  {
+    int numberOfRows = 100;
+
+    resultManager.addColumn(columnName);
+    resultManager.configured();
+
+    DefaultSQWRLResultStream resultStream = resultManager.createSQWRLResultStream(2);
+    Thread producer = new Thread(() -> {
+      try {
+        for (int i = 0; i < numberOfRows; i++) {
+          resultManager.openRow();
+          resultManager.addCell(valueFactory.getLiteralValue(i));
+          resultManager.closeRow();
+        }
+        resultManager.prepared();
+      } catch (SQWRLException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    producer.start();
+
+    assertEquals(columnName, resultStream.getColumnNames().get(0));
+    for (int i = 0; i < numberOfRows; i++) {
+      assertTrue(resultStream.next());
+      assertEquals(i, resultStream.getRow().get(0).asLiteralResult().getInt());
+    }
+    assertFalse(resultStream.next());
+    producer.join();
+  }
+
+  @Test public void testCloseStopsProducer() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.configured();
+
+    DefaultSQWRLResultStream resultStream = resultManager.createSQWRLResultStream(1);
+    resultStream.addRow(Collections.singletonList(valueFactory.getLiteralValue(1)));
+    resultStream.close();
+
+    assertFalse(resultStream.next());
+    thrown.expect(SQWRLException.class);
+    resultStream.addRow(Collections.singletonList(valueFactory.getLiteralValue(2)));
+  }
+
+  @Test public void testFailureIsDeliveredAfterBufferedRows() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.configured();
+
+    SQWRLResultStream resultStream = resultManager.createSQWRLResultStream(4);
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(1));
+    resultManager.closeRow();
+    ((DefaultSQWRLResultStream)resultStream).failed(new IllegalStateException("failure"));
+
+    assertTrue(resultStream.next());
+    thrown.expect(SQWRLException.class);
+    resultStream.next();
+  }
+
+  @Test public void testStreamWithOrderedResultIsRejected() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.setOrderByColumn(0, true);
+    resultManager.configured();
+
+    thrown.expect(SQWRLInvalidQueryException.class);
+    resultManager.createSQWRLResultStream(4);
+  }
+}
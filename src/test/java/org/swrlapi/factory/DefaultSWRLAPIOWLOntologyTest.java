@@ -0,0 +1,154 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+
+/**
+ * @see DefaultSWRLAPIOWLOntology
+ */
+public class DefaultSWRLAPIOWLOntologyTest extends IntegrationTestBase
+{
+  private static final OWLClass MALE = Class(iri("Male"));
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+
+  private OWLOntologyManager ontologyManager;
+  private OWLOntology ontology;
+  private DefaultSWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before public void setUp() throws Exception
+  {
+    ontologyManager = OWLManager.createOWLOntologyManager();
+    ontology = ontologyManager.createOntology();
+    swrlapiOWLOntology = (DefaultSWRLAPIOWLOntology)SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    ontologyManager.addOntologyChangeListener(swrlapiOWLOntology);
+  }
+
+  @Test public void testAddedAxiomGeneratesDeclaration()
+  {
+    OWLAxiom classAssertionAxiom = ClassAssertion(MALE, P1);
+
+    ontologyManager.addAxiom(ontology, classAssertionAxiom);
+
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(classAssertionAxiom));
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(P1)));
+    assertEquals(1, swrlapiOWLOntology.getNumberOfOWLIndividualDeclarationAxioms());
+  }
+
+  @Test public void testRemovedAxiomRemovesGeneratedDeclaration()
+  {
+    OWLAxiom classAssertionAxiom = ClassAssertion(MALE, P1);
+
+    ontologyManager.addAxiom(ontology, classAssertionAxiom);
+    ontologyManager.removeAxiom(ontology, classAssertionAxiom);
+
+    assertFalse(swrlapiOWLOntology.hasAssertedOWLAxiom(classAssertionAxiom));
+    assertFalse(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(P1)));
+    assertEquals(0, swrlapiOWLOntology.getNumberOfOWLIndividualDeclarationAxioms());
+  }
+
+  @Test public void testRemovedAxiomKeepsExplicitDeclaration()
+  {
+    OWLAxiom classAssertionAxiom = ClassAssertion(MALE, P1);
+
+    addOWLAxioms(ontology, Declaration(P1), classAssertionAxiom);
+    ontologyManager.removeAxiom(ontology, classAssertionAxiom);
+
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(P1)));
+    assertEquals(1, swrlapiOWLOntology.getNumberOfOWLIndividualDeclarationAxioms());
+  }
+
+  @Test public void testRemovedDeclarationIsRegeneratedIfRequired()
+  {
+    addOWLAxioms(ontology, Declaration(P1), ClassAssertion(MALE, P1));
+    ontologyManager.removeAxiom(ontology, Declaration(P1));
+
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(P1)));
+    assertEquals(1, swrlapiOWLOntology.getNumberOfOWLIndividualDeclarationAxioms());
+  }
+
+  @Test public void testAddedAndRemovedSWRLRule()
+  {
+    OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+    SWRLVariable x = dataFactory.getSWRLVariable(iri("x"));
+    SWRLRule rule = dataFactory.getSWRLRule(Collections.singleton(dataFactory.getSWRLClassAtom(MALE, x)),
+      Collections.singleton(dataFactory.getSWRLClassAtom(PERSON, x)));
+
+    ontologyManager.addAxiom(ontology, rule);
+
+    assertEquals(1, swrlapiOWLOntology.getNumberOfSWRLRules());
+    assertEquals(1, swrlapiOWLOntology.getNumberOfOWLAxioms());
+
+    ontologyManager.removeAxiom(ontology, rule);
+
+    assertEquals(0, swrlapiOWLOntology.getNumberOfSWRLRules());
+    assertEquals(0, swrlapiOWLOntology.getNumberOfOWLAxioms());
+  }
+
+  @Test public void testIncrementalProcessingMatchesFullProcessing() throws Exception
+  {
+    addOWLAxioms(ontology, Declaration(MALE), ClassAssertion(MALE, P1), ClassAssertion(PERSON, P1));
+    ontologyManager.removeAxiom(ontology, ClassAssertion(PERSON, P1));
+
+    SWRLAPIOWLOntology processedOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+
+    assertEquals(processedOntology.getOWLAxioms(), swrlapiOWLOntology.getOWLAxioms());
+  }
+
+  @Test public void testChangesInEventFreezeModeAreProcessedWhenItFinishes()
+  {
+    OWLAxiom classAssertionAxiom = ClassAssertion(MALE, P1);
+
+    swrlapiOWLOntology.startEventFreezeMode();
+    ontologyManager.addAxiom(ontology, classAssertionAxiom);
+
+    assertFalse(swrlapiOWLOntology.hasAssertedOWLAxiom(classAssertionAxiom));
+
+    swrlapiOWLOntology.finishEventFreezeMode();
+
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(classAssertionAxiom));
+
+    ontologyManager.addAxiom(ontology, Declaration(PERSON));
+
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(PERSON)));
+  }
+
+  @Test public void testOWLAxiomChangeLogRecordsNetChanges() throws Exception
+  {
+    swrlapiOWLOntology.startOWLAxiomChangeLog();
+    addOWLAxioms(ontology, Declaration(PERSON), ClassAssertion(MALE, P1));
+    ontologyManager.removeAxiom(ontology, Declaration(PERSON));
+
+    assertTrue(swrlapiOWLOntology.hasOWLAxiomChangeLog());
+    assertEquals(new HashSet<>(Arrays.asList(ClassAssertion(MALE, P1), Declaration(P1))),
+      swrlapiOWLOntology.getAddedOWLAxioms());
+    assertTrue(swrlapiOWLOntology.getRemovedOWLAxioms().isEmpty());
+
+    swrlapiOWLOntology.processOntology();
+
+    assertFalse(swrlapiOWLOntology.hasOWLAxiomChangeLog());
+  }
+}
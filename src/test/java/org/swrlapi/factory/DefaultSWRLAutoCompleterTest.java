@@ -0,0 +1,119 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.test.IntegrationTestBase;
+import org.swrlapi.ui.model.SWRLAutoCompleter;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+
+/**
+ * @see DefaultSWRLAutoCompleter
+ */
+public class DefaultSWRLAutoCompleterTest extends IntegrationTestBase
+{
+  private static final OWLClass MALE = Class(iri(NS + "Male"));
+  private static final OWLClass MAMMAL = Class(iri(NS + "Mammal"));
+  private static final OWLNamedIndividual MA = NamedIndividual(iri(NS + "Ma"));
+
+  private OWLOntologyManager ontologyManager;
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before public void setUp() throws Exception
+  {
+    ontologyManager = OWLManager.createOWLOntologyManager();
+    ontology = ontologyManager.createOntology();
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    swrlapiOWLOntology.getIRIResolver().setPrefix("ex:", NS);
+
+    addOWLAxioms(ontology, Declaration(MAMMAL), Declaration(MALE));
+  }
+
+  @Test public void testCompletionsAreSortedRenderingsWithPrefix() throws Exception
+  {
+    SWRLAutoCompleter autoCompleter = swrlapiOWLOntology.createSWRLAutoCompleter();
+
+    assertEquals(Arrays.asList("ex:Male", "ex:Mammal"), autoCompleter.getCompletions("ex:Ma"));
+    assertEquals(Collections.singletonList("sameAs"), autoCompleter.getCompletions("sa"));
+    assertTrue(autoCompleter.getCompletions("swrlb:").contains("swrlb:add"));
+    assertEquals(Collections.emptyList(), autoCompleter.getCompletions("ex:Mb"));
+  }
+
+  @Test public void testBoundedCompletionsAreShortestFirst() throws Exception
+  {
+    SWRLAutoCompleter autoCompleter = swrlapiOWLOntology.createSWRLAutoCompleter();
+
+    addOWLAxioms(ontology, Declaration(MA));
+
+    assertEquals(Arrays.asList("ex:Ma", "ex:Male"), autoCompleter.getCompletions("ex:Ma", 2));
+    assertEquals(Arrays.asList("ex:Ma", "ex:Male", "ex:Mammal"), autoCompleter.getCompletions("ex:Ma", 10));
+    assertTrue(autoCompleter.getCompletions("ex:Ma", 0).isEmpty());
+  }
+
+  @Test public void testCompletionsFollowOntologyChanges() throws Exception
+  {
+    SWRLAutoCompleter autoCompleter = swrlapiOWLOntology.createSWRLAutoCompleter();
+
+    assertSame(autoCompleter, swrlapiOWLOntology.createSWRLAutoCompleter());
+
+    addOWLAxioms(ontology, ClassAssertion(MALE, MA));
+    assertEquals(Arrays.asList("ex:Ma", "ex:Male", "ex:Mammal"), autoCompleter.getCompletions("ex:Ma"));
+
+    ontologyManager.removeAxiom(ontology, Declaration(MALE));
+    // Male is still in the signature
+    assertEquals(Arrays.asList("ex:Ma", "ex:Male", "ex:Mammal"), autoCompleter.getCompletions("ex:Ma"));
+
+    ontologyManager.removeAxiom(ontology, ClassAssertion(MALE, MA));
+    assertEquals(Collections.singletonList("ex:Mammal"), autoCompleter.getCompletions("ex:Ma"));
+  }
+
+  @Test public void testCompletionsFollowPrefixChanges() throws Exception
+  {
+    SWRLAutoCompleter autoCompleter = swrlapiOWLOntology.createSWRLAutoCompleter();
+
+    OWLClass other = Class(iri("http://org.swrlapi.test/other#Other"));
+
+    addOWLAxioms(ontology, Declaration(other));
+    assertTrue(autoCompleter.getCompletions("oth:").isEmpty());
+
+    swrlapiOWLOntology.getIRIResolver().setPrefix("oth:", "http://org.swrlapi.test/other#");
+
+    assertEquals(Collections.singletonList("oth:Other"), autoCompleter.getCompletions("oth:"));
+  }
+
+  @Test public void testDisposedCompleterIsNoLongerUpdated() throws Exception
+  {
+    SWRLAutoCompleter autoCompleter = swrlapiOWLOntology.createSWRLAutoCompleter();
+
+    swrlapiOWLOntology.dispose();
+    addOWLAxioms(ontology, Declaration(Class(iri(NS + "Marsupial"))));
+
+    assertEquals(Arrays.asList("ex:Male", "ex:Mammal"), autoCompleter.getCompletions("ex:Ma"));
+    assertNotSame(autoCompleter, swrlapiOWLOntology.createSWRLAutoCompleter());
+  }
+
+  @Test public void testDefaultLimitedCompletionsAreShortestFirst() throws Exception
+  {
+    SWRLAutoCompleter autoCompleter = prefix -> Arrays.asList("ex:Mammal", "ex:Male", "ex:Ma");
+
+    assertEquals(Arrays.asList("ex:Ma", "ex:Male"), autoCompleter.getCompletions("ex:Ma", 2));
+    assertTrue(autoCompleter.getCompletions("ex:Ma", 0).isEmpty());
+  }
+}
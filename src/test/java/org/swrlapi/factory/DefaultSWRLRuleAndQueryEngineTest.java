@@ -0,0 +1,304 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.engine.ForwardChainingSWRLRuleEngine;
+import org.swrlapi.exceptions.SWRLRuleEngineException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.owl2rl.AbstractOWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
+import org.swrlapi.sqwrl.SQWRLQuery;
+import org.swrlapi.sqwrl.SQWRLResultStream;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.test.IntegrationTestBase;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+
+/**
+ * @see DefaultSWRLRuleAndQueryEngine
+ */
+public class DefaultSWRLRuleAndQueryEngineTest extends IntegrationTestBase
+{
+  private static final OWLClass MALE = Class(iri("Male"));
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+
+  private OWLOntology ontology;
+  private RecordingTargetSWRLRuleEngine targetSWRLRuleEngine;
+  private DefaultSWRLRuleAndQueryEngine ruleEngine;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(ontology, Declaration(MALE), ClassAssertion(MALE, P1));
+
+    SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    OWL2RLPersistenceLayer owl2RLPersistenceLayer = SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology);
+    SWRLBridge bridge = SWRLAPIInternalFactory.createSWRLBridge(swrlapiOWLOntology, owl2RLPersistenceLayer);
+
+    targetSWRLRuleEngine = new RecordingTargetSWRLRuleEngine(owl2RLPersistenceLayer);
+    bridge.setTargetSWRLRuleEngine(targetSWRLRuleEngine);
+    ruleEngine = new DefaultSWRLRuleAndQueryEngine(swrlapiOWLOntology, targetSWRLRuleEngine, bridge, bridge);
+  }
+
+  @Test public void testInferIncrementallyExportsOnlyChanges()
+  {
+    ruleEngine.inferIncrementally();
+
+    assertEquals(1, targetSWRLRuleEngine.numberOfResets);
+    assertTrue(targetSWRLRuleEngine.definedOWLAxioms.contains(ClassAssertion(MALE, P1)));
+
+    targetSWRLRuleEngine.definedOWLAxioms.clear();
+    ontology.getOWLOntologyManager().removeAxiom(ontology, ClassAssertion(MALE, P1));
+    ontology.getOWLOntologyManager().addAxiom(ontology, ClassAssertion(MALE, P2));
+
+    ruleEngine.inferIncrementally();
+
+    assertEquals(1, targetSWRLRuleEngine.numberOfResets);
+    assertEquals(2, targetSWRLRuleEngine.retractedOWLAxioms.size());
+    assertTrue(targetSWRLRuleEngine.retractedOWLAxioms.contains(ClassAssertion(MALE, P1)));
+    assertTrue(targetSWRLRuleEngine.retractedOWLAxioms.contains(Declaration(P1))); // Generated declaration
+    assertTrue(targetSWRLRuleEngine.definedOWLAxioms.contains(ClassAssertion(MALE, P2)));
+    assertTrue(targetSWRLRuleEngine.definedOWLAxioms.contains(Declaration(P2)));
+    assertEquals(2, targetSWRLRuleEngine.definedOWLAxioms.size());
+  }
+
+  @Test public void testInferIncrementallyReloadsWithoutRetractionSupport()
+  {
+    targetSWRLRuleEngine.canRetract = false;
+
+    ruleEngine.inferIncrementally();
+    ruleEngine.inferIncrementally();
+
+    assertEquals(2, targetSWRLRuleEngine.numberOfResets);
+    assertTrue(targetSWRLRuleEngine.retractedOWLAxioms.isEmpty());
+  }
+
+  @Test public void testInferIncrementallyReloadsAfterFullInference()
+  {
+    ruleEngine.inferIncrementally();
+    ruleEngine.infer();
+    ruleEngine.inferIncrementally();
+
+    assertEquals(3, targetSWRLRuleEngine.numberOfResets);
+  }
+
+  @Test public void testInferIncrementallyUpdatesForwardChainingEngine() throws Exception
+  {
+    OWLOntology rulesOntology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(rulesOntology, Declaration(MALE), Declaration(PERSON), ClassAssertion(MALE, P1));
+
+    SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(rulesOntology);
+    OWL2RLPersistenceLayer owl2RLPersistenceLayer = SWRLAPIInternalFactory
+      .createOWL2RLPersistenceLayer(rulesOntology);
+    SWRLBridge bridge = SWRLAPIInternalFactory.createSWRLBridge(swrlapiOWLOntology, owl2RLPersistenceLayer);
+    CountingForwardChainingSWRLRuleEngine forwardChainingEngine = new CountingForwardChainingSWRLRuleEngine(bridge);
+    bridge.setTargetSWRLRuleEngine(forwardChainingEngine);
+    DefaultSWRLRuleAndQueryEngine forwardChainingRuleEngine = new DefaultSWRLRuleAndQueryEngine(swrlapiOWLOntology,
+      forwardChainingEngine, bridge, bridge);
+
+    forwardChainingRuleEngine.createSWRLRule("r1", "Male(?x) -> Person(?x)");
+    forwardChainingRuleEngine.inferIncrementally();
+
+    assertTrue(rulesOntology.containsAxiom(ClassAssertion(PERSON, P1)));
+
+    rulesOntology.getOWLOntologyManager().removeAxiom(rulesOntology, ClassAssertion(MALE, P1));
+    rulesOntology.getOWLOntologyManager().addAxiom(rulesOntology, ClassAssertion(MALE, P2));
+
+    forwardChainingRuleEngine.inferIncrementally();
+
+    assertEquals(1, forwardChainingEngine.numberOfResets); // No reload
+    assertTrue(rulesOntology.containsAxiom(ClassAssertion(PERSON, P2)));
+  }
+
+  @Test public void testImportDefinesAxiomsInBatchesOfOneType()
+  {
+    ruleEngine.importAssertedOWLAxioms();
+
+    assertEquals(2, targetSWRLRuleEngine.definedOWLAxiomBatchTypes.size());
+    assertTrue(targetSWRLRuleEngine.definedOWLAxiomBatchTypes.contains(AxiomType.DECLARATION));
+    assertTrue(targetSWRLRuleEngine.definedOWLAxiomBatchTypes.contains(AxiomType.CLASS_ASSERTION));
+    assertEquals(3, targetSWRLRuleEngine.definedOWLAxioms.size());
+  }
+
+  @Test(timeout = 10000) public void testResultStreamReportsErrorInQueryThread() throws Exception
+  {
+    ruleEngine.createSQWRLQuery("q1", "Male(?m) -> sqwrl:select(?m)");
+    targetSWRLRuleEngine.runError = new StackOverflowError("rule engine failed");
+
+    SQWRLResultStream resultStream = ruleEngine.runSQWRLQueryAsStream("q1", 10);
+
+    try {
+      resultStream.next();
+      fail("Expecting the rule engine error");
+    } catch (SQWRLException e) {
+      assertEquals(targetSWRLRuleEngine.runError, e.getCause());
+    }
+  }
+
+  @Test(timeout = 10000) public void testClosingResultStreamCancelsQuery() throws Exception
+  {
+    ruleEngine.createSQWRLQuery("q1", "Male(?m) -> sqwrl:select(?m)");
+    targetSWRLRuleEngine.runBlocksUntilInterrupted = true;
+
+    SQWRLResultStream resultStream = ruleEngine.runSQWRLQueryAsStream("q1", 10);
+
+    targetSWRLRuleEngine.runStarted.await();
+    try {
+      ruleEngine.infer();
+      fail("Expecting the engine to refuse to run while the query is streamed");
+    } catch (SWRLRuleEngineException e) {
+      assertTrue(e.getMessage().contains("streamed SQWRL query"));
+    }
+
+    resultStream.close();
+    ruleEngine.infer(); // Waits for the cancelled query
+
+    assertTrue(targetSWRLRuleEngine.wasInterrupted);
+    assertFalse(resultStream.next());
+  }
+
+  private static class CountingForwardChainingSWRLRuleEngine extends ForwardChainingSWRLRuleEngine
+  {
+    private int numberOfResets = 0;
+
+    public CountingForwardChainingSWRLRuleEngine(SWRLBridge bridge)
+    {
+      super(bridge);
+    }
+
+    @Override public void resetRuleEngine()
+    {
+      super.resetRuleEngine();
+      this.numberOfResets++;
+    }
+  }
+
+  private static class RecordingTargetSWRLRuleEngine implements TargetSWRLRuleEngine
+  {
+    private final Set<OWLAxiom> definedOWLAxioms = new HashSet<>();
+    private final List<OWLAxiom> retractedOWLAxioms = new ArrayList<>();
+    private final List<AxiomType<?>> definedOWLAxiomBatchTypes = new ArrayList<>();
+    private final OWL2RLEngine owl2RLEngine;
+    private boolean canRetract = true;
+    private Error runError = null;
+    private volatile boolean runBlocksUntilInterrupted = false;
+    private volatile boolean wasInterrupted = false;
+    private final CountDownLatch runStarted = new CountDownLatch(1);
+    private int numberOfResets = 0;
+
+    public RecordingTargetSWRLRuleEngine(OWL2RLPersistenceLayer owl2RLPersistenceLayer)
+    {
+      this.owl2RLEngine = new AbstractOWL2RLEngine(owl2RLPersistenceLayer, Collections.emptySet(),
+        Collections.emptySet(), Collections.emptySet())
+      {
+      };
+    }
+
+    @Override public void defineOWLAxiom(OWLAxiom axiom)
+    {
+      this.definedOWLAxioms.add(axiom);
+    }
+
+    @Override public void defineOWLAxioms(Collection<? extends OWLAxiom> axioms)
+    {
+      Set<AxiomType<?>> axiomTypes = axioms.stream().map(OWLAxiom::getAxiomType).collect(Collectors.toSet());
+
+      assertEquals(1, axiomTypes.size());
+      this.definedOWLAxiomBatchTypes.addAll(axiomTypes);
+      this.definedOWLAxioms.addAll(axioms);
+    }
+
+    @Override public boolean canRetractOWLAxioms()
+    {
+      return this.canRetract;
+    }
+
+    @Override public void retractOWLAxiom(OWLAxiom axiom)
+    {
+      this.retractedOWLAxioms.add(axiom);
+    }
+
+    @Override public void defineSQWRLQuery(SQWRLQuery query)
+    {
+    }
+
+    @Override public void runRuleEngine()
+    {
+      this.runStarted.countDown();
+
+      if (this.runError != null)
+        throw this.runError;
+
+      if (this.runBlocksUntilInterrupted) {
+        this.runBlocksUntilInterrupted = false;
+        try {
+          Thread.sleep(Long.MAX_VALUE);
+        } catch (InterruptedException e) {
+          this.wasInterrupted = true;
+          throw new TargetSWRLRuleEngineException("interrupted", e);
+        }
+      }
+    }
+
+    @Override public void resetRuleEngine()
+    {
+      this.definedOWLAxioms.clear();
+      this.numberOfResets++;
+    }
+
+    @Override public String getTargetRuleEngineName()
+    {
+      return "Recording";
+    }
+
+    @Override public String getTargetRuleEngineVersion()
+    {
+      return "1.0";
+    }
+
+    @Override public Icon getTargetRuleEngineIcon()
+    {
+      return new ImageIcon();
+    }
+
+    @Override public OWLReasoner getOWLReasoner()
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public OWL2RLEngine getOWL2RLEngine()
+    {
+      return this.owl2RLEngine;
+    }
+  }
+}
@@ -8,10 +8,15 @@ import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 /**
  * @see SWRLBuiltInArgumentFactory
@@ -43,4 +48,40 @@ public class SWRLBuiltInArgumentFactoryTest
 
     assertEquals(classIRI, classBuiltInArgument.getIRI());
   }
+
+  @Test public void testInternedArgumentsAreShared() throws Exception
+  {
+    SWRLBuiltInArgumentFactory internedArgumentFactory = SWRLAPIInternalFactory
+      .createSWRLBuiltInArgumentFactory(iriResolver, true);
+    OWLClass cls = this.dataFactory.getOWLClass(IRI.create(TEST_NAMESPACE + "AClass"));
+
+    assertSame(internedArgumentFactory.getClassBuiltInArgument(cls),
+      internedArgumentFactory.getClassBuiltInArgument(cls));
+    assertSame(internedArgumentFactory.getLiteralBuiltInArgument(42),
+      internedArgumentFactory.getLiteralBuiltInArgument(42));
+    assertNotSame(this.builtInArgumentFactory.getLiteralBuiltInArgument(42),
+      this.builtInArgumentFactory.getLiteralBuiltInArgument(42));
+  }
+
+  @Test public void testVariableValueOfInternedArgumentIsCopied() throws Exception
+  {
+    SWRLBuiltInArgumentFactory internedArgumentFactory = SWRLAPIInternalFactory
+      .createSWRLBuiltInArgumentFactory(iriResolver, true);
+    SWRLLiteralBuiltInArgument value = internedArgumentFactory.getLiteralBuiltInArgument(42);
+    SWRLBuiltInArgument variableValue = internedArgumentFactory.getVariableValueBuiltInArgument(value, "x");
+
+    assertEquals(value, variableValue);
+    assertEquals("x", variableValue.getBoundVariableName().get());
+    assertFalse(value.wasBoundVariable());
+  }
+
+  @Test public void testVariableValueOfArgumentIsCopied() throws Exception
+  {
+    SWRLLiteralBuiltInArgument value = this.builtInArgumentFactory.getLiteralBuiltInArgument(42);
+    SWRLBuiltInArgument variableValue = this.builtInArgumentFactory.getVariableValueBuiltInArgument(value, "x");
+
+    assertNotSame(value, variableValue);
+    assertEquals("x", variableValue.getBoundVariableName().get());
+    assertFalse(value.wasBoundVariable());
+  }
 }
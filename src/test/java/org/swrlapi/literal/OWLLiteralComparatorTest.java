@@ -78,4 +78,49 @@ public class OWLLiteralComparatorTest
     Assert.assertFalse(OWLLiteralComparator.isNumeric(l));
   }
 
-}
\ No newline at end of file
+  @Test public void testNumericallyEqualLiteralsHaveSameHashCode() throws Exception
+  {
+    OWLLiteral l1 = literalFactory.getOWLLiteral("1", datatypeFactory.getIntDatatype());
+    OWLLiteral l2 = literalFactory.getOWLLiteral("1.0", datatypeFactory.getDecimalDatatype());
+
+    Assert.assertEquals(0, OWLLiteralComparator.COMPARATOR.compare(l1, l2));
+    Assert.assertEquals(OWLLiteralComparator.hashCode(l1), OWLLiteralComparator.hashCode(l2));
+  }
+
+  @Test public void testEqualStringLiteralsHaveSameHashCode() throws Exception
+  {
+    OWLLiteral l1 = literalFactory.getOWLLiteral("a string");
+    OWLLiteral l2 = literalFactory.getOWLLiteral("a string");
+
+    Assert.assertEquals(OWLLiteralComparator.hashCode(l1), OWLLiteralComparator.hashCode(l2));
+  }
+
+  @Test public void testTypedValueCompareMatchesLiteralCompare() throws Exception
+  {
+    OWLLiteral l1 = literalFactory.getOWLLiteral("3", datatypeFactory.getLongDatatype());
+    OWLLiteral l2 = literalFactory.getOWLLiteral("3.5", datatypeFactory.getDoubleDatatype());
+
+    int result = OWLLiteralComparator.compare(new TypedLiteralValue(l1), new TypedLiteralValue(l2));
+
+    Assert.assertTrue(result < 0);
+    Assert.assertEquals(OWLLiteralComparator.COMPARATOR.compare(l1, l2), result);
+  }
+
+  @Test public void testTypedValueIsParsedOnce() throws Exception
+  {
+    OWLLiteral l = literalFactory.getOWLLiteral("12", datatypeFactory.getIntDatatype());
+    TypedLiteralValue value = new TypedLiteralValue(l);
+
+    Assert.assertEquals(12L, value.getLongValue());
+    Assert.assertSame(value.getValue(), value.getValue());
+  }
+
+  @Test public void testLiteralTypedValueIsCached() throws Exception
+  {
+    OWLLiteral l = literalFactory.getOWLLiteral("12", datatypeFactory.getIntDatatype());
+    Literal literal = SWRLAPIInternalFactory.createLiteral(l);
+
+    Assert.assertSame(literal.getTypedLiteralValue(), literal.getTypedLiteralValue());
+    Assert.assertEquals(12, literal.getInt());
+  }
+}
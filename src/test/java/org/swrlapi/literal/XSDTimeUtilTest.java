@@ -0,0 +1,41 @@
+package org.swrlapi.literal;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see XSDTimeUtil
+ */
+public class XSDTimeUtilTest
+{
+  @Test public void testDatesAreConvertedConcurrently() throws Exception
+  {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    try {
+      List<Future<?>> results = new ArrayList<>();
+
+      for (int thread = 0; thread < 4; thread++) {
+        String date = "200" + thread + "-0" + (thread + 1) + "-1" + thread;
+        results.add(executor.submit((Callable<Void>)() -> {
+          for (int i = 0; i < 2000; i++)
+            assertEquals(date, XSDTimeUtil.utilDate2XSDDateString(XSDTimeUtil.xsdDateString2UtilDate(date)));
+          return null;
+        }));
+      }
+
+      for (Future<?> result : results)
+        result.get();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package org.swrlapi.parser;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @see SWRLTokenizer
+ */
+public class SWRLTokenizerTest
+{
+  @Test public void testRuleIsTokenized() throws Exception
+  {
+    assertEquals(Arrays.asList("SHORTNAME Person", "LPAREN (", "QUESTION ?", "SHORTNAME p", "RPAREN )",
+      "CONJUNCTION ^", "SHORTNAME swrlb:greaterThan", "LPAREN (", "QUESTION ?", "SHORTNAME a", "COMMA ,",
+      "INTEGER -17", "RPAREN )", "IMP ->", "IRI http://example/ont#Adult", "LPAREN (", "QUESTION ?",
+      "SHORTNAME p", "RPAREN )"),
+      tokenize("Person(?p) ^ swrlb:greaterThan(?a, -17) -> <http://example/ont#Adult>(?p)"));
+  }
+
+  @Test public void testKeywordsAreCaseInsensitive() throws Exception
+  {
+    assertEquals(Arrays.asList("NOT not", "AND and", "OR or", "SHORTNAME nor"), tokenize("NOT And oR nor"));
+  }
+
+  @Test public void testDecimalMayContainWhitespace() throws Exception
+  {
+    assertEquals(Arrays.asList("DECIMAL 1.5", "RING .", "DECIMAL 3.25"), tokenize("1.5 . 3 . 25"));
+  }
+
+  @Test public void testStringEscapesAreProcessed() throws Exception
+  {
+    assertEquals(Arrays.asList("STRING a\"b\nA", "TYPE_QUAL ^^", "SHORTNAME xsd:string"),
+      tokenize("\"a\\\"b\\n\\101\"^^xsd:string"));
+    assertEquals(Arrays.asList("STRING unclosed", "SHORTNAME next"), tokenize("\"unclosed\nnext"));
+  }
+
+  @Test public void testPeekedTokenIsReturned() throws Exception
+  {
+    SWRLTokenizer tokenizer = new SWRLTokenizer("p1", false);
+    SWRLToken token = tokenizer.peekToken("No token");
+
+    assertSame(token, tokenizer.getToken("No token"));
+    assertFalse(tokenizer.hasMoreTokens());
+  }
+
+  @Test public void testIncompleteInputIsReportedOnlyForInteractiveParse() throws Exception
+  {
+    assertParseException("Person(?p) -", true, true, "Expecting '>' or integer or decimal after '-'");
+    assertParseException("Person(?p) -", false, false, "Expecting '>' or integer or decimal after '-'");
+    assertParseException("hasHeight(?p, 1.", true, true, "Expecting decimal fraction part after '.'");
+    assertParseException("<http://example/ont#Adult", true, true, "Expecting '>' after IRI");
+    assertParseException("<", true, true, "Expecting IRI after '<'");
+  }
+
+  @Test public void testInvalidInputIsReported() throws Exception
+  {
+    assertParseException("- 3", true, false, "Expecting integer or decimal");
+    assertParseException("1.x", true, false, "Expecting decimal fraction part after '.'");
+    assertParseException("<http://example.org>", true, false, "Expecting IRI after '<'");
+    assertParseException("p + q", true, false, "Unexpected character '+'");
+  }
+
+  private List<String> tokenize(String input) throws SWRLParseException
+  {
+    SWRLTokenizer tokenizer = new SWRLTokenizer(input, false);
+    List<String> tokens = new ArrayList<>();
+
+    while (tokenizer.hasMoreTokens()) {
+      SWRLToken token = tokenizer.getToken("No token");
+      tokens.add(token.getTokenType() + " " + token.getValue());
+    }
+    return tokens;
+  }
+
+  private void assertParseException(String input, boolean interactiveParseOnly, boolean isIncomplete,
+    String expectedMessage)
+  {
+    try {
+      new SWRLTokenizer(input, interactiveParseOnly);
+      fail("Expecting an exception for " + input);
+    } catch (SWRLParseException e) {
+      assertEquals(expectedMessage, e.getMessage());
+      assertEquals(isIncomplete, e instanceof SWRLIncompleteRuleException);
+    }
+  }
+}
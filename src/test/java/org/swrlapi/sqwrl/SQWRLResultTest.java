@@ -7,6 +7,8 @@ import org.junit.rules.ExpectedException;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.swrlapi.core.IRIResolver;
+import org.swrlapi.factory.OWLDatatypeFactory;
+import org.swrlapi.factory.OWLLiteralFactory;
 import org.swrlapi.factory.SQWRLResultValueFactory;
 import org.swrlapi.factory.SWRLAPIFactory;
 import org.swrlapi.factory.SWRLAPIInternalFactory;
@@ -17,6 +19,10 @@ import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
 import org.swrlapi.sqwrl.values.SQWRLNamedIndividualResultValue;
 import org.swrlapi.sqwrl.values.SQWRLObjectPropertyResultValue;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
 import static junit.framework.TestCase.assertFalse;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -428,6 +434,60 @@ public class SQWRLResultTest
     assertEquals(1, value.getInt());
   }
 
+  @Test public void testMedianAggregateFunctionWithEvenNumberOfValues() throws Exception
+  {
+    resultManager.addAggregateColumn(column1Name, SQWRLResultNames.MedianAggregateFunction);
+
+    resultManager.configured();
+
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(40.0)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(10.0)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(30.0)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(20.0)));
+
+    resultManager.prepared();
+
+    assertEquals(1, resultManager.getNumberOfRows());
+
+    resultManager.next();
+
+    SQWRLLiteralResultValue value = resultManager.getLiteral(column1Name);
+    assertTrue(value.isDouble());
+    assertEquals(25.0, value.getDouble(), 0.0);
+  }
+
+  @Test public void testGroupedAggregateFunctions() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.addAggregateColumn(column1Name, SQWRLResultNames.SumAggregateFunction);
+    resultManager.addAggregateColumn("c2", SQWRLResultNames.CountDistinctAggregateFunction);
+
+    resultManager.configured();
+
+    resultManager.addRow(Arrays.asList(valueFactory.getLiteralValue("b"), valueFactory.getLiteralValue(1),
+      valueFactory.getLiteralValue("x")));
+    resultManager.addRow(Arrays.asList(valueFactory.getLiteralValue("a"), valueFactory.getLiteralValue(2),
+      valueFactory.getLiteralValue("x")));
+    resultManager.addRow(Arrays.asList(valueFactory.getLiteralValue("b"), valueFactory.getLiteralValue(3),
+      valueFactory.getLiteralValue("y")));
+    resultManager.addRow(Arrays.asList(valueFactory.getLiteralValue("b"), valueFactory.getLiteralValue(4),
+      valueFactory.getLiteralValue("x")));
+
+    resultManager.prepared();
+
+    assertEquals(2, resultManager.getNumberOfRows());
+
+    resultManager.next();
+    assertEquals("b", resultManager.getLiteral(columnName).getString());
+    assertEquals(8, resultManager.getLiteral(column1Name).getInt());
+    assertEquals(2, resultManager.getLiteral("c2").getInt());
+
+    resultManager.next();
+    assertEquals("a", resultManager.getLiteral(columnName).getString());
+    assertEquals(2, resultManager.getLiteral(column1Name).getInt());
+    assertEquals(1, resultManager.getLiteral("c2").getInt());
+  }
+
   @Test public void testSetIsDistinct() throws Exception
   {
     resultManager.addColumn(columnName);
@@ -448,6 +508,40 @@ public class SQWRLResultTest
     assertEquals(1, resultManager.getNumberOfRows());
   }
 
+  @Test public void testSetIsDistinctPreservesRowOrder() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.setIsDistinct();
+    resultManager.configured();
+
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(30)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(20)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(30)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(10)));
+
+    resultManager.prepared();
+
+    assertEquals(3, resultManager.getNumberOfRows());
+    assertEquals(30, resultManager.getValue(0, 0).asLiteralResult().getInt());
+    assertEquals(20, resultManager.getValue(0, 1).asLiteralResult().getInt());
+    assertEquals(10, resultManager.getValue(0, 2).asLiteralResult().getInt());
+  }
+
+  @Test public void testSetIsDistinctWithNumericallyEqualValues() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.setIsDistinct();
+    resultManager.configured();
+
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(20)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(new BigDecimal("20.0"))));
+
+    resultManager.prepared();
+
+    assertEquals(1, resultManager.getNumberOfRows());
+    assertTrue(resultManager.getValue(0, 0).asLiteralResult().isInt());
+  }
+
   @Test public void testSetOrderByColumnAscending() throws Exception
   {
     resultManager.addColumn(columnName);
@@ -546,6 +640,107 @@ public class SQWRLResultTest
     assertEquals(2, resultManager.getNumberOfRows());
   }
 
+  @Test public void testSetOrderByColumnWithLimit() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.addColumn(column1Name);
+    resultManager.setOrderByColumn(0, false);
+    resultManager.setLimit(3);
+
+    resultManager.configured();
+
+    int[] values = { 5, 9, 1, 9, 7, 3, 7, 8, 2, 7 };
+    for (int i = 0; i < values.length; i++)
+      resultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(values[i]), valueFactory.getLiteralValue(i)));
+
+    resultManager.prepared();
+
+    assertEquals(3, resultManager.getNumberOfRows());
+    assertEquals(9, resultManager.getValue(0, 0).asLiteralResult().getInt());
+    assertEquals(1, resultManager.getValue(1, 0).asLiteralResult().getInt());
+    assertEquals(9, resultManager.getValue(0, 1).asLiteralResult().getInt());
+    assertEquals(3, resultManager.getValue(1, 1).asLiteralResult().getInt());
+    assertEquals(8, resultManager.getValue(0, 2).asLiteralResult().getInt());
+  }
+
+  @Test public void testSetOrderByColumnWithNthSlice() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.addColumn(column1Name);
+    resultManager.setOrderByColumn(0, true);
+    resultManager.setNthSlice(2, 3);
+
+    resultManager.configured();
+
+    int[] values = { 5, 9, 1, 9, 7, 3, 7, 8, 2, 7 };
+    for (int i = 0; i < values.length; i++)
+      resultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(values[i]), valueFactory.getLiteralValue(i)));
+
+    resultManager.prepared();
+
+    assertEquals(3, resultManager.getNumberOfRows());
+    assertEquals(2, resultManager.getValue(0, 0).asLiteralResult().getInt());
+    assertEquals(3, resultManager.getValue(0, 1).asLiteralResult().getInt());
+    assertEquals(5, resultManager.getValue(0, 2).asLiteralResult().getInt());
+  }
+
+  @Test public void testColumnarResult() throws Exception
+  {
+    SQWRLResultManager columnarResultManager = SWRLAPIInternalFactory.createColumnarSQWRLResultManager(iriResolver);
+    OWLLiteralFactory literalFactory = SWRLAPIInternalFactory.createOWLLiteralFactory();
+    OWLDatatypeFactory datatypeFactory = SWRLAPIInternalFactory.createOWLDatatypeFactory();
+
+    columnarResultManager.addColumns(Arrays.asList("i", "n", "d", "x", "s", "o"));
+    columnarResultManager.configured();
+
+    for (int r = 0; r < 3; r++)
+      columnarResultManager.addRow(Arrays
+        .asList(valueFactory.getNamedIndividualValue(i1IRI), valueFactory.getLiteralValue(r),
+          valueFactory.getLiteralValue(r + 0.5), valueFactory.getLiteralValue(new BigDecimal("1.50")),
+          valueFactory.getLiteralValue("s" + r),
+          valueFactory.getLiteralValue(literalFactory.getOWLLiteral("0" + r, datatypeFactory.getIntDatatype()))));
+
+    columnarResultManager.prepared();
+
+    assertEquals(3, columnarResultManager.getNumberOfRows());
+    assertEquals(valueFactory.getLiteralValue(2), columnarResultManager.getValue(1, 2));
+    assertEquals(2.5, columnarResultManager.getValue(2, 2).asLiteralResult().getDouble(), 0.0);
+    assertEquals("1.50", columnarResultManager.getValue(3, 1).asLiteralResult().getOWLLiteral().getLiteral());
+    assertEquals("s1", columnarResultManager.getValue(4, 1).asLiteralResult().getString());
+    assertEquals("01", columnarResultManager.getValue(5, 1).asLiteralResult().getOWLLiteral().getLiteral());
+    assertEquals(3, columnarResultManager.getColumn("n").size());
+    assertEquals(valueFactory.getLiteralValue(1.5), columnarResultManager.getColumn("d").get(1));
+
+    assertTrue(columnarResultManager.next());
+    assertEquals(6, columnarResultManager.getRow().size());
+    assertEquals(i1IRI, columnarResultManager.getNamedIndividual(0).getIRI());
+    assertTrue(columnarResultManager.getLiteral(1).isInt());
+    assertEquals(0, columnarResultManager.getLiteral("n").getInt());
+  }
+
+  @Test public void testColumnarResultWithMixedAndRepeatedValues() throws Exception
+  {
+    SQWRLResultManager columnarResultManager = SWRLAPIInternalFactory.createColumnarSQWRLResultManager(iriResolver);
+
+    columnarResultManager.addColumns(Arrays.asList("m", "n"));
+    columnarResultManager.configured();
+    columnarResultManager.setIsDistinct();
+
+    columnarResultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(1), valueFactory.getLiteralValue(1)));
+    columnarResultManager.addRow(Arrays.asList(valueFactory.getLiteralValue("a"), valueFactory.getLiteralValue(2)));
+    columnarResultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(1), valueFactory.getLiteralValue(1)));
+    columnarResultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(2.5), valueFactory.getLiteralValue(3)));
+
+    columnarResultManager.prepared();
+
+    assertEquals(3, columnarResultManager.getNumberOfRows());
+    assertEquals(valueFactory.getLiteralValue(1), columnarResultManager.getValue(0, 0));
+    assertEquals(valueFactory.getLiteralValue("a"), columnarResultManager.getValue(0, 1));
+    assertEquals(valueFactory.getLiteralValue(2.5), columnarResultManager.getValue(0, 2));
+    assertEquals(Arrays.asList(valueFactory.getLiteralValue(1), valueFactory.getLiteralValue(2),
+      valueFactory.getLiteralValue(3)), columnarResultManager.getColumn("n"));
+  }
+
   @Test public void testSetNth() throws Exception
   {
     resultManager.addColumn(columnName);